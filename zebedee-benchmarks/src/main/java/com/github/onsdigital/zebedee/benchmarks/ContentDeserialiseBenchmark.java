@@ -0,0 +1,65 @@
+package com.github.onsdigital.zebedee.benchmarks;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deserialising the json of a page with {@link ContentUtil#deserialiseContent}, which every uncached read goes
+ * through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentDeserialiseBenchmark {
+
+    @Param({"timeseries", "bulletin", "dataset_landing_page", "product_page"})
+    public String pageType;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        json = ContentUtil.serialise(page(pageType)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Page deserialiseContent() {
+        return ContentUtil.deserialiseContent(new ByteArrayInputStream(json));
+    }
+
+    private static Page page(String pageType) {
+        switch (pageType) {
+            case "timeseries":
+                return Fixtures.timeSeries("ABMI", 1948, 72);
+            case "bulletin":
+                return Fixtures.bulletin("/economy/grossdomesticproductgdp/bulletins/gdpfirstestimate/2020-02-11",
+                        10, new GregorianCalendar(2020, Calendar.FEBRUARY, 11));
+            case "dataset_landing_page":
+                return Fixtures.datasetLandingPage(50);
+            case "product_page":
+                return Fixtures.productPage(500);
+            default:
+                throw new IllegalArgumentException("unknown page type " + pageType);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.onsdigital.zebedee.benchmarks;
+
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.DataGenerator;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the download of an export of several time series, written to a stream that discards it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DataGeneratorBenchmark {
+
+    @Param({"csv", "xls", "xlsx"})
+    public String format;
+
+    @Param({"1", "20"})
+    public int series;
+
+    private final DataGenerator dataGenerator = new DataGenerator();
+    private List<TimeSeries> timeSeries;
+
+    @Setup
+    public void setUp() {
+        timeSeries = Fixtures.timeSeries(series, 1948, 72);
+    }
+
+    /**
+     * @return the number of bytes generated.
+     */
+    @Benchmark
+    public long generate() throws ZebedeeException, IOException {
+        CountingOutputStream out = new CountingOutputStream(NullOutputStream.INSTANCE);
+        dataGenerator.prepareData(timeSeries, format).writeTo(out);
+        return out.getByteCount();
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.onsdigital.zebedee.benchmarks;
+
+import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
+import com.github.onsdigital.zebedee.reader.cache.LatestEditionIndex;
+import com.github.onsdigital.zebedee.reader.cache.PageCache;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading published content from a generated content tree on disk, with and without the page cache and latest
+ * edition index.
+ * <p>
+ * The tree is written to a temporary folder, so reads are mostly served from the OS page cache. Run against the
+ * disk the content is served from for numbers that include it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileSystemContentReaderBenchmark {
+
+    private static final String PRODUCT = "/economy/grossdomesticproductgdp";
+    private static final String TIME_SERIES = PRODUCT + "/timeseries/a000";
+    private static final String BULLETIN_SERIES = PRODUCT + "/bulletins/gdpfirstestimate";
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    @Param({"200"})
+    public int timeSeries;
+
+    @Param({"80"})
+    public int editions;
+
+    private Path root;
+    private FileSystemContentReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("zebedee-benchmark");
+        Fixtures.writeContentTree(root, timeSeries, editions);
+        ReaderConfiguration.init(root.toString());
+        reader = cached
+                ? new FileSystemContentReader(root, new PageCache(64 * 1024 * 1024), new LatestEditionIndex(root))
+                : new FileSystemContentReader(root);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(root.toFile());
+    }
+
+    @Benchmark
+    public Page getContent() throws ZebedeeException, IOException {
+        return reader.getContent(TIME_SERIES);
+    }
+
+    @Benchmark
+    public Page getLatestContent() throws ZebedeeException, IOException {
+        return reader.getLatestContent(BULLETIN_SERIES);
+    }
+
+    @Benchmark
+    public Map<URI, ContentNode> getChildren() throws ZebedeeException, IOException {
+        return reader.getChildren(PRODUCT + "/timeseries");
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.onsdigital.zebedee.benchmarks;
+
+import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.data.filter.FilterUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The series filter behind the sparklines of the website, applied to a long monthly series.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterUtilBenchmark {
+
+    /**
+     * Whether the series is read as a {@link TimeSeries} page or as a {@link ColumnarTimeSeries}.
+     */
+    @Param({"timeseries", "columnar"})
+    public String content;
+
+    @Param({"months", "quarters", "years"})
+    public String frequency;
+
+    private Content series;
+    private DataFilter range;
+    private DataFilter all;
+
+    @Setup
+    public void setUp() {
+        TimeSeries timeSeries = Fixtures.timeSeries("ABMI", 1948, 72);
+        series = "columnar".equals(content) ? ColumnarTimeSeries.of(timeSeries) : timeSeries;
+
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("frequency", new String[]{frequency});
+        all = new DataFilter(DataFilter.FilterType.SERIES, new HashMap<>(parameters));
+
+        parameters.put("fromYear", new String[]{"1990"});
+        parameters.put("fromMonth", new String[]{"jan"});
+        parameters.put("fromQuarter", new String[]{"q1"});
+        parameters.put("toYear", new String[]{"2010"});
+        parameters.put("toMonth", new String[]{"dec"});
+        parameters.put("toQuarter", new String[]{"q4"});
+        range = new DataFilter(DataFilter.FilterType.SERIES, parameters);
+    }
+
+    @Benchmark
+    public Content filterWholeSeries() throws ZebedeeException {
+        return FilterUtil.filterPageData(series, all);
+    }
+
+    @Benchmark
+    public Content filterRange() throws ZebedeeException {
+        return FilterUtil.filterPageData(series, range);
+    }
+}
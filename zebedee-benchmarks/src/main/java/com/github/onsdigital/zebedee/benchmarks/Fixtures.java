@@ -0,0 +1,175 @@
+package com.github.onsdigital.zebedee.benchmarks;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import com.github.onsdigital.zebedee.content.page.statistics.dataset.DatasetLandingPage;
+import com.github.onsdigital.zebedee.content.page.statistics.dataset.DownloadSection;
+import com.github.onsdigital.zebedee.content.page.statistics.document.bulletin.Bulletin;
+import com.github.onsdigital.zebedee.content.page.taxonomy.ProductPage;
+import com.github.onsdigital.zebedee.content.partial.Link;
+import com.github.onsdigital.zebedee.content.partial.markdown.MarkdownSection;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the content the benchmarks run against. Values are random but seeded, so every run reads the same content.
+ */
+final class Fixtures {
+
+    static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private static final String LOREM = "Gross domestic product is estimated to have increased by 0.5% in the " +
+            "latest quarter, with growth in the services industries offsetting falls in production and construction. ";
+
+    private Fixtures() {
+    }
+
+    /**
+     * A time series with yearly, quarterly and monthly values from the given year onwards, as a long running series
+     * such as ABMI has.
+     */
+    static TimeSeries timeSeries(String cdid, int fromYear, int years) {
+        Random random = new Random(cdid.hashCode());
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.setUri(URI.create("/economy/grossdomesticproductgdp/timeseries/" + cdid.toLowerCase()));
+        PageDescription description = description(cdid + " - Gross Domestic Product");
+        description.setCdid(cdid);
+        description.setUnit("m");
+        description.setPreUnit("£");
+        timeSeries.setDescription(description);
+
+        double level = 1000;
+        for (int year = fromYear; year < fromYear + years; year++) {
+            timeSeries.add(value(String.valueOf(year), level * 12));
+            for (int quarter = 1; quarter <= 4; quarter++) {
+                timeSeries.add(value(year + " Q" + quarter, level * 3));
+            }
+            for (String month : MONTHS) {
+                level += random.nextGaussian() * 10;
+                timeSeries.add(value(year + " " + month, level));
+            }
+        }
+        return timeSeries;
+    }
+
+    static List<TimeSeries> timeSeries(int count, int fromYear, int years) {
+        List<TimeSeries> series = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            series.add(timeSeries(String.format("A%03d", i), fromYear, years));
+        }
+        return series;
+    }
+
+    static Bulletin bulletin(String uri, int sections, Calendar releaseDate) {
+        Bulletin bulletin = new Bulletin();
+        bulletin.setUri(URI.create(uri));
+        PageDescription description = description("GDP first quarterly estimate");
+        description.setReleaseDate(releaseDate.getTime());
+        description.setEdition(String.valueOf(releaseDate.get(Calendar.YEAR)));
+        bulletin.setDescription(description);
+
+        List<MarkdownSection> markdown = new ArrayList<>(sections);
+        for (int i = 0; i < sections; i++) {
+            MarkdownSection section = new MarkdownSection();
+            section.setTitle("Section " + i);
+            section.setMarkdown(String.join("", Collections.nCopies(20, LOREM)));
+            markdown.add(section);
+        }
+        bulletin.setSections(markdown);
+        bulletin.setRelatedData(links("/economy/grossdomesticproductgdp/timeseries/abmi", 20));
+        return bulletin;
+    }
+
+    static DatasetLandingPage datasetLandingPage(int downloads) {
+        DatasetLandingPage page = new DatasetLandingPage();
+        page.setUri(URI.create("/economy/grossdomesticproductgdp/datasets/secondestimateofgdp"));
+        page.setDescription(description("Second estimate of GDP"));
+
+        List<DownloadSection> sections = new ArrayList<>(downloads);
+        for (int i = 0; i < downloads; i++) {
+            DownloadSection section = new DownloadSection();
+            section.setTitle("Download " + i);
+            section.setFile("pn2" + i + ".csdb");
+            section.setCdids(Arrays.asList("ABMI", "IHYQ", "YBHA"));
+            sections.add(section);
+        }
+        page.setDownloads(sections);
+        page.setRelatedDatasets(links("/economy/grossdomesticproductgdp/datasets/dataset", 10));
+        return page;
+    }
+
+    static ProductPage productPage(int links) {
+        ProductPage page = new ProductPage();
+        page.setUri(URI.create("/economy/grossdomesticproductgdp"));
+        page.setDescription(description("Gross Domestic Product (GDP)"));
+        page.setItems(links("/economy/grossdomesticproductgdp/timeseries/a", links));
+        page.setDatasets(links("/economy/grossdomesticproductgdp/datasets/dataset", links / 10));
+        page.setStatsBulletins(links("/economy/grossdomesticproductgdp/bulletins/bulletin", links / 10));
+        return page;
+    }
+
+    /**
+     * Write a published content tree under the given root: a product page with the given number of time series
+     * and a bulletin series with the given number of editions.
+     */
+    static void writeContentTree(Path root, int timeSeries, int editions) throws IOException {
+        String product = "/economy/grossdomesticproductgdp";
+        write(root, product, productPage(timeSeries));
+        for (TimeSeries series : timeSeries(timeSeries, 1990, 30)) {
+            write(root, series.getUri().toString(), series);
+        }
+
+        Calendar releaseDate = new GregorianCalendar(2000, Calendar.JANUARY, 1);
+        for (int i = 0; i < editions; i++) {
+            String uri = product + "/bulletins/gdpfirstestimate/" + String.format("%tF", releaseDate);
+            write(root, uri, bulletin(uri, 5, releaseDate));
+            releaseDate.add(Calendar.MONTH, 3);
+        }
+    }
+
+    static void write(Path root, String uri, Page page) throws IOException {
+        Path file = root.resolve(uri.substring(1)).resolve("data.json");
+        Files.createDirectories(file.getParent());
+        Files.write(file, ContentUtil.serialise(page).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageDescription description(String title) {
+        PageDescription description = new PageDescription();
+        description.setTitle(title);
+        description.setSummary(LOREM);
+        description.setMetaDescription(LOREM);
+        description.setKeywords(Arrays.asList("gdp", "economy", "growth"));
+        description.setReleaseDate(new GregorianCalendar(2020, Calendar.FEBRUARY, 11).getTime());
+        description.setNextRelease("11 May 2020");
+        return description;
+    }
+
+    private static List<Link> links(String prefix, int count) {
+        List<Link> links = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            links.add(new Link(URI.create(prefix + i)));
+        }
+        return links;
+    }
+
+    private static TimeSeriesValue value(String date, double value) {
+        TimeSeriesValue timeSeriesValue = new TimeSeriesValue();
+        timeSeriesValue.date = date;
+        timeSeriesValue.value = String.format("%.1f", value);
+        return timeSeriesValue;
+    }
+}
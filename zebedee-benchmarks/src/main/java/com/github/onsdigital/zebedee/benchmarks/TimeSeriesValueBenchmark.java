@@ -0,0 +1,109 @@
+package com.github.onsdigital.zebedee.benchmarks;
+
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordering time series values, as a {@link TreeSet} of values does when a series is deserialised.
+ * <p>
+ * {@link TimeSeriesValue#compareTo} compares hand parsed period keys. The <code>toDate</code> benchmarks order the
+ * same values by {@link TimeSeriesValue#toDate(String)}, which is how values were compared before, so the two can be
+ * measured against each other.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSeriesValueBenchmark {
+
+    @Param({"70"})
+    public int years;
+
+    // Monthly values only for the sorts, as a year, its first quarter and January are the same date.
+    private List<String> months;
+    private List<String> dates;
+
+    @Setup
+    public void setUp() {
+        months = new ArrayList<>();
+        dates = new ArrayList<>();
+        for (int year = 1948; year < 1948 + years; year++) {
+            dates.add(String.valueOf(year));
+            for (int quarter = 1; quarter <= 4; quarter++) {
+                dates.add(year + " Q" + quarter);
+            }
+            for (String month : Fixtures.MONTHS) {
+                months.add(year + " " + month);
+            }
+        }
+        dates.addAll(months);
+        Collections.shuffle(months, new Random(years));
+        Collections.shuffle(dates, new Random(years));
+    }
+
+    /**
+     * Build a sorted set from values that have not been compared yet, so every key is parsed.
+     */
+    @Benchmark
+    public TreeSet<TimeSeriesValue> sortByPeriod() {
+        TreeSet<TimeSeriesValue> set = new TreeSet<>();
+        for (String date : months) {
+            set.add(value(date));
+        }
+        return set;
+    }
+
+    @Benchmark
+    public TreeSet<TimeSeriesValue> sortByDate() {
+        TreeSet<TimeSeriesValue> set = new TreeSet<>((a, b) -> a.toDate().compareTo(b.toDate()));
+        for (String date : months) {
+            set.add(value(date));
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int toPeriod() {
+        int result = 0;
+        for (String date : dates) {
+            result += value(date).toPeriod();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long toDate() {
+        long result = 0;
+        for (String date : dates) {
+            Date parsed = TimeSeriesValue.toDate(date);
+            result += parsed.getTime();
+        }
+        return result;
+    }
+
+    private static TimeSeriesValue value(String date) {
+        TimeSeriesValue value = new TimeSeriesValue();
+        value.date = date;
+        return value;
+    }
+}
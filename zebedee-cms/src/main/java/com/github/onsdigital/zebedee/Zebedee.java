@@ -146,53 +146,35 @@ public class Zebedee {
      * @throws IOException
      */
     public int isBeingEdited(String uri) throws IOException {
-        int result = 0;
-
         // Is this URI present anywhere else?
-        for (Collection collection : collections.list()) {
-            if (collection.isInCollection(uri)) {
-                result++;
-            }
-        }
-
-        return result;
+        return collections.findCollectionsContaining(uri).size();
     }
 
     public Optional<Collection> checkForCollectionBlockingChange(Collection workingCollection, String uri) throws IOException {
-        return collections.list()
+        return collections.findCollectionsContaining(uri)
                 .stream()
-                .filter(c -> c.isInCollection(uri) && !workingCollection.getDescription().getId()
-                        .equals(c.getDescription().getId()))
+                .filter(c -> !workingCollection.getDescription().getId().equals(c.getDescription().getId()))
                 .findFirst();
     }
 
     public Optional<Collection> checkForCollectionBlockingChange(String uri) throws IOException {
-        return collections.list()
+        return collections.findCollectionsContaining(uri)
                 .stream()
-                .filter(c -> c.isInCollection(uri))
                 .findFirst();
     }
 
     public void checkAllCollectionsForDeleteMarker(String uri) throws IOException, DeleteContentRequestDeniedException {
-        Path searchValue = Paths.get(uri);
-
-        for (Collection collection : collections.list()) {
-            if (collection.getDescription().getPendingDeletes()
-                    .stream()
-                    .filter(existingDeleteRoot -> searchValue.startsWith(Paths.get(existingDeleteRoot.getRoot()
-                            .contentPath)))
-                    .findFirst().isPresent()) {
-                throw markedDeleteInAnotherCollectionError(collection, uri);
-            }
+        Collection collection = collections.getCollectionMarkingDelete(uri);
+        if (collection != null) {
+            throw markedDeleteInAnotherCollectionError(collection, uri);
         }
     }
 
     public void isBeingEditedInAnotherCollection(Collection workingCollection, String uri, Session session) throws
             IOException,
             ZebedeeException {
-        Optional<Collection> blockingCollection = collections.list()
+        Optional<Collection> blockingCollection = collections.findCollectionsContaining(uri)
                 .stream()
-                .filter(collection -> collection.isInCollection(uri))
                 .findFirst();
         if (blockingCollection.isPresent()) {
             String title = new ZebedeeCollectionReader(this, blockingCollection.get(), session)
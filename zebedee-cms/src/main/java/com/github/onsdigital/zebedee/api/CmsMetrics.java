@@ -0,0 +1,36 @@
+package com.github.onsdigital.zebedee.api;
+
+import com.github.davidcarboni.restolino.framework.Api;
+import com.github.onsdigital.zebedee.metrics.ZebedeeMetrics;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
+import org.apache.http.HttpStatus;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.GET;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Endpoint serving the {@link ZebedeeMetrics} in the Prometheus text format. It does not need a session, so it can
+ * be scraped.
+ */
+@Api
+public class CmsMetrics {
+
+    /**
+     * Writes the CMS metrics for endpoint <code>/cmsmetrics</code>.
+     *
+     * @param request  the request
+     * @param response the response
+     * @throws IOException If an error occurs writing the response.
+     */
+    @GET
+    public void get(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = ZebedeeMetrics.getInstance().write().getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpStatus.SC_OK);
+        response.setContentType(ReaderMetrics.CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -116,7 +116,7 @@ public class Collection {
         result.setInProgressUris(collection.inProgressUris());
         result.setCompleteUris(collection.completeUris());
         result.setReviewedUris(collection.reviewedUris());
-        result.setEventsByUri(collection.getDescription().getEventsByUri());
+        result.setEventsByUri(collection.getEventsByUri());
         result.setApprovalStatus(collection.getDescription().getApprovalStatus());
         result.setType(collection.getDescription().getType());
         result.setTeams(collection.getDescription().getTeams());
@@ -168,7 +168,7 @@ public class Collection {
         info().user(session.getEmail()).log("create collection endpoint: user granted canEdit permission");
 
         collectionDescription.setName(trim(collectionDescription.getName()));
-        if (collections.list().hasCollection(collectionDescription.getName())) {
+        if (collections.hasCollection(collectionDescription.getName())) {
             warn().user(session.getEmail())
                     .data(COLLECTION_NAME, collectionDescription.getName())
                     .log("create collection endpoint: request unsuccessful a collection already exists with this name");
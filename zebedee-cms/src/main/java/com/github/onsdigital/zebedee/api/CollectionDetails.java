@@ -19,6 +19,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.GET;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
@@ -100,12 +101,13 @@ public class CollectionDetails {
         result.reviewed = ContentDetailUtil.resolveDetails(collection.getReviewed(), collectionReader.getReviewed());
 
         result.approvalStatus = collection.getDescription().getApprovalStatus();
-        result.events = collection.getDescription().getEvents();
+        result.events = collection.getEvents();
         result.timeseriesImportFiles = collection.getDescription().getTimeseriesImportFiles();
 
-        addEventsForDetails(result.inProgress, collection);
-        addEventsForDetails(result.complete, collection);
-        addEventsForDetails(result.reviewed, collection);
+        Map<String, Events> eventsByUri = collection.getEventsByUri();
+        addEventsForDetails(result.inProgress, eventsByUri);
+        addEventsForDetails(result.complete, eventsByUri);
+        addEventsForDetails(result.reviewed, eventsByUri);
 
         Set<String> teamIds = zebedeeCmsService.getPermissions().listViewerTeams(session, collection.getDescription().getId());
 
@@ -130,19 +132,12 @@ public class CollectionDetails {
 
     private void addEventsForDetails(
             Iterable<ContentDetail> detailsToAddEventsFor,
-            com.github.onsdigital.zebedee.model.Collection collection
+            Map<String, Events> eventsByUri
     ) {
 
         for (ContentDetail contentDetail : detailsToAddEventsFor) {
-            if (collection.getDescription().getEventsByUri() != null) {
-                ContentLanguage language = contentDetail.getDescription().getLanguage();
-                Events eventsForFile = collection.getDescription()
-                        .getEventsByUri()
-                        .get(contentDetail.uri + "/" + language.getDataFileName());
-                contentDetail.events = eventsForFile;
-            } else {
-                contentDetail.events = new Events();
-            }
+            ContentLanguage language = contentDetail.getDescription().getLanguage();
+            contentDetail.events = eventsByUri.get(contentDetail.uri + "/" + language.getDataFileName());
         }
     }
 }
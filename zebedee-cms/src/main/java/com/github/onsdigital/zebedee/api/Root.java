@@ -10,6 +10,7 @@ import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.exceptions.UnauthorizedException;
 import com.github.onsdigital.zebedee.json.serialiser.IsoDateSerializer;
 import com.github.onsdigital.zebedee.model.Collection;
+import com.github.onsdigital.zebedee.model.CollectionContentIndex;
 import com.github.onsdigital.zebedee.model.Collections;
 import com.github.onsdigital.zebedee.model.Content;
 import com.github.onsdigital.zebedee.model.publishing.scheduled.PublishScheduler;
@@ -83,6 +84,7 @@ public class Root {
         try {
             Collections.CollectionList collections = zebedee.getCollections().list();
             loadExistingCollectionsIntoScheduler(collections);
+            CollectionContentIndex.forRoot(zebedee.getCollections().getPath()).build();
         } catch (IOException ex) {
             throw new RuntimeException("failed to load collections list on startup", ex);
         }
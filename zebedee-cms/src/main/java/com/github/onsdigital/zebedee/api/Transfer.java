@@ -6,6 +6,7 @@ import com.github.onsdigital.zebedee.json.TransferRequest;
 import com.github.onsdigital.zebedee.model.Collection;
 import com.github.onsdigital.zebedee.model.PathUtils;
 import com.github.onsdigital.zebedee.session.model.Session;
+import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.http.HttpStatus;
 
 import javax.servlet.http.HttpServletRequest;
@@ -57,7 +58,7 @@ public class Transfer {
         }
 
         // get the destination file
-        Collection destination = Root.zebedee.getCollections().list().getCollection(params.destination);
+        Collection destination = Root.zebedee.getCollections().getCollection(params.destination);
         if (destination == null) {
             response.setStatus(HttpStatus.NOT_FOUND_404);
             return false;
@@ -71,6 +72,9 @@ public class Transfer {
         }
 
         PathUtils.moveFilesInDirectory(sourcePath, destinationPath);
+        String directory = StringUtils.substringBeforeLast(params.uri, "/");
+        source.reindex(directory, false);
+        destination.reindex(directory, false);
 
         Audit.Event.COLLECTION_TRANSFERRED.parameters()
                 .host(request)
@@ -81,6 +85,6 @@ public class Transfer {
     }
 
     private Collection getSource(TransferRequest params, HttpServletRequest request) throws  IOException{
-        return params.source == null ? Collections.getCollection(request) : Root.zebedee.getCollections().list().getCollection(params.source);
+        return params.source == null ? Collections.getCollection(request) : Root.zebedee.getCollections().getCollection(params.source);
     }
 }
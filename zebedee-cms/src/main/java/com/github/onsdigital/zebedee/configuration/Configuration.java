@@ -61,6 +61,13 @@ public class Configuration {
     // how many additional seconds after the publish
     private static final int DEFAULT_SECONDS_TO_CACHE_AFTER_SCHEDULED_PUBLISH = 30;
 
+    // how often the in-memory collection registry is checked against the collections on disk
+    private static final int DEFAULT_COLLECTION_REGISTRY_RECONCILE_SECONDS = 60;
+    private static final int DEFAULT_COLLECTION_CONTENT_INDEX_CHECK_SECONDS = 600;
+
+    // how long a collection save waits for other saves of the same collection to write with it
+    private static final int DEFAULT_COLLECTION_SAVE_WINDOW_MILLIS = 2;
+
     private static final String RESUMABLE_TYPE = "text/plain";
     private static final String IS_PUBLISHABLE = "true";
     private static final String LICENCE = "Open Government Licence v3.0";
@@ -102,6 +109,26 @@ public class Configuration {
                 DEFAULT_SECONDS_TO_CACHE_AFTER_SCHEDULED_PUBLISH);
     }
 
+    /**
+     * how many seconds between checks of the in-memory collection registry against the collections on disk.
+     */
+    public static int getCollectionRegistryReconcileSeconds() {
+        return getIntWithDefault("COLLECTION_REGISTRY_RECONCILE_SECONDS",
+                DEFAULT_COLLECTION_REGISTRY_RECONCILE_SECONDS);
+    }
+
+    public static int getCollectionContentIndexCheckSeconds() {
+        return getIntWithDefault("COLLECTION_CONTENT_INDEX_CHECK_SECONDS",
+                DEFAULT_COLLECTION_CONTENT_INDEX_CHECK_SECONDS);
+    }
+
+    /**
+     * how many milliseconds a collection save waits for other saves of the same collection to join its write.
+     */
+    public static int getCollectionSaveWindowMillis() {
+        return getIntWithDefault("COLLECTION_SAVE_WINDOW_MILLIS", DEFAULT_COLLECTION_SAVE_WINDOW_MILLIS);
+    }
+
     public static int getMaxRetryTimeout() {
         return getIntWithDefault("MAX_RETRY_ELAPSED_TIME", DEFAULT_MAX_RETRY_ELAPSED_TIME);
     }
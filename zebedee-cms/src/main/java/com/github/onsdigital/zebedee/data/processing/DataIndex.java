@@ -4,15 +4,18 @@ import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.Tim
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
 import com.github.onsdigital.zebedee.reader.ContentReader;
+import com.github.onsdigital.zebedee.util.ContentTreeWalker;
 
 import java.io.IOException;
-import java.nio.file.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.info;
 import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
@@ -22,7 +25,7 @@ import static com.github.onsdigital.logging.v2.event.SimpleEvent.error;
  */
 public class DataIndex {
     private static final ExecutorService pool = Executors.newSingleThreadExecutor();
-    Map<String, String> index = new HashMap<>();
+    Map<String, String> index = new ConcurrentHashMap<>();
     ContentReader contentReader = null;
     boolean indexBuilt = false;
 
@@ -60,7 +63,11 @@ public class DataIndex {
             info().log("Start building data index.");
             long startTime = System.nanoTime();
             try {
-                Files.walkFileTree(contentReader.getRootFolder(), new IndexBuilder(index, contentReader));
+                // Timeseries are read in parallel as the tree is walked, previous versions are never walked into.
+                new ContentTreeWalker()
+                        .descendInto(ContentTreeWalker.named(VersionedContentItem.getVersionDirectoryName()).negate())
+                        .include(ContentTreeWalker.named("data.json"))
+                        .walk(contentReader.getRootFolder(), new IndexBuilder(index, contentReader));
             } catch (IOException e) {
                 error().logException(e, "Failed to build data index");
             }
@@ -109,11 +116,11 @@ public class DataIndex {
     }
 
     /**
-     * Inner class for walking the file tree
+     * Inner class for indexing the data files found walking the file tree
      */
-    private static class IndexBuilder extends SimpleFileVisitor<Path> {
+    private static class IndexBuilder implements BiConsumer<Path, BasicFileAttributes> {
 
-        Map<String, String> index = new HashMap<>();
+        Map<String, String> index;
         ContentReader contentReader = null;
 
         public IndexBuilder(Map<String, String> index, ContentReader contentReader) {
@@ -122,7 +129,7 @@ public class DataIndex {
         }
 
         @Override
-        public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+        public void accept(Path file, BasicFileAttributes attr) {
             // Get the uri
             String uri = "/" + this.contentReader.getRootFolder().relativize(file).toString();
 
@@ -150,7 +157,6 @@ public class DataIndex {
                 }
 
             }
-            return FileVisitResult.CONTINUE;
         }
     }
 }
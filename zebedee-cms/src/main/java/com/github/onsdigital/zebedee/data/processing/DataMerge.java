@@ -3,10 +3,14 @@ package com.github.onsdigital.zebedee.data.processing;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
 import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Created by thomasridd on 1/21/16.
@@ -20,82 +24,79 @@ public class DataMerge {
 
         // Clone the original timeseries
         this.merged = ContentUtil.deserialise(ContentUtil.serialise(original), TimeSeries.class);
+        Date updateDate = merged.getDescription() == null ? null : merged.getDescription().getReleaseDate();
 
         // Merge in each of the yearly, quarterly, and monthly timeseries
-        mergeTimeSeriesValueSet(merged, merged.years, updates.years, datasetId);
-        mergeTimeSeriesValueSet(merged, merged.quarters, updates.quarters, datasetId);
-        mergeTimeSeriesValueSet(merged, merged.months, updates.months, datasetId);
+        mergeTimeSeriesValueSet(merged, merged.years, updates.years, datasetId, updateDate);
+        mergeTimeSeriesValueSet(merged, merged.quarters, updates.quarters, datasetId, updateDate);
+        mergeTimeSeriesValueSet(merged, merged.months, updates.months, datasetId, updateDate);
 
         return this.merged;
     }
 
     /**
-     * Merge a
-     *
-     * @param page
-     * @param currentValues
-     * @param updateValues
-     * @param datasetId
-     * @return
+     * Merge one frequency of a timeseries. Both sets are in date order, so they are walked side by side rather than
+     * the current values being searched for each update:
+     * <ul>
+     * <li>a point only in the updates is inserted</li>
+     * <li>a point in both takes the updated value if it has changed, which is a correction</li>
+     * <li>a point only in the current values has been suppressed, so its value is blanked, which is a correction</li>
+     * </ul>
      */
-    private void mergeTimeSeriesValueSet(TimeSeries page, Set<TimeSeriesValue> currentValues, Set<TimeSeriesValue> updateValues, String datasetId) {
-
-        for (TimeSeriesValue value : updateValues) {
-            // Find the current value of the data point
-            TimeSeriesValue current = getCurrentValue(currentValues, value);
-
-            if (current != null) { // A point already exists for this data
+    private void mergeTimeSeriesValueSet(TimeSeries page, Set<TimeSeriesValue> currentValues,
+                                         Set<TimeSeriesValue> updateValues, String datasetId, Date updateDate) {
+        Iterator<TimeSeriesValue> currents = currentValues == null
+                ? Collections.emptyIterator() : currentValues.iterator();
+        Iterator<TimeSeriesValue> updates = updateValues == null
+                ? Collections.emptyIterator() : updateValues.iterator();
+        TimeSeriesValue current = next(currents);
+        TimeSeriesValue update = next(updates);
+
+        // Inserted points are added once the walk is done, as they may belong to the set being walked.
+        List<TimeSeriesValue> inserted = new ArrayList<>();
+        while (current != null || update != null) {
+            int comparison;
+            if (current == null) {
+                comparison = 1;
+            } else if (update == null) {
+                comparison = -1;
+            } else {
+                comparison = current.compareTo(update);
+            }
 
-                if (!current.value.equalsIgnoreCase(value.value)) { // A point already exists for this data
+            if (comparison < 0) {
+                // Suppressed: in the current values but not in the updated values
+                current.value = "";
+                this.corrections += 1;
+                current = next(currents);
+            } else if (comparison > 0) {
+                // Take a copy of the point and add it to our merged page
+                TimeSeriesValue copy = ContentUtil.deserialise(ContentUtil.serialise(update), TimeSeriesValue.class);
+                copy.sourceDataset = datasetId;
+                copy.updateDate = updateDate;
+                inserted.add(copy);
 
+                // Log that an insertion has been made to the timeseries
+                this.insertions += 1;
+                update = next(updates);
+            } else {
+                if (!StringUtils.equalsIgnoreCase(current.value, update.value)) {
                     // Update the point
-                    current.value = value.value;
+                    current.value = update.value;
                     current.sourceDataset = datasetId;
-                    current.updateDate = page.getDescription().getReleaseDate();
+                    current.updateDate = updateDate;
 
                     // Log a correction has been made to existing data
                     this.corrections += 1;
                 }
-            } else {
-                // Take a copy of the point and add it to our merged page
-                TimeSeriesValue copy = ContentUtil.deserialise(ContentUtil.serialise(value), TimeSeriesValue.class);
-                copy.sourceDataset = datasetId;
-                copy.updateDate = page.getDescription().getReleaseDate();
-
-                page.add(copy);
-
-                // Log that an insertion has been made to the timeseries
-                this.insertions += 1;
+                current = next(currents);
+                update = next(updates);
             }
         }
-
-        // Find values that have been suppressed, i.e, they are in the current values but not in the updated values
-        List<TimeSeriesValue> suppressed = currentValues.stream()
-                .filter(current -> !updateValues.contains(current))
-                .collect(Collectors.toList());
-
-        suppressed.forEach(current -> current.value = "");
-        this.corrections += suppressed.size();
+        inserted.forEach(page::add);
     }
 
-    /**
-     * If a {@link TimeSeriesValue} for value.time exists in currentValues returns that.
-     * Otherwise null
-     *
-     * @param currentValues a set of {@link TimeSeriesValue}
-     * @param value         a {@link TimeSeriesValue}
-     * @return a {@link TimeSeriesValue} from currentValues
-     */
-    private TimeSeriesValue getCurrentValue(Set<TimeSeriesValue> currentValues, TimeSeriesValue value) {
-        if (currentValues == null) {
-            return null;
-        }
-
-        for (TimeSeriesValue current : currentValues) {
-            if (current.compareTo(value) == 0) {
-                return current;
-            }
-        }
-        return null;
+    private static TimeSeriesValue next(Iterator<TimeSeriesValue> values) {
+        return values.hasNext() ? values.next() : null;
     }
 }
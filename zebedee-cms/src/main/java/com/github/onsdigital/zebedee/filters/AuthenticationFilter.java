@@ -5,6 +5,7 @@ import com.github.davidcarboni.restolino.framework.Priority;
 import com.github.davidcarboni.restolino.helpers.Path;
 import com.github.davidcarboni.restolino.json.Serialiser;
 import com.github.onsdigital.zebedee.api.ClickEventLog;
+import com.github.onsdigital.zebedee.api.CmsMetrics;
 import com.github.onsdigital.zebedee.api.Identity;
 import com.github.onsdigital.zebedee.api.Login;
 import com.github.onsdigital.zebedee.api.Password;
@@ -71,6 +72,7 @@ public class AuthenticationFilter implements PreFilter {
             .add(ServiceDatasetPermissions.class)
             .add(ServiceInstancePermissions.class)
             .add(Health.class)
+            .add(CmsMetrics.class)
             .add(PublishedData.class)
             .add(PublishedIndex.class)
             .build();
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,6 +41,9 @@ public class CollectionDescription extends CollectionBase {
     private boolean isEncrypted;
     private Events events;
 
+    // The events already in the event journal of the collection, which are not written with the description.
+    private transient Set<Event> journaledEvents;
+
     /**
      * Default constuructor for serialisation.
      */
@@ -352,6 +356,26 @@ public class CollectionDescription extends CollectionBase {
         this.eventsByUri = eventsByUri;
     }
 
+    /**
+     * @param event an event of this collection.
+     * @return true if the event has been written to the event journal of the collection.
+     */
+    public boolean isJournaled(Event event) {
+        return journaledEvents != null && journaledEvents.contains(event);
+    }
+
+    /**
+     * Note that an event has been written to the event journal of the collection.
+     *
+     * @param event an event of this collection.
+     */
+    public void markJournaled(Event event) {
+        if (journaledEvents == null) {
+            journaledEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        journaledEvents.add(event);
+    }
+
     public List<Result> getPublishResults() {
         return this.publishResults;
     }
@@ -0,0 +1,87 @@
+package com.github.onsdigital.zebedee.metrics;
+
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
+import com.github.onsdigital.zebedee.reader.metrics.SizeHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency and batch size histograms of the work done by the CMS, e.g. saving collections, written in the Prometheus
+ * text format by the {@link com.github.onsdigital.zebedee.api.CmsMetrics} endpoint.
+ * <p>
+ * These are kept apart from the reader's {@link com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics}, as the
+ * CMS does not serve the reader endpoints.
+ */
+public class ZebedeeMetrics {
+
+    private static final String PREFIX = "zebedee_cms_";
+
+    private static final ZebedeeMetrics INSTANCE = new ZebedeeMetrics();
+
+    private final ConcurrentMap<String, LatencyHistogram> stages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SizeHistogram> batchSizes = new ConcurrentHashMap<>();
+
+    public static ZebedeeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the histogram timing a stage of an operation, e.g. waiting for the lock of a collection.
+     *
+     * @param name the name of the stage.
+     */
+    public static LatencyHistogram stage(String name) {
+        return getInstance().getStage(name);
+    }
+
+    LatencyHistogram getStage(String name) {
+        return stages.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Get the histogram of the number of operations merged into each write of a batched operation, e.g. saving a
+     * collection.
+     *
+     * @param name the name of the operation.
+     */
+    public static SizeHistogram batchSize(String name) {
+        return getInstance().getBatchSize(name);
+    }
+
+    SizeHistogram getBatchSize(String name) {
+        return batchSizes.computeIfAbsent(name, n -> new SizeHistogram());
+    }
+
+    /**
+     * @return every metric in the Prometheus text format.
+     */
+    public String write() {
+        StringBuilder out = new StringBuilder();
+
+        String stageDuration = PREFIX + "stage_duration_seconds";
+        header(out, stageDuration, "histogram", "Time taken by a stage of an operation.");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(stages).entrySet()) {
+            entry.getValue().write(out, stageDuration, label("stage", entry.getKey()));
+        }
+
+        String batchSize = PREFIX + "batch_size";
+        header(out, batchSize, "histogram", "Operations merged into one write, by operation.");
+        for (Map.Entry<String, SizeHistogram> entry : new TreeMap<>(batchSizes).entrySet()) {
+            entry.getValue().write(out, batchSize, label("operation", entry.getKey()));
+        }
+
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
@@ -22,6 +22,7 @@ import com.github.onsdigital.zebedee.json.ContentStatus;
 import com.github.onsdigital.zebedee.json.Event;
 import com.github.onsdigital.zebedee.json.EventType;
 import com.github.onsdigital.zebedee.json.Events;
+import com.github.onsdigital.zebedee.metrics.ZebedeeMetrics;
 import com.github.onsdigital.zebedee.model.approval.tasks.ReleasePopulator;
 import com.github.onsdigital.zebedee.model.content.item.ContentItemVersion;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
@@ -33,11 +34,14 @@ import com.github.onsdigital.zebedee.reader.ContentReader;
 import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
 import com.github.onsdigital.zebedee.reader.Resource;
 import com.github.onsdigital.zebedee.reader.ZebedeeReader;
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
 import com.github.onsdigital.zebedee.session.model.Session;
 import com.github.onsdigital.zebedee.teams.model.Team;
 import com.github.onsdigital.zebedee.teams.service.TeamsService;
 import com.github.onsdigital.zebedee.util.versioning.VersionsService;
 import com.github.onsdigital.zebedee.util.versioning.VersionsServiceImpl;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -47,11 +51,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -68,7 +76,6 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -90,7 +97,9 @@ public class Collection {
     private static final String TARGET_COLLECTION = "targetCollection";
     private static final String DATASETS_URI = "/datasets/";
 
-    private static ConcurrentMap<Path, ReadWriteLock> collectionLocks = new ConcurrentHashMap<>();
+    private static ConcurrentMap<Path, ReentrantReadWriteLock> collectionLocks = new ConcurrentHashMap<>();
+
+    private static final LatencyHistogram SAVE_LOCK_WAIT = ZebedeeMetrics.stage("collection_save_lock_wait");
 
     private final CollectionDescription description;
     private final Path path;
@@ -114,40 +123,126 @@ public class Collection {
      * @throws IOException
      */
     public Collection(Path path, Zebedee zebedee) throws IOException, CollectionNotFoundException {
+        this(path, zebedee, readDescription(path));
+    }
 
+    /**
+     * Instantiates an existing {@link Collection} whose description has already been read, see
+     * {@link CollectionRegistry}.
+     *
+     * @param path        The {@link Path} of the {@link Collection}.
+     * @param zebedee     The containing {@link Zebedee}.
+     * @param description The description of the {@link Collection}.
+     */
+    Collection(Path path, Zebedee zebedee, CollectionDescription description) {
         this.zebedee = zebedee;
+        this.path = path;
+        this.collectionJsonPath = jsonPath(path);
+        this.description = description;
+        collectionLocks.putIfAbsent(this.path, new ReentrantReadWriteLock());
+
+        // Set fields:
+        this.reviewed = new Content(path.resolve(REVIEWED));
+        this.complete = new Content(path.resolve(COMPLETE));
+        this.inProgress = new Content(path.resolve(IN_PROGRESS));
+
+        this.versionsService = new VersionsServiceImpl();
+    }
 
+    /**
+     * Reads the description of an existing {@link Collection}. This validates that the
+     * directory contains folders named {@value #REVIEWED},
+     * {@value #IN_PROGRESS}, and {@value #COMPLETE}
+     * and throws an exception if not.
+     *
+     * @param path The {@link Path} of the {@link Collection}.
+     * @return The deserialised {@link CollectionDescription}.
+     * @throws IOException
+     */
+    static CollectionDescription readDescription(Path path) throws IOException, CollectionNotFoundException {
         // Validate the directory:
-        this.path = path;
-        Path reviewed = path.resolve(REVIEWED);
-        Path complete = path.resolve(COMPLETE);
-        Path inProgress = path.resolve(IN_PROGRESS);
-
-        this.collectionJsonPath = path.getParent().resolve(
-                path.getFileName() + ".json");
-        if (!Files.exists(reviewed) || !Files.exists(inProgress) || !Files.exists(complete)
-                || !Files.exists(this.collectionJsonPath)) {
+        Path collectionJsonPath = jsonPath(path);
+        if (!Files.exists(path.resolve(REVIEWED)) || !Files.exists(path.resolve(IN_PROGRESS))
+                || !Files.exists(path.resolve(COMPLETE)) || !Files.exists(collectionJsonPath)) {
             throw new CollectionNotFoundException(
                     "This doesn't look like a collection folder: "
                             + path.toAbsolutePath());
         }
 
         // Deserialise the description:
-        collectionLocks.putIfAbsent(this.path, new ReentrantReadWriteLock());
-        collectionLocks.get(this.path).readLock().lock();
-        try (InputStream input = Files.newInputStream(this.collectionJsonPath)) {
-            this.description = Serialiser.deserialise(input,
-                    CollectionDescription.class);
+        collectionLocks.putIfAbsent(path, new ReentrantReadWriteLock());
+        CollectionDescription description;
+        collectionLocks.get(path).readLock().lock();
+        try (InputStream input = Files.newInputStream(collectionJsonPath)) {
+            description = Serialiser.deserialise(input, CollectionDescription.class);
         } finally {
-            collectionLocks.get(this.path).readLock().unlock();
+            collectionLocks.get(path).readLock().unlock();
+        }
+        if (!hasHistory(description)) {
+            return description;
         }
 
-        // Set fields:
-        this.reviewed = new Content(reviewed);
-        this.complete = new Content(complete);
-        this.inProgress = new Content(inProgress);
+        // Written before the event journal, move the history into it:
+        collectionLocks.get(path).writeLock().lock();
+        try {
+            try (InputStream input = Files.newInputStream(collectionJsonPath)) {
+                description = Serialiser.deserialise(input, CollectionDescription.class);
+            }
+            if (CollectionEventJournal.forCollection(path).importHistory(description)) {
+                replaceAtomically(collectionJsonPath, toJson(description));
+            }
+            return description;
+        } finally {
+            collectionLocks.get(path).writeLock().unlock();
+        }
+    }
 
-        this.versionsService = new VersionsServiceImpl();
+    private static boolean hasHistory(CollectionDescription description) {
+        return (description.getEvents() != null && !description.getEvents().isEmpty())
+                || (description.getEventsByUri() != null && !description.getEventsByUri().isEmpty());
+    }
+
+    /**
+     * Serialise a collection description as it is saved, without the history held in the event journal of the
+     * collection, see {@link CollectionEventJournal}.
+     *
+     * @param description the collection description.
+     * @return the collection json.
+     */
+    static String toJson(CollectionDescription description) {
+        Gson gson = Serialiser.getBuilder().create();
+        JsonObject json = gson.toJsonTree(description).getAsJsonObject();
+        json.remove("events");
+        json.remove("eventsByUri");
+        return gson.toJson(json);
+    }
+
+    /**
+     * Replace a file with the given content so that readers only ever see the old or the new file in full: write it to
+     * a temporary file alongside, sync that to disk and move it over the file.
+     *
+     * @param path    the file to replace.
+     * @param content the new content of the file.
+     * @throws IOException If the file could not be written.
+     */
+    private static void replaceAtomically(Path path, String content) throws IOException {
+        Path temp = Files.createTempFile(path.getParent(), "." + path.getFileName(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path jsonPath(Path path) {
+        return path.getParent().resolve(path.getFileName() + ".json");
     }
 
     /**
@@ -178,13 +273,8 @@ public class Collection {
 
         collectionDescription.addEvent(new Event(new Date(), EventType.CREATED, session.getEmail()));
         // Create the description:
-        Path collectionDescriptionPath = rootCollectionsPath.resolve(filename
-                + ".json");
-        try (OutputStream output = Files.newOutputStream(collectionDescriptionPath)) {
-            Serialiser.serialise(output, collectionDescription);
-        }
-
-        Collection collection = new Collection(rootCollectionsPath.resolve(filename), zebedee);
+        Collection collection = new Collection(rootCollectionsPath.resolve(filename), zebedee, collectionDescription);
+        collection.save();
 
         if (collectionDescription.getTeams() != null) {
             setViewerTeams(collectionDescription, zebedee, session);
@@ -276,12 +366,19 @@ public class Collection {
         renameCollectionJson(collectionDescription.getId(), currentCollectionJsonPath, newCollectionJsonPath, logData);
 
         collectionDescription.setName(newCollectionName);
-        writeCollectionJson(collectionDescription, newCollectionJsonPath, logData);
-
+        CollectionEventJournal.close(currentCollectionPath);
         renameCollectionDir(currentCollectionPath, newCollectionPath, logData);
 
+        CollectionEventJournal.forCollection(newCollectionPath).append(collectionDescription);
+        writeCollectionJson(collectionDescription, newCollectionJsonPath, logData);
+
         info().data("details", logData).log("renamed collection completed successfully");
-        return new Collection(newCollectionPath, zebedee);
+        Collection renamed = new Collection(newCollectionPath, zebedee);
+
+        CollectionRegistry registry = CollectionRegistry.forRoot(zebedee.getCollections().getPath());
+        registry.remove(currentCollectionPath);
+        registry.put(newCollectionPath, renamed.getDescription());
+        return renamed;
     }
 
     /**
@@ -315,8 +412,8 @@ public class Collection {
      */
     private static void writeCollectionJson(CollectionDescription description, Path newCollectionJsonPath,
                                             Map<String, Object> logData) throws IOException {
-        try (OutputStream output = Files.newOutputStream(newCollectionJsonPath)) {
-            Serialiser.serialise(output, description);
+        try {
+            replaceAtomically(newCollectionJsonPath, toJson(description));
             info().data("details", logData).log("successfully saved updated collection json");
         } catch (Exception e) {
             throw error().data("details", logData)
@@ -504,6 +601,7 @@ public class Collection {
 
         // Delete folders:
         //this.zebedee.delete(path); // delete the directory only if its empty
+        CollectionEventJournal.close(path);
         FileUtils.deleteDirectory(path.toFile()); // delete the directory including any files.
 
         // Delete the description file
@@ -514,8 +612,12 @@ public class Collection {
             Files.delete(collectionDescriptionPath);
         }
 
+        CollectionRegistry.forRoot(path.getParent()).remove(path);
+        CollectionContentIndex.forRoot(path.getParent()).removeCollection(getId());
+
         // remove the lock for the collection
         collectionLocks.remove(path);
+        CollectionSaveGroup.remove(path);
     }
 
     /**
@@ -528,13 +630,39 @@ public class Collection {
         return collectionLocks.get(this.path).writeLock();
     }
 
+    /**
+     * Save the description of this collection, returning once it is on disk. Saves of the same collection made at
+     * about the same time are written together, see {@link CollectionSaveGroup}.
+     *
+     * @return true once saved.
+     * @throws IOException If the description could not be written.
+     */
     public boolean save() throws IOException {
-        collectionLocks.get(this.path).writeLock().lock();
-        try (OutputStream output = Files.newOutputStream(this.descriptionPath())) {
-            Serialiser.serialise(output, this.description);
-            return true;
+        if (collectionLocks.get(this.path).isWriteLockedByCurrentThread()) {
+            // e.g. while publishing, waiting for a save by another thread would wait for this one to release the lock.
+            write(java.util.Collections.singletonList(this.description));
+        } else {
+            CollectionSaveGroup.forCollection(this.path).save(this.description, this::write);
+        }
+        return true;
+    }
+
+    /**
+     * Write saves of this collection: append the events of each to the event journal and replace the collection json
+     * with the last.
+     */
+    private void write(List<CollectionDescription> descriptions) throws IOException {
+        Lock writeLock = collectionLocks.get(this.path).writeLock();
+        long start = System.nanoTime();
+        writeLock.lock();
+        SAVE_LOCK_WAIT.observeSince(start);
+        try {
+            CollectionDescription latest = descriptions.get(descriptions.size() - 1);
+            CollectionEventJournal.forCollection(this.path).append(descriptions);
+            replaceAtomically(this.descriptionPath(), toJson(latest));
+            CollectionRegistry.forRoot(this.path.getParent()).put(this.path, latest);
         } finally {
-            collectionLocks.get(this.path).writeLock().unlock();
+            writeLock.unlock();
         }
     }
 
@@ -542,6 +670,26 @@ public class Collection {
         return this.collectionJsonPath;
     }
 
+    /**
+     * Read the history of this collection from its event journal, see {@link CollectionEventJournal}.
+     *
+     * @return the events of the collection.
+     * @throws IOException If the event journal could not be read.
+     */
+    public Events getEvents() throws IOException {
+        return CollectionEventJournal.forCollection(this.path).getEvents(this.description);
+    }
+
+    /**
+     * Read the history of the content of this collection from its event journal, see {@link CollectionEventJournal}.
+     *
+     * @return the events of each uri in the collection.
+     * @throws IOException If the event journal could not be read.
+     */
+    public Map<String, Events> getEventsByUri() throws IOException {
+        return CollectionEventJournal.forCollection(this.path).getEventsByUri(this.description);
+    }
+
     /**
      * Finds the given URI in the resolved overlay.
      *
@@ -635,6 +783,7 @@ public class Collection {
             // Copy from Published to in progress:
             Path path = inProgress.toPath(uri);
             PathUtils.create(path);
+            reindex(uri, false);
 
             addEvent(uri, new Event(new Date(), EventType.CREATED, session.getEmail()));
 
@@ -698,6 +847,7 @@ public class Collection {
                 } else {
                     PathUtils.moveFilesInDirectory(source, destination);
                 }
+                reindex(directoryOf(uri), recursive);
                 zebedee.getCollections().removeEmptyCollectionDirectories(source);
             } else {
                 try (InputStream inputStream = new FileInputStream(source.toFile())) {
@@ -740,6 +890,7 @@ public class Collection {
             } else {
                 PathUtils.moveFilesInDirectory(source, destination);
             }
+            reindex(directoryOf(uri), recursive);
 
             addEvent(uri, new Event(new Date(), EventType.COMPLETED, session.getEmail()));
             result = true;
@@ -809,6 +960,7 @@ public class Collection {
             } else {
                 reviewSingleFile(source, destination);
             }
+            reindex(directoryOf(uri), recursive);
 
             addEvent(uri, new Event(new Date(), EventType.REVIEWED, session.getEmail()));
             result = true;
@@ -838,16 +990,13 @@ public class Collection {
         zebedee.getCollections().removeEmptyCollectionDirectories(src);
     }
 
-    private boolean contentWasCompleted(String uri) {
+    private boolean contentWasCompleted(String uri) throws IOException {
 
         if (!StringUtils.startsWith(uri, "/")) {
             uri = "/" + uri;
         }
-        if (this.description.getEventsByUri() == null) {
-            return false;
-        }
 
-        Events events = this.description.getEventsByUri().get(uri);
+        Events events = getEventsByUri().get(uri);
         if (events == null) {
             return false;
         }
@@ -855,16 +1004,13 @@ public class Collection {
         return events.hasEventForType(EventType.COMPLETED);
     }
 
-    private boolean didUserCompleteContent(String email, String uri) throws BadRequestException {
+    private boolean didUserCompleteContent(String email, String uri) throws IOException {
 
         if (!StringUtils.startsWith(uri, "/")) {
             uri = "/" + uri;
         }
-        if (this.description.getEventsByUri() == null) {
-            return false;
-        }
 
-        Events events = this.description.getEventsByUri().get(uri);
+        Events events = getEventsByUri().get(uri);
         if (events == null) {
             return false;
         }
@@ -895,6 +1041,23 @@ public class Collection {
         return path;
     }
 
+    /**
+     * Update the {@link CollectionContentIndex} with the content of this collection at the given uri once it has been
+     * changed on disk without going through a {@link CollectionContentWriter}, e.g. moved between stages.
+     *
+     * @param uri       the uri of a file or directory.
+     * @param recursive whether to include the content of subdirectories of a directory.
+     */
+    public void reindex(String uri, boolean recursive) {
+        CollectionContentIndex.forRoot(path.getParent()).refresh(this, uri, recursive);
+    }
+
+    private static String directoryOf(String uri) {
+        String file = StringUtils.removeEnd(uri, "/");
+        int separator = file.lastIndexOf('/');
+        return separator > 0 ? file.substring(0, separator) : "/";
+    }
+
     public List<String> inProgressUris() throws IOException {
         return inProgress.uris();
     }
@@ -952,14 +1115,18 @@ public class Collection {
      * @return True if the file system has been amended
      */
     public boolean deleteFile(String uri) throws IOException {
+        boolean deleted = false;
         if (isInProgress(uri)) {
-            return inProgress.delete(uri);
+            deleted = inProgress.delete(uri);
         } else if (isComplete(uri)) {
-            return complete.delete(uri);
+            deleted = complete.delete(uri);
         } else if (isReviewed(uri)) {
-            return reviewed.delete(uri);
+            deleted = reviewed.delete(uri);
         }
-        return false;
+        if (deleted) {
+            reindex(uri, false);
+        }
+        return deleted;
     }
 
     /**
@@ -987,6 +1154,7 @@ public class Collection {
         }
 
         if (hasDeleted) {
+            reindex(directoryOf(uri), true);
             addEvent(uri, new Event(new Date(), EventType.DELETED, email));
         }
         save();
@@ -1018,6 +1186,8 @@ public class Collection {
         }
 
         resetDataVizDataJson(dataJsonUri);
+        reindex(visualisationZipUri, true);
+        reindex(dataJsonUri, false);
 
         if (hasDeleted) {
             addEvent(visualisationZipUri, new Event(new Date(), EventType.DELETED, session.getEmail()));
@@ -1177,6 +1347,7 @@ public class Collection {
         }
 
         FileUtils.deleteDirectory(reviewedPath.toFile());
+        reindex(uri, true);
 
         Optional<String> version = versionsService.getVersionNameFromURI(uri);
         String note = version.isPresent() ? version.get() : uri;
@@ -1209,6 +1380,8 @@ public class Collection {
 
         // Fix up links within the content
         if (hasMoved) {
+            reindex(fromUri, true);
+            reindex(toUri, true);
             replaceLinksWithinCollection(session, fromUri, toUri);
             addEvent(fromUri, new Event(new Date(), EventType.MOVED, session.getEmail()));
         }
@@ -1304,7 +1477,11 @@ public class Collection {
             hasRenamed = renameContent(reviewed, fromUri, toUri);
         }
 
-        if (hasRenamed) addEvent(fromUri, new Event(new Date(), EventType.RENAMED, email));
+        if (hasRenamed) {
+            reindex(fromUri, false);
+            reindex(toUri, false);
+            addEvent(fromUri, new Event(new Date(), EventType.RENAMED, email));
+        }
 
         return hasRenamed;
     }
@@ -0,0 +1,356 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.json.ContentStatus;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.github.onsdigital.zebedee.configuration.Configuration.getCollectionContentIndexCheckSeconds;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.error;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.warn;
+
+/**
+ * An index from the uri of each file being edited in a collection to the collections holding it and the stage it is
+ * at in each, so checking whether content is being edited in another collection is a map lookup rather than a probe
+ * of the content folders of every collection.
+ * <p>
+ * {@link Collection} refreshes the index from disk for the uris it creates, moves and deletes, and
+ * {@link CollectionContentWriter} for each file it writes. The index is built from disk the first time it is used and
+ * then checked against disk in the background every
+ * {@link com.github.onsdigital.zebedee.configuration.Configuration#getCollectionContentIndexCheckSeconds()} seconds,
+ * correcting and logging anything changed without going through the model.
+ */
+public class CollectionContentIndex {
+
+    private static final ConcurrentMap<Path, CollectionContentIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final ExecutorService CHECKS = Executors.newSingleThreadExecutor();
+
+    // The stages in the order they take precedence, see Collection#isInProgress etc.
+    private static final ContentStatus[] STAGES = {ContentStatus.InProgress, ContentStatus.Complete,
+            ContentStatus.Reviewed};
+
+    // Every uri under a directory sorts between "<directory>/" and "<directory>0", as '0' follows '/'.
+    private static final char AFTER_SEPARATOR = '/' + 1;
+
+    private final Path root;
+    private final long checkIntervalNanos;
+
+    // The values are never changed once in the map, they are replaced.
+    private final ConcurrentSkipListMap<String, Map<String, ContentStatus>> owners = new ConcurrentSkipListMap<>();
+
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private volatile boolean built;
+    private volatile long checkedAt;
+    private volatile Set<String> changedDuringCheck;
+
+    CollectionContentIndex(Path root, long checkIntervalSeconds) {
+        this.root = root;
+        this.checkIntervalNanos = TimeUnit.SECONDS.toNanos(checkIntervalSeconds);
+    }
+
+    /**
+     * Get the index of the content in the collections in the given directory.
+     *
+     * @param collectionsPath the collections directory.
+     * @return the index of the content in the collections in the directory.
+     */
+    public static CollectionContentIndex forRoot(Path collectionsPath) {
+        return INDEXES.computeIfAbsent(collectionsPath.toAbsolutePath().normalize(),
+                path -> new CollectionContentIndex(collectionsPath, getCollectionContentIndexCheckSeconds()));
+    }
+
+    /**
+     * Get the collections holding the given uri. If the uri is a directory this is the collections holding any
+     * content under it.
+     *
+     * @param uri the uri of a file or directory.
+     * @return the ids of the collections holding the uri and the stage the content is at in each.
+     * @throws IOException If the index could not be built.
+     */
+    public Map<String, ContentStatus> getOwners(String uri) throws IOException {
+        if (StringUtils.isBlank(uri)) {
+            return Collections.emptyMap();
+        }
+        ensureBuilt();
+
+        String key = normalise(uri);
+        Map<String, ContentStatus> result = new HashMap<>();
+        Map<String, ContentStatus> file = owners.get(key);
+        if (file != null) {
+            result.putAll(file);
+        }
+        for (Map<String, ContentStatus> under : under(key).values()) {
+            under.forEach(result::putIfAbsent);
+        }
+        return result;
+    }
+
+    /**
+     * Bring the index up to date with the files the given collection holds at the given uri.
+     *
+     * @param collection the collection the content changed in.
+     * @param uri        the uri of a file or directory.
+     * @param recursive  whether to include the content of subdirectories of a directory.
+     */
+    public void refresh(Collection collection, String uri, boolean recursive) {
+        String id = idOf(collection);
+        if (id == null || StringUtils.isBlank(uri)) {
+            return;
+        }
+        String key = normalise(uri);
+
+        Map<String, ContentStatus> found = new LinkedHashMap<>();
+        for (ContentStatus stage : STAGES) {
+            Path contentRoot = content(collection, stage).getPath();
+            Path path = contentRoot.resolve(StringUtils.removeStart(key, "/"));
+            if (Files.isRegularFile(path)) {
+                found.putIfAbsent(key, stage);
+            } else if (Files.isDirectory(path)) {
+                try (Stream<Path> files = recursive ? Files.walk(path) : Files.list(path)) {
+                    files.filter(Files::isRegularFile).forEach(f -> found.putIfAbsent(toUri(contentRoot, f), stage));
+                } catch (IOException | UncheckedIOException e) {
+                    // Checked again against disk on the next check.
+                    error().data("path", path.toString()).logException(e, "failed to index collection content");
+                }
+            }
+        }
+
+        Set<String> indexed = new HashSet<>();
+        if (isOwner(owners.get(key), id)) {
+            indexed.add(key);
+        }
+        under(key).forEach((u, o) -> {
+            if (isOwner(o, id) && (recursive || u.indexOf('/', key.length() + 1) < 0)) {
+                indexed.add(u);
+            }
+        });
+
+        for (String u : indexed) {
+            if (!found.containsKey(u)) {
+                removeOwner(u, id);
+            }
+        }
+        found.forEach((u, stage) -> putOwner(u, id, stage));
+    }
+
+    /**
+     * Remove all the content of a collection, e.g. once it has been published or deleted.
+     *
+     * @param collectionId the id of the collection.
+     */
+    public void removeCollection(String collectionId) {
+        if (collectionId == null) {
+            return;
+        }
+        for (Map.Entry<String, Map<String, ContentStatus>> entry : owners.entrySet()) {
+            if (entry.getValue().containsKey(collectionId)) {
+                removeOwner(entry.getKey(), collectionId);
+            }
+        }
+    }
+
+    /**
+     * Build the index from disk if it has not been built yet, e.g. on startup so the first edit does not wait for it.
+     *
+     * @throws IOException If the content of a collection could not be read.
+     */
+    public void build() throws IOException {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    check();
+                }
+            }
+        }
+    }
+
+    private void ensureBuilt() throws IOException {
+        if (!built) {
+            build();
+        } else if (System.nanoTime() - checkedAt > checkIntervalNanos && checking.compareAndSet(false, true)) {
+            CHECKS.submit(() -> {
+                try {
+                    check();
+                } catch (IOException | RuntimeException e) {
+                    error().data("collections_path", root.toString())
+                            .logException(e, "failed to check collection content index against disk");
+                } finally {
+                    checking.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Read the content of every collection from disk and correct the index to match it. Uris changed through the
+     * model while the collections are read are left as they are.
+     */
+    synchronized void check() throws IOException {
+        Set<String> changed = ConcurrentHashMap.newKeySet();
+        changedDuringCheck = changed;
+        try {
+            Map<String, Map<String, ContentStatus>> onDisk = new HashMap<>();
+            for (Collection collection : CollectionRegistry.forRoot(root).list(null)) {
+                String id = idOf(collection);
+                if (id != null) {
+                    read(collection, id, onDisk);
+                }
+            }
+
+            int added = 0;
+            int removed = 0;
+            for (Map.Entry<String, Map<String, ContentStatus>> entry : onDisk.entrySet()) {
+                if (changed.contains(entry.getKey())) {
+                    continue;
+                }
+                Map<String, ContentStatus> indexed = owners.get(entry.getKey());
+                for (Map.Entry<String, ContentStatus> owner : entry.getValue().entrySet()) {
+                    if (indexed == null || indexed.get(owner.getKey()) != owner.getValue()) {
+                        setOwner(entry.getKey(), owner.getKey(), owner.getValue());
+                        added++;
+                    }
+                }
+            }
+            for (Map.Entry<String, Map<String, ContentStatus>> entry : owners.entrySet()) {
+                if (changed.contains(entry.getKey())) {
+                    continue;
+                }
+                Map<String, ContentStatus> disk = onDisk.getOrDefault(entry.getKey(), Collections.emptyMap());
+                for (String id : entry.getValue().keySet()) {
+                    if (!disk.containsKey(id)) {
+                        unsetOwner(entry.getKey(), id);
+                        removed++;
+                    }
+                }
+            }
+
+            if (!built) {
+                info().data("collections_path", root.toString()).data("uris", owners.size())
+                        .log("collection content index built");
+            } else if (added > 0 || removed > 0) {
+                warn().data("collections_path", root.toString()).data("added", added).data("removed", removed)
+                        .log("collection content index did not match disk and has been corrected");
+            }
+            built = true;
+        } finally {
+            changedDuringCheck = null;
+            checkedAt = System.nanoTime();
+        }
+    }
+
+    private static void read(Collection collection, String id, Map<String, Map<String, ContentStatus>> onDisk)
+            throws IOException {
+        for (ContentStatus stage : STAGES) {
+            Path contentRoot = content(collection, stage).getPath();
+            if (!Files.isDirectory(contentRoot)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(contentRoot)) {
+                files.filter(Files::isRegularFile).forEach(f -> onDisk
+                        .computeIfAbsent(toUri(contentRoot, f), u -> new HashMap<>())
+                        .putIfAbsent(id, stage));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private NavigableMap<String, Map<String, ContentStatus>> under(String directory) {
+        String prefix = directory.endsWith("/") ? directory : directory + "/";
+        return owners.subMap(prefix, true, prefix.substring(0, prefix.length() - 1) + AFTER_SEPARATOR, false);
+    }
+
+    private void putOwner(String uri, String id, ContentStatus stage) {
+        noteChanged(uri);
+        setOwner(uri, id, stage);
+    }
+
+    private void removeOwner(String uri, String id) {
+        noteChanged(uri);
+        unsetOwner(uri, id);
+    }
+
+    // Used by the check directly, so its own corrections are not taken for changes made through the model.
+    private void setOwner(String uri, String id, ContentStatus stage) {
+        owners.compute(uri, (u, current) -> {
+            if (current != null && current.get(id) == stage) {
+                return current;
+            }
+            Map<String, ContentStatus> updated = current == null ? new HashMap<>(2) : new HashMap<>(current);
+            updated.put(id, stage);
+            return Collections.unmodifiableMap(updated);
+        });
+    }
+
+    private void unsetOwner(String uri, String id) {
+        owners.computeIfPresent(uri, (u, current) -> {
+            if (!current.containsKey(id)) {
+                return current;
+            }
+            if (current.size() == 1) {
+                return null;
+            }
+            Map<String, ContentStatus> updated = new HashMap<>(current);
+            updated.remove(id);
+            return Collections.unmodifiableMap(updated);
+        });
+    }
+
+    private void noteChanged(String uri) {
+        Set<String> changed = changedDuringCheck;
+        if (changed != null) {
+            changed.add(uri);
+        }
+    }
+
+    private static boolean isOwner(Map<String, ContentStatus> owners, String id) {
+        return owners != null && owners.containsKey(id);
+    }
+
+    private static String idOf(Collection collection) {
+        CollectionDescription description = collection == null ? null : collection.getDescription();
+        return description == null ? null : description.getId();
+    }
+
+    private static Content content(Collection collection, ContentStatus stage) {
+        switch (stage) {
+            case InProgress:
+                return collection.getInProgress();
+            case Complete:
+                return collection.getComplete();
+            default:
+                return collection.getReviewed();
+        }
+    }
+
+    private static String normalise(String uri) {
+        String key = StringUtils.prependIfMissing(uri, "/");
+        return key.length() > 1 ? StringUtils.removeEnd(key, "/") : key;
+    }
+
+    private static String toUri(Path contentRoot, Path file) {
+        return "/" + contentRoot.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
@@ -39,8 +39,9 @@ public class CollectionContentWriter extends ContentWriter {
     public OutputStream getOutputStream(String uri) throws IOException, BadRequestException {
         Path path = resolvePath(uri);
         assertNotDirectory(path);
+        OutputStream output;
         if (collection.getDescription().isEncrypted()) {
-            return EncryptionUtils.encryptionOutputStream(path, key);
+            output = EncryptionUtils.encryptionOutputStream(path, key);
         } else {
 
             String channel = Configuration.getDefaultSlackAlarmChannel();
@@ -50,7 +51,11 @@ public class CollectionContentWriter extends ContentWriter {
 
             info().data("uri", uri).data("collectionId", collection.getDescription().getId()).log("Writing unencrypted content in collection");
 
-            return FileUtils.openOutputStream(path.toFile());
+            output = FileUtils.openOutputStream(path.toFile());
         }
+
+        // The file exists once it is opened, so index it now rather than once it has been written.
+        collection.reindex(uri, false);
+        return output;
     }
 }
\ No newline at end of file
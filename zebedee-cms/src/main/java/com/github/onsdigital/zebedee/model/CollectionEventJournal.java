@@ -0,0 +1,360 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.json.Event;
+import com.github.onsdigital.zebedee.json.Events;
+import com.github.onsdigital.zebedee.json.serialiser.IsoDateSerializer;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.error;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
+
+/**
+ * The history of a collection: an append-only file in the collection directory holding each {@link Event} added to
+ * the collection, one json record per line, so saving a collection does not rewrite its whole history.
+ * <p>
+ * Events are still added to the {@link CollectionDescription} of a collection, and {@link Collection#save()} appends
+ * the ones added since the description was read. Appends return once the events are on disk, and appends made while
+ * another is being synced to disk share the next sync. The history is read when it is asked for, and only the records
+ * appended since the last read are parsed.
+ * <p>
+ * A collection json written before the journal existed, or by a version without it, holds the history itself. It is
+ * merged into the journal the next time the collection is read, see {@link #importHistory(CollectionDescription)}.
+ */
+public class CollectionEventJournal {
+
+    /**
+     * The name of the journal file in the collection directory.
+     */
+    public static final String FILENAME = "events.jsonl";
+
+    private static final ConcurrentMap<Path, CollectionEventJournal> JOURNALS = new ConcurrentHashMap<>();
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Date.class, new IsoDateSerializer())
+            .create();
+
+    private static final byte NEW_LINE = '\n';
+
+    private final Path path;
+
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private long written;
+    private long synced;
+
+    private final List<Record> records = new ArrayList<>();
+    private long readTo;
+
+    private CollectionEventJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * @param collectionPath the collection directory.
+     * @return the journal of the collection in the directory.
+     */
+    public static CollectionEventJournal forCollection(Path collectionPath) {
+        return JOURNALS.computeIfAbsent(collectionPath, p -> new CollectionEventJournal(p.resolve(FILENAME)));
+    }
+
+    /**
+     * Close the journal of a collection before its directory is moved or deleted.
+     *
+     * @param collectionPath the collection directory.
+     */
+    public static void close(Path collectionPath) {
+        CollectionEventJournal journal = JOURNALS.remove(collectionPath);
+        if (journal != null) {
+            journal.closeChannel();
+        }
+    }
+
+    /**
+     * Append the events added to the given description since it was read or last appended, and mark them as
+     * appended.
+     *
+     * @param description the description of the collection.
+     * @throws IOException If the events could not be written to disk.
+     */
+    public void append(CollectionDescription description) throws IOException {
+        append(Collections.singletonList(description));
+    }
+
+    /**
+     * Append the events added to each of the given descriptions since it was read or last appended with one write and
+     * one sync, and mark them as appended.
+     *
+     * @param descriptions descriptions of the collection, e.g. from saves made at the same time.
+     * @throws IOException If the events could not be written to disk.
+     */
+    public void append(List<CollectionDescription> descriptions) throws IOException {
+        // The same description may be saved more than once.
+        Map<CollectionDescription, List<Record>> batches = new IdentityHashMap<>();
+        List<Record> batch = new ArrayList<>();
+        for (CollectionDescription description : descriptions) {
+            if (!batches.containsKey(description)) {
+                List<Record> records = unjournaled(description);
+                batches.put(description, records);
+                batch.addAll(records);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        write(batch);
+        batches.forEach((description, records) -> records.forEach(r -> description.markJournaled(r.event)));
+    }
+
+    /**
+     * Move the history held in the json of a collection into the journal, e.g. a collection written before the journal
+     * existed or by a version without it after a rollback. The history is merged into the journal: events the journal
+     * already holds, e.g. from an import interrupted before the json was rewritten, are not written again.
+     *
+     * @param description the description read from the collection json.
+     * @return true if the description held any history, which has been removed from it.
+     * @throws IOException If the history could not be written to disk.
+     */
+    boolean importHistory(CollectionDescription description) throws IOException {
+        List<Record> history = unjournaled(description);
+        if (history.isEmpty()) {
+            return false;
+        }
+
+        // Counted, so events repeated in the history are each matched with an event in the journal once.
+        Map<String, Integer> journaled = new HashMap<>();
+        for (Record record : read()) {
+            journaled.merge(record.key(), 1, Integer::sum);
+        }
+        List<Record> missing = new ArrayList<>();
+        for (Record record : history) {
+            String key = record.key();
+            Integer count = journaled.get(key);
+            if (count != null && count > 0) {
+                journaled.put(key, count - 1);
+            } else {
+                missing.add(record);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            write(missing);
+        }
+        info().data("path", path.toString()).data("events", missing.size())
+                .data("already_journaled", history.size() - missing.size())
+                .log("moved collection history into its event journal");
+        description.setEvents(null);
+        description.setEventsByUri(new HashMap<>());
+        return true;
+    }
+
+    /**
+     * @param description the description of the collection.
+     * @return the events of the collection, followed by those added to the description that have not been appended.
+     * @throws IOException If the journal could not be read.
+     */
+    public Events getEvents(CollectionDescription description) throws IOException {
+        Events events = new Events();
+        for (Record record : read()) {
+            if (record.uri == null) {
+                events.add(record.event);
+            }
+        }
+        if (description.getEvents() != null) {
+            description.getEvents().stream().filter(e -> !description.isJournaled(e)).forEach(events::add);
+        }
+        return events;
+    }
+
+    /**
+     * @param description the description of the collection.
+     * @return the events of each uri in the collection, followed by those added to the description that have not
+     * been appended.
+     * @throws IOException If the journal could not be read.
+     */
+    public Map<String, Events> getEventsByUri(CollectionDescription description) throws IOException {
+        Map<String, Events> eventsByUri = new HashMap<>();
+        for (Record record : read()) {
+            if (record.uri != null) {
+                eventsByUri.computeIfAbsent(record.uri, u -> new Events()).add(record.event);
+            }
+        }
+        if (description.getEventsByUri() != null) {
+            description.getEventsByUri().forEach((uri, events) -> events.stream()
+                    .filter(e -> !description.isJournaled(e))
+                    .forEach(e -> eventsByUri.computeIfAbsent(uri, u -> new Events()).add(e)));
+        }
+        return eventsByUri;
+    }
+
+    private void write(List<Record> batch) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Record record : batch) {
+            lines.append(GSON.toJson(record)).append((char) NEW_LINE);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+
+        long sequence;
+        synchronized (writeLock) {
+            FileChannel output = channel();
+            while (buffer.hasRemaining()) {
+                output.write(buffer);
+            }
+            sequence = ++written;
+        }
+        sync(sequence);
+    }
+
+    /**
+     * Sync the journal to disk unless a sync started since the given append has done so already, so appends made
+     * while a sync is running share the next one.
+     */
+    private void sync(long sequence) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            long upTo;
+            FileChannel output;
+            synchronized (writeLock) {
+                upTo = written;
+                output = channel();
+            }
+            output.force(false);
+            synced = upTo;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        synchronized (writeLock) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    error().data("path", path.toString()).logException(e, "failed to close collection event journal");
+                }
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Read the records appended since the last read. A record still being written, i.e. without its line end, is left
+     * for the next read.
+     */
+    private synchronized List<Record> read() throws IOException {
+        try (FileChannel input = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = input.size();
+            if (size < readTo) {
+                // Replaced, e.g. the collection was deleted and created again.
+                records.clear();
+                readTo = 0;
+            }
+            if (size > readTo) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) (size - readTo));
+                while (buffer.hasRemaining() && input.read(buffer, readTo + buffer.position()) >= 0) {
+                    // read to the end of the journal as it was when opened
+                }
+                readTo += parse(buffer.array(), buffer.position());
+            }
+        } catch (NoSuchFileException e) {
+            records.clear();
+            readTo = 0;
+        }
+        return new ArrayList<>(records);
+    }
+
+    private int parse(byte[] bytes, int length) {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] != NEW_LINE) {
+                continue;
+            }
+            if (i > start) {
+                String line = new String(bytes, start, i - start, StandardCharsets.UTF_8);
+                try {
+                    Record record = GSON.fromJson(line, Record.class);
+                    if (record != null && record.event != null) {
+                        records.add(record);
+                    }
+                } catch (JsonParseException e) {
+                    error().data("path", path.toString()).logException(e, "skipping unreadable collection event");
+                }
+            }
+            start = i + 1;
+        }
+        return start;
+    }
+
+    private static List<Record> unjournaled(CollectionDescription description) {
+        List<Record> batch = new ArrayList<>();
+        if (description.getEvents() != null) {
+            for (Event event : description.getEvents()) {
+                if (!description.isJournaled(event)) {
+                    batch.add(new Record(null, event));
+                }
+            }
+        }
+        if (description.getEventsByUri() != null) {
+            description.getEventsByUri().forEach((uri, events) -> {
+                for (Event event : events) {
+                    if (!description.isJournaled(event)) {
+                        batch.add(new Record(uri, event));
+                    }
+                }
+            });
+        }
+        return batch;
+    }
+
+    /**
+     * An event of the collection, or of the content at the given uri in the collection.
+     */
+    static class Record {
+
+        private String uri;
+        private Event event;
+
+        Record(String uri, Event event) {
+            this.uri = uri;
+            this.event = event;
+        }
+
+        /**
+         * @return what identifies the event when it is both in the json of a collection and in its journal: its uri,
+         * type, user and date to the second, as the json and the journal may not write dates the same way.
+         */
+        String key() {
+            long seconds = event.date == null ? -1 : event.date.getTime() / 1000;
+            return uri + '\t' + event.type + '\t' + event.email + '\t' + seconds;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.davidcarboni.restolino.json.Serialiser;
+import com.github.onsdigital.zebedee.Zebedee;
+import com.github.onsdigital.zebedee.exceptions.CollectionNotFoundException;
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.onsdigital.zebedee.configuration.Configuration.getCollectionRegistryReconcileSeconds;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.error;
+import static com.github.onsdigital.zebedee.logging.CMSLogEvent.info;
+
+/**
+ * An in-memory register of the collections in a collections directory, so listing the collections or looking one up
+ * by id or name does not open and deserialise every collection json file.
+ * <p>
+ * {@link Collection} keeps the registry up to date as collections are created, saved, renamed and deleted. It is
+ * loaded from disk the first time it is used and then reconciled with disk whenever the collections directory has
+ * changed, e.g. a collection was added by hand, and otherwise every
+ * {@link com.github.onsdigital.zebedee.configuration.Configuration#getCollectionRegistryReconcileSeconds()} seconds.
+ * Reconciling only re-reads the collection json files that have changed since they were registered.
+ * <p>
+ * Each entry holds the json the collection was saved as rather than a {@link CollectionDescription}, so every caller
+ * still gets a description of its own to modify.
+ */
+public class CollectionRegistry {
+
+    private static final String JSON_EXT = ".json";
+
+    private static final ConcurrentMap<Path, CollectionRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final Path root;
+    private final long reconcileIntervalNanos;
+
+    // Keyed by the lower case name of the collection directory, ids are lower case too.
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> filenamesById = new ConcurrentHashMap<>();
+    private final DeleteMarkerTrie deleteMarkers = new DeleteMarkerTrie();
+    // Guards the two indexes above, which are updated from the entry registered at the time, see #updateIndexes.
+    private final Object indexLock = new Object();
+
+    private volatile boolean loaded;
+    private volatile long reconciledAt;
+    private volatile FileTime rootModified;
+
+    CollectionRegistry(Path root, long reconcileIntervalSeconds) {
+        this.root = root;
+        this.reconcileIntervalNanos = TimeUnit.SECONDS.toNanos(reconcileIntervalSeconds);
+    }
+
+    /**
+     * Get the registry of the collections in the given directory.
+     *
+     * @param collectionsPath the collections directory.
+     * @return the registry of the collections in the directory.
+     */
+    public static CollectionRegistry forRoot(Path collectionsPath) {
+        // Collections are registered under the path they were found by, which keys the lock of each collection.
+        return REGISTRIES.computeIfAbsent(collectionsPath.toAbsolutePath().normalize(),
+                path -> new CollectionRegistry(collectionsPath, getCollectionRegistryReconcileSeconds()));
+    }
+
+    /**
+     * @param zebedee the {@link Zebedee} the collections belong to.
+     * @return a new {@link Collection} for each registered collection.
+     * @throws IOException If the registry could not be reconciled with disk.
+     */
+    public List<Collection> list(Zebedee zebedee) throws IOException {
+        refresh();
+        List<Collection> collections = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            collections.add(entry.toCollection(zebedee));
+        }
+        return collections;
+    }
+
+    /**
+     * @param id the id of the collection.
+     * @return a new {@link Collection} for the collection with the given id, or null if there is not one.
+     * @throws IOException If the registry could not be reconciled with disk.
+     */
+    public Collection getById(String id, Zebedee zebedee) throws IOException {
+        if (StringUtils.isBlank(id)) {
+            return null;
+        }
+        refresh();
+        String filename = filenamesById.get(StringUtils.lowerCase(id));
+        Entry entry = filename == null ? null : entries.get(filename);
+        return entry == null || !StringUtils.equalsIgnoreCase(entry.id, id) ? null : entry.toCollection(zebedee);
+    }
+
+    /**
+     * @param filename the name of the collection directory.
+     * @return a new {@link Collection} for the collection in the given directory, or null if there is not one.
+     * @throws IOException If the registry could not be reconciled with disk.
+     */
+    public Collection getByFilename(String filename, Zebedee zebedee) throws IOException {
+        if (StringUtils.isBlank(filename)) {
+            return null;
+        }
+        refresh();
+        Entry entry = entries.get(StringUtils.lowerCase(filename));
+        return entry == null ? null : entry.toCollection(zebedee);
+    }
+
+    /**
+     * @param filename the name of the collection directory.
+     * @return true if a collection is registered in the given directory.
+     * @throws IOException If the registry could not be reconciled with disk.
+     */
+    public boolean contains(String filename) throws IOException {
+        refresh();
+        return StringUtils.isNotBlank(filename) && entries.containsKey(StringUtils.lowerCase(filename));
+    }
+
+    /**
+     * Find a collection with a pending delete of the given uri or any of its parents.
+     *
+     * @param uri the uri to check.
+     * @return the id of the collection with the delete marker, if there is one.
+     * @throws IOException If the registry could not be reconciled with disk.
+     */
+    public Optional<String> findDeleteMarker(String uri) throws IOException {
+        refresh();
+        return deleteMarkers.find(uri);
+    }
+
+    /**
+     * Register the description of a collection once it has been written to disk.
+     *
+     * @param collectionPath the collection directory.
+     * @param description    the description that was written.
+     */
+    void put(Path collectionPath, CollectionDescription description) {
+        String filename = key(collectionPath);
+        Entry entry = new Entry(collectionPath, description, jsonAttributes(collectionPath));
+        updateIndexes(filename, entries.put(filename, entry));
+
+        // A new collection, and the temporary file every save is written to, change the directory. Note that they
+        // did so the change is not reconciled again.
+        noteRootModified();
+    }
+
+    /**
+     * Remove a collection that has been deleted or moved.
+     *
+     * @param collectionPath the collection directory.
+     */
+    void remove(Path collectionPath) {
+        String filename = key(collectionPath);
+        updateIndexes(filename, entries.remove(filename));
+        noteRootModified();
+    }
+
+    /**
+     * Bring the registry up to date with disk if it has not been loaded yet, the collections directory has changed or
+     * it has not been reconciled for longer than the reconcile interval.
+     */
+    private void refresh() throws IOException {
+        if (loaded
+                && System.nanoTime() - reconciledAt < reconcileIntervalNanos
+                && Files.getLastModifiedTime(root).equals(rootModified)) {
+            return;
+        }
+        reconcile();
+    }
+
+    /**
+     * Register any collection whose json has changed on disk since it was registered and drop any collection that no
+     * longer exists. A collection registered by {@link #put(Path, CollectionDescription)} while this runs is kept.
+     * <p>
+     * Saves are not held up while this runs, as they register a collection while holding its lock and reading a
+     * collection takes that lock too.
+     *
+     * @throws IOException If the collections directory could not be listed.
+     */
+    synchronized void reconcile() throws IOException {
+        long started = System.nanoTime();
+        FileTime modified = Files.getLastModifiedTime(root);
+        int read = 0;
+        Set<String> found = new HashSet<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
+            for (Path path : stream) {
+                if (!Files.isDirectory(path)) {
+                    continue;
+                }
+
+                String filename = key(path);
+                found.add(filename);
+                Entry current = entries.get(filename);
+                BasicFileAttributes attributes = jsonAttributes(path);
+                if (current != null && attributes != null && current.isUnchanged(attributes)) {
+                    continue;
+                }
+
+                Entry entry = read(path, attributes);
+                read++;
+                if (entry == null) {
+                    found.remove(filename);
+                    continue;
+                }
+
+                // Only replace the entry seen above, a save since then has registered a newer description.
+                if (current == null ? entries.putIfAbsent(filename, entry) == null
+                        : entries.replace(filename, current, entry)) {
+                    updateIndexes(filename, current);
+                }
+            }
+        }
+
+        int removed = 0;
+        for (String filename : new ArrayList<>(entries.keySet())) {
+            Entry entry = entries.get(filename);
+            // A collection registered since the directory was listed may not have been listed.
+            if (!found.contains(filename) && entry != null && entry.registeredAt - started < 0
+                    && entries.remove(filename, entry)) {
+                updateIndexes(filename, entry);
+                removed++;
+            }
+        }
+
+        if (!loaded || read > 0 || removed > 0) {
+            info().data("collections_path", root.toString())
+                    .data("collections", entries.size())
+                    .data("read", read)
+                    .data("removed", removed)
+                    .log("collection registry reconciled with disk");
+        }
+
+        rootModified = modified;
+        reconciledAt = System.nanoTime();
+        loaded = true;
+    }
+
+    private Entry read(Path path, BasicFileAttributes attributes) {
+        if (attributes == null) {
+            // No collection json, see Collections#listOrphaned()
+            return null;
+        }
+        try {
+            CollectionDescription description = Collection.readDescription(path);
+            return new Entry(path, description, attributes);
+        } catch (IOException | CollectionNotFoundException | RuntimeException e) {
+            error().data("collection_path", path.toString()).logException(e, "failed to deserialise collection");
+            return null;
+        }
+    }
+
+    /**
+     * Bring the indexes up to date with the entry now registered under the filename, after it replaced or removed the
+     * given entry. The indexes are updated from whichever entry is registered when the lock is taken rather than the
+     * one the caller registered, so a save and a reconcile registering the collection at the same time leave them
+     * matching the entry that was registered last.
+     */
+    private void updateIndexes(String filename, Entry replaced) {
+        synchronized (indexLock) {
+            Entry current = entries.get(filename);
+            if (replaced != null && (current == null || !StringUtils.equalsIgnoreCase(replaced.id, current.id))) {
+                unindex(filename, replaced);
+            }
+            if (current != null) {
+                index(filename, current);
+            }
+        }
+    }
+
+    private void index(String filename, Entry entry) {
+        if (entry.id != null) {
+            filenamesById.put(StringUtils.lowerCase(entry.id), filename);
+            deleteMarkers.put(entry.id, entry.deleteRoots);
+        }
+    }
+
+    private void unindex(String filename, Entry entry) {
+        if (entry.id != null && filenamesById.remove(StringUtils.lowerCase(entry.id), filename)) {
+            deleteMarkers.remove(entry.id);
+        }
+    }
+
+    private void noteRootModified() {
+        try {
+            rootModified = Files.getLastModifiedTime(root);
+        } catch (IOException e) {
+            // Reconciled on the next lookup.
+            rootModified = null;
+        }
+    }
+
+    private static String key(Path collectionPath) {
+        return StringUtils.lowerCase(collectionPath.getFileName().toString());
+    }
+
+    private static BasicFileAttributes jsonAttributes(Path collectionPath) {
+        Path json = collectionPath.resolveSibling(collectionPath.getFileName() + JSON_EXT);
+        try {
+            return Files.readAttributes(json, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            error().data("collection_json_path", json.toString()).logException(e, "failed to read collection json attributes");
+            return null;
+        }
+    }
+
+    /**
+     * A registered collection: its directory, id, the json it was saved as and the roots of its pending deletes along
+     * with the size and modified time of its json file when it was registered, which show whether it has since changed
+     * on disk.
+     */
+    private static class Entry {
+
+        private final Path path;
+        private final String id;
+        private final String json;
+        private final Set<String> deleteRoots;
+        private final FileTime modified;
+        private final long size;
+        private final long registeredAt = System.nanoTime();
+
+        Entry(Path path, CollectionDescription description, BasicFileAttributes attributes) {
+            this.path = path;
+            this.id = description.getId();
+            this.json = Collection.toJson(description);
+            this.deleteRoots = DeleteMarkerTrie.deleteRoots(description);
+            // Unknown attributes never match so the collection is read again on the next reconcile.
+            this.modified = attributes == null ? null : attributes.lastModifiedTime();
+            this.size = attributes == null ? -1 : attributes.size();
+        }
+
+        boolean isUnchanged(BasicFileAttributes attributes) {
+            return attributes.lastModifiedTime().equals(modified) && attributes.size() == size;
+        }
+
+        Collection toCollection(Zebedee zebedee) {
+            return new Collection(path, zebedee, Serialiser.deserialise(json, CollectionDescription.class));
+        }
+    }
+}
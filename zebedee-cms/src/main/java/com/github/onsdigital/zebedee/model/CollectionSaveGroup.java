@@ -0,0 +1,177 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.metrics.ZebedeeMetrics;
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
+import com.github.onsdigital.zebedee.reader.metrics.SizeHistogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.onsdigital.zebedee.configuration.Configuration.getCollectionSaveWindowMillis;
+
+/**
+ * The saves of a collection waiting to be written, so saves made at about the same time, e.g. by the autosaves of
+ * several editors, are written to disk together rather than one after another.
+ * <p>
+ * The first save to arrive while nothing is being written waits
+ * {@link com.github.onsdigital.zebedee.configuration.Configuration#getCollectionSaveWindowMillis()} for others to join
+ * it and then writes every waiting save in one go. Saves arriving while that write is running wait for the next one.
+ * Each save returns once it has been written, or throws the exception the write failed with.
+ */
+class CollectionSaveGroup {
+
+    /**
+     * Writes a batch of saves of a collection, in the order they were made.
+     */
+    interface Writer {
+        void write(List<CollectionDescription> descriptions) throws IOException;
+    }
+
+    private static final ConcurrentMap<Path, CollectionSaveGroup> GROUPS = new ConcurrentHashMap<>();
+
+    private static final LatencyHistogram SAVE_DURATION = ZebedeeMetrics.stage("collection_save");
+    private static final SizeHistogram BATCH_SIZE = ZebedeeMetrics.batchSize("collection_save");
+
+    private final long windowNanos;
+
+    private final List<Save> pending = new ArrayList<>();
+    private boolean writing;
+
+    CollectionSaveGroup(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * @param collectionPath the collection directory.
+     * @return the saves of the collection in the directory.
+     */
+    static CollectionSaveGroup forCollection(Path collectionPath) {
+        return GROUPS.computeIfAbsent(collectionPath, p -> new CollectionSaveGroup(getCollectionSaveWindowMillis()));
+    }
+
+    /**
+     * Drop the saves of a collection that has been deleted or renamed.
+     *
+     * @param collectionPath the collection directory.
+     */
+    static void remove(Path collectionPath) {
+        GROUPS.remove(collectionPath);
+    }
+
+    /**
+     * Save a description of the collection, returning once it has been written.
+     *
+     * @param description the description to save.
+     * @param writer      writes the saves waiting when it is this save's turn to write.
+     * @throws IOException If the write the save was part of failed.
+     */
+    void save(CollectionDescription description, Writer writer) throws IOException {
+        long start = System.nanoTime();
+        Save save = new Save(description);
+        try {
+            if (awaitTurn(save)) {
+                writeBatch(writer);
+            }
+            if (save.failure instanceof IOException) {
+                throw (IOException) save.failure;
+            } else if (save.failure != null) {
+                throw (RuntimeException) save.failure;
+            }
+        } finally {
+            SAVE_DURATION.observeSince(start);
+        }
+    }
+
+    /**
+     * @return the number of saves waiting for their turn to be written.
+     */
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Wait until the save has been written by another save, returning false, or until nothing is being written,
+     * returning true as it is then this save's turn to write. A save that has been queued is always written, so
+     * interrupts are only passed on once it has.
+     */
+    private synchronized boolean awaitTurn(Save save) {
+        pending.add(save);
+        boolean interrupted = false;
+        try {
+            while (writing && !save.done) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (save.done) {
+            return false;
+        }
+        writing = true;
+        return true;
+    }
+
+    private void writeBatch(Writer writer) {
+        if (windowNanos > 0) {
+            LockSupport.parkNanos(windowNanos);
+        }
+
+        List<Save> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        BATCH_SIZE.observe(batch.size());
+
+        Exception failure = null;
+        boolean written = false;
+        try {
+            List<CollectionDescription> descriptions = new ArrayList<>(batch.size());
+            for (Save save : batch) {
+                descriptions.add(save.description);
+            }
+            writer.write(descriptions);
+            written = true;
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        } finally {
+            if (!written && failure == null) {
+                failure = new IOException("collection save was not written");
+            }
+            synchronized (this) {
+                for (Save save : batch) {
+                    save.failure = failure;
+                    save.done = true;
+                }
+                writing = false;
+                notifyAll();
+            }
+        }
+    }
+
+    private static class Save {
+
+        private final CollectionDescription description;
+
+        // Guarded by the group.
+        private boolean done;
+        private Exception failure;
+
+        Save(CollectionDescription description) {
+            this.description = description;
+        }
+    }
+}
@@ -76,6 +76,8 @@ import static java.time.temporal.ChronoUnit.MINUTES;
 public class Collections {
 
     private final Path path;
+    private final CollectionRegistry registry;
+    private final CollectionContentIndex contentIndex;
     private PermissionsService permissionsService;
     private Content published;
     private Supplier<Zebedee> zebedeeSupplier = () -> Root.zebedee;
@@ -92,6 +94,8 @@ public class Collections {
                        VersionsService versionsService,
                        Content published) {
         this.path = path;
+        this.registry = CollectionRegistry.forRoot(path);
+        this.contentIndex = CollectionContentIndex.forRoot(path);
         this.permissionsService = permissionsService;
         this.versionsService = versionsService;
         this.published = published;
@@ -224,25 +228,12 @@ public class Collections {
     }
 
     /**
-     * @return A list of all {@link Collection}s.
+     * @return A list of all {@link Collection}s, from the {@link CollectionRegistry}.
      * @throws IOException If a filesystem error occurs.
      */
     public CollectionList list() throws IOException {
-
         CollectionList result = new CollectionList();
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
-            for (Path path : stream) {
-                if (Files.isDirectory(path)) {
-                    try {
-                        result.add(new Collection(path, zebedeeSupplier.get()));
-                    } catch (CollectionNotFoundException e) {
-                        error().data("collection_path", path.toString())
-                                .logException(e, "failed to deserialise collection");
-                    }
-                }
-            }
-        }
-
+        result.addAll(registry.list(zebedeeSupplier.get()));
         return result;
     }
 
@@ -292,19 +283,75 @@ public class Collections {
      */
     public Collection getCollection(String collectionId)
             throws IOException {
-        try {
-            String collectionName = getCollectionNameFromId(collectionId);
-            Collection collection = getCollectionByName(collectionName);
+        if (StringUtils.isBlank(collectionId)) {
+            return null;
+        }
+
+        Collection collection = registry.getById(collectionId, zebedeeSupplier.get());
+        if (collection != null) {
             return collection;
+        }
+
+        // Not registered yet, e.g. it was copied into the collections directory since the registry was reconciled.
+        try {
+            return getCollectionByName(getCollectionNameFromId(collectionId));
         } catch (IOException | CollectionNotFoundException e) {
-            return list().getCollection(collectionId);
+            return null;
         }
     }
 
     public Collection getCollectionByName(String collectionName) throws IOException, CollectionNotFoundException {
+        Collection collection = registry.getByFilename(collectionName, zebedeeSupplier.get());
+        if (collection != null) {
+            return collection;
+        }
         return new Collection(this.path.resolve(collectionName), zebedeeSupplier.get());
     }
 
+    /**
+     * Get the collections the given uri is being edited in, from the {@link CollectionContentIndex}.
+     *
+     * @param uri the uri of a file or directory.
+     * @return the collections containing the uri, or any content under it if it is a directory.
+     * @throws IOException If a filesystem error occurs.
+     */
+    public List<Collection> findCollectionsContaining(String uri) throws IOException {
+        List<Collection> result = new ArrayList<>();
+        for (String collectionId : contentIndex.getOwners(uri).keySet()) {
+            Collection collection = registry.getById(collectionId, zebedeeSupplier.get());
+
+            // The index may briefly hold content that has just been moved or deleted.
+            if (collection != null && collection.isInCollection(uri)) {
+                result.add(collection);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a collection with a pending delete of the given uri or any of its parents.
+     *
+     * @param uri the uri to check.
+     * @return the collection with the delete marker, or null if there is not one.
+     * @throws IOException If a filesystem error occurs.
+     */
+    public Collection getCollectionMarkingDelete(String uri) throws IOException {
+        Optional<String> collectionId = registry.findDeleteMarker(uri);
+        return collectionId.isPresent() ? registry.getById(collectionId.get(), zebedeeSupplier.get()) : null;
+    }
+
+    /**
+     * Determines whether a collection with the given name exists.
+     *
+     * @param name The name to check for.
+     * @return If a collection exists in the directory for the name (according to
+     * {@link PathUtils#toFilename(String)}), true.
+     * @throws IOException If a filesystem error occurs.
+     */
+    public boolean hasCollection(String name) throws IOException {
+        return StringUtils.isNotBlank(name) && registry.contains(PathUtils.toFilename(name));
+    }
+
     /**
      * Approve the given collection.
      * <p>
@@ -4,6 +4,7 @@ import com.github.davidcarboni.restolino.json.Serialiser;
 import com.github.onsdigital.zebedee.json.ContentDetail;
 import com.github.onsdigital.zebedee.json.ContentDetailDescription;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
+import com.github.onsdigital.zebedee.util.ContentTreeWalker;
 import com.github.onsdigital.zebedee.util.ZebedeeCmsService;
 import com.google.gson.JsonSyntaxException;
 import org.apache.commons.io.FileUtils;
@@ -16,6 +17,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -78,20 +80,12 @@ public class Content {
     }
 
     private static List<Path> listTimeSeriesDirectories(Path root) throws IOException {
-        List<Path> result = new ArrayList<>();
-
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root)) {
-            for (Path entry : stream) {
-                if (Files.isDirectory(entry)) {
-                    if (entry.getFileName().toString().equals(TIME_SERIES_KEYWORD)) {
-                        result.add(entry);
-                        return result;
-                    }
-                    result.addAll(listTimeSeriesDirectories(entry));
-                }
-            }
-        }
-
+        List<Path> result = new ContentTreeWalker()
+                .descendInto(ContentTreeWalker.named(TIME_SERIES_KEYWORD).negate())
+                .include((path, attributes) -> attributes.isDirectory()
+                        && path.getFileName().toString().equals(TIME_SERIES_KEYWORD))
+                .list(root);
+        Collections.sort(result);
         return result;
     }
 
@@ -0,0 +1,156 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.json.PendingDelete;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The roots of the pending deletes of every collection, held in a trie of uri segments so finding whether a uri is
+ * under a delete marker walks the segments of the uri once rather than comparing it with every pending delete of every
+ * collection.
+ * <p>
+ * Lookups do not lock, changes are made one at a time. {@link CollectionRegistry} keeps it up to date with the
+ * description of each registered collection.
+ */
+public class DeleteMarkerTrie {
+
+    private final Node root = new Node();
+
+    // The delete roots last set for each collection, so they can be replaced.
+    private final Map<String, Set<String>> rootsById = new HashMap<>();
+
+    /**
+     * @param description a collection description.
+     * @return the content paths of the roots of the pending deletes of the collection.
+     */
+    public static Set<String> deleteRoots(CollectionDescription description) {
+        Set<String> roots = new HashSet<>();
+        for (PendingDelete pendingDelete : description.getPendingDeletes()) {
+            if (pendingDelete.getRoot() != null && pendingDelete.getRoot().contentPath != null) {
+                roots.add(pendingDelete.getRoot().contentPath);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Find a collection with a delete marker on the given uri or any of its parents.
+     *
+     * @param uri the uri to check.
+     * @return the id of the collection whose delete marker is nearest the root of the content, if there is one.
+     */
+    public Optional<String> find(String uri) {
+        Node node = root;
+        for (String segment : segments(uri)) {
+            if (!node.collectionIds.isEmpty()) {
+                break;
+            }
+            node = node.children.get(segment);
+            if (node == null) {
+                return Optional.empty();
+            }
+        }
+        return node.collectionIds.stream().findFirst();
+    }
+
+    /**
+     * Replace the delete markers of a collection.
+     *
+     * @param collectionId the id of the collection.
+     * @param deleteRoots  the content paths of the roots of its pending deletes.
+     */
+    public synchronized void put(String collectionId, Set<String> deleteRoots) {
+        Set<String> previous = deleteRoots.isEmpty()
+                ? rootsById.remove(collectionId) : rootsById.put(collectionId, deleteRoots);
+        if (previous != null) {
+            for (String deleteRoot : previous) {
+                if (!deleteRoots.contains(deleteRoot)) {
+                    unmark(deleteRoot, collectionId);
+                }
+            }
+        }
+        for (String deleteRoot : deleteRoots) {
+            if (previous == null || !previous.contains(deleteRoot)) {
+                mark(deleteRoot, collectionId);
+            }
+        }
+    }
+
+    /**
+     * Remove the delete markers of a collection that has been deleted or published.
+     *
+     * @param collectionId the id of the collection.
+     */
+    public void remove(String collectionId) {
+        put(collectionId, Collections.emptySet());
+    }
+
+    private void mark(String deleteRoot, String collectionId) {
+        Node node = root;
+        for (String segment : segments(deleteRoot)) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.addCollectionId(collectionId);
+    }
+
+    private void unmark(String deleteRoot, String collectionId) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        for (String segment : segments(deleteRoot)) {
+            path.push(node);
+            node = node.children.get(segment);
+            if (node == null) {
+                return;
+            }
+        }
+        node.removeCollectionId(collectionId);
+
+        // Drop the nodes no longer leading to a marker.
+        String[] segments = segments(deleteRoot);
+        for (int i = segments.length - 1; i >= 0 && node.isEmpty(); i--) {
+            Node parent = path.pop();
+            parent.children.remove(segments[i], node);
+            node = parent;
+        }
+    }
+
+    // Matches Path#startsWith, which ignores empty segments.
+    private static String[] segments(String uri) {
+        return StringUtils.split(StringUtils.defaultString(uri), '/');
+    }
+
+    private static class Node {
+
+        private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+
+        // Replaced rather than changed so lookups do not need to lock.
+        private volatile Set<String> collectionIds = Collections.emptySet();
+
+        void addCollectionId(String collectionId) {
+            Set<String> ids = new HashSet<>(collectionIds);
+            ids.add(collectionId);
+            collectionIds = Collections.unmodifiableSet(ids);
+        }
+
+        void removeCollectionId(String collectionId) {
+            Set<String> ids = new HashSet<>(collectionIds);
+            ids.remove(collectionId);
+            collectionIds = ids.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+        }
+
+        boolean isEmpty() {
+            return collectionIds.isEmpty() && children.isEmpty();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.github.onsdigital.zebedee.json.publishing.PublishedCollection;
 import com.github.onsdigital.zebedee.json.publishing.request.FileCopy;
 import com.github.onsdigital.zebedee.json.publishing.request.Manifest;
 import com.github.onsdigital.zebedee.model.Collection;
+import com.github.onsdigital.zebedee.model.CollectionEventJournal;
 import com.github.onsdigital.zebedee.model.ContentWriter;
 import com.github.onsdigital.zebedee.model.PathUtils;
 import com.github.onsdigital.zebedee.model.content.item.VersionedContentItem;
@@ -18,6 +19,8 @@ import com.github.onsdigital.zebedee.reader.CollectionReader;
 import com.github.onsdigital.zebedee.reader.ContentReader;
 import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
 import com.github.onsdigital.zebedee.reader.Resource;
+import com.github.onsdigital.zebedee.reader.cache.ReaderCaches;
+import com.github.onsdigital.zebedee.search.indexing.ChangeJournal;
 import com.github.onsdigital.zebedee.search.indexing.Indexer;
 import com.github.onsdigital.zebedee.service.KafkaService;
 import com.github.onsdigital.zebedee.service.ServiceSupplier;
@@ -39,6 +42,7 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
@@ -92,6 +96,7 @@ public class PostPublisher {
             applyDeletesToPublishing(collection, contentReader, contentWriter);
             processManifestForMaster(collection, contentReader, contentWriter);
             copyFilesToMaster(zebedee, collection, collectionReader);
+            notifyReaderCaches(collection);
 
             reindexPublishingSearch(collection);
 
@@ -209,6 +214,23 @@ public class PostPublisher {
     }
 
 
+    /**
+     * Let the reader caches of published content know which uris have been published or deleted.
+     */
+    private static void notifyReaderCaches(Collection collection) {
+        try {
+            List<String> uris = new ArrayList<>(collection.getReviewed().uris());
+            for (PendingDelete pendingDelete : collection.getDescription().getPendingDeletes()) {
+                uris.add(pendingDelete.getRoot().uri);
+            }
+            ReaderCaches.onPublish(uris);
+        } catch (Exception e) {
+            error().collectionID(collection)
+                    .exception(e)
+                    .log("An error occurred trying to update the reader caches after publishing");
+        }
+    }
+
     private static void indexPublishReport(final Zebedee zebedee, final Path collectionJsonPath, final CollectionReader collectionReader) {
         POOL.submit(() -> {
             info().log("Indexing publish report");
@@ -219,6 +241,11 @@ public class PostPublisher {
         });
     }
 
+    /**
+     * Records the pages published and deleted in the search {@link ChangeJournal}, then has the indexer apply the
+     * journal in the background. Changes not applied by then, e.g. because of a restart, are picked up from the
+     * journal next time rather than needing a full reindex.
+     */
     private static void reindexPublishingSearch(Collection collection) throws IOException {
 
         info().collectionID(collection).log("Reindexing search");
@@ -226,11 +253,11 @@ public class PostPublisher {
 
             long start = System.currentTimeMillis();
 
+            List<ChangeJournal.Change> changes = new ArrayList<>();
             List<String> uris = collection.getReviewed().uris("*data.json");
             for (String uri : uris) {
                 if (isIndexedUri(uri)) {
-                    String contentUri = URIUtils.removeLastSegment(uri);
-                    reIndexPublishingSearch(contentUri);
+                    changes.add(ChangeJournal.Change.published(URIUtils.removeLastSegment(uri)));
                 }
             }
 
@@ -238,19 +265,23 @@ public class PostPublisher {
 
                 ContentTreeNavigator.getInstance().search(pendingDelete.getRoot(), node -> {
                     info().data("uri", node.uri).log("Deleting index from publishing search ");
-                    POOL.submit(() -> {
-                        try {
-                            Indexer.getInstance().deleteContentIndex(node.getType().getLabel(), node.uri);
-                        } catch (Exception e) {
-                            error().logException(e, "Exception reloading search index:");
-                        }
-                    });
+                    changes.add(ChangeJournal.Change.deleted(node.uri, node.getType().getLabel()));
                 });
             }
 
+            ChangeJournal.getInstance().append(changes);
+            POOL.submit(() -> {
+                try {
+                    Indexer.getInstance().applyJournal();
+                } catch (Exception e) {
+                    error().exception(e).log("error applying search change journal");
+                }
+            });
+
             info().collectionID(collection)
+                    .data("changes", changes.size())
                     .data("timeTaken", (System.currentTimeMillis() - start))
-                    .log("Redindex search completed");
+                    .log("Search changes journalled");
 
         } catch (Exception exception) {
             error().collectionID(collection)
@@ -268,16 +299,6 @@ public class PostPublisher {
         return !VersionedContentItem.isVersionedUri(uri);
     }
 
-    private static void reIndexPublishingSearch(final String uri) throws IOException {
-        POOL.submit(() -> {
-            try {
-                Indexer.getInstance().reloadContent(uri);
-            } catch (Exception e) {
-                error().exception(e).log("error reloading search index");
-            }
-        });
-    }
-
     private static void copyFilesToMaster(Zebedee zebedee, Collection collection, CollectionReader collectionReader)
             throws IOException, ZebedeeException {
 
@@ -329,6 +350,16 @@ public class PostPublisher {
 
         FileUtils.copyFile(Manifest.getManifestPath(collection).toFile(), manifestDestination.toFile());
 
+        Path eventsSource = collection.getPath().resolve(CollectionEventJournal.FILENAME);
+        if (Files.exists(eventsSource)) {
+            Path eventsDestination = collectionFilesDestination.resolve(CollectionEventJournal.FILENAME);
+            info().data("from", eventsSource.toString())
+                    .data("to", eventsDestination.toString())
+                    .log("moving collection events");
+
+            FileUtils.copyFile(eventsSource.toFile(), eventsDestination.toFile());
+        }
+
         info().data("from", collectionFilesSource.toString())
                 .data("to", collectionFilesDestination.toString())
                 .log("moving collection files");
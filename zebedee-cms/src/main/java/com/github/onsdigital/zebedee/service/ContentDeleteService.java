@@ -1,6 +1,5 @@
 package com.github.onsdigital.zebedee.service;
 
-import com.github.davidcarboni.restolino.json.Serialiser;
 import com.github.onsdigital.zebedee.audit.Audit;
 import com.github.onsdigital.zebedee.content.page.base.PageType;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
@@ -20,10 +19,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -38,7 +33,6 @@ import static com.github.onsdigital.zebedee.exceptions.DeleteContentRequestDenie
 
 public class ContentDeleteService {
 
-    private static final String JSON_FILE_EXT = ".json";
     private static ZebedeeCmsService zebedeeCmsService = ZebedeeCmsService.getInstance();
     private static ContentTreeNavigator contentTreeNavigator = ContentTreeNavigator.getInstance();
 
@@ -147,8 +141,8 @@ public class ContentDeleteService {
     }
 
     private void saveManifest(Collection collection) throws ZebedeeException {
-        try (OutputStream output = Files.newOutputStream(manifestPath(collection))) {
-            Serialiser.serialise(output, collection.getDescription());
+        try {
+            collection.save();
         } catch (IOException e) {
             // TODO probably want exception type for this.
             error().logException(e, "Error while serialising delete markers...");
@@ -166,10 +160,6 @@ public class ContentDeleteService {
         throw new RuntimeException("CANNOT FIND PATH IN BROWSE TREE");
     }
 
-    private Path manifestPath(com.github.onsdigital.zebedee.model.Collection collection) {
-        return Paths.get(collection.getPath().toString() + JSON_FILE_EXT);
-    }
-
     private class LeafCounter {
 
         private int count;
@@ -0,0 +1,50 @@
+package com.github.onsdigital.zebedee.metrics;
+
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
+import com.github.onsdigital.zebedee.reader.metrics.SizeHistogram;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ZebedeeMetricsTest {
+
+    private final ZebedeeMetrics metrics = new ZebedeeMetrics();
+
+    @Test
+    public void write_shouldWriteStages() {
+        LatencyHistogram histogram = metrics.getStage("collection_save_lock_wait");
+        histogram.observe(TimeUnit.MICROSECONDS.toNanos(50));
+        histogram.observe(TimeUnit.SECONDS.toNanos(60));
+
+        String text = metrics.write();
+        String bucket = "zebedee_cms_stage_duration_seconds_bucket{stage=\"collection_save_lock_wait\",";
+
+        assertThat(text, containsString(bucket + "le=\"0.0001\"} 1\n"));
+        assertThat(text, containsString(bucket + "le=\"+Inf\"} 2\n"));
+        assertThat(text, containsString(
+                "zebedee_cms_stage_duration_seconds_count{stage=\"collection_save_lock_wait\"} 2\n"));
+    }
+
+    @Test
+    public void write_shouldWriteBatchSizes() {
+        SizeHistogram histogram = metrics.getBatchSize("collection_save");
+        histogram.observe(1);
+        histogram.observe(3);
+        histogram.observe(500);
+
+        String text = metrics.write();
+        String bucket = "zebedee_cms_batch_size_bucket{operation=\"collection_save\",";
+
+        assertThat(text, containsString(bucket + "le=\"1\"} 1\n"));
+        assertThat(text, containsString(bucket + "le=\"2\"} 1\n"));
+        assertThat(text, containsString(bucket + "le=\"4\"} 2\n"));
+        assertThat(text, containsString(bucket + "le=\"256\"} 2\n"));
+        assertThat(text, containsString(bucket + "le=\"+Inf\"} 3\n"));
+        assertThat(text, containsString("zebedee_cms_batch_size_sum{operation=\"collection_save\"} 504\n"));
+        assertThat(histogram.getCount(), equalTo(3L));
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.davidcarboni.restolino.json.Serialiser;
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.json.ContentStatus;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+public class CollectionContentIndexTest {
+
+    private static final String INFLATION_URI = "/economy/inflation/data.json";
+    private static final String TRADE_URI = "/economy/trade/data.json";
+
+    @Rule
+    public TemporaryFolder rootDir = new TemporaryFolder();
+
+    private Path collectionsPath;
+    private CollectionContentIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        collectionsPath = rootDir.newFolder("collections").toPath();
+        index = CollectionContentIndex.forRoot(collectionsPath);
+    }
+
+    @Test
+    public void getOwners_shouldBuildFromDisk() throws IOException {
+        // Given content in two collections on disk
+        writeCollection("inflation", "inflation-123");
+        writeCollection("trade", "trade-456");
+        writeContent("inflation", Collection.IN_PROGRESS, INFLATION_URI);
+        writeContent("trade", Collection.REVIEWED, TRADE_URI);
+
+        // When the owners are looked up
+        Map<String, ContentStatus> inflation = index.getOwners(INFLATION_URI);
+        Map<String, ContentStatus> economy = index.getOwners("/economy/");
+
+        // Then each file is owned by its collection and the directory by both
+        assertThat(inflation.size(), equalTo(1));
+        assertThat(inflation, hasEntry("inflation-123", ContentStatus.InProgress));
+        assertThat(economy.size(), equalTo(2));
+        assertThat(economy, hasEntry("trade-456", ContentStatus.Reviewed));
+        assertThat(index.getOwners("/economy/inflation/data").isEmpty(), is(true));
+    }
+
+    @Test
+    public void reindex_shouldFollowContentBetweenStages() throws IOException {
+        // Given content in progress in a built index
+        writeCollection("inflation", "inflation-123");
+        writeContent("inflation", Collection.IN_PROGRESS, INFLATION_URI);
+        Collection collection = CollectionRegistry.forRoot(collectionsPath).getById("inflation-123", null);
+        index.build();
+
+        // When it is moved to complete
+        Path inProgress = collection.getInProgress().toPath(INFLATION_URI);
+        Path complete = collection.getComplete().toPath(INFLATION_URI);
+        Files.createDirectories(complete.getParent());
+        Files.move(inProgress, complete);
+        collection.reindex("/economy/inflation", false);
+
+        // Then it is indexed as complete
+        assertThat(index.getOwners(INFLATION_URI), hasEntry("inflation-123", ContentStatus.Complete));
+
+        // And once it is deleted it is no longer indexed
+        Files.delete(complete);
+        collection.reindex(INFLATION_URI, false);
+        assertThat(index.getOwners(INFLATION_URI).isEmpty(), is(true));
+    }
+
+    @Test
+    public void removeCollection_shouldRemoveAllItsContent() throws IOException {
+        // Given content in two collections
+        writeCollection("inflation", "inflation-123");
+        writeCollection("trade", "trade-456");
+        writeContent("inflation", Collection.IN_PROGRESS, INFLATION_URI);
+        writeContent("inflation", Collection.COMPLETE, TRADE_URI);
+        writeContent("trade", Collection.IN_PROGRESS, TRADE_URI);
+        index.build();
+
+        // When one collection is removed
+        index.removeCollection("inflation-123");
+
+        // Then only the content of the other remains
+        assertThat(index.getOwners(INFLATION_URI).isEmpty(), is(true));
+        assertThat(index.getOwners(TRADE_URI).size(), equalTo(1));
+        assertThat(index.getOwners(TRADE_URI), hasEntry("trade-456", ContentStatus.InProgress));
+    }
+
+    @Test
+    public void check_shouldCorrectChangesMadeOnDisk() throws IOException {
+        // Given a built index
+        writeCollection("inflation", "inflation-123");
+        writeContent("inflation", Collection.IN_PROGRESS, INFLATION_URI);
+        index.build();
+
+        // When content is added and removed on disk without going through the model
+        writeContent("inflation", Collection.REVIEWED, TRADE_URI);
+        Files.delete(collectionsPath.resolve("inflation").resolve(Collection.IN_PROGRESS)
+                .resolve(INFLATION_URI.substring(1)));
+        index.check();
+
+        // Then the index matches the disk
+        assertThat(index.getOwners(INFLATION_URI).isEmpty(), is(true));
+        assertThat(index.getOwners(TRADE_URI), hasEntry("inflation-123", ContentStatus.Reviewed));
+    }
+
+    @Test
+    public void check_shouldReplaceAnOwnerThatNoLongerHoldsTheContent() throws IOException {
+        // Given content indexed in one collection
+        writeCollection("inflation", "inflation-123");
+        writeCollection("trade", "trade-456");
+        writeContent("inflation", Collection.IN_PROGRESS, INFLATION_URI);
+        index.build();
+
+        // When it is moved to another collection on disk without going through the model
+        Files.delete(collectionsPath.resolve("inflation").resolve(Collection.IN_PROGRESS)
+                .resolve(INFLATION_URI.substring(1)));
+        writeContent("trade", Collection.COMPLETE, INFLATION_URI);
+        index.check();
+
+        // Then it is only owned by the collection that holds it
+        Map<String, ContentStatus> owners = index.getOwners(INFLATION_URI);
+        assertThat(owners.size(), equalTo(1));
+        assertThat(owners, hasEntry("trade-456", ContentStatus.Complete));
+    }
+
+    private void writeCollection(String filename, String id) throws IOException {
+        Collection.CreateCollectionFolders(filename, collectionsPath);
+        CollectionDescription description = new CollectionDescription(filename);
+        description.setId(id);
+        try (OutputStream output = Files.newOutputStream(collectionsPath.resolve(filename + ".json"))) {
+            Serialiser.serialise(output, description);
+        }
+    }
+
+    private void writeContent(String filename, String stage, String uri) throws IOException {
+        Path path = collectionsPath.resolve(filename).resolve(stage).resolve(uri.substring(1));
+        Files.createDirectories(path.getParent());
+        Files.write(path, "{}".getBytes());
+    }
+}
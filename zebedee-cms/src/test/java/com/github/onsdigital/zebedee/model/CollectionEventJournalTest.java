@@ -0,0 +1,208 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.davidcarboni.restolino.json.Serialiser;
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.json.Event;
+import com.github.onsdigital.zebedee.json.EventType;
+import com.github.onsdigital.zebedee.json.Events;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class CollectionEventJournalTest {
+
+    private static final String URI = "/economy/inflation/data.json";
+
+    @Rule
+    public TemporaryFolder rootDir = new TemporaryFolder();
+
+    private Path collectionsPath;
+    private Path collectionPath;
+    private CollectionEventJournal journal;
+
+    @Before
+    public void setUp() throws IOException {
+        collectionsPath = rootDir.newFolder("collections").toPath();
+        Collection.CreateCollectionFolders("inflation", collectionsPath);
+        collectionPath = collectionsPath.resolve("inflation");
+        journal = CollectionEventJournal.forCollection(collectionPath);
+    }
+
+    @After
+    public void tearDown() {
+        CollectionEventJournal.close(collectionPath);
+    }
+
+    @Test
+    public void append_shouldOnlyWriteEventsAddedSinceLastAppend() throws IOException {
+        // Given a description with events already appended
+        CollectionDescription description = new CollectionDescription("inflation");
+        description.addEvent(new Event(new Date(), EventType.CREATED, "publisher@ons.gov.uk"));
+        journal.append(description);
+
+        // When more events are added and appended
+        description.addEvent(new Event(new Date(), EventType.APPROVE_SUBMITTED, "publisher@ons.gov.uk"));
+        description.getEventsByUri().put(URI, new Events());
+        description.getEventsByUri().get(URI).add(new Event(new Date(), EventType.COMPLETED, "publisher@ons.gov.uk"));
+        journal.append(description);
+
+        // Then each event is in the journal once
+        List<String> lines = Files.readAllLines(collectionPath.resolve(CollectionEventJournal.FILENAME));
+        assertThat(lines.size(), equalTo(3));
+
+        // And a description read from disk gets the whole history from the journal
+        CollectionDescription read = new CollectionDescription("inflation");
+        Events events = journal.getEvents(read);
+        assertThat(events.size(), equalTo(2));
+        assertThat(events.get(0).getType(), equalTo(EventType.CREATED));
+        assertThat(events.get(1).getType(), equalTo(EventType.APPROVE_SUBMITTED));
+        assertThat(journal.getEventsByUri(read).get(URI).hasEventForType(EventType.COMPLETED), is(true));
+    }
+
+    @Test
+    public void getEvents_shouldIncludeEventsNotYetAppended() throws IOException {
+        // Given a description with an appended event and one added since
+        CollectionDescription description = new CollectionDescription("inflation");
+        description.addEvent(new Event(new Date(), EventType.CREATED, "publisher@ons.gov.uk"));
+        journal.append(description);
+        description.addEvent(new Event(new Date(), EventType.APPROVE_SUBMITTED, "publisher@ons.gov.uk"));
+
+        // When the history is read
+        Events events = journal.getEvents(description);
+
+        // Then both are included once
+        assertThat(events.size(), equalTo(2));
+        assertThat(events.get(1).getType(), equalTo(EventType.APPROVE_SUBMITTED));
+    }
+
+    @Test
+    public void append_shouldKeepEveryEventOfConcurrentAppends() throws Exception {
+        // Given descriptions of the same collection saved at once
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Void>> appends = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String email = "publisher" + i + "@ons.gov.uk";
+            appends.add(() -> {
+                for (int j = 0; j < 20; j++) {
+                    CollectionDescription description = new CollectionDescription("inflation");
+                    description.addEvent(new Event(new Date(), EventType.COMPLETED, email));
+                    journal.append(description);
+                }
+                return null;
+            });
+        }
+
+        // When they are appended
+        try {
+            for (Future<Void> future : executor.invokeAll(appends)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then none of the events are lost
+        assertThat(journal.getEvents(new CollectionDescription("inflation")).size(), equalTo(threads * 20));
+    }
+
+    @Test
+    public void getEvents_shouldIgnoreRecordStillBeingWritten() throws IOException {
+        // Given a journal ending in part of a record
+        CollectionDescription description = new CollectionDescription("inflation");
+        description.addEvent(new Event(new Date(), EventType.CREATED, "publisher@ons.gov.uk"));
+        journal.append(description);
+        Path file = collectionPath.resolve(CollectionEventJournal.FILENAME);
+        Files.write(file, "{\"event\":{\"type\":\"APPRO".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // When the history is read
+        Events events = journal.getEvents(new CollectionDescription("inflation"));
+
+        // Then only the complete record is returned
+        assertThat(events.size(), equalTo(1));
+        assertThat(events.get(0).getType(), equalTo(EventType.CREATED));
+    }
+
+    @Test
+    public void readDescription_shouldMoveHistoryIntoJournal() throws Exception {
+        // Given a collection json written before the journal existed
+        CollectionDescription description = new CollectionDescription("inflation");
+        description.setId("inflation-123");
+        description.addEvent(new Event(new Date(), EventType.CREATED, "publisher@ons.gov.uk"));
+        description.getEventsByUri().put(URI, new Events());
+        description.getEventsByUri().get(URI).add(new Event(new Date(), EventType.COMPLETED, "publisher@ons.gov.uk"));
+        Path json = collectionsPath.resolve("inflation.json");
+        try (OutputStream output = Files.newOutputStream(json)) {
+            Serialiser.serialise(output, description);
+        }
+
+        // When the collection is read
+        CollectionDescription read = Collection.readDescription(collectionPath);
+
+        // Then the history has moved from the json to the journal
+        assertThat(read.getEvents(), nullValue());
+        assertThat(read.getId(), equalTo("inflation-123"));
+        CollectionDescription onDisk = Serialiser.deserialise(new String(Files.readAllBytes(json),
+                StandardCharsets.UTF_8), CollectionDescription.class);
+        assertThat(onDisk.getEvents(), nullValue());
+        assertThat(onDisk.getEventsByUri().isEmpty(), is(true));
+
+        Map<String, Events> eventsByUri = journal.getEventsByUri(read);
+        assertThat(journal.getEvents(read).hasEventForType(EventType.CREATED), is(true));
+        assertThat(eventsByUri.get(URI).hasEventForType(EventType.COMPLETED), is(true));
+
+        // And reading it again does not move it twice
+        Collection.readDescription(collectionPath);
+        assertThat(Files.readAllLines(collectionPath.resolve(CollectionEventJournal.FILENAME)).size(), equalTo(2));
+    }
+
+    @Test
+    public void readDescription_shouldMergeHistoryIntoAnExistingJournal() throws Exception {
+        // Given a journal holding part of the history of a collection, and a json holding all of it, e.g. written by
+        // an older version of the CMS
+        Event created = new Event(new Date(), EventType.CREATED, "publisher@ons.gov.uk");
+        CollectionDescription journaled = new CollectionDescription("inflation");
+        journaled.addEvent(created);
+        journal.append(journaled);
+
+        CollectionDescription description = new CollectionDescription("inflation");
+        description.setId("inflation-123");
+        description.addEvent(new Event(created.getDate(), EventType.CREATED, "publisher@ons.gov.uk"));
+        description.addEvent(new Event(new Date(), EventType.APPROVE_SUBMITTED, "publisher@ons.gov.uk"));
+        try (OutputStream output = Files.newOutputStream(collectionsPath.resolve("inflation.json"))) {
+            Serialiser.serialise(output, description);
+        }
+
+        // When the collection is read
+        CollectionDescription read = Collection.readDescription(collectionPath);
+
+        // Then only the events missing from the journal are added to it
+        Events events = journal.getEvents(read);
+        assertThat(events.size(), equalTo(2));
+        assertThat(events.get(0).getType(), equalTo(EventType.CREATED));
+        assertThat(events.get(1).getType(), equalTo(EventType.APPROVE_SUBMITTED));
+        assertThat(read.getEvents(), nullValue());
+    }
+}
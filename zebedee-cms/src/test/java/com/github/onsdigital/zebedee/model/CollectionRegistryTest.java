@@ -0,0 +1,196 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.davidcarboni.restolino.json.Serialiser;
+import com.github.onsdigital.zebedee.json.ApprovalStatus;
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import com.github.onsdigital.zebedee.json.ContentDetail;
+import com.github.onsdigital.zebedee.json.PendingDelete;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class CollectionRegistryTest {
+
+    @Rule
+    public TemporaryFolder rootDir = new TemporaryFolder();
+
+    private Path collectionsPath;
+    private CollectionRegistry registry;
+
+    @Before
+    public void setUp() throws IOException {
+        collectionsPath = rootDir.newFolder("collections").toPath();
+        registry = CollectionRegistry.forRoot(collectionsPath);
+    }
+
+    @Test
+    public void list_shouldLoadCollectionsFromDisk() throws IOException {
+        // Given two collections on disk and a directory that is not a collection
+        writeCollection("inflation", "inflation-123");
+        writeCollection("labourmarket", "labourmarket-456");
+        Files.createDirectory(collectionsPath.resolve("notacollection"));
+
+        // When the registry is listed
+        List<Collection> collections = registry.list(null);
+
+        // Then only the collections are returned
+        assertThat(ids(collections), containsInAnyOrder("inflation-123", "labourmarket-456"));
+    }
+
+    @Test
+    public void getById_shouldFindRegisteredCollection() throws IOException {
+        // Given a collection on disk
+        writeCollection("inflation", "inflation-123");
+
+        // When it is looked up by id regardless of case
+        Collection collection = registry.getById("INFLATION-123", null);
+
+        // Then it is found
+        assertThat(collection, is(notNullValue()));
+        assertThat(collection.getPath(), equalTo(collectionsPath.resolve("inflation")));
+        assertThat(registry.getById("inflation-999", null), is(nullValue()));
+        assertThat(registry.getByFilename("inflation", null).getDescription().getId(), equalTo("inflation-123"));
+        assertThat(registry.contains("Inflation"), is(true));
+    }
+
+    @Test
+    public void save_shouldUpdateRegisteredDescription() throws Exception {
+        // Given a registered collection
+        writeCollection("inflation", "inflation-123");
+        Collection collection = registry.getById("inflation-123", null);
+
+        // When its description is changed and saved
+        collection.getDescription().setApprovalStatus(ApprovalStatus.COMPLETE);
+        collection.save();
+
+        // Then the registry returns the saved description
+        assertThat(registry.getById("inflation-123", null).getDescription().getApprovalStatus(),
+                equalTo(ApprovalStatus.COMPLETE));
+    }
+
+    @Test
+    public void save_shouldNotCauseTheRegistryToBeReconciled() throws Exception {
+        // Given a registered collection that has been saved
+        writeCollection("inflation", "inflation-123");
+        Collection collection = registry.getById("inflation-123", null);
+        collection.getDescription().setApprovalStatus(ApprovalStatus.COMPLETE);
+        collection.save();
+
+        // When its json is changed in place, which does not change the collections directory
+        CollectionDescription changed = description("inflation-123");
+        changed.setApprovalStatus(ApprovalStatus.IN_PROGRESS);
+        writeJson("inflation", changed);
+
+        // Then the registry still returns the saved description, as the save did not leave the directory to be
+        // reconciled
+        assertThat(registry.getById("inflation-123", null).getDescription().getApprovalStatus(),
+                equalTo(ApprovalStatus.COMPLETE));
+    }
+
+    @Test
+    public void getById_shouldReturnDescriptionOfItsOwn() throws IOException {
+        // Given a registered collection
+        writeCollection("inflation", "inflation-123");
+
+        // When a description is changed without being saved
+        registry.getById("inflation-123", null).getDescription().setApprovalStatus(ApprovalStatus.ERROR);
+
+        // Then the registered description is unchanged
+        assertThat(registry.getById("inflation-123", null).getDescription().getApprovalStatus(),
+                equalTo(ApprovalStatus.NOT_STARTED));
+    }
+
+    @Test
+    public void delete_shouldRemoveCollection() throws IOException {
+        // Given a registered collection
+        writeCollection("inflation", "inflation-123");
+        Collection collection = registry.getById("inflation-123", null);
+
+        // When it is deleted
+        collection.delete();
+
+        // Then it is no longer registered
+        assertThat(registry.getById("inflation-123", null), is(nullValue()));
+        assertThat(registry.list(null).isEmpty(), is(true));
+    }
+
+    @Test
+    public void findDeleteMarker_shouldFollowSavedPendingDeletes() throws Exception {
+        // Given a registered collection
+        writeCollection("inflation", "inflation-123");
+        Collection collection = registry.getById("inflation-123", null);
+
+        // When a pending delete is saved
+        ContentDetail root = new ContentDetail("Inflation", "/economy/inflation", null);
+        root.setContentPath("/economy/inflation");
+        collection.getDescription().getPendingDeletes().add(new PendingDelete("user", root));
+        collection.save();
+
+        // Then content under it is marked for delete by the collection
+        assertThat(registry.findDeleteMarker("/economy/inflation/data.json"), equalTo(Optional.of("inflation-123")));
+
+        // And once it is cancelled it is not
+        collection.getDescription().cancelPendingDelete("/economy/inflation");
+        collection.save();
+        assertThat(registry.findDeleteMarker("/economy/inflation/data.json").isPresent(), is(false));
+    }
+
+    @Test
+    public void reconcile_shouldPickUpChangesMadeOnDisk() throws IOException {
+        // Given a loaded registry
+        writeCollection("inflation", "inflation-123");
+        writeCollection("labourmarket", "labourmarket-456");
+        registry.list(null);
+
+        // When collections are added, changed and removed on disk
+        writeCollection("trade", "trade-789");
+        CollectionDescription changed = description("inflation-123");
+        changed.setApprovalStatus(ApprovalStatus.IN_PROGRESS);
+        writeJson("inflation", changed);
+        Files.delete(collectionsPath.resolve("labourmarket.json"));
+        registry.reconcile();
+
+        // Then the registry matches the disk
+        List<Collection> collections = registry.list(null);
+        assertThat(ids(collections), containsInAnyOrder("inflation-123", "trade-789"));
+        assertThat(registry.getById("inflation-123", null).getDescription().getApprovalStatus(),
+                equalTo(ApprovalStatus.IN_PROGRESS));
+    }
+
+    private void writeCollection(String filename, String id) throws IOException {
+        Collection.CreateCollectionFolders(filename, collectionsPath);
+        writeJson(filename, description(id));
+    }
+
+    private void writeJson(String filename, CollectionDescription description) throws IOException {
+        try (OutputStream output = Files.newOutputStream(collectionsPath.resolve(filename + ".json"))) {
+            Serialiser.serialise(output, description);
+        }
+    }
+
+    private static CollectionDescription description(String id) {
+        CollectionDescription description = new CollectionDescription(id.substring(0, id.indexOf('-')));
+        description.setId(id);
+        return description;
+    }
+
+    private static List<String> ids(List<Collection> collections) {
+        return collections.stream().map(c -> c.getDescription().getId()).collect(Collectors.toList());
+    }
+}
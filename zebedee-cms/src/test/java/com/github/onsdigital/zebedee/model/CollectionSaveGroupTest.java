@@ -0,0 +1,131 @@
+package com.github.onsdigital.zebedee.model;
+
+import com.github.onsdigital.zebedee.json.CollectionDescription;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class CollectionSaveGroupTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final CollectionSaveGroup group = new CollectionSaveGroup(0);
+    private final List<List<CollectionDescription>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void save_shouldWriteSavesMadeDuringAWriteTogether() throws Exception {
+        // Given a write that is held up
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CollectionSaveGroup.Writer writer = descriptions -> {
+            if (batches.isEmpty()) {
+                writing.countDown();
+                await(release);
+            }
+            batches.add(new ArrayList<>(descriptions));
+        };
+        CollectionDescription first = new CollectionDescription("first");
+        Future<?> firstSave = executor.submit(() -> save(first, writer));
+        assertThat(writing.await(5, TimeUnit.SECONDS), is(true));
+
+        // When more saves are made while it is running
+        CollectionDescription second = new CollectionDescription("second");
+        CollectionDescription third = new CollectionDescription("third");
+        Future<?> secondSave = executor.submit(() -> save(second, writer));
+        awaitPending(1);
+        Future<?> thirdSave = executor.submit(() -> save(third, writer));
+        awaitPending(2);
+        release.countDown();
+        firstSave.get(5, TimeUnit.SECONDS);
+        secondSave.get(5, TimeUnit.SECONDS);
+        thirdSave.get(5, TimeUnit.SECONDS);
+
+        // Then they are written together in the order they were made
+        assertThat(batches.size(), equalTo(2));
+        assertThat(batches.get(0).size(), equalTo(1));
+        assertThat(batches.get(1).size(), equalTo(2));
+        assertThat(batches.get(1).get(0), sameInstance(second));
+        assertThat(batches.get(1).get(1), sameInstance(third));
+    }
+
+    @Test
+    public void save_shouldFailEverySaveInAFailedWrite() throws Exception {
+        // Given a write that fails once it has been joined by another save
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CollectionSaveGroup.Writer writer = descriptions -> {
+            if (batches.isEmpty()) {
+                batches.add(descriptions);
+                writing.countDown();
+                await(release);
+                return;
+            }
+            throw new IOException("disk full");
+        };
+        Future<?> firstSave = executor.submit(() -> save(new CollectionDescription("first"), writer));
+        assertThat(writing.await(5, TimeUnit.SECONDS), is(true));
+        Future<?> secondSave = executor.submit(() -> save(new CollectionDescription("second"), writer));
+        awaitPending(1);
+        Future<?> thirdSave = executor.submit(() -> save(new CollectionDescription("third"), writer));
+        awaitPending(2);
+
+        // When the write they join fails
+        release.countDown();
+
+        // Then each of them fails and the save before them does not
+        firstSave.get(5, TimeUnit.SECONDS);
+        assertFailed(secondSave);
+        assertFailed(thirdSave);
+    }
+
+    private Void save(CollectionDescription description, CollectionSaveGroup.Writer writer) throws IOException {
+        group.save(description, writer);
+        return null;
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (group.pendingCount() < count) {
+            if (System.nanoTime() > deadline) {
+                fail("saves were not queued");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void assertFailed(Future<?> save) throws InterruptedException {
+        try {
+            save.get(5, TimeUnit.SECONDS);
+            fail("expected the save to fail");
+        } catch (Exception e) {
+            assertThat(e.getCause() instanceof IOException, is(true));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
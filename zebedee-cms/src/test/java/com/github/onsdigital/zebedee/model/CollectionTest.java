@@ -338,7 +338,8 @@ public class CollectionTest extends ZebedeeTestBaseFixture {
         assertEquals(newName, updatedCollectionDescription.getName());
         assertEquals(updatedDescription.getType(), updatedCollectionDescription.getType());
         assertEquals(updatedDescription.getPublishDate(), updatedCollectionDescription.getPublishDate());
-        assertTrue(updatedCollectionDescription.getEvents().hasEventForType(EventType.CREATED));
+        assertNull(updatedCollectionDescription.getEvents());
+        assertTrue(new Collection(collectionFolderPath, zebedee).getEvents().hasEventForType(EventType.CREATED));
         assertEquals(updatedDescription.getTeams(), updatedCollectionDescription.getTeams());
         verify(permissionsService, times(1)).setViewerTeams(
                 publisher1Session, collection.getDescription().getId(), teamIds);
@@ -384,7 +385,8 @@ public class CollectionTest extends ZebedeeTestBaseFixture {
 
         assertNotNull(updatedCollectionDescription);
         assertEquals(collectionDescription.getId(), updatedCollectionDescription.getId());
-        assertTrue(updatedCollectionDescription.getEvents().hasEventForType(EventType.CREATED));
+        assertNull(updatedCollectionDescription.getEvents());
+        assertTrue(new Collection(collectionFolderPath, zebedee).getEvents().hasEventForType(EventType.CREATED));
         assertEquals(updatedDescription.getTeams(), updatedCollectionDescription.getTeams());
         verify(permissionsService, times(1)).setViewerTeams(
                 publisher1Session, collection.getDescription().getId(), new HashSet<String>());
@@ -425,7 +427,8 @@ public class CollectionTest extends ZebedeeTestBaseFixture {
         assertEquals(collectionDescription.getId(), updatedCollectionDescription.getId());
         assertEquals(newName, updatedCollectionDescription.getName());
         assertEquals(updatedDescription.getType(), updatedCollectionDescription.getType());
-        assertTrue(updatedCollectionDescription.getEvents().hasEventForType(EventType.CREATED));
+        assertNull(updatedCollectionDescription.getEvents());
+        assertTrue(new Collection(collectionFolderPath, zebedee).getEvents().hasEventForType(EventType.CREATED));
     }
 
     @Test
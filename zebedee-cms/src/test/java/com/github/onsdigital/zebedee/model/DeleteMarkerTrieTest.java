@@ -0,0 +1,72 @@
+package com.github.onsdigital.zebedee.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class DeleteMarkerTrieTest {
+
+    private DeleteMarkerTrie trie = new DeleteMarkerTrie();
+
+    @Test
+    public void find_shouldMatchMarkedUriAndItsChildren() {
+        // Given a delete marker
+        trie.put("inflation-123", Collections.singleton("/economy/inflation"));
+
+        // When uris are checked
+        // Then only the marked uri and the content under it are found
+        assertThat(trie.find("/economy/inflation"), equalTo(Optional.of("inflation-123")));
+        assertThat(trie.find("/economy/inflation/data.json"), equalTo(Optional.of("inflation-123")));
+        assertThat(trie.find("economy//inflation/cpi/"), equalTo(Optional.of("inflation-123")));
+        assertThat(trie.find("/economy").isPresent(), is(false));
+        assertThat(trie.find("/economy/inflationandprices").isPresent(), is(false));
+    }
+
+    @Test
+    public void find_shouldReturnMarkerNearestTheRoot() {
+        // Given markers in two collections on the same branch
+        trie.put("trade-456", Collections.singleton("/economy/inflation/cpi"));
+        trie.put("inflation-123", Collections.singleton("/economy"));
+
+        // When a uri under both is checked
+        Optional<String> collectionId = trie.find("/economy/inflation/cpi/data.json");
+
+        // Then the marker nearest the root is found
+        assertThat(collectionId, equalTo(Optional.of("inflation-123")));
+    }
+
+    @Test
+    public void put_shouldReplaceMarkersOfCollection() {
+        // Given markers in two collections
+        trie.put("inflation-123", new HashSet<>(Arrays.asList("/economy/inflation", "/economy/trade")));
+        trie.put("trade-456", Collections.singleton("/economy/trade/exports"));
+
+        // When one marker is cancelled
+        trie.put("inflation-123", Collections.singleton("/economy/inflation"));
+
+        // Then only the remaining markers are found
+        assertThat(trie.find("/economy/inflation/data.json"), equalTo(Optional.of("inflation-123")));
+        assertThat(trie.find("/economy/trade/data.json").isPresent(), is(false));
+        assertThat(trie.find("/economy/trade/exports/data.json"), equalTo(Optional.of("trade-456")));
+    }
+
+    @Test
+    public void remove_shouldRemoveAllMarkersOfCollection() {
+        // Given markers in a collection
+        trie.put("inflation-123", new HashSet<>(Arrays.asList("/economy/inflation", "/")));
+
+        // When the collection is removed
+        trie.remove("inflation-123");
+
+        // Then none of its markers are found
+        assertThat(trie.find("/economy/inflation").isPresent(), is(false));
+        assertThat(trie.find("/peoplepopulationandcommunity").isPresent(), is(false));
+    }
+}
@@ -85,6 +85,7 @@ public class ReaderInit implements Startup {
 
                 if (Indexer.getInstance().isIndexAvailable(searchAlias)) {
                     info().log("It looks like the search index already exists. Not attempting to reindex.");
+                    Indexer.getInstance().applyJournal();
                 } else {
                     info().log("Search index for the website not found. Creating and populating index...");
                     long startSearchReindex = System.currentTimeMillis();
@@ -7,8 +7,23 @@ import com.github.onsdigital.zebedee.content.util.ContentUtil;
  */
 public class Content implements Cloneable {
 
+    /**
+     * @return a deep copy of this content, made by serialising it and reading it back.
+     */
     @Override
     public Object clone() throws CloneNotSupportedException {
-        return ContentUtil.clone(this);
+        return ContentUtil.deserialise(ContentUtil.serialise(this), getClass());
+    }
+
+    /**
+     * @return a copy of this content sharing all of its fields, for subclasses to copy the fields that must not be
+     * shared.
+     */
+    protected Content shallowClone() {
+        try {
+            return (Content) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Failed to copy content", e);
+        }
     }
 }
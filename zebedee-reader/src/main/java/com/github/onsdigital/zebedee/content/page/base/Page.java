@@ -43,6 +43,22 @@ public abstract class Page extends Content {
         this.uri = uri;
     }
 
+    /**
+     * Creates a copy of this page with its own {@link PageDescription}, see {@link PageDescription#copy()}, so the uri
+     * and description of the copy can be changed without affecting this page. Any other nested content, e.g. the
+     * sections of an article, is shared with this page and must not be changed through the copy; use {@link #clone()}
+     * for a copy that can be changed throughout.
+     *
+     * @return a shallow copy of this page.
+     */
+    public Page shallowCopy() {
+        Page copy = (Page) shallowClone();
+        if (description != null) {
+            copy.setDescription(description.copy());
+        }
+        return copy;
+    }
+
     public List<Link> getTopics() {
         return topics;
     }
@@ -5,6 +5,7 @@ import com.github.onsdigital.zebedee.content.partial.Contact;
 import org.apache.commons.lang3.StringUtils;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -88,6 +89,38 @@ public class PageDescription extends Content implements Comparable<PageDescripti
     public PageDescription() {
     }
 
+    /**
+     * Creates a copy of this description that can be changed without affecting it: its lists, dates and contact are
+     * copied rather than shared.
+     *
+     * @return the copy.
+     */
+    PageDescription copy() {
+        PageDescription copy = (PageDescription) shallowClone();
+        copy.keywords = copyOf(keywords);
+        copy.authors = copyOf(authors);
+        copy.cancellationNotice = copyOf(cancellationNotice);
+        copy.secondaryTopics = copyOf(secondaryTopics);
+        copy.releaseDate = copyOf(releaseDate);
+        copy.lastRevised = copyOf(lastRevised);
+        if (contact != null) {
+            try {
+                copy.contact = (Contact) contact.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("Failed to copy contact", e);
+            }
+        }
+        return copy;
+    }
+
+    private static List<String> copyOf(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    private static Date copyOf(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
     @Override
     public int compareTo(PageDescription o) {
         //nulls last or first
@@ -0,0 +1,105 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.base.PageType;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * The data of a {@link TimeSeries} page with its values held in {@link TimeSeriesColumn}s: the uri, description and
+ * notes plus the years, quarters and months of the series.
+ * <p>
+ * It is read straight from the <code>data.json</code> of a time series by
+ * {@link com.github.onsdigital.zebedee.reader.ContentReader#getColumnarContent(String)}, which skips the other fields
+ * of the page, and serialises its values in the same shape as {@link TimeSeries}.
+ * <p>
+ * This is deliberately not a {@link com.github.onsdigital.zebedee.content.page.base.Page}, as pages are registered
+ * by their type and there can only be one class for time series pages.
+ */
+public class ColumnarTimeSeries extends Content {
+
+    private PageType type;
+    private URI uri;
+    private PageDescription description;
+    private List<String> notes;
+    private TimeSeriesColumn years;
+    private TimeSeriesColumn quarters;
+    private TimeSeriesColumn months;
+
+    /**
+     * @return the uri, description, notes and values of the given time series.
+     */
+    public static ColumnarTimeSeries of(TimeSeries timeSeries) {
+        ColumnarTimeSeries columnar = new ColumnarTimeSeries();
+        columnar.type = timeSeries.getType();
+        columnar.setUri(timeSeries.getUri());
+        columnar.setDescription(timeSeries.getDescription());
+        columnar.setNotes(timeSeries.getNotes());
+        columnar.setYears(TimeSeriesColumn.of(timeSeries.years));
+        columnar.setQuarters(TimeSeriesColumn.of(timeSeries.quarters));
+        columnar.setMonths(TimeSeriesColumn.of(timeSeries.months));
+        return columnar;
+    }
+
+    /**
+     * @return the type of the page the series was read from, {@link PageType#TIMESERIES} unless other content was
+     * read as a series.
+     */
+    public PageType getType() {
+        return type;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public void setUri(URI uri) {
+        this.uri = uri;
+    }
+
+    public PageDescription getDescription() {
+        return description;
+    }
+
+    public void setDescription(PageDescription description) {
+        this.description = description;
+    }
+
+    public List<String> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<String> notes) {
+        this.notes = notes;
+    }
+
+    public TimeSeriesColumn getYears() {
+        return years == null ? TimeSeriesColumn.empty() : years;
+    }
+
+    public void setYears(TimeSeriesColumn years) {
+        this.years = years;
+    }
+
+    public TimeSeriesColumn getQuarters() {
+        return quarters == null ? TimeSeriesColumn.empty() : quarters;
+    }
+
+    public void setQuarters(TimeSeriesColumn quarters) {
+        this.quarters = quarters;
+    }
+
+    public TimeSeriesColumn getMonths() {
+        return months == null ? TimeSeriesColumn.empty() : months;
+    }
+
+    public void setMonths(TimeSeriesColumn months) {
+        this.months = months;
+    }
+
+    public String getCdid() {
+        return description == null ? null : description.getCdid();
+    }
+}
@@ -52,13 +52,12 @@ public class TimeSeries extends StatisticalData implements Comparable<TimeSeries
 
         try {
 
-            // Get the date represented by this value:
-            Calendar calendar = Calendar.getInstance(Locale.UK);
-            calendar.setTime(value.toDate());
+            // Get the period represented by this value:
+            int period = value.toPeriod();
 
             // Populate the year. This is needed whether it's
             // yearly, quarterly or monthly:
-            value.year = String.valueOf(calendar.get(Calendar.YEAR));
+            value.year = String.valueOf(TimeSeriesPeriods.year(period));
 
             // Set any other date components and
             // add it to the correct list:
@@ -66,12 +65,10 @@ public class TimeSeries extends StatisticalData implements Comparable<TimeSeries
             if (year.matcher(key).matches() || yearInterval.matcher(key).matches() || yearPair.matcher(key).matches()) {
                 years.add(value);
             } else if (yearEnd.matcher(key).matches() || quarter.matcher(key).matches()) {
-                // Months are zero based, which actually makes the quarter
-                // calculation a bit easier:
-                value.quarter = "Q" + ((calendar.get(Calendar.MONTH) / 3) + 1);
+                value.quarter = TimeSeriesPeriods.quarterName(period);
                 quarters.add(value);
             } else if (month.matcher(key).matches()) {
-                value.month = calendar.getDisplayName(Calendar.MONTH, Calendar.LONG, Locale.UK);
+                value.month = TimeSeriesPeriods.monthName(period);
                 months.add(value);
             } else {
                 throw new ParseException("Unknown format: '" + value.date + "'", 0);
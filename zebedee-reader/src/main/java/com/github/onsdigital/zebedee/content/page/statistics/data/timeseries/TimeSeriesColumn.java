@@ -0,0 +1,489 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The values of one frequency of a time series (its years, quarters or months) held column by column instead of as a
+ * set of {@link TimeSeriesValue} objects.
+ * <p>
+ * Each point is a {@link TimeSeriesPeriods period key} plus an entry in a parallel array for each field, with points
+ * in period order and no two points for the same period, as in the sets of {@link TimeSeries}. Columns that are empty
+ * for every point (labels, months, source datasets...) are not allocated at all, and the repeated year, month and
+ * quarter strings are shared.
+ * <p>
+ * Serialises to and from the same json array as a set of {@link TimeSeriesValue}, without creating them. A column is
+ * immutable and is put together with a {@link Builder}.
+ */
+@JsonAdapter(TimeSeriesColumn.GsonAdapterFactory.class)
+public class TimeSeriesColumn {
+
+    private static final TimeSeriesColumn EMPTY = new Builder(0).build();
+
+    private final int[] periods;
+    private final String[] dates;
+    private final String[] values;
+    private final String[] labels;
+    private final String[] years;
+    private final String[] months;
+    private final String[] quarters;
+    private final String[] sourceDatasets;
+    private final Date[] updateDates;
+
+    private TimeSeriesColumn(int[] periods, String[] dates, String[] values, String[] labels, String[] years,
+                             String[] months, String[] quarters, String[] sourceDatasets, Date[] updateDates) {
+        this.periods = periods;
+        this.dates = dates;
+        this.values = values;
+        this.labels = labels;
+        this.years = years;
+        this.months = months;
+        this.quarters = quarters;
+        this.sourceDatasets = sourceDatasets;
+        this.updateDates = updateDates;
+    }
+
+    public static TimeSeriesColumn empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * @return a column holding the given values, or an empty column if there are none.
+     */
+    public static TimeSeriesColumn of(Collection<TimeSeriesValue> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(values.size());
+        for (TimeSeriesValue value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the points of this column as the set {@link TimeSeries} holds them.
+     */
+    public TreeSet<TimeSeriesValue> toValues() {
+        TreeSet<TimeSeriesValue> result = new TreeSet<>();
+        for (int i = 0; i < periods.length; i++) {
+            result.add(toValue(i));
+        }
+        return result;
+    }
+
+    public TimeSeriesValue toValue(int index) {
+        TimeSeriesValue value = new TimeSeriesValue();
+        value.date = dates[index];
+        value.value = values[index];
+        value.label = getLabel(index);
+        value.year = getYear(index);
+        value.month = getMonth(index);
+        value.quarter = getQuarter(index);
+        value.sourceDataset = getSourceDataset(index);
+        value.updateDate = getUpdateDate(index);
+        return value;
+    }
+
+    public int size() {
+        return periods.length;
+    }
+
+    public boolean isEmpty() {
+        return periods.length == 0;
+    }
+
+    public int getPeriod(int index) {
+        return periods[index];
+    }
+
+    public String getDate(int index) {
+        return dates[index];
+    }
+
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    public String getLabel(int index) {
+        return labels == null ? null : labels[index];
+    }
+
+    public String getYear(int index) {
+        return years == null ? null : years[index];
+    }
+
+    public String getMonth(int index) {
+        return months == null ? null : months[index];
+    }
+
+    public String getQuarter(int index) {
+        return quarters == null ? null : quarters[index];
+    }
+
+    public String getSourceDataset(int index) {
+        return sourceDatasets == null ? null : sourceDatasets[index];
+    }
+
+    public Date getUpdateDate(int index) {
+        return updateDates == null ? null : updateDates[index];
+    }
+
+    /**
+     * @return the index of the point for the given period, or a negative number if there is none.
+     */
+    public int indexOf(int period) {
+        return Arrays.binarySearch(periods, period);
+    }
+
+    /**
+     * @return the index of the first point at or after the given period, or {@link #size()} if there is none.
+     */
+    public int ceilingIndex(int period) {
+        int index = indexOf(period);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * @return the period of the first point.
+     * @throws IllegalStateException if the column is empty.
+     */
+    public int firstPeriod() {
+        checkNotEmpty();
+        return periods[0];
+    }
+
+    /**
+     * @return the period of the last point.
+     * @throws IllegalStateException if the column is empty.
+     */
+    public int lastPeriod() {
+        checkNotEmpty();
+        return periods[periods.length - 1];
+    }
+
+    private void checkNotEmpty() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Time series column is empty");
+        }
+    }
+
+    /**
+     * Collects points in any order. Setters apply to the point added last; points for a period that has already been
+     * added are dropped when the column is built, as a {@link TreeSet} would drop them.
+     */
+    public static class Builder {
+        private final Map<String, String> shared = new HashMap<>();
+        private int size;
+        private int[] periods;
+        private String[] dates;
+        private String[] values;
+        private String[] labels;
+        private String[] years;
+        private String[] months;
+        private String[] quarters;
+        private String[] sourceDatasets;
+        private Date[] updateDates;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 0);
+            periods = new int[capacity];
+            dates = new String[capacity];
+            values = new String[capacity];
+            labels = new String[capacity];
+            years = new String[capacity];
+            months = new String[capacity];
+            quarters = new String[capacity];
+            sourceDatasets = new String[capacity];
+            updateDates = new Date[capacity];
+        }
+
+        /**
+         * Start a point for the given time series date.
+         *
+         * @throws RuntimeException if the date is not in one of the supported formats.
+         */
+        public Builder add(String date) {
+            return add(TimeSeriesPeriods.key(date), date);
+        }
+
+        public Builder add(TimeSeriesValue value) {
+            return add(value.toPeriod(), value.date)
+                    .setValue(value.value)
+                    .setLabel(value.label)
+                    .setYear(value.year)
+                    .setMonth(value.month)
+                    .setQuarter(value.quarter)
+                    .setSourceDataset(value.sourceDataset)
+                    .setUpdateDate(value.updateDate);
+        }
+
+        private Builder add(int period, String date) {
+            if (size == periods.length) {
+                grow();
+            }
+            periods[size] = period;
+            dates[size] = date;
+            size++;
+            return this;
+        }
+
+        public Builder setValue(String value) {
+            values[size - 1] = value;
+            return this;
+        }
+
+        public Builder setLabel(String label) {
+            labels[size - 1] = label;
+            return this;
+        }
+
+        public Builder setYear(String year) {
+            years[size - 1] = share(year);
+            return this;
+        }
+
+        public Builder setMonth(String month) {
+            months[size - 1] = share(month);
+            return this;
+        }
+
+        public Builder setQuarter(String quarter) {
+            quarters[size - 1] = share(quarter);
+            return this;
+        }
+
+        public Builder setSourceDataset(String sourceDataset) {
+            sourceDatasets[size - 1] = share(sourceDataset);
+            return this;
+        }
+
+        public Builder setUpdateDate(Date updateDate) {
+            updateDates[size - 1] = updateDate;
+            return this;
+        }
+
+        public TimeSeriesColumn build() {
+            int[] order = sortedOrder();
+            int count = order.length;
+            int[] sortedPeriods = new int[count];
+            for (int i = 0; i < count; i++) {
+                sortedPeriods[i] = periods[order[i]];
+            }
+            return new TimeSeriesColumn(sortedPeriods, column(dates, order, false), column(values, order, false),
+                    column(labels, order, true), column(years, order, true), column(months, order, true),
+                    column(quarters, order, true), column(sourceDatasets, order, true),
+                    column(updateDates, order, true));
+        }
+
+        /**
+         * @return the indexes of the points to keep in period order, keeping the first point added for each period.
+         */
+        private int[] sortedOrder() {
+            boolean sorted = true;
+            for (int i = 1; i < size && sorted; i++) {
+                sorted = periods[i - 1] < periods[i];
+            }
+            if (sorted) {
+                int[] order = new int[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                return order;
+            }
+
+            // The sort is stable, so the first point added for a period comes first.
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (a, b) -> Integer.compare(periods[a], periods[b]));
+
+            int[] order = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (count == 0 || periods[order[count - 1]] != periods[boxed[i]]) {
+                    order[count++] = boxed[i];
+                }
+            }
+            return Arrays.copyOf(order, count);
+        }
+
+        private static <T> T[] column(T[] source, int[] order, boolean dropIfEmpty) {
+            boolean empty = true;
+            T[] result = Arrays.copyOf(source, order.length);
+            for (int i = 0; i < order.length; i++) {
+                result[i] = source[order[i]];
+                empty &= result[i] == null;
+            }
+            return empty && dropIfEmpty ? null : result;
+        }
+
+        private String share(String value) {
+            if (value == null) {
+                return null;
+            }
+            String existing = shared.putIfAbsent(value, value);
+            return existing == null ? value : existing;
+        }
+
+        private void grow() {
+            int capacity = Math.max(16, periods.length * 2);
+            periods = Arrays.copyOf(periods, capacity);
+            dates = Arrays.copyOf(dates, capacity);
+            values = Arrays.copyOf(values, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            years = Arrays.copyOf(years, capacity);
+            months = Arrays.copyOf(months, capacity);
+            quarters = Arrays.copyOf(quarters, capacity);
+            sourceDatasets = Arrays.copyOf(sourceDatasets, capacity);
+            updateDates = Arrays.copyOf(updateDates, capacity);
+        }
+    }
+
+    /**
+     * Reads and writes a column as the json array of {@link TimeSeriesValue} objects, using the date adapter of the
+     * {@link Gson} instance in use for update dates.
+     */
+    static class GsonAdapterFactory implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (!TimeSeriesColumn.class.equals(type.getRawType())) {
+                return null;
+            }
+            return (TypeAdapter<T>) new GsonAdapter(gson.getAdapter(Date.class));
+        }
+    }
+
+    private static class GsonAdapter extends TypeAdapter<TimeSeriesColumn> {
+        private final TypeAdapter<Date> dateAdapter;
+
+        GsonAdapter(TypeAdapter<Date> dateAdapter) {
+            this.dateAdapter = dateAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, TimeSeriesColumn column) throws IOException {
+            if (column == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginArray();
+            for (int i = 0; i < column.size(); i++) {
+                out.beginObject();
+                writeString(out, "date", column.getDate(i));
+                writeString(out, "value", column.getValue(i));
+                writeString(out, "label", column.getLabel(i));
+                writeString(out, "year", column.getYear(i));
+                writeString(out, "month", column.getMonth(i));
+                writeString(out, "quarter", column.getQuarter(i));
+                writeString(out, "sourceDataset", column.getSourceDataset(i));
+                if (column.getUpdateDate(i) != null) {
+                    out.name("updateDate");
+                    dateAdapter.write(out, column.getUpdateDate(i));
+                }
+                out.endObject();
+            }
+            out.endArray();
+        }
+
+        @Override
+        public TimeSeriesColumn read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Builder builder = new Builder(16);
+            in.beginArray();
+            while (in.hasNext()) {
+                String date = null;
+                String value = null;
+                String label = null;
+                String year = null;
+                String month = null;
+                String quarter = null;
+                String sourceDataset = null;
+                Date updateDate = null;
+
+                in.beginObject();
+                while (in.hasNext()) {
+                    switch (in.nextName()) {
+                        case "date":
+                            date = readString(in);
+                            break;
+                        case "value":
+                            value = readString(in);
+                            break;
+                        case "label":
+                            label = readString(in);
+                            break;
+                        case "year":
+                            year = readString(in);
+                            break;
+                        case "month":
+                            month = readString(in);
+                            break;
+                        case "quarter":
+                            quarter = readString(in);
+                            break;
+                        case "sourceDataset":
+                            sourceDataset = readString(in);
+                            break;
+                        case "updateDate":
+                            updateDate = dateAdapter.read(in);
+                            break;
+                        default:
+                            in.skipValue();
+                    }
+                }
+                in.endObject();
+
+                builder.add(date)
+                        .setValue(value)
+                        .setLabel(label)
+                        .setYear(year)
+                        .setMonth(month)
+                        .setQuarter(quarter)
+                        .setSourceDataset(sourceDataset)
+                        .setUpdateDate(updateDate);
+            }
+            in.endArray();
+            return builder.build();
+        }
+
+        private static void writeString(JsonWriter out, String name, String value) throws IOException {
+            if (value != null) {
+                out.name(name).value(value);
+            }
+        }
+
+        private static String readString(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return in.nextString();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import java.time.Month;
+import java.time.Year;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * Converts time series dates to and from an integer period key.
+ * <p>
+ * The key of a period is <code>year * 12 + month</code>, with a zero based month, for the same date
+ * {@link TimeSeriesValue#toDate(String)} gives the period. Keys therefore order and compare exactly as those dates do,
+ * e.g. <code>2015 Q2</code> and <code>2015 APR</code> share a key.
+ * <p>
+ * Dates are parsed by hand rather than with the regular expressions and date formats {@link TimeSeriesValue#toDate()}
+ * uses, as the key is worked out for every comparison of values. Parsing does not allocate unless the date is
+ * invalid. The supported formats are those of {@link TimeSeries}, matched ignoring case and surrounding whitespace:
+ * <ul>
+ * <li><code>2015</code></li>
+ * <li><code>2015 JAN</code></li>
+ * <li><code>2015 01</code>, where the month rolls over into the next or previous year if it is out of range</li>
+ * <li><code>2015 Q1</code></li>
+ * <li><code>2014-15</code>, the period of the second year, read as written (i.e. the year 15)</li>
+ * <li><code>2014/15</code>, the period of the second year, read as a two digit year</li>
+ * <li><code>YE MAR 15</code>, the month of a year end, read as a two digit year</li>
+ * </ul>
+ */
+public class TimeSeriesPeriods {
+
+    private static final String[] MONTH_ABBREVIATIONS =
+            {"jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"};
+
+    /**
+     * Two digit years are read as within the 100 years starting 80 years ago, as {@link java.text.SimpleDateFormat}
+     * reads them.
+     */
+    private static final int TWO_DIGIT_YEAR_START = Year.now().getValue() - 80;
+
+    private TimeSeriesPeriods() {
+        // utility class
+    }
+
+    /**
+     * @return the key of the period described by the given time series date, e.g. <code>2015 JAN</code>.
+     * @throws RuntimeException if the date is not in one of the supported formats.
+     */
+    public static int key(String date) {
+        if (date == null) {
+            throw invalid(null);
+        }
+
+        int start = 0;
+        int end = date.length();
+        while (start < end && date.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && date.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int length = end - start;
+        if (length >= 4 && isLetter(date, start, 'y') && isLetter(date, start + 1, 'e')
+                && date.charAt(start + 2) == ' ') {
+            return yearEnd(date, start + 3, end);
+        }
+        if (length < 4 || !isDigits(date, start, start + 4)) {
+            throw invalid(date);
+        }
+
+        int year = digits(date, start, start + 4);
+        if (length == 4) {
+            return key(year, 0);
+        }
+
+        char separator = date.charAt(start + 4);
+        int rest = start + 5;
+        int restLength = end - rest;
+        if (separator == ' ') {
+            if (restLength == 3) {
+                return key(year, monthOf(date, rest));
+            }
+            if (restLength == 2 && isDigits(date, rest, end)) {
+                // Lenient, as the date format it replaces: month 13 is January of the next year.
+                return key(year, digits(date, rest, end) - 1);
+            }
+            if (restLength == 2 && isWordCharacter(date.charAt(rest))) {
+                char quarter = date.charAt(rest + 1);
+                if (quarter >= '1' && quarter <= '4') {
+                    return key(year, (quarter - '1') * 3);
+                }
+            }
+        } else if (separator == '-') {
+            if (restLength >= 2 && restLength <= 4 && isDigits(date, rest, end)) {
+                return key(digits(date, rest, end), 0);
+            }
+        } else if (separator == '/') {
+            if (restLength == 2 && isDigits(date, rest, end)) {
+                return key(twoDigitYear(digits(date, rest, end)), 0);
+            }
+        }
+        throw invalid(date);
+    }
+
+    /**
+     * @param year  the year.
+     * @param month the zero based month.
+     */
+    public static int key(int year, int month) {
+        return year * 12 + month;
+    }
+
+    public static int year(int key) {
+        return Math.floorDiv(key, 12);
+    }
+
+    /**
+     * @return the zero based month of the given key.
+     */
+    public static int month(int key) {
+        return Math.floorMod(key, 12);
+    }
+
+    /**
+     * @return the quarter of the given key as written in time series values, e.g. <code>Q2</code>.
+     */
+    public static String quarterName(int key) {
+        return "Q" + (month(key) / 3 + 1);
+    }
+
+    /**
+     * @return the month of the given key as written in time series values, e.g. <code>January</code>.
+     */
+    public static String monthName(int key) {
+        return Month.of(month(key) + 1).getDisplayName(TextStyle.FULL, Locale.UK);
+    }
+
+    /**
+     * Parse the <code>MAR 15</code> of <code>YE MAR 15</code>.
+     */
+    private static int yearEnd(String date, int start, int end) {
+        if (end - start != 6 || date.charAt(start + 3) != ' ' || !isDigits(date, start + 4, end)) {
+            throw invalid(date);
+        }
+        return key(twoDigitYear(digits(date, start + 4, end)), monthOf(date, start));
+    }
+
+    private static int monthOf(String date, int start) {
+        for (int month = 0; month < MONTH_ABBREVIATIONS.length; month++) {
+            String abbreviation = MONTH_ABBREVIATIONS[month];
+            if (isLetter(date, start, abbreviation.charAt(0)) && isLetter(date, start + 1, abbreviation.charAt(1))
+                    && isLetter(date, start + 2, abbreviation.charAt(2))) {
+                return month;
+            }
+        }
+        throw invalid(date);
+    }
+
+    private static int twoDigitYear(int twoDigits) {
+        int year = TWO_DIGIT_YEAR_START - TWO_DIGIT_YEAR_START % 100 + twoDigits;
+        return year <= TWO_DIGIT_YEAR_START ? year + 100 : year;
+    }
+
+    /**
+     * @return true if the character at the given index is the given lower case letter, in either case.
+     */
+    private static boolean isLetter(String date, int index, char lowerCase) {
+        return Character.toLowerCase(date.charAt(index)) == lowerCase;
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isDigits(String date, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(String date, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            result = result * 10 + (date.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    private static RuntimeException invalid(String date) {
+        return new RuntimeException("Error parsing date: '" + date + "'");
+    }
+}
@@ -10,6 +10,8 @@ import java.util.Locale;
 
 public class TimeSeriesValue implements Comparable<TimeSeriesValue> {
 
+	private static final int UNKNOWN_PERIOD = Integer.MIN_VALUE;
+
 	// Display values:
 
 	public String date;
@@ -39,27 +41,46 @@ public class TimeSeriesValue implements Comparable<TimeSeriesValue> {
 	private transient Date toDate;
 
 	/**
-	 * Calls {@link #toDate()} and returns {@link Date#hashCode()}.
+	 * The period key of {@link #date}, cached as it is used for every comparison. A single int, so threads sharing a
+	 * cached page can at worst work it out more than once.
+	 */
+	private transient int period = UNKNOWN_PERIOD;
+
+	/**
+	 * Calls {@link #toPeriod()} and returns the period key.
 	 */
 	@Override
 	public int hashCode() {
-		return toDate().hashCode();
+		return toPeriod();
 	}
 
 	/**
-	 * Calls {@link #toDate()} and uses {@link Date#equals(Object)}.
+	 * Calls {@link #toPeriod()} and compares period keys.
 	 */
 	@Override
 	public boolean equals(Object obj) {
-		return obj != null && this.getClass().isAssignableFrom(obj.getClass()) && toDate().equals(((TimeSeriesValue) obj).toDate());
+		return obj != null && this.getClass().isAssignableFrom(obj.getClass()) && toPeriod() == ((TimeSeriesValue) obj).toPeriod();
 	}
 
 	/**
-	 * Calls {@link #toDate()} and returns {@link Date#compareTo(Date)}.
+	 * Calls {@link #toPeriod()} and compares period keys, which order as {@link #toDate()} does.
 	 */
 	@Override
 	public int compareTo(TimeSeriesValue o) {
-		return toDate().compareTo(o.toDate());
+		return Integer.compare(toPeriod(), o.toPeriod());
+	}
+
+	/**
+	 * @return the {@link TimeSeriesPeriods period key} of this value.
+	 * @throws RuntimeException if the date is not in one of the supported formats.
+	 */
+	public int toPeriod() {
+		int result = period;
+		if (result == UNKNOWN_PERIOD) {
+			result = TimeSeriesPeriods.key(date);
+			period = result;
+		}
+		return result;
 	}
 
 	public Date toDate() {
@@ -1,5 +1,6 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
@@ -9,9 +10,12 @@ import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public abstract class CollectionReader {
 
@@ -58,6 +62,14 @@ public abstract class CollectionReader {
         return findContent(path);
     }
 
+    /**
+     * Reads content under a given collection root folder like {@link #getContent(String)}, but reads a time series
+     * straight into columns, see {@link ContentReader#getColumnarContent(String)}.
+     */
+    public Content getColumnarContent(String path) throws ZebedeeException, IOException {
+        return contentLayer(path).getColumnarContent(path);
+    }
+
     /**
      * Reads content under a given collection root folder. Tries finding content
      * under in progress, complete and reviewed folders respectively. Returns null
@@ -69,11 +81,10 @@ public abstract class CollectionReader {
      * @throws IOException
      */
     public Page getContentQuiet(String path) throws ZebedeeException, IOException {
-        try {
-            return getContent(path);
-        } catch (NotFoundException e) {
+        if (!statContent(path).isPresent()) {
             return null;
         }
+        return getContent(path);
     }
 
 
@@ -89,14 +100,39 @@ public abstract class CollectionReader {
     }
 
     public long getContentLength(String path) throws ZebedeeException, IOException {
-        long length = getContentLengthQuiet(path, inProgress);
-        if (length == 0) {
-            length = getContentLengthQuiet(path, complete);
-            if (length == 0) {
-                length = reviewed.getContentLength(path);
+        return resourceLayer(path).getContentLength(path);
+    }
+
+    /**
+     * Find the data file {@link #getContent(String)} would read, trying in progress, complete and reviewed folders
+     * respectively, without reading it.
+     *
+     * @return the resolved data file, or empty if the collection does not have the content.
+     */
+    public Optional<ContentStat> statContent(String path) throws IOException {
+        for (ContentReader layer : layers()) {
+            Optional<ContentStat> stat = layer.statContent(path);
+            if (stat.isPresent()) {
+                return stat;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find the file or folder {@link #getResource(String)} would read, trying in progress, complete and reviewed
+     * folders respectively, without reading it.
+     *
+     * @return the resolved file or folder, or empty if the collection does not have the resource.
+     */
+    public Optional<ContentStat> statResource(String path) throws IOException {
+        for (ContentReader layer : layers()) {
+            Optional<ContentStat> stat = layer.statResource(path);
+            if (stat.isPresent()) {
+                return stat;
             }
         }
-        return length;
+        return Optional.empty();
     }
 
     /**
@@ -108,9 +144,9 @@ public abstract class CollectionReader {
     public Map<URI, ContentNode> getChildren(String path) throws ZebedeeException, IOException {
         Map<URI, ContentNode> children = new HashMap<>();
         // Is there a validation mechanism ? Might be needed
-        children.putAll(getChildrenQuiet(path, reviewed));
-        children.putAll(getChildrenQuiet(path, complete));//overwrites reviewed content if appears in both places
-        children.putAll(getChildrenQuiet(path, inProgress));//overwrites complete and reviewed content if appears in both places
+        children.putAll(getChildrenIfExists(path, reviewed));
+        children.putAll(getChildrenIfExists(path, complete));//overwrites reviewed content if appears in both places
+        children.putAll(getChildrenIfExists(path, inProgress));//overwrites complete and reviewed content if appears in both places
         return children;
     }
 
@@ -131,68 +167,48 @@ public abstract class CollectionReader {
     }
 
     private Page findContent(String path) throws IOException, ZebedeeException {
-        Page page = getContentQuiet(path, inProgress);
-        if (page == null) {
-            page = getContentQuiet(path, complete);
-            if (page == null) {
-                page = reviewed.getContent(path);
-            }
-        }
-        return page;
+        return contentLayer(path).getContent(path);
     }
 
     private Resource findResource(String path) throws IOException, ZebedeeException {
-        Resource resource = getQuiet(path, inProgress);
-        if (resource == null) {
-            resource = getQuiet(path, complete);
-            if (resource == null) {
-                resource = reviewed.getResource(path);
-            }
-        }
-        return resource;
-    }
-
-    //If content not found with given reader do not shout
-    private Resource getQuiet(String path, ContentReader contentReader) throws ZebedeeException, IOException {
-        try {
-            return contentReader.getResource(path);
-        } catch (NotFoundException e) {
-            return null;
-        }
+        return resourceLayer(path).getResource(path);
     }
 
-    private long getContentLengthQuiet(String path, ContentReader contentReader) throws ZebedeeException, IOException {
-        try {
-            return contentReader.getContentLength(path);
-        } catch (NotFoundException e) {
-            return 0;
+    /**
+     * @return the first of the in progress, complete and reviewed readers with content at the given path, or the
+     * reviewed reader if none has, to report it is not found.
+     */
+    private ContentReader contentLayer(String path) throws IOException {
+        for (ContentReader layer : layers()) {
+            if (layer.statContent(path).isPresent()) {
+                return layer;
+            }
         }
+        return reviewed;
     }
 
-    private Page getContentQuiet(String path, ContentReader contentReader) throws ZebedeeException, IOException {
-        try {
-            return contentReader.getContent(path);
-        } catch (NotFoundException e) {
-            return null;
+    /**
+     * @return the first of the in progress, complete and reviewed readers with a file or folder at the given path, or
+     * the reviewed reader if none has, to report it is not found.
+     */
+    private ContentReader resourceLayer(String path) throws IOException {
+        for (ContentReader layer : layers()) {
+            if (layer.statResource(path).isPresent()) {
+                return layer;
+            }
         }
+        return reviewed;
     }
 
-    //If content not found with given reader do not shout
-    private Page getLatestQuiet(String path, ContentReader contentReader) throws ZebedeeException, IOException {
-        try {
-            return contentReader.getLatestContent(path);
-        } catch (NotFoundException e) {
-            return null;
-        }
+    private List<ContentReader> layers() {
+        return Arrays.asList(inProgress, complete, reviewed);
     }
 
-    //If content not found with given reader do not shout
-    private Map<URI, ContentNode> getChildrenQuiet(String path, ContentReader contentReader) throws ZebedeeException, IOException {
-        try {
-            return contentReader.getChildren(path);
-        } catch (NotFoundException e) {
+    private Map<URI, ContentNode> getChildrenIfExists(String path, ContentReader contentReader) throws ZebedeeException, IOException {
+        if (!contentReader.statResource(path).isPresent()) {
             return Collections.emptyMap();
         }
+        return contentReader.getChildren(path);
     }
 
     //If content not found with given reader do not shout
@@ -205,14 +221,7 @@ public abstract class CollectionReader {
     }
 
     public Page getLatestContent(String path) throws ZebedeeException, IOException {
-        Page content = getLatestQuiet(path, inProgress);
-        if (content == null) {
-            content = getLatestQuiet(path, complete);
-            if (content == null) {
-                content = reviewed.getLatestContent(path);
-            }
-        }
-        return content;
+        return resourceLayer(path).getLatestContent(path);
     }
 
     public void setLanguage(ContentLanguage language) {
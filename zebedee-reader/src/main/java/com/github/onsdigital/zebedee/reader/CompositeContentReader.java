@@ -1,5 +1,6 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
@@ -15,6 +16,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 
@@ -37,108 +39,74 @@ public class CompositeContentReader implements ContentReader {
 
     @Override
     public Page getContent(String path) throws ZebedeeException, IOException {
-        Iterator<ContentReader> iterator = readers.iterator();
-        while (iterator.hasNext()) {
-            ContentReader reader = iterator.next();
-            try {
-                return reader.getContent(path);
-            } catch (ZebedeeException | IOException e) {
-                if (!iterator.hasNext()) {
-                    throw e;
-                }
-            }
-        }
-        return null; // should never happen
+        return contentReader(path).getContent(path);
+    }
+
+    @Override
+    public Content getColumnarContent(String path) throws ZebedeeException, IOException {
+        return contentReader(path).getColumnarContent(path);
     }
 
 
     @Override
     public Page getLatestContent(String path) throws ZebedeeException, IOException {
-        Iterator<ContentReader> iterator = readers.iterator();
-        while (iterator.hasNext()) {
-            ContentReader reader = iterator.next();
-            try {
-                return reader.getLatestContent(path);
-            } catch (ZebedeeException | IOException e) {
-                if (!iterator.hasNext()) {
-                    throw e;
-                }
-            }
-        }
-        return null; // should never happen
+        return resourceReader(path).getLatestContent(path);
     }
 
     @Override
     public Resource getResource(String path) throws ZebedeeException, IOException {
-        Iterator<ContentReader> iterator = readers.iterator();
-        while (iterator.hasNext()) {
-            ContentReader reader = iterator.next();
-            try {
-                return reader.getResource(path);
-            } catch (ZebedeeException | IOException e) {
-                if (!iterator.hasNext()) {
-                    throw e;
-                }
-            }
-        }
-        return null; // should never happen
+        return resourceReader(path).getResource(path);
     }
 
     @Override
     public long getContentLength(String path) throws ZebedeeException, IOException {
-        Iterator<ContentReader> iterator = readers.iterator();
-        while (iterator.hasNext()) {
-            ContentReader reader = iterator.next();
-            try {
-                return reader.getContentLength(path);
-            } catch (ZebedeeException | IOException e) {
-                if (!iterator.hasNext()) {
-                    throw e;
-                }
+        return resourceReader(path).getContentLength(path);
+    }
+
+    @Override
+    public Optional<ContentStat> statContent(String path) throws IOException {
+        for (ContentReader reader : readers) {
+            Optional<ContentStat> stat = reader.statContent(path);
+            if (stat.isPresent()) {
+                return stat;
             }
         }
-        return 0; // should never happen
+        return Optional.empty();
     }
 
     @Override
-    public Map<URI, ContentNode> getChildren(String path) throws ZebedeeException, IOException {
-        Iterator<ContentReader> iterator = readers.iterator();
-        while (iterator.hasNext()) {
-            ContentReader reader = iterator.next();
-            try {
-                return reader.getChildren(path);
-            } catch (ZebedeeException | IOException e) {
-                if (!iterator.hasNext()) {
-                    throw e;
-                }
+    public Optional<ContentStat> statResource(String path) throws IOException {
+        for (ContentReader reader : readers) {
+            Optional<ContentStat> stat = reader.statResource(path);
+            if (stat.isPresent()) {
+                return stat;
             }
         }
-        return null; // should never happen
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<URI, ContentNode> getChildren(String path) throws ZebedeeException, IOException {
+        return resourceReader(path).getChildren(path);
     }
 
     @Override
     public DirectoryStream<Path> getDirectoryStream(String path) throws BadRequestException, IOException {
-        Iterator<ContentReader> iterator = readers.iterator();
-        while (iterator.hasNext()) {
-            ContentReader reader = iterator.next();
-            try {
-                return reader.getDirectoryStream(path);
-            } catch (ZebedeeException | IOException e) {
-                if (!iterator.hasNext()) {
-                    throw e;
-                }
-            }
-        }
-        return null; // should never happen
+        return resourceReader(path).getDirectoryStream(path);
     }
 
     @Override
     public DirectoryStream<Path> getDirectoryStream(String path, String filter) throws BadRequestException, IOException {
+        return resourceReader(path).getDirectoryStream(path, filter);
+    }
+
+    @Override
+    public Map<URI, ContentNode> getParents(String path) throws ZebedeeException, IOException {
         Iterator<ContentReader> iterator = readers.iterator();
         while (iterator.hasNext()) {
             ContentReader reader = iterator.next();
             try {
-                return reader.getDirectoryStream(path, filter);
+                return reader.getParents(path);
             } catch (ZebedeeException | IOException e) {
                 if (!iterator.hasNext()) {
                     throw e;
@@ -149,19 +117,46 @@ public class CompositeContentReader implements ContentReader {
     }
 
     @Override
-    public Map<URI, ContentNode> getParents(String path) throws ZebedeeException, IOException {
+    public ContentNode getContentNode(String path) throws ZebedeeException, IOException {
         Iterator<ContentReader> iterator = readers.iterator();
         while (iterator.hasNext()) {
             ContentReader reader = iterator.next();
             try {
-                return reader.getParents(path);
+                ContentNode node = reader.getContentNode(path);
+                if (node != null) {
+                    return node;
+                }
             } catch (ZebedeeException | IOException e) {
                 if (!iterator.hasNext()) {
                     throw e;
                 }
             }
         }
-        return null; // should never happen
+        return null;
+    }
+
+    /**
+     * @return the first reader with content at the given path, or the last reader, to report it is not found.
+     */
+    private ContentReader contentReader(String path) throws IOException {
+        for (ContentReader reader : readers) {
+            if (reader.statContent(path).isPresent()) {
+                return reader;
+            }
+        }
+        return readers.get(readers.size() - 1);
+    }
+
+    /**
+     * @return the first reader with a file or folder at the given path, or the last reader, to report it is not found.
+     */
+    private ContentReader resourceReader(String path) throws IOException {
+        for (ContentReader reader : readers) {
+            if (reader.statResource(path).isPresent()) {
+                return reader;
+            }
+        }
+        return readers.get(readers.size() - 1);
     }
 
     @Override
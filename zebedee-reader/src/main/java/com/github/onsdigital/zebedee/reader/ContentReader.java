@@ -1,5 +1,6 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
@@ -12,16 +13,40 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface ContentReader {
     Page getContent(String path) throws ZebedeeException, IOException;
 
     Page getLatestContent(String path) throws ZebedeeException, IOException;
 
+    /**
+     * Like {@link #getContent(String)}, but a time series is read straight into a
+     * {@link com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries}, without a
+     * value object per point, for when only its values are needed, e.g. to filter them or generate a download.
+     *
+     * @return the series, or the page if the content is not a time series.
+     */
+    Content getColumnarContent(String path) throws ZebedeeException, IOException;
+
     Resource getResource(String path) throws ZebedeeException, IOException;
 
     long getContentLength(String path) throws ZebedeeException, IOException;
 
+    /**
+     * Find the file {@link #getContent(String)} would read for the given path, without reading it.
+     *
+     * @return the resolved data file, or empty if there is no such content.
+     */
+    Optional<ContentStat> statContent(String path) throws IOException;
+
+    /**
+     * Find the file or folder {@link #getResource(String)} would read for the given path, without reading it.
+     *
+     * @return the resolved file or folder, or empty if there is no such resource.
+     */
+    Optional<ContentStat> statResource(String path) throws IOException;
+
     Map<URI, ContentNode> getChildren(String path) throws ZebedeeException, IOException;
 
     DirectoryStream<Path> getDirectoryStream(String path) throws BadRequestException, IOException;
@@ -30,6 +55,11 @@ public interface ContentReader {
 
     Map<URI, ContentNode> getParents(String path) throws ZebedeeException, IOException;
 
+    /**
+     * @return the node summarising the content in the given folder, or null if the folder has no content.
+     */
+    ContentNode getContentNode(String path) throws ZebedeeException, IOException;
+
     /*Getters * Setters */
     Path getRootFolder();
 
@@ -0,0 +1,56 @@
+package com.github.onsdigital.zebedee.reader;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The file a content or resource path resolves to, found without opening it.
+ */
+public class ContentStat {
+
+    /**
+     * Whether the path resolved to a file or a folder.
+     */
+    public enum Type {
+        FILE,
+        DIRECTORY
+    }
+
+    private final Path path;
+    private final Type type;
+    private final long size;
+    private final long lastModified;
+
+    public ContentStat(Path path, BasicFileAttributes attributes) {
+        this.path = path;
+        this.type = attributes.isDirectory() ? Type.DIRECTORY : Type.FILE;
+        this.size = attributes.size();
+        this.lastModified = attributes.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * @return the resolved file, e.g. the data file of a page.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isDirectory() {
+        return type == Type.DIRECTORY;
+    }
+
+    /**
+     * @return the size of the file on disk, which for an encrypted collection is not the length of the content.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.onsdigital.zebedee.reader;
+
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Download data generated by the {@link DataGenerator}, written straight to a stream as its rows are produced rather
+ * than built in memory first.
+ * <p>
+ * The format and content are checked when the download is created, so a bad request is rejected before anything is
+ * written to the response.
+ */
+public class DataDownload {
+
+    private static final LatencyHistogram GENERATE_TIME = ReaderMetrics.stage("DataGenerator");
+
+    private final String name;
+    private final String mimeType;
+    private final DataWriter writer;
+
+    DataDownload(String name, String mimeType, DataWriter writer) {
+        this.name = name;
+        this.mimeType = mimeType;
+        this.writer = writer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * Generate the data, writing it to the given stream. The stream is flushed but not closed.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        try {
+            writer.write(out);
+            out.flush();
+        } finally {
+            GENERATE_TIME.observeSince(start);
+        }
+    }
+
+    @FunctionalInterface
+    interface DataWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -5,42 +5,44 @@ import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.timeseries.Point;
 import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
 import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
-import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
 import com.github.onsdigital.zebedee.content.page.statistics.document.figure.chart.Chart;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.UnexpectedErrorException;
 import com.github.onsdigital.zebedee.reader.util.factory.CSVWriterFactory;
+import com.google.common.collect.Iterators;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
-import static java.util.Arrays.asList;
 import static org.apache.commons.io.FilenameUtils.getExtension;
 import static org.apache.poi.ss.usermodel.Cell.CELL_TYPE_NUMERIC;
 import static org.apache.poi.ss.usermodel.Cell.CELL_TYPE_STRING;
@@ -53,18 +55,11 @@ public class DataGenerator {
     // The date format including the BST timezone. Dates are stored at UTC and must be formated to take BST into account.
     private static final FastDateFormat DATE_FORMAT = FastDateFormat.getInstance("dd-MM-yyyy", TimeZone.getTimeZone("Europe/London"));
 
-    /**
-     * Regex to match a decimal number
-     */
-    private static final Pattern DECIMAL_REGEX = Pattern.compile("^-?\\d+\\.\\d+$");
-    private static final String[] MONTHS = "JAN,FEB,MAR,APR,MAY,JUN,JUL,AUG,SEP,OCT,NOV,DEC".split(",");
-    private static final String[] QUARTERS = "Q1,Q2,Q3,Q4".split(",");
     private static final String BASE_FORMAT = "0.";
     private static final String DECIMAL_PLACEHOLDER = "0";
-    private static final String UTF8 = "UTF8";
     private static final String MIME_TYPE = "application/octet-stream";
     private static final int METADATA_ROWS = 8;
-    private static DateFormat FILE_NAME_DATE = new SimpleDateFormat("ddMMyy");
+    private static final FastDateFormat FILE_NAME_DATE = FastDateFormat.getInstance("ddMMyy");
 
     static final String UNSUPPORTED_CONTENT_TYPE_MSG = "Cannot generate dowload data for provided Content type";
     static final String UNSUPPORTED_FORMAT_MSG = "Requested format is not currently supported.";
@@ -97,41 +92,92 @@ public class DataGenerator {
      * @throws UnexpectedErrorException
      */
     public Resource generateData(Content content, String format) throws IOException, BadRequestException {
+        return toResource(prepareData(content, format));
+    }
+
+    /**
+     * Prepare download data for the requested content, to be written straight to a response. Rows of the download
+     * are produced as they are written rather than the whole download being generated up front.
+     *
+     * @param content the content to generate the download for.
+     * @param format  of the download to generate.
+     * @return the {@link DataDownload} for the content in the requested format.
+     * @throws BadRequestException if the content type or the format is not supported.
+     */
+    public DataDownload prepareData(Content content, String format) throws BadRequestException {
         if (content instanceof Chart) {
-            return generateChartData((Chart) content, format);
+            return prepareChartData((Chart) content, format);
         }
         if (content instanceof TimeSeries) {
-            return generateTimeseriesData((TimeSeries) content, format);
+            return prepareColumnarTimeseriesData(
+                    Collections.singletonList(ColumnarTimeSeries.of((TimeSeries) content)), format);
+        }
+        if (content instanceof ColumnarTimeSeries) {
+            return prepareColumnarTimeseriesData(Collections.singletonList((ColumnarTimeSeries) content), format);
         }
         if (content instanceof Series) {
-            return generateSeriesData((Series) content, format);
+            return prepareSeriesData((Series) content, format);
         }
         info().data("class", content.getClass().getSimpleName()).log(UNSUPPORTED_CONTENT_TYPE_MSG);
         throw new BadRequestException(UNSUPPORTED_CONTENT_TYPE_MSG);
     }
 
+    /**
+     * Prepare download data for a list of time series, one per column of the download.
+     *
+     * @see #prepareData(Content, String)
+     */
+    public DataDownload prepareData(List<TimeSeries> timeSerieses, String format) throws BadRequestException {
+        List<ColumnarTimeSeries> columnar = new ArrayList<>(timeSerieses.size());
+        for (TimeSeries timeSeries : timeSerieses) {
+            columnar.add(ColumnarTimeSeries.of(timeSeries));
+        }
+        return prepareColumnarTimeseriesData(columnar, format);
+    }
 
-    Resource generateTimeseriesData(List<TimeSeries> series, String format) throws IOException, BadRequestException {
-        List<List<String>> grid = timeSeriesDataGrid(series);
+    /**
+     * Prepare download data for time series read straight into columns, see
+     * {@link ContentReader#getColumnarContent(String)}.
+     *
+     * @param series the series, one per column of the download.
+     * @param format of the download to generate.
+     */
+    public DataDownload prepareColumnarTimeseriesData(List<ColumnarTimeSeries> series, String format)
+            throws BadRequestException {
         String filename = new StringBuilder(SERIES_NAME)
                 .append("-")
                 .append(FILE_NAME_DATE.format(new Date()))
                 .append(".")
                 .append(format)
                 .toString();
-        return generateResourceFromDataGrid(grid, filename);
+        return prepareDownload(filename,
+                () -> Iterators.concat(timeSeriesDetails(series).iterator(), new TimeSeriesRows(series)));
     }
 
+    Resource generateTimeseriesData(List<TimeSeries> series, String format) throws IOException, BadRequestException {
+        return toResource(prepareData(series, format));
+    }
 
-    Resource generateSeriesData(Series series, String format) throws IOException, BadRequestException {
-        List<List<String>> grid = generateSeriesGrid(series);
+    DataDownload prepareSeriesData(Series series, String format) throws BadRequestException {
         String filename = new StringBuilder(series.getDescription().getCdid())
                 .append("-")
                 .append(FILE_NAME_DATE.format(new Date()))
                 .append(".")
                 .append(format)
                 .toString();
-        return generateResourceFromDataGrid(grid, filename);
+        return prepareDownload(filename, () -> generateSeriesGrid(series).iterator());
+    }
+
+    Resource generateSeriesData(Series series, String format) throws IOException, BadRequestException {
+        return toResource(prepareSeriesData(series, format));
+    }
+
+    DataDownload prepareChartData(Chart chart, String format) throws BadRequestException {
+        String filename = new StringBuilder(chart.getTitle().replace(" ", "_"))
+                .append(".")
+                .append(format)
+                .toString();
+        return prepareDownload(filename, () -> chartDataGrid(chart).iterator());
     }
 
     /**
@@ -142,12 +188,7 @@ public class DataGenerator {
      * @throws UnexpectedErrorException
      */
     Resource generateChartData(Chart chart, String format) throws IOException, BadRequestException {
-        List<List<String>> grid = chartDataGrid(chart);
-        String filename = new StringBuilder(chart.getTitle().replace(" ", "_"))
-                .append(".")
-                .append(format)
-                .toString();
-        return generateResourceFromDataGrid(grid, filename);
+        return toResource(prepareChartData(chart, format));
     }
 
     /**
@@ -159,13 +200,24 @@ public class DataGenerator {
      */
     Resource generateResourceFromDataGrid(List<List<String>> grid, String fileName) throws IOException,
             BadRequestException {
+        return toResource(prepareDownload(fileName, grid::iterator));
+    }
+
+    /**
+     * Choose the writer of a download from the extension of its file name.
+     *
+     * @param fileName the file name of the download.
+     * @param rows     produces the rows of the download when it is written.
+     */
+    private DataDownload prepareDownload(String fileName, Supplier<Iterator<List<String>>> rows)
+            throws BadRequestException {
         switch (getExtension(fileName)) {
             case XLS_EXT:
-                return createResource(fileName, workbookToBytes(grid, xlsWorkbookSupplier));
+                return new DataDownload(fileName, MIME_TYPE, out -> writeWorkbook(rows.get(), xlsWorkbookSupplier, out));
             case XLSX_EXT:
-                return createResource(fileName, workbookToBytes(grid, xlsxWorkbookSupplier));
+                return new DataDownload(fileName, MIME_TYPE, out -> writeWorkbook(rows.get(), xlsxWorkbookSupplier, out));
             case CSV_EXT:
-                return createResource(fileName, csvToBytes(grid));
+                return new DataDownload(fileName, MIME_TYPE, out -> writeCsv(rows.get(), out));
             default:
                 info().data("format", getExtension(fileName)).log(UNSUPPORTED_FORMAT_MSG);
                 throw new BadRequestException(UNSUPPORTED_FORMAT_MSG);
@@ -191,170 +243,131 @@ public class DataGenerator {
 
     byte[] workbookToBytes(List<List<String>> grid, Supplier<Workbook> workbookSupplier)
             throws IOException {
-        try (
-                Workbook wb = workbookSupplier.get();
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ) {
-            Sheet sheet = wb.createSheet(SHEET_NAME);
-            int rowIndex = 0;
-
-            /**
-             * There is a hard limit of 4000 styles per workbook. So we only generate unique styles we need instead
-             * of a new style per cell and risk hitting that limit.
-             **/
-            Map<String, CellStyle> stylesMap = new HashMap<>();
-
-            for (List<String> gridRow : grid) {
-
-                Row r = sheet.createRow(rowIndex++);
-                int columnIndex = 0;
-                for (String cellValueStr : gridRow) {
-                    Cell cell = r.createCell(columnIndex);
-
-                    if (CELL_TYPE_NUMERIC == determineCellType(rowIndex, columnIndex, cellValueStr)) {
-                        if (DECIMAL_REGEX.matcher(cellValueStr).matches()) {
-                            // Little bit nasty but even with the cell type set as numeric adding a value where
-                            // the decimal value is 0 it will remove the decimal value displaying it as an int
-                            // not a float. Example '55.0' will be displayed as '55'.
-                            // To combat this we create a custom data format for each string value to force it to
-                            // display the decimal places even if they are all zero.
-
-                            String cellFormat = getDataFormat(cellValueStr);
-                            if (!stylesMap.containsKey(cellFormat)) {
-                                CellStyle newStyle = wb.createCellStyle();
-                                newStyle.setDataFormat(wb.createDataFormat().getFormat(cellFormat));
-                                stylesMap.put(cellFormat, newStyle);
-                            }
-
-                            cell.setCellStyle(stylesMap.get(cellFormat));
-                        }
-                        cell.setCellType(CELL_TYPE_NUMERIC);
-                        cell.setCellValue(Double.parseDouble(cellValueStr));
-                    } else {
-                        cell.setCellType(CELL_TYPE_STRING);
-                        cell.setCellValue(cellValueStr);
-                    }
-                    columnIndex++;
-                }
-            }
-            wb.write(baos);
-            byte[] wordbookBytes = baos.toByteArray();
-            return wordbookBytes;
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            writeWorkbook(grid.iterator(), workbookSupplier, baos);
+            return baos.toByteArray();
         }
     }
 
     /**
-     * Output a grid of strings to CSV
-     *
-     * @param grid    grid to output to
-     * @throws IOException
+     * Write rows to a new workbook, then the workbook to the given stream.
+     * <p>
+     * An {@link SXSSFWorkbook} flushes rows out of memory to a temporary file as the window of rows it keeps fills,
+     * so an xlsx download is never held in memory whole. The temporary file is removed once the workbook is written.
+     * An {@link HSSFWorkbook} has no streaming form, but rows are still added as they are produced rather than from a
+     * grid built first, and the xls format itself bounds a sheet to 65,536 rows.
      */
-    byte[] csvToBytes(List<List<String>> grid) throws IOException {
-        try (
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                OutputStreamWriter outputStreamWriter = new OutputStreamWriter(baos, Charset.forName(UTF8));
-                CSVWriter writer = csvWriterFactory.getCSVWriter(outputStreamWriter, ',');
-        ) {
-            for (List<String> gridRow : grid) {
-                String[] row = gridRow.toArray(new String[gridRow.size()]);
-                writer.writeNext(row);
+    void writeWorkbook(Iterator<List<String>> rows, Supplier<Workbook> workbookSupplier, OutputStream out)
+            throws IOException {
+        try (Workbook wb = workbookSupplier.get()) {
+            try {
+                Sheet sheet = wb.createSheet(SHEET_NAME);
+                DecimalStyles styles = new DecimalStyles(wb);
+                int rowIndex = 0;
+
+                while (rows.hasNext()) {
+                    Row r = sheet.createRow(rowIndex++);
+                    int columnIndex = 0;
+                    for (String cellValueStr : rows.next()) {
+                        writeCell(r.createCell(columnIndex), rowIndex, columnIndex, cellValueStr, styles);
+                        columnIndex++;
+                    }
+                }
+                wb.write(out);
+            } finally {
+                if (wb instanceof SXSSFWorkbook) {
+                    ((SXSSFWorkbook) wb).dispose();
+                }
             }
-            writer.flush();
-            byte[] csvBytes = baos.toByteArray();
-            return csvBytes;
         }
     }
 
-    private String getDataFormat(String cellValueStr) {
-        String[] segments = cellValueStr.split("\\.");
-        String decimals = segments[segments.length - 1];
-
-        StringBuilder format = new StringBuilder(BASE_FORMAT);
-        asList(decimals.split(""))
-                .stream()
-                .forEach(decimalValue -> format.append(DECIMAL_PLACEHOLDER));
-        return format.toString();
-    }
-
-    private int determineCellType(int rowIndex, int cellIndex, String callValue) {
-        if (rowIndex <= METADATA_ROWS || cellIndex == 0 || StringUtils.isEmpty(callValue)) {
-            return Cell.CELL_TYPE_STRING;
+    private void writeCell(Cell cell, int rowIndex, int columnIndex, String cellValueStr, DecimalStyles styles) {
+        if (rowIndex <= METADATA_ROWS || columnIndex == 0 || StringUtils.isEmpty(cellValueStr)) {
+            cell.setCellType(CELL_TYPE_STRING);
+            cell.setCellValue(cellValueStr);
+            return;
         }
+
+        double number;
         try {
-            Float.parseFloat(callValue);
+            number = Double.parseDouble(cellValueStr);
         } catch (NumberFormatException e) {
-            info().data("non_numeric_value", callValue)
+            info().data("non_numeric_value", cellValueStr)
                     .log("XLS Cell value could not be parsed to Float, value will be written as String.");
-            return CELL_TYPE_STRING;
+            cell.setCellType(CELL_TYPE_STRING);
+            cell.setCellValue(cellValueStr);
+            return;
         }
-        return CELL_TYPE_NUMERIC;
-    }
 
+        // Little bit nasty but even with the cell type set as numeric adding a value where the decimal value is 0
+        // it will remove the decimal value displaying it as an int not a float. Example '55.0' will be displayed as
+        // '55'. To combat this decimals are given a data format forcing it to display all of their decimal places.
+        int decimalPlaces = decimalPlaces(cellValueStr);
+        if (decimalPlaces > 0) {
+            cell.setCellStyle(styles.get(decimalPlaces));
+        }
+        cell.setCellType(CELL_TYPE_NUMERIC);
+        cell.setCellValue(number);
+    }
 
     /**
-     * Get a data grid for multiple time series
-     * <p>
-     * Lots of
-     *
-     * @param serieses
-     * @return
+     * @return the number of decimal places of a plain decimal number such as <code>-12.30</code>, otherwise 0.
      */
-    private List<List<String>> timeSeriesDataGrid(List<TimeSeries> serieses) {
-        List<List<String>> rows = new ArrayList<>();
-
-        // Initialise the grid columns
-        List<String> timeseriesUrls = timeSeriesIdList(serieses);
-
-        // Initialise the grid rows
-        Map<String, Map<String, String>> mapOfData = mapOfAllDataInTimeSeriesList(serieses);
-
-        // Add the basic details header rows
-        addTimeSeriesDetails(rows, timeseriesUrls, mapOfData);
-
-        // Add years
-        List<String> yearRange = yearRange(serieses);
-        if (yearRange != null) {
-            for (String year : yearRange) {
-                List<String> newRow = new ArrayList<>();
-                newRow.add(year);
-                for (String url : timeseriesUrls) {
-                    newRow.add(mapOfData.get(year).get(url));
-                }
-                rows.add(newRow);
-            }
+    static int decimalPlaces(String value) {
+        int length = value.length();
+        int i = value.startsWith("-") ? 1 : 0;
+        int integerStart = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        if (i == integerStart || i == length || value.charAt(i) != '.') {
+            return 0;
         }
 
-        // Add quarters
-        List<String> quarterRange = quarterRange(serieses);
-        if (quarterRange != null) {
-            for (String quarter : quarterRange) {
-                List<String> newRow = new ArrayList<>();
-                newRow.add(quarter);
-                for (String url : timeseriesUrls) {
-                    newRow.add(mapOfData.get(quarter).get(url));
-                }
-                rows.add(newRow);
-            }
+        int fractionStart = ++i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
         }
+        return i == length ? i - fractionStart : 0;
+    }
 
-        // Add months
-        List<String> monthRange = monthRange(serieses);
-        if (monthRange != null) {
-            for (String month : monthRange) {
-                List<String> newRow = new ArrayList<>();
-                newRow.add(month);
-                for (String url : timeseriesUrls) {
-                    newRow.add(mapOfData.get(month).get(url));
-                }
-                rows.add(newRow);
-            }
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Output a grid of strings to CSV
+     *
+     * @param grid    grid to output to
+     * @throws IOException
+     */
+    byte[] csvToBytes(List<List<String>> grid) throws IOException {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            writeCsv(grid.iterator(), baos);
+            return baos.toByteArray();
         }
+    }
 
-        return rows;
+    /**
+     * Write rows as CSV to the given stream, which is flushed but not closed.
+     */
+    void writeCsv(Iterator<List<String>> rows, OutputStream out) throws IOException {
+        Writer outputStreamWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CSVWriter writer = csvWriterFactory.getCSVWriter(outputStreamWriter, ',');
+        while (rows.hasNext()) {
+            List<String> gridRow = rows.next();
+            writer.writeNext(gridRow.toArray(new String[gridRow.size()]));
+        }
+        writer.flush();
     }
 
-    private void addTimeSeriesDetails(List<List<String>> rows, List<String> timeseriesId, Map<String, Map<String,
-            String>> mapOfData) {
+    /**
+     * The basic details header rows of a time series download, with a column per series.
+     */
+    private List<List<String>> timeSeriesDetails(List<ColumnarTimeSeries> serieses) {
+        List<List<String>> rows = new ArrayList<>(METADATA_ROWS);
+
         // Add detail rows
         List<String> titleRow = newRow(TITLE_COL);
         List<String> cdidRow = newRow(CDID_COL);
@@ -366,15 +379,16 @@ public class DataGenerator {
         List<String> importantNotes = newRow(NOTES_COL);
 
         // Write details for each cdid
-        for (String id : timeseriesId) {
-            titleRow.add(mapOfData.get(TITLE_COL).get(id));
-            cdidRow.add(mapOfData.get(CDID_COL).get(id));
-            datasetIdRow.add(mapOfData.get(SOURCE_DATASET_COL).get(id));
-            preunit.add(mapOfData.get(PRE_UNIT_COL).get(id));
-            unit.add(mapOfData.get(UNIT_COL).get(id));
-            releaseDate.add(mapOfData.get(RELEASE_DATE_COL).get(id));
-            nextRelease.add(mapOfData.get(NEXT_RELEASE_COL).get(id));
-            importantNotes.add(mapOfData.get(NOTES_COL).get(id));
+        for (ColumnarTimeSeries series : serieses) {
+            PageDescription description = series.getDescription();
+            titleRow.add(description.getTitle());
+            cdidRow.add(description.getCdid());
+            datasetIdRow.add(description.getDatasetId());
+            preunit.add(description.getPreUnit());
+            unit.add(description.getUnit());
+            releaseDate.add(description.getReleaseDate() == null ? "" : DATE_FORMAT.format(description.getReleaseDate()));
+            nextRelease.add(description.getNextRelease());
+            importantNotes.add(StringUtils.join(series.getNotes(), ", "));
         }
 
         rows.add(titleRow);
@@ -385,6 +399,7 @@ public class DataGenerator {
         rows.add(releaseDate);
         rows.add(nextRelease);
         rows.add(importantNotes);
+        return rows;
     }
 
     /**
@@ -399,247 +414,13 @@ public class DataGenerator {
         return result;
     }
 
-    /**
-     * Get a map of maps containing all data so that map.get(CDID).get(TIME) gives value
-     *
-     * @param serieses
-     * @return a Map of Maps as described above
-     */
-    private Map<String, Map<String, String>> mapOfAllDataInTimeSeriesList(List<TimeSeries> serieses) {
-        HashMap<String, Map<String, String>> map = new HashMap<>();
-
-        for (TimeSeries series : serieses) {
-            String seriesIdentifier = series.getUri().toString();
-
-            putCombination(seriesIdentifier, TITLE_COL, series.getDescription().getTitle(), map);
-            putCombination(seriesIdentifier, CDID_COL, series.getDescription().getCdid(), map);
-            putCombination(seriesIdentifier, SOURCE_DATASET_COL, series.getDescription().getDatasetId(), map);
-            putCombination(seriesIdentifier, PRE_UNIT_COL, series.getDescription().getPreUnit(), map);
-            putCombination(seriesIdentifier, UNIT_COL, series.getDescription().getUnit(), map);
-
-            if (series.getDescription().getReleaseDate() == null) {
-                putCombination(seriesIdentifier, RELEASE_DATE_COL, "", map);
-            } else {
-                putCombination(seriesIdentifier, RELEASE_DATE_COL, DATE_FORMAT.format(series.getDescription().getReleaseDate()), map);
-            }
-
-            putCombination(seriesIdentifier, NEXT_RELEASE_COL, series.getDescription().getNextRelease(), map);
-            putCombination(seriesIdentifier, NOTES_COL, StringUtils.join(series.getNotes(), ", "), map);
-
-            if (series.years != null) {
-                for (TimeSeriesValue value : series.years) {
-                    putCombination(seriesIdentifier, value.date, value.value, map);
-                }
-            }
-            if (series.months != null) {
-                for (TimeSeriesValue value : series.months) {
-                    putCombination(seriesIdentifier, value.date, value.value, map);
-                }
-            }
-            if (series.quarters != null) {
-                for (TimeSeriesValue value : series.quarters) {
-                    putCombination(seriesIdentifier, value.date, value.value, map);
-                }
-            }
-        }
-
-        return map;
-    }
-
-    /**
-     * Get an ordered list of years that ought to be written on a spreadsheet
-     * <p>
-     * Correctly orders and fills holes for the list
-     *
-     * @param seriesList
-     * @return
-     */
-    private List<String> yearRange(List<TimeSeries> seriesList) {
-        TimeSeriesValue min = null;
-        TimeSeriesValue max = null;
-        for (TimeSeries series : seriesList) {
-            for (TimeSeriesValue value : series.years) {
-                if (min == null || min.compareTo(value) > 0) {
-                    min = value;
-                }
-                if (max == null || max.compareTo(value) < 0) {
-                    max = value;
-                }
-            }
-        }
-
-        if (min == null) {
-            return null;
-        }
-
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(min.toDate());
-        int minYear = cal.get(Calendar.YEAR);
-        cal.setTime(max.toDate());
-        int maxYear = cal.get(Calendar.YEAR);
-
-        List<String> yearLabels = new ArrayList<>();
-        for (int i = minYear; i <= maxYear; i++) {
-            yearLabels.add(i + "");
-        }
-
-        return yearLabels;
-    }
-
-    /**
-     * Get an ordered list of quarters that ought to be written on a spreadsheet
-     * <p>
-     * Correctly orders and fills holes for the list
-     *
-     * @param seriesList
-     * @return
-     */
-    private List<String> quarterRange(List<TimeSeries> seriesList) {
-        TimeSeriesValue min = null;
-        TimeSeriesValue max = null;
-        for (TimeSeries series : seriesList) {
-            for (TimeSeriesValue value : series.quarters) {
-                if (min == null || min.compareTo(value) > 0) {
-                    min = value;
-                }
-                if (max == null || max.compareTo(value) < 0) {
-                    max = value;
-                }
-            }
-        }
-
-        if (min == null) {
-            return null;
+    private Resource toResource(DataDownload download) throws IOException {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            download.writeTo(baos);
+            return createResource(download.getName(), baos.toByteArray());
         }
-
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(min.toDate());
-        int minYear = cal.get(Calendar.YEAR);
-        int minQuarter = cal.get(Calendar.MONTH) / 3;
-
-        cal.setTime(max.toDate());
-        int maxYear = cal.get(Calendar.YEAR);
-        int maxQuarter = cal.get(Calendar.MONTH) / 3;
-
-        List<String> quarterLabels = new ArrayList<>();
-
-        for (int i = minYear; i <= maxYear; i++) {
-            for (int q = 0; q < 4; q++) {
-                if (i == minYear && i == maxYear) {
-                    if (q >= minQuarter && q <= maxQuarter) {
-                        quarterLabels.add(i + " " + QUARTERS[q]);
-                    }
-                } else if (i == minYear) {
-                    if (q >= minQuarter) {
-                        quarterLabels.add(i + " " + QUARTERS[q]);
-                    }
-                } else if (i == maxYear) {
-                    if (q <= maxQuarter) {
-                        quarterLabels.add(i + " " + QUARTERS[q]);
-                    }
-                } else {
-                    quarterLabels.add(i + " " + QUARTERS[q]);
-                }
-            }
-        }
-
-        return quarterLabels;
     }
 
-    /**
-     * Get an ordered list of months that ought to be written on a spreadsheet
-     * <p>
-     * Correctly orders and fills holes for the list
-     *
-     * @param seriesList
-     * @return
-     */
-    private List<String> monthRange(List<TimeSeries> seriesList) {
-        TimeSeriesValue min = null;
-        TimeSeriesValue max = null;
-        for (TimeSeries series : seriesList) {
-            for (TimeSeriesValue value : series.months) {
-                if (min == null || min.compareTo(value) > 0) {
-                    min = value;
-                }
-                if (max == null || max.compareTo(value) < 0) {
-                    max = value;
-                }
-            }
-        }
-
-        if (min == null) {
-            return null;
-        }
-
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(min.toDate());
-        int minYear = cal.get(Calendar.YEAR);
-        int minMonth = cal.get(Calendar.MONTH);
-
-        cal.setTime(max.toDate());
-        int maxYear = cal.get(Calendar.YEAR);
-        int maxMonth = cal.get(Calendar.MONTH);
-
-        List<String> monthLabels = new ArrayList<>();
-
-        for (int i = minYear; i <= maxYear; i++) {
-            for (int q = 0; q < 12; q++) {
-                if (i == minYear && i == maxYear) {
-                    if (q >= minMonth && q<= maxMonth) {
-                        monthLabels.add(i + " " + MONTHS[q]);
-                    }
-                } else if (i == minYear) {
-                    if (q >= minMonth) {
-                        monthLabels.add(i + " " + MONTHS[q]);
-                    }
-                } else if (i == maxYear) {
-                    if (q <= maxMonth) {
-                        monthLabels.add(i + " " + MONTHS[q]);
-                    }
-                } else {
-                    monthLabels.add(i + " " + MONTHS[q]);
-                }
-            }
-        }
-
-        return monthLabels;
-    }
-
-    /**
-     * get a list of series Urls
-     * <p>
-     * This is used to define headings for our spreadsheet
-     *
-     * @param serieses
-     * @return
-     */
-    private List<String> timeSeriesIdList(List<TimeSeries> serieses) {
-        List<String> ids = new ArrayList<>();
-        for (TimeSeries series : serieses) {
-            ids.add(series.getUri().toString());
-        }
-        return ids;
-    }
-
-    /**
-     * Write a data point to our collated timeseries map of maps
-     *
-     * @param cdid
-     * @param row
-     * @param value
-     * @param map
-     */
-    private void putCombination(String cdid, String row, String value, Map<String, Map<String, String>> map) {
-        Map<String, String> submap = new HashMap<>();
-        if (map.containsKey(row)) {
-            submap = map.get(row);
-        }
-        submap.put(cdid, value);
-        map.put(row, submap);
-    }
-
-
     private Resource createResource(String filename, byte[] dataBytes) {
         Resource resource = new Resource();
         resource.setName(filename);
@@ -716,6 +497,40 @@ public class DataGenerator {
         return grid;
     }
 
+    /**
+     * The cell styles showing numbers to a number of decimal places, created once per format for a workbook as they
+     * are first needed. There is a hard limit of 4000 styles per workbook, so a style is shared by every cell with the
+     * same format rather than a new style created per cell.
+     */
+    private static class DecimalStyles {
+
+        private final Workbook workbook;
+        private DataFormat dataFormat;
+        private CellStyle[] styles = new CellStyle[8];
+
+        DecimalStyles(Workbook workbook) {
+            this.workbook = workbook;
+        }
+
+        CellStyle get(int decimalPlaces) {
+            if (decimalPlaces >= styles.length) {
+                styles = Arrays.copyOf(styles, Math.max(decimalPlaces + 1, styles.length * 2));
+            }
+
+            CellStyle style = styles[decimalPlaces];
+            if (style == null) {
+                if (dataFormat == null) {
+                    dataFormat = workbook.createDataFormat();
+                }
+                style = workbook.createCellStyle();
+                style.setDataFormat(dataFormat.getFormat(BASE_FORMAT + StringUtils.repeat(DECIMAL_PLACEHOLDER,
+                        decimalPlaces)));
+                styles[decimalPlaces] = style;
+            }
+            return style;
+        }
+    }
+
     void setXLSWorkbookSupplier(Supplier<Workbook> xlsWorkbookSupplier) {
         this.xlsWorkbookSupplier = xlsWorkbookSupplier;
     }
@@ -1,9 +1,12 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.Content;
 import com.github.onsdigital.zebedee.content.dynamic.ContentNodeDetails;
 import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.base.PageType;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
 import com.github.onsdigital.zebedee.content.page.statistics.document.figure.chart.Chart;
 import com.github.onsdigital.zebedee.content.page.statistics.document.figure.image.Image;
 import com.github.onsdigital.zebedee.content.page.statistics.document.figure.table.Table;
@@ -13,8 +16,13 @@ import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.exceptions.ResourceDirectoryNotFileException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.reader.cache.LatestEditionIndex;
+import com.github.onsdigital.zebedee.reader.cache.PageCache;
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
 import com.github.onsdigital.zebedee.reader.util.ReleaseDateComparator;
+import com.github.onsdigital.zebedee.util.ContentTreeWalker;
 import com.github.onsdigital.zebedee.util.PathUtils;
 import com.github.onsdigital.zebedee.util.URIUtils;
 import com.google.gson.JsonSyntaxException;
@@ -24,11 +32,10 @@ import org.apache.tika.Tika;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.DirectoryStream;
-import java.nio.file.FileVisitResult;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -36,10 +43,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.fileEtag;
 import static com.github.onsdigital.zebedee.util.URIUtils.removeLastSegment;
 import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
 import static java.nio.file.Files.exists;
@@ -68,6 +77,10 @@ public class FileSystemContentReader implements ContentReader {
     private static final Path EMPTY_PATH = Paths.get("");
     private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
 
+    private static final LatencyHistogram RESOLVE_CONTENT_PATH_TIME = ReaderMetrics.stage("resolveContentPath");
+    private static final LatencyHistogram DESERIALIZE_TIME = ReaderMetrics.stage("deserialize");
+    private static final LatencyHistogram MIME_TYPE_TIME = ReaderMetrics.stage("determineMimeType");
+
     /**
      * Apache TIKA is a library providing helper methods for determining the MIME type of files. Using this in place
      * of {@link Files#probeContentType(Path)} due to know issues and bugs depending on the OS its used on.
@@ -75,14 +88,36 @@ public class FileSystemContentReader implements ContentReader {
     private static Tika tika = new Tika();
 
     private final Path rootFolder;
+    private final PageCache pageCache;
+    private final LatestEditionIndex latestEditionIndex;
     protected ContentLanguage language = ContentLanguage.ENGLISH;
     private Tracer tracer = GlobalOpenTelemetry.getTracer("zebedee-reader", "");
 
     public FileSystemContentReader(Path rootFolder) {
+        this(rootFolder, null);
+    }
+
+    /**
+     * @param rootFolder the root content folder.
+     * @param pageCache  cache of deserialised pages to use, pages are read from disk on every request if null.
+     */
+    public FileSystemContentReader(Path rootFolder, PageCache pageCache) {
+        this(rootFolder, pageCache, null);
+    }
+
+    /**
+     * @param rootFolder         the root content folder.
+     * @param pageCache          cache of deserialised pages to use, pages are read from disk on every request if null.
+     * @param latestEditionIndex index of the latest edition of each series under the root folder, every edition is
+     *                           read to find the latest if null.
+     */
+    public FileSystemContentReader(Path rootFolder, PageCache pageCache, LatestEditionIndex latestEditionIndex) {
         if (rootFolder == null || rootFolder.equals(EMPTY_PATH)) { 
             throw new NullPointerException("Root folder can not be null");
         }
         this.rootFolder = rootFolder;
+        this.pageCache = pageCache;
+        this.latestEditionIndex = latestEditionIndex;
     }
 
     /**
@@ -93,7 +128,12 @@ public class FileSystemContentReader implements ContentReader {
      * @throws IOException error determining MIME type.
      */
     protected static String determineMimeType(Path path) throws IOException {
-        return StringUtils.defaultIfEmpty(tika.detect(path), DEFAULT_MIME_TYPE);
+        long start = System.nanoTime();
+        try {
+            return StringUtils.defaultIfEmpty(tika.detect(path), DEFAULT_MIME_TYPE);
+        } finally {
+            MIME_TYPE_TIME.observeSince(start);
+        }
     }
 
     /**
@@ -109,23 +149,13 @@ public class FileSystemContentReader implements ContentReader {
         span.setAttribute("Path", path.toString());
 
         try (Scope scope = span.makeCurrent()) {
-            //Resolve to see if requested content is latest content, if so return latest, otherwise requested file
             Path contentPath = resolveContentPath(path);
-            if (!isRootFolder(contentPath)) {
-                String parentPath = URIUtils.removeLastSegment(path);
-                try {
-                    Page latestContent = getLatestContent(parentPath);
-                    if (toRelativeUri(contentPath.getParent()).equals(latestContent.getUri())) {
-                        return latestContent;
-                    }
-                } catch (Exception e) {
-                }
-            }
             page = getPage(contentPath);
             if (page != null) {
                 PageDescription description = page.getDescription();
                 if (description != null) {
-                    description.setLatestRelease(null); //overwrite existing latest flag if already in the data, might be old
+                    //overwrite existing latest flag if already in the data, might be old
+                    description.setLatestRelease(isLatestEdition(path, contentPath) ? true : null);
                 }
             }
         } catch(Throwable t) {
@@ -138,6 +168,50 @@ public class FileSystemContentReader implements ContentReader {
         return page;
     }
 
+    /**
+     * Read a time series straight into columns. The data file is read without the page cache, as the series is only
+     * needed while its values are filtered or written to a download, and other content is read as a page.
+     */
+    @Override
+    public Content getColumnarContent(String path) throws ZebedeeException, IOException {
+        Path contentPath = resolveContentPath(path);
+        ColumnarTimeSeries timeSeries;
+        try (Resource resource = getResource(contentPath)) {
+            long start = System.nanoTime();
+            try {
+                timeSeries = ContentUtil.deserialise(resource.getData(), ColumnarTimeSeries.class);
+            } catch (JsonSyntaxException e) {
+                throw error().data("resource_uri", resource.getUri())
+                        .logException(e, "Failed to deserialise resource");
+            } finally {
+                DESERIALIZE_TIME.observeSince(start);
+            }
+            if (timeSeries != null && timeSeries.getType() == PageType.TIMESERIES) {
+                timeSeries.setUri(URI.create(removeLastSegment(resource.getUri().toString())));
+                return timeSeries;
+            }
+        }
+        return getContent(path);
+    }
+
+    /**
+     * Check whether the requested content is the latest edition of a bulletin, article or compendium series.
+     *
+     * @param path        the requested path.
+     * @param contentPath the data file resolved for the path.
+     */
+    private boolean isLatestEdition(String path, Path contentPath) throws ZebedeeException, IOException {
+        if (isRootFolder(contentPath)) {
+            return false;
+        }
+        Path seriesFolder = resolvePath(URIUtils.removeLastSegment(path));
+        if (!isEditionsFolder(seriesFolder.getParent()) || !isDirectory(seriesFolder)) {
+            return false;
+        }
+        Path latest = findLatest(seriesFolder);
+        return latest != null && latest.getParent().normalize().equals(contentPath.getParent().normalize());
+    }
+
     /**
      * @param path Should not have data file name at the end
      * @return
@@ -150,6 +224,13 @@ public class FileSystemContentReader implements ContentReader {
     }
 
     private Page getPage(Path dataFile) throws IOException, ZebedeeException {
+        if (pageCache != null) {
+            return pageCache.get(dataFile, () -> readPage(dataFile));
+        }
+        return readPage(dataFile);
+    }
+
+    private Page readPage(Path dataFile) throws IOException, ZebedeeException {
         Span span = tracer.spanBuilder("FileSystemContentReader.getPage()").startSpan();
         span.setAttribute("Path", dataFile.toString());
         Page page = null;
@@ -247,6 +328,30 @@ public class FileSystemContentReader implements ContentReader {
         return length;
     }
 
+    @Override
+    public Optional<ContentStat> statContent(String path) throws IOException {
+        return stat(resolveContentPath(path));
+    }
+
+    @Override
+    public Optional<ContentStat> statResource(String path) throws IOException {
+        return stat(resolvePath(path));
+    }
+
+    private Optional<ContentStat> stat(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (FileSystemException e) {
+            // missing, below a file rather than a folder, or not readable, all of which read as not found
+            return Optional.empty();
+        }
+        if (!isChild(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ContentStat(path, attributes));
+    }
+
     protected long calculateContentLength(Path path) throws IOException {
         return size(path);
     }
@@ -290,6 +395,15 @@ public class FileSystemContentReader implements ContentReader {
         return resolveParents(node);
     }
 
+    @Override
+    public ContentNode getContentNode(String path) throws ZebedeeException, IOException {
+        Path node = resolvePath(path);
+        if (!isChild(node) || !exists(resolveDataFilePath(node))) {
+            return null;
+        }
+        return createContentNode(node);
+    }
+
     private Map<URI, ContentNode> resolveParents(Path node) throws IOException, ZebedeeException {
         Map<URI, ContentNode> nodes = new HashMap<>();
         if (isRootFolder(node)) {
@@ -348,14 +462,28 @@ public class FileSystemContentReader implements ContentReader {
     }
 
     private Page resolveLatest(Path path) throws ZebedeeException, IOException {
+        Path latest = findLatest(path);
+        return latest == null ? null : getPage(latest);
+    }
+
+    /**
+     * @return the data file of the latest edition in the given series folder, or null if there are no editions.
+     */
+    private Path findLatest(Path path) throws ZebedeeException, IOException {
+        if (latestEditionIndex != null) {
+            return latestEditionIndex.get(path, language, () -> readLatest(path));
+        }
+        return readLatest(path);
+    }
 
+    private Path readLatest(Path path) throws ZebedeeException, IOException {
         Map<URI, ContentNode> children = resolveChildren(path);
         if (children == null || children.isEmpty()) {
             return null;
         }
 
         Set<ContentNode> sortedSet = sortByDate(children.values());
-        return getPage(resolveDataFilePath(resolvePath(sortedSet.iterator().next().getUri().toString())));
+        return resolveDataFilePath(resolvePath(sortedSet.iterator().next().getUri().toString()));
     }
 
     private Set<ContentNode> sortByDate(Collection<ContentNode> set) {
@@ -385,6 +513,11 @@ public class FileSystemContentReader implements ContentReader {
             resource.setName(path.getFileName().toString());
             resource.setMimeType(determineMimeType(path));
             resource.setUri(toRelativeUri(path));
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            resource.setLastModified(attributes.lastModifiedTime().toMillis());
+            resource.setContentLength(attributes.size());
+            resource.setEtag(fileEtag(attributes.size(), attributes.lastModifiedTime().toMillis()));
+            resource.setPath(path);
             resource.setData(newInputStream(path));
         }
         catch(Throwable t) {
@@ -402,11 +535,14 @@ public class FileSystemContentReader implements ContentReader {
         span.setAttribute("Resource", resource.toString());
         Page page = null;
         try (Scope scope = span.makeCurrent()) {
+            long start = System.nanoTime();
             try {
                 page = ContentUtil.deserialiseContent(resource.getData());
             } catch (JsonSyntaxException e) {
                 throw error().data("resource_uri", resource.getUri())
                         .logException(e, "Failed to deserialise resource");
+            } finally {
+                DESERIALIZE_TIME.observeSince(start);
             }
         }
         catch(Throwable t) {
@@ -449,16 +585,26 @@ public class FileSystemContentReader implements ContentReader {
     private void assertIsEditionsFolder(Path path) throws ZebedeeException, IOException {
         assertExists(path);
         assertIsDirectory(path);
-        String fileName = path.getFileName().toString();
-        ReaderConfiguration cfg = ReaderConfiguration.get();
-        if (cfg.getBulletinsFolderName().equals(fileName) ||
-                cfg.getArticlesFolderName().equals(fileName) ||
-                cfg.getCompendiumFolderName().equals(fileName)) {
+        if (isEditionsFolder(path)) {
             return;
         }
         throw new BadRequestException("Latest uri can not be resolved for this content type");
     }
 
+    /**
+     * @return true if the given folder holds series with editions, i.e. is a bulletins, articles or compendium folder.
+     */
+    private boolean isEditionsFolder(Path path) {
+        if (path == null || path.getFileName() == null) {
+            return false;
+        }
+        String fileName = path.getFileName().toString();
+        ReaderConfiguration cfg = ReaderConfiguration.get();
+        return cfg.getBulletinsFolderName().equals(fileName) ||
+                cfg.getArticlesFolderName().equals(fileName) ||
+                cfg.getCompendiumFolderName().equals(fileName);
+    }
+
     private Path resolvePath(String path) {
         if (path == null) {
             throw new NullPointerException("Path can not be null");
@@ -467,12 +613,17 @@ public class FileSystemContentReader implements ContentReader {
     }
 
     private Path resolveContentPath(String path) {
-        String jsonPath = URIUtils.removeTrailingSlash(path) + ".json";
-        Path json = resolvePath(jsonPath);
-        if (!exists(json)) {
-            json = resolveDataFilePath(resolvePath(path));
+        long start = System.nanoTime();
+        try {
+            String jsonPath = URIUtils.removeTrailingSlash(path) + ".json";
+            Path json = resolvePath(jsonPath);
+            if (!exists(json)) {
+                json = resolveDataFilePath(resolvePath(path));
+            }
+            return json;
+        } finally {
+            RESOLVE_CONTENT_PATH_TIME.observeSince(start);
         }
-        return json;
     }
 
     protected Path resolveDataFilePath(Path path) {
@@ -549,21 +700,14 @@ public class FileSystemContentReader implements ContentReader {
         Path root = this.getRootFolder();
 
         try {
-            Files.walkFileTree(this.getRootFolder(), new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(
-                        Path file,
-                        BasicFileAttributes attrs
-                )
-                        throws IOException {
-                    uris.add(PathUtils.toRelativeUri(root, file).toString());
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+            for (Path file : new ContentTreeWalker().list(root)) {
+                uris.add(PathUtils.toRelativeUri(root, file).toString());
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
 
+        Collections.sort(uris);
         return uris;
     }
 
@@ -572,25 +716,15 @@ public class FileSystemContentReader implements ContentReader {
         List<Path> directories = new ArrayList<>();
 
         try {
-            Files.walkFileTree(this.getRootFolder(), new SimpleFileVisitor<Path>() {
-
-                @Override
-                public FileVisitResult postVisitDirectory(
-                        Path dir,
-                        IOException exc
-                ) {
-                    if (dir.endsWith("timeseries")) {
-                        directories.add(dir);
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
-
-            });
+            directories.addAll(new ContentTreeWalker()
+                    .descendInto(ContentTreeWalker.named("timeseries").negate())
+                    .include((path, attributes) -> attributes.isDirectory() && path.endsWith("timeseries"))
+                    .list(this.getRootFolder()));
         } catch (IOException e) {
             e.printStackTrace();
         }
 
+        Collections.sort(directories);
         return directories;
     }
 }
@@ -4,6 +4,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 
 /**
  * Created by bren on 30/07/15.
@@ -16,6 +17,10 @@ public class Resource implements Closeable {
     private String mimeType;
     private InputStream data;
     private URI uri;
+    private String etag;
+    private long lastModified = -1;
+    private long contentLength = -1;
+    private Path path;
 
     public String getName() {
         return name;
@@ -61,4 +66,49 @@ public class Resource implements Closeable {
     public void setUri(URI uri) {
         this.uri = uri;
     }
+
+    /**
+     * @return the Etag of the resource, or null if it is not known without reading the data.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    /**
+     * @return the last modified time of the resource in millis, or -1 if unknown.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return the size of the resource data in bytes, or -1 if unknown.
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * @return the unencrypted file the data is read from, or null if the data does not come straight from a file. A
+     * resource with a path can be streamed from the file rather than from {@link #getData()}.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
 }
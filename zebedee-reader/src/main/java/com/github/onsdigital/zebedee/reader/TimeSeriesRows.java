@@ -0,0 +1,132 @@
+package com.github.onsdigital.zebedee.reader;
+
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesColumn;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesPeriods;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The data rows of a time series download, produced one at a time as they are written.
+ * <p>
+ * A row for every year, quarter and month between the first and last point of any of the series for that frequency,
+ * with a column per series. Holes are filled with null values. Periods are asked for in order, so the position reached
+ * in each column is kept rather than searching the column for each row.
+ */
+class TimeSeriesRows implements Iterator<List<String>> {
+
+    private static final String[] MONTHS = "JAN,FEB,MAR,APR,MAY,JUN,JUL,AUG,SEP,OCT,NOV,DEC".split(",");
+    private static final String[] QUARTERS = "Q1,Q2,Q3,Q4".split(",");
+    private static final int YEARLY = 0;
+    private static final int QUARTERLY = 1;
+    private static final int[] STEPS = {12, 3, 1};
+
+    private final List<ColumnarTimeSeries> serieses;
+    private final TimeSeriesColumn[] columns;
+    private final int[] positions;
+
+    private int frequency = -1;
+    private int period;
+    private int last;
+
+    TimeSeriesRows(List<ColumnarTimeSeries> serieses) {
+        this.serieses = serieses;
+        this.columns = new TimeSeriesColumn[serieses.size()];
+        this.positions = new int[serieses.size()];
+        nextFrequency();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return frequency < STEPS.length;
+    }
+
+    @Override
+    public List<String> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        int step = STEPS[frequency];
+        List<String> row = new ArrayList<>(columns.length + 1);
+        row.add(label(period));
+        for (int i = 0; i < columns.length; i++) {
+            row.add(valueAt(i, step));
+        }
+
+        period += step;
+        if (period > last) {
+            nextFrequency();
+        }
+        return row;
+    }
+
+    /**
+     * Move on to the next frequency any of the series has points for.
+     */
+    private void nextFrequency() {
+        while (++frequency < STEPS.length) {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < columns.length; i++) {
+                TimeSeriesColumn column = column(serieses.get(i));
+                columns[i] = column;
+                positions[i] = 0;
+                if (!column.isEmpty()) {
+                    min = Math.min(min, column.firstPeriod());
+                    max = Math.max(max, column.lastPeriod());
+                }
+            }
+
+            if (min <= max) {
+                // Periods are walked from the start of the first one, so a row of quarters always starts on a quarter.
+                period = min - TimeSeriesPeriods.month(min) % STEPS[frequency];
+                last = max;
+                return;
+            }
+        }
+    }
+
+    private TimeSeriesColumn column(ColumnarTimeSeries series) {
+        switch (frequency) {
+            case YEARLY:
+                return series.getYears();
+            case QUARTERLY:
+                return series.getQuarters();
+            default:
+                return series.getMonths();
+        }
+    }
+
+    private String label(int key) {
+        int year = TimeSeriesPeriods.year(key);
+        switch (frequency) {
+            case YEARLY:
+                return String.valueOf(year);
+            case QUARTERLY:
+                return year + " " + QUARTERS[TimeSeriesPeriods.month(key) / 3];
+            default:
+                return year + " " + MONTHS[TimeSeriesPeriods.month(key)];
+        }
+    }
+
+    /**
+     * Get the value of a column for the current period, if it has one.
+     */
+    private String valueAt(int columnIndex, int step) {
+        TimeSeriesColumn column = columns[columnIndex];
+        int position = positions[columnIndex];
+        while (position < column.size() && column.getPeriod(position) < period + step) {
+            if (column.getPeriod(position) >= period) {
+                positions[columnIndex] = position + 1;
+                return column.getValue(position);
+            }
+            position++;
+        }
+        positions[columnIndex] = position;
+        return null;
+    }
+}
@@ -9,6 +9,10 @@ import com.github.onsdigital.zebedee.exceptions.ResourceDirectoryNotFileExceptio
 import com.github.onsdigital.zebedee.exceptions.UnauthorizedException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.reader.cache.LatestEditionIndex;
+import com.github.onsdigital.zebedee.reader.cache.PageCache;
+import com.github.onsdigital.zebedee.reader.cache.TaxonomyCache;
+import com.github.onsdigital.zebedee.reader.cache.TaxonomySnapshot;
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
 import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
 import com.github.onsdigital.zebedee.reader.data.filter.FilterUtil;
@@ -38,6 +42,7 @@ public class ZebedeeReader {
      */
     private static CollectionReaderFactory collectionReaderFactory;
     private final ContentReader publishedContentReader;
+    private final TaxonomyCache taxonomyCache;
 
     /**
      * Create a zebedee reader using the default content dir and English
@@ -52,7 +57,7 @@ public class ZebedeeReader {
      * @param language The language for this content reader
      */
     public ZebedeeReader(ContentLanguage language) {
-        this(Paths.get(ReaderConfiguration.get().getContentDir()));
+        this(Paths.get(ReaderConfiguration.get().getContentDir()), PageCache.getInstance());
         publishedContentReader.setLanguage(language);
     }
 
@@ -63,7 +68,20 @@ public class ZebedeeReader {
      * @param rootPath Path to the folder where the content can be found
      */
     public ZebedeeReader(Path rootPath) {
-        publishedContentReader = new FileSystemContentReader(rootPath);
+        this(rootPath, null);
+    }
+
+    /**
+     * Create a zebedee reader using the given content dir and page cache. It defaults to English
+     * language
+     *
+     * @param rootPath  Path to the folder where the content can be found
+     * @param pageCache Cache of published pages, or null to read every page from disk
+     */
+    public ZebedeeReader(Path rootPath, PageCache pageCache) {
+        publishedContentReader = new FileSystemContentReader(rootPath, pageCache,
+                LatestEditionIndex.forRoot(rootPath));
+        taxonomyCache = TaxonomyCache.forRoot(rootPath);
     }
 
     public static CollectionReaderFactory getCollectionReaderFactory() {
@@ -92,7 +110,9 @@ public class ZebedeeReader {
      * @throws IOException
      */
     public Content getPublishedContent(String path, DataFilter filter) throws ZebedeeException, IOException {
-        Content content = getPublishedContent(path);
+        Content content = FilterUtil.isSeriesFilter(filter)
+                ? publishedContentReader.getColumnarContent(path)
+                : getPublishedContent(path);
         return FilterUtil.filterPageData(content, filter);
     }
 
@@ -129,7 +149,11 @@ public class ZebedeeReader {
      * @throws IOException
      */
     public Content getCollectionContent(String collectionId, String sessionId, String path, DataFilter filter) throws ZebedeeException, IOException {
-        Content collectionContent = getCollectionContent(collectionId, sessionId, path);
+        assertId(collectionId);
+        CollectionReader collectionReader = createCollectionReader(collectionId, sessionId);
+        Content collectionContent = FilterUtil.isSeriesFilter(filter)
+                ? collectionReader.getColumnarContent(path)
+                : collectionReader.getContent(path);
         return FilterUtil.filterPageData(collectionContent, filter);
     }
 
@@ -178,6 +202,141 @@ public class ZebedeeReader {
         return publishedContentReader.getContentLength(path);
     }
 
+    /**
+     * Like {@link #getPublishedContent(String, DataFilter)}, but returns null rather than throwing
+     * {@link NotFoundException} if there is no published content at the path.
+     */
+    public Content findPublishedContent(String path, DataFilter filter) throws ZebedeeException, IOException {
+        if (!publishedContentReader.statContent(path).isPresent()) {
+            return null;
+        }
+        return getPublishedContent(path, filter);
+    }
+
+    /**
+     * Like {@link #getLatestPublishedContent(String, DataFilter)}, but returns null rather than throwing
+     * {@link NotFoundException} if there is no published series at the path.
+     */
+    public Content findLatestPublishedContent(String uri, DataFilter filter) throws ZebedeeException, IOException {
+        if (!publishedContentReader.statResource(uri).isPresent()) {
+            return null;
+        }
+        return getLatestPublishedContent(uri, filter);
+    }
+
+    /**
+     * Like {@link #getPublishedResource(String)}, but returns null rather than throwing {@link NotFoundException} if
+     * there is no published resource at the path.
+     */
+    public Resource findPublishedResource(String path) throws ZebedeeException, IOException {
+        if (!publishedContentReader.statResource(path).isPresent()) {
+            return null;
+        }
+        return getPublishedResource(path);
+    }
+
+    /**
+     * Like {@link #getPublishedContentLength(String)}, but returns null rather than throwing
+     * {@link NotFoundException} if there is no published resource at the path.
+     */
+    public Long findPublishedContentLength(String path) throws ZebedeeException, IOException {
+        if (!publishedContentReader.statResource(path).isPresent()) {
+            return null;
+        }
+        return getPublishedContentLength(path);
+    }
+
+    /**
+     * Like {@link #getCollectionContent(String, String, String, DataFilter)}, but returns null rather than throwing
+     * {@link NotFoundException} if the collection does not have the content.
+     */
+    public Content findCollectionContent(String collectionId, String sessionId, String path, DataFilter filter)
+            throws ZebedeeException, IOException {
+        assertId(collectionId);
+        CollectionReader collectionReader = createCollectionReader(collectionId, sessionId);
+        if (!collectionReader.statContent(path).isPresent()) {
+            return null;
+        }
+        Content content = FilterUtil.isSeriesFilter(filter)
+                ? collectionReader.getColumnarContent(path)
+                : collectionReader.getContent(path);
+        return FilterUtil.filterPageData(content, filter);
+    }
+
+    /**
+     * Like {@link #findPublishedContent(String, DataFilter)} without a filter, but a time series is read straight into
+     * columns, see {@link ContentReader#getColumnarContent(String)}.
+     */
+    public Content findPublishedColumnarContent(String path) throws ZebedeeException, IOException {
+        if (!publishedContentReader.statContent(path).isPresent()) {
+            return null;
+        }
+        return publishedContentReader.getColumnarContent(path);
+    }
+
+    /**
+     * Like {@link #findCollectionContent(String, String, String, DataFilter)} without a filter, but a time series is
+     * read straight into columns, see {@link ContentReader#getColumnarContent(String)}.
+     */
+    public Content findCollectionColumnarContent(String collectionId, String sessionId, String path)
+            throws ZebedeeException, IOException {
+        assertId(collectionId);
+        CollectionReader collectionReader = createCollectionReader(collectionId, sessionId);
+        if (!collectionReader.statContent(path).isPresent()) {
+            return null;
+        }
+        return collectionReader.getColumnarContent(path);
+    }
+
+    /**
+     * Like {@link #getLatestCollectionContent(String, String, String, DataFilter)}, but returns null rather than
+     * throwing {@link NotFoundException} if the collection does not have the series or any edition of it.
+     */
+    public Content findLatestCollectionContent(String collectionId, String sessionId, String uri, DataFilter filter)
+            throws ZebedeeException, IOException {
+        assertId(collectionId);
+        CollectionReader collectionReader = createCollectionReader(collectionId, sessionId);
+        if (!collectionReader.statResource(uri).isPresent()) {
+            return null;
+        }
+        Content latest;
+        try {
+            latest = collectionReader.getLatestContent(uri);
+        } catch (NotFoundException e) {
+            // The series folder is in the collection without any of its editions, e.g. only its datasets.
+            return null;
+        }
+        return FilterUtil.filterPageData(latest, filter);
+    }
+
+    /**
+     * Like {@link #getCollectionResource(String, String, String)}, but returns null rather than throwing
+     * {@link NotFoundException} if the collection does not have the resource.
+     */
+    public Resource findCollectionResource(String collectionId, String sessionId, String path)
+            throws ZebedeeException, IOException {
+        assertId(collectionId);
+        CollectionReader collectionReader = createCollectionReader(collectionId, sessionId);
+        if (!collectionReader.statResource(path).isPresent()) {
+            return null;
+        }
+        return collectionReader.getResource(path);
+    }
+
+    /**
+     * Like {@link #getCollectionContentLength(String, String, String)}, but returns null rather than throwing
+     * {@link NotFoundException} if the collection does not have the resource.
+     */
+    public Long findCollectionContentLength(String collectionId, String sessionId, String path)
+            throws ZebedeeException, IOException {
+        assertId(collectionId);
+        CollectionReader collectionReader = createCollectionReader(collectionId, sessionId);
+        if (!collectionReader.statResource(path).isPresent()) {
+            return null;
+        }
+        return collectionReader.getContentLength(path);
+    }
+
     public Map<URI, ContentNode> getPublishedContentChildren(String path) throws ZebedeeException, IOException {
         try {
             return publishedContentReader.getChildren(path);
@@ -191,8 +350,32 @@ public class ZebedeeReader {
         return createCollectionReader(collectionId, sessionId).getChildren(path);
     }
 
+    /**
+     * Get the published content above the given path. Parents in the published taxonomy are served from the taxonomy
+     * snapshot, only the folders below it are read.
+     *
+     * @param path path can start with / or not, Zebedee reader will evaluate the path relative to published contents root
+     * @return uri - node mapping of the parents, not in any particular order
+     */
     public Map<URI, ContentNode> getPublishedContentParents(String path) throws ZebedeeException, IOException {
-        return publishedContentReader.getParents(path);
+        TaxonomySnapshot taxonomy = getPublishedTaxonomy();
+        Map<URI, ContentNode> nodes = new HashMap<>();
+        for (String parentPath = TaxonomySnapshot.parent(TaxonomySnapshot.normalise(path)); parentPath != null;
+             parentPath = TaxonomySnapshot.parent(parentPath)) {
+            ContentNode node = taxonomy.contains(parentPath) ? taxonomy.getNode(parentPath)
+                    : publishedContentReader.getContentNode(parentPath);
+            if (node != null) {
+                nodes.put(node.getUri(), node);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * @return the current snapshot of the published taxonomy in the language of this reader.
+     */
+    public TaxonomySnapshot getPublishedTaxonomy() throws ZebedeeException, IOException {
+        return taxonomyCache.get(publishedContentReader);
     }
 
     public Map<URI, ContentNode> getCollectionContentParents(String collectionId, String sessionId, String path) throws IOException, ZebedeeException {
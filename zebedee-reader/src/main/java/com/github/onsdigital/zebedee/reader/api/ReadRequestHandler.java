@@ -9,6 +9,7 @@ import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.reader.Resource;
 import com.github.onsdigital.zebedee.reader.ZebedeeReader;
+import com.github.onsdigital.zebedee.reader.cache.TaxonomySnapshot;
 import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
 import com.github.onsdigital.zebedee.reader.util.ContentNodeComparator;
 import com.github.onsdigital.zebedee.reader.util.RequestUtils;
@@ -41,6 +42,9 @@ import io.opentelemetry.context.Scope;
  */
 public class ReadRequestHandler {
 
+    /**
+     * Finds a resource with a reader, returning null if the reader does not have it.
+     */
     @FunctionalInterface
     private interface ResourceFinder<R> {
         R find(ZebedeeReader reader) throws ZebedeeException, IOException ;
@@ -88,41 +92,65 @@ public class ReadRequestHandler {
 
     public Content findContent(HttpServletRequest request, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
         String collectionId = getCollectionId(request);
-        return findContent(request, collectionId, dataFilter, uri);
+        return findContent(collectionId, RequestUtils.getSessionId(request), dataFilter, uri);
     }
 
     public Content findPublishedContent(HttpServletRequest request, DataFilter dataFilter) throws ZebedeeException, IOException {
         String uri = extractUri(request);
-        return findContent(request, null, dataFilter, uri);
+        return findContent(null, null, dataFilter, uri);
     }
 
-    private Content findContent(HttpServletRequest request, String collectionId, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
+    /**
+     * Finds content for a collection and session already read from a request, so content can be found away from the
+     * thread handling the request.
+     *
+     * @param collectionId the collection to read from first, or null to read published content only.
+     * @param sessionId    the session reading the collection, or null when reading published content.
+     */
+    public Content findContent(String collectionId, String sessionId, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
         String lastSegment = getLastSegment(uri);
         info().data("uri", uri)
                 .data("collection_id", collectionId)
                 .log("finding requested content");
         if (LATEST.equalsIgnoreCase(lastSegment)) {
-            return getLatestContent(request, collectionId, dataFilter, removeLastSegment(uri));
+            return getLatestContent(collectionId, sessionId, dataFilter, removeLastSegment(uri));
         } else {
-            return getContent(request, collectionId, dataFilter, uri);
+            return getContent(collectionId, sessionId, dataFilter, uri);
         }
     }
 
+    /**
+     * Finds requested content like {@link #findContent(String, String, DataFilter, String)} without a filter, but reads
+     * a time series straight into columns, for when only its values are needed, e.g. to generate a download.
+     */
+    public Content findColumnarContent(String collectionId, String sessionId, String uri) throws IOException, ZebedeeException {
+        if (LATEST.equalsIgnoreCase(getLastSegment(uri))) {
+            return getLatestContent(collectionId, sessionId, null, removeLastSegment(uri));
+        }
+        return get(collectionId, uri,
+                r -> r.findCollectionColumnarContent(collectionId, sessionId, uri),
+                r -> r.findPublishedColumnarContent(uri));
+    }
+
+    public Content findColumnarContent(HttpServletRequest request) throws IOException, ZebedeeException {
+        return findColumnarContent(getCollectionId(request), RequestUtils.getSessionId(request), extractUri(request));
+    }
+
     public Content getContent(String uri, HttpServletRequest request) throws ZebedeeException, IOException {
         String collectionId = getCollectionId(request);
-        return getContent(request, collectionId, null, uri);
+        return getContent(collectionId, RequestUtils.getSessionId(request), null, uri);
     }
 
-    private Content getLatestContent(HttpServletRequest request, String collectionId, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
+    private Content getLatestContent(String collectionId, String sessionId, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
         return get(collectionId, uri,
-                r -> r.getLatestCollectionContent(collectionId, RequestUtils.getSessionId(request), uri, dataFilter),
-                r -> r.getLatestPublishedContent(uri, dataFilter));
+                r -> r.findLatestCollectionContent(collectionId, sessionId, uri, dataFilter),
+                r -> r.findLatestPublishedContent(uri, dataFilter));
     }
 
-    private Content getContent(HttpServletRequest request, String collectionId, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
+    private Content getContent(String collectionId, String sessionId, DataFilter dataFilter, String uri) throws IOException, ZebedeeException {
         return get(collectionId, uri,
-                r -> r.getCollectionContent(collectionId, RequestUtils.getSessionId(request), uri, dataFilter),
-                r -> r.getPublishedContent(uri, dataFilter));
+                r -> r.findCollectionContent(collectionId, sessionId, uri, dataFilter),
+                r -> r.findPublishedContent(uri, dataFilter));
     }
 
     /**
@@ -137,8 +165,8 @@ public class ReadRequestHandler {
         String uri = URLDecoder.decode(extractUri(request), "UTF-8");
         String collectionId = getCollectionId(request);
         return get(collectionId, uri, 
-                r -> r.getCollectionResource(collectionId, RequestUtils.getSessionId(request), uri),
-                r -> r.getPublishedResource(uri));
+                r -> r.findCollectionResource(collectionId, RequestUtils.getSessionId(request), uri),
+                r -> r.findPublishedResource(uri));
     }
 
     /**
@@ -154,8 +182,8 @@ public class ReadRequestHandler {
         String collectionId = getCollectionId(request);
 
         return get(collectionId, uri, 
-                r -> r.getCollectionContentLength(collectionId, RequestUtils.getSessionId(request), uri),
-                r -> r.getPublishedContentLength(uri));
+                r -> r.findCollectionContentLength(collectionId, RequestUtils.getSessionId(request), uri),
+                r -> r.findPublishedContentLength(uri));
     }
 
     /**
@@ -181,40 +209,37 @@ public class ReadRequestHandler {
     private <T> T get(String collectionId, String uri,
             ResourceFinder<T> collectionSupplier, ResourceFinder<T> publishedSupplier) throws ZebedeeException, IOException {
         if (collectionId != null) {
-            try {
-                return collectionSupplier.find(reader);
-            } catch (NotFoundException e) {
-                info().data("uri", uri)
-                        .data("collection_id", collectionId)
-                        .data("language", reader.getLanguage())
-                        .log("Could not find resource in collection. Will try published content");
+            T resource = collectionSupplier.find(reader);
+            if (resource != null) {
+                return resource;
             }
         }
 
-        try {
-            return publishedSupplier.find(reader);
-        } catch (NotFoundException e) {
-            if (!ContentLanguage.ENGLISH.equals(reader.getLanguage())) {
-                info().data("uri", uri)
-                        .data("collection_id", collectionId)
-                        .data("language", reader.getLanguage())
-                        .log("Could not find resource in published content. Will try English");
-                ReadRequestHandler englishHandler = new ReadRequestHandler(ContentLanguage.ENGLISH);
-                return englishHandler.get(collectionId, uri, collectionSupplier, publishedSupplier);
-            } else {
-                error().data("uri", uri)
-                        .data("collection_id", collectionId)
-                        .data("language", reader.getLanguage())
-                        .log("Could not find resource in published content.");
-                throw e;
-            }
-        } 
+        T resource = publishedSupplier.find(reader);
+        if (resource != null) {
+            return resource;
+        }
+
+        if (!ContentLanguage.ENGLISH.equals(reader.getLanguage())) {
+            info().data("uri", uri)
+                    .data("collection_id", collectionId)
+                    .data("language", reader.getLanguage())
+                    .log("Could not find resource in published content. Will try English");
+            ReadRequestHandler englishHandler = new ReadRequestHandler(ContentLanguage.ENGLISH);
+            return englishHandler.get(collectionId, uri, collectionSupplier, publishedSupplier);
+        }
+
+        error().data("uri", uri)
+                .data("collection_id", collectionId)
+                .data("language", reader.getLanguage())
+                .log("Could not find resource in published content.");
+        throw new NotFoundException("Could not find requested content, uri:" + uri);
     }
 
     public Collection<ContentNode> getTaxonomy(HttpServletRequest request, int depth) throws ZebedeeException, IOException {
         String collectionId = getCollectionId(request);
         String sessionId = RequestUtils.getSessionId(request);
-        return getTaxonomy(collectionId, sessionId, "/", depth);
+        return getTaxonomy(reader.getPublishedTaxonomy(), collectionId, sessionId, "/", depth);
 
     }
 
@@ -232,19 +257,25 @@ public class ReadRequestHandler {
         return nodes.values();
     }
 
-    private Collection<ContentNode> getTaxonomy(String collectionId, String sessionId, String uri, int depth) throws ZebedeeException, IOException {
+    private Collection<ContentNode> getTaxonomy(TaxonomySnapshot taxonomy, String collectionId, String sessionId, String uri, int depth) throws ZebedeeException, IOException {
         if (depth == 0) {
             return Collections.emptySet();
         }
-        Map<URI, ContentNode> nodes = reader.getPublishedContentChildren(uri);
-        overlayCollections(nodes, collectionId, sessionId, uri);
-        nodes = sortMapByContentTitle(nodes);
+        //snapshot children are already sorted, only content read from disk or overlaid from a collection needs sorting
+        Map<URI, ContentNode> nodes = taxonomy.getChildren(uri);
+        if (nodes == null || collectionId != null) {
+            if (nodes == null) {
+                nodes = reader.getPublishedContentChildren(uri);
+            }
+            overlayCollections(nodes, collectionId, sessionId, uri);
+            nodes = sortMapByContentTitle(nodes);
+        }
         depth--;
-        getTaxonomy(nodes, collectionId, sessionId, depth);
+        getTaxonomy(taxonomy, nodes, collectionId, sessionId, depth);
         return nodes.values();
     }
 
-    private void getTaxonomy(Map<URI, ContentNode> nodes, String collectionId, String sessionId, int depth) throws ZebedeeException, IOException {
+    private void getTaxonomy(TaxonomySnapshot taxonomy, Map<URI, ContentNode> nodes, String collectionId, String sessionId, int depth) throws ZebedeeException, IOException {
         if (depth == 0) {
             return;
         }
@@ -254,7 +285,7 @@ public class ReadRequestHandler {
             if (PageType.TAXONOMY_LANDING_PAGE.equals(next.getType()) == false) {
                 continue;
             }
-            next.setChildren(getTaxonomy(collectionId, sessionId, next.getUri().toString(), depth));
+            next.setChildren(getTaxonomy(taxonomy, collectionId, sessionId, next.getUri().toString(), depth));
         }
     }
 
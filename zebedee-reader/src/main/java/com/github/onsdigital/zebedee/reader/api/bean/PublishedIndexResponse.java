@@ -5,6 +5,7 @@ import com.google.gson.annotations.SerializedName;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -18,6 +19,8 @@ public class PublishedIndexResponse {
     private int offset;
     @SerializedName("total_count")
     private int totalCount;
+    @SerializedName("next_cursor")
+    private String nextCursor;
 
     public PublishedIndexResponse(List<Item> items,  int offset,  int limit, int totalCount) {
         this.items = items;
@@ -46,6 +49,22 @@ public class PublishedIndexResponse {
         count = this.items.size();
     }
 
+    /**
+     * Adds the entries of a page of the published content index to the response as Items.
+     *
+     * @param entries the uri and page type of each page.
+     */
+    public void addEntries(List<Map.Entry<String, String>> entries) {
+        if (entries == null) {
+            return;
+        }
+        entries.stream()
+                .map(e -> new Item(e.getKey(), e.getValue()))
+                .forEach(i -> this.items.add(i));
+
+        count = this.items.size();
+    }
+
     public int getCount() {
         return count;
     }
@@ -78,19 +97,40 @@ public class PublishedIndexResponse {
         this.totalCount = totalCount;
     }
 
+    /**
+     * @return the cursor to request the next page with, or null if there are no more pages.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     /**
      * Sub-object representing an individual document returned by the PublishedIndex
      */
     public class Item {
         private String uri;
+        private String type;
 
         public Item(String uri) {
             this.uri = uri;
         }
 
+        public Item(String uri, String type) {
+            this.uri = uri;
+            this.type = type;
+        }
+
         public String getUri() {
             return uri;
         }
+
+        public String getType() {
+            return type;
+        }
     }
 
     @Override
@@ -98,11 +138,11 @@ public class PublishedIndexResponse {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PublishedIndexResponse that = (PublishedIndexResponse) o;
-        return count == that.count && limit == that.limit && offset == that.offset && totalCount == that.totalCount && Objects.equals(items, that.items);
+        return count == that.count && limit == that.limit && offset == that.offset && totalCount == that.totalCount && Objects.equals(items, that.items) && Objects.equals(nextCursor, that.nextCursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(count, items, limit, offset, totalCount);
+        return Objects.hash(count, items, limit, offset, totalCount, nextCursor);
     }
 }
@@ -1,11 +1,13 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.davidcarboni.restolino.framework.Api;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.exceptions.UnauthorizedException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
 import com.github.onsdigital.zebedee.reader.util.ReaderResponseResponseUtils;
 
 import javax.servlet.http.HttpServletRequest;
@@ -15,6 +17,7 @@ import java.io.IOException;
 
 import static com.github.onsdigital.zebedee.reader.util.ReaderRequestUtils.extractFilter;
 import static com.github.onsdigital.zebedee.reader.util.ReaderRequestUtils.getRequestedLanguage;
+import static com.github.onsdigital.zebedee.reader.util.RequestUtils.getCollectionId;
 
 /**
  * Created by bren on 29/07/15.
@@ -49,9 +52,15 @@ public class Data {
     @GET
     public void read(HttpServletRequest request, HttpServletResponse response) throws IOException, ZebedeeException {
         try {
-            ReaderResponseResponseUtils.sendResponse(
-                    new ReadRequestHandler(getRequestedLanguage(request))
-                            .findContent(request, extractFilter(request)), response);
+            ContentLanguage language = getRequestedLanguage(request);
+            DataFilter filter = extractFilter(request);
+            ReadRequestHandler handler = new ReadRequestHandler(language);
+            if (getCollectionId(request) == null) {
+                ReaderResponseResponseUtils.sendPublishedResponse(request, response, request.getParameter("uri"),
+                        language, filter, () -> handler.findContent(request, filter));
+            } else {
+                ReaderResponseResponseUtils.sendResponse(handler.findContent(request, filter), request, response, -1);
+            }
         } catch (NotFoundException exception) {
             ReaderResponseResponseUtils.sendNotFound(exception, request, response);
         }
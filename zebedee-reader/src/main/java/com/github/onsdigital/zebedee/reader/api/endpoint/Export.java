@@ -1,11 +1,16 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.davidcarboni.restolino.framework.Api;
-import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.DataGenerator;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
+import com.github.onsdigital.zebedee.reader.util.ConcurrentContentLoader;
+import com.github.onsdigital.zebedee.reader.util.ContentStamp;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -13,11 +18,15 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.POST;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.isNotModified;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.sendNotModified;
 import static com.github.onsdigital.zebedee.reader.util.ReaderRequestUtils.getRequestedLanguage;
 import static com.github.onsdigital.zebedee.reader.util.ReaderResponseResponseUtils.sendResponse;
+import static com.github.onsdigital.zebedee.reader.util.RequestUtils.getCollectionId;
+import static com.github.onsdigital.zebedee.reader.util.RequestUtils.getSessionId;
 
 /**
  * Created by bren on 27/11/15.
@@ -42,17 +51,48 @@ public class Export {
             throw new BadRequestException("Please specify at least one uri to export data");
         }
 
-        // Try to get a content page
-        ReadRequestHandler readRequestHandler = new ReadRequestHandler((getRequestedLanguage(request)));
-
-        List<TimeSeries> timeSeriesList = new ArrayList<>();
-        for (int i = 0; i < uris.length; i++) {
-            String uri = uris[i];
-            timeSeriesList.add((TimeSeries) readRequestHandler.findContent(request, null, uri));
+        // The export is a safe read of published series, posted only because the uri list can be long, so it is
+        // validated from the metadata of the series files like a GET to the generator endpoint.
+        ContentLanguage language = getRequestedLanguage(request);
+        String collectionId = getCollectionId(request);
+        String etag = null;
+        long lastModified = -1;
+        if (collectionId == null) {
+            StringBuilder stamps = new StringBuilder(format);
+            for (String uri : uris) {
+                ContentStamp stamp = ContentStamp.published(uri, language);
+                if (stamp == null) {
+                    stamps = null;
+                    break;
+                }
+                stamps.append('|').append(stamp.toEtag(uri));
+                lastModified = Math.max(lastModified, stamp.getLastModified());
+            }
+            if (stamps != null) {
+                etag = "W/\"" + DigestUtils.sha1Hex(stamps.toString()) + "\"";
+            } else {
+                lastModified = -1;
+            }
         }
-        try (com.github.onsdigital.zebedee.reader.Resource resource = dataGenerator.generateData(timeSeriesList,
-                format)) {
-            sendResponse(resource, response, UTF_8);
+        if (etag != null && isNotModified(request, etag, lastModified)) {
+            sendNotModified(response, etag, lastModified);
+            return;
         }
+
+        // The series are loaded in parallel, away from the request, so the session is read first. Only their values
+        // are exported, so they are read straight into columns.
+        ReadRequestHandler readRequestHandler = new ReadRequestHandler(language);
+        String sessionId = getSessionId(request);
+
+        List<ColumnarTimeSeries> timeSeriesList = ConcurrentContentLoader.getInstance().load(Arrays.asList(uris),
+                uri -> {
+                    Content content = readRequestHandler.findColumnarContent(collectionId, sessionId, uri);
+                    if (!(content instanceof ColumnarTimeSeries)) {
+                        throw new BadRequestException("Requested content is not a time series: " + uri);
+                    }
+                    return (ColumnarTimeSeries) content;
+                });
+        sendResponse(dataGenerator.prepareColumnarTimeseriesData(timeSeriesList, format), request, response, UTF_8,
+                etag, lastModified);
     }
 }
@@ -2,12 +2,16 @@ package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.davidcarboni.restolino.framework.Api;
 import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
+import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.DataGenerator;
-import com.github.onsdigital.zebedee.reader.Resource;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandlerFactory;
+import com.github.onsdigital.zebedee.reader.cache.DownloadCache;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.util.ContentStamp;
 import com.google.common.collect.ImmutableList;
 import org.apache.commons.lang3.StringUtils;
 
@@ -18,9 +22,12 @@ import java.io.IOException;
 import java.util.List;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.warn;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.isNotModified;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.sendNotModified;
 import static com.github.onsdigital.zebedee.reader.util.ReaderRequestUtils.extractFilter;
 import static com.github.onsdigital.zebedee.reader.util.ReaderRequestUtils.getRequestedLanguage;
 import static com.github.onsdigital.zebedee.reader.util.ReaderResponseResponseUtils.sendResponse;
+import static com.github.onsdigital.zebedee.reader.util.RequestUtils.getCollectionId;
 
 /**
  * Created by thomasridd on 07/10/15.
@@ -72,14 +79,52 @@ public class Generator {
             throw new BadRequestException(UNSUPPORTED_FORMAT_MSG);
         }
 
-        ReadRequestHandler readRequestHandler = readRequestHandlerFactory.get(getRequestedLanguage(request));
-        Content content = readRequestHandler.findContent(request, extractFilter(request));
+        ContentLanguage language = getRequestedLanguage(request);
 
+        // Published content can be validated from the metadata of its files without reading or generating anything.
+        ContentStamp stamp = null;
+        if (getCollectionId(request) == null) {
+            stamp = ContentStamp.published(request.getParameter("uri"), language);
+        }
+        String etag = stamp == null ? null : stamp.toEtag(request.getQueryString());
+        long lastModified = stamp == null ? -1 : stamp.getLastModified();
+        if (etag != null && isNotModified(request, etag, lastModified)) {
+            sendNotModified(response, etag, lastModified);
+            return;
+        }
+
+        ReadRequestHandler readRequestHandler = readRequestHandlerFactory.get(language);
+        DataFilter filter = extractFilter(request);
+
+        // Downloads of published content are generated once and then sent from a file until the content changes.
+        DownloadCache downloadCache = stamp == null ? null : DownloadCache.getInstance();
+        if (downloadCache != null) {
+            String uri = request.getParameter("uri");
+            downloadCache.sendResponse(request, response, uri, language, filter, format, stamp, etag, UTF_8, () -> {
+                Content content = findContent(readRequestHandler, request, filter);
+                if (content == null) {
+                    throw new NotFoundException("Content not found for " + uri);
+                }
+                return dataGenerator.prepareData(content, format);
+            });
+            return;
+        }
+
+        Content content = findContent(readRequestHandler, request, filter);
         if (content != null) {
-            try (Resource resource = dataGenerator.generateData(content, format)) {
-                sendResponse(resource, response, UTF_8);
-            }
+            sendResponse(dataGenerator.prepareData(content, format), request, response, UTF_8, etag, lastModified);
+        }
+    }
+
+    /**
+     * A download without a filter only needs the values of a time series, so a series is read straight into columns.
+     */
+    private static Content findContent(ReadRequestHandler readRequestHandler, HttpServletRequest request,
+                                       DataFilter filter) throws ZebedeeException, IOException {
+        if (filter == null) {
+            return readRequestHandler.findColumnarContent(request);
         }
+        return readRequestHandler.findContent(request, filter);
     }
 
     public void setReadRequestHandlerFactory(ReadRequestHandlerFactory readRequestHandlerFactory) {
@@ -0,0 +1,34 @@
+package com.github.onsdigital.zebedee.reader.api.endpoint;
+
+import com.github.davidcarboni.restolino.framework.Api;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
+import org.apache.http.HttpStatus;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.GET;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Endpoint serving the {@link ReaderMetrics} in the Prometheus text format.
+ */
+@Api
+public class Metrics {
+
+    /**
+     * Writes the request, stage and cache metrics for endpoint <code>/metrics</code>.
+     *
+     * @param request  the request
+     * @param response the response
+     * @throws IOException If an error occurs writing the response.
+     */
+    @GET
+    public void get(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = ReaderMetrics.getInstance().write().getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpStatus.SC_OK);
+        response.setContentType(ReaderMetrics.CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -1,11 +1,13 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.davidcarboni.restolino.framework.Api;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.exceptions.UnauthorizedException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
 import com.github.onsdigital.zebedee.reader.util.ReaderResponseResponseUtils;
 
 import javax.servlet.http.HttpServletRequest;
@@ -42,9 +44,11 @@ public class PublishedData {
     @GET
     public void read(HttpServletRequest request, HttpServletResponse response) throws IOException, ZebedeeException {
         try {
-            ReaderResponseResponseUtils.sendResponse(
-                    new ReadRequestHandler(getRequestedLanguage(request))
-                            .findPublishedContent(request, extractFilter(request)), response);
+            ContentLanguage language = getRequestedLanguage(request);
+            DataFilter filter = extractFilter(request);
+            ReadRequestHandler handler = new ReadRequestHandler(language);
+            ReaderResponseResponseUtils.sendPublishedResponse(request, response, request.getParameter("uri"),
+                    language, filter, () -> handler.findPublishedContent(request, filter));
         } catch (NotFoundException exception) {
             ReaderResponseResponseUtils.sendNotFound(exception, request, response);
         }
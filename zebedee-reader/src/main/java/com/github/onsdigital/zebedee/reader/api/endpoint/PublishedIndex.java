@@ -1,43 +1,76 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.davidcarboni.restolino.framework.Api;
+import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.reader.api.bean.PublishedIndexResponse;
-import com.github.onsdigital.zebedee.search.indexing.Document;
-import com.github.onsdigital.zebedee.search.indexing.FileScanner;
+import com.github.onsdigital.zebedee.reader.cache.PublishedContentIndex;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.GET;
 import java.io.IOException;
-import java.util.List;
 
 @Api
 public class PublishedIndex {
 
+    static final int MAX_LIMIT = 10000;
+    private static final String LIMIT_PARAM = "limit";
+    private static final String CURSOR_PARAM = "cursor";
+
     /**
      * Retrieves list of content for endpoint <code>/publishedindex</code>
      * <p>
-     * This endpoint returns a list of URIs for all the published content served by zebedee
+     * This endpoint returns the URIs and page types of the published content served by zebedee, in URI order, from the
+     * {@link PublishedContentIndex} rather than the filesystem.
+     * <p>
+     * With a <code>limit</code> the content is returned a page at a time, along with a <code>next_cursor</code> to
+     * pass as the <code>cursor</code> parameter for the next page until there are no more. A cursor picks up after
+     * the last URI of the previous page, so no URI present throughout is returned twice or missed even if content is
+     * published between pages. Without a limit all published content is returned.
      *
      * @param request  No authentication headers are required due to this only serving published content
      * @param response Servlet response
      * @return
-     * @throws IOException If an error occurs in processing data, typically to the filesystem, but also on the HTTP connection.
+     * @throws IOException         If an error occurs in processing data, typically to the filesystem, but also on the HTTP connection.
+     * @throws BadRequestException If the limit or cursor is invalid.
      */
     @GET
-    public PublishedIndexResponse read(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    public PublishedIndexResponse read(HttpServletRequest request, HttpServletResponse response) throws IOException,
+            BadRequestException {
+        PublishedContentIndex index = PublishedContentIndex.getInstance();
+        int limit = getLimit(request, index.size());
+        String cursor = StringUtils.defaultIfBlank(request.getParameter(CURSOR_PARAM), null);
 
-        List<Document> docs = new FileScanner().scan();
+        PublishedContentIndex.Page page;
+        try {
+            page = index.page(cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
 
-        /*  Paging is not currently implemented (there would be complications involving ensuring that duplicates or
-            omissions of documents added or removed between pages) so for now the endpoint always returns all published
-            documents and ignores any supplied parameters
-        */
         PublishedIndexResponse publishedIndexResponse = new PublishedIndexResponse();
-        publishedIndexResponse.addDocuments(docs);
+        publishedIndexResponse.addEntries(page.getEntries());
         publishedIndexResponse.setOffset(0);
-        publishedIndexResponse.setLimit(docs.size());
-        publishedIndexResponse.setTotalCount(docs.size());
+        publishedIndexResponse.setLimit(limit);
+        publishedIndexResponse.setTotalCount(index.size());
+        publishedIndexResponse.setNextCursor(page.getNextCursor());
         return publishedIndexResponse;
     }
+
+    private static int getLimit(HttpServletRequest request, int size) throws BadRequestException {
+        String limit = request.getParameter(LIMIT_PARAM);
+        if (StringUtils.isBlank(limit)) {
+            return Math.max(size, 1);
+        }
+        try {
+            int value = Integer.parseInt(limit.trim());
+            if (value < 1 || value > MAX_LIMIT) {
+                throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("limit must be a number");
+        }
+    }
 }
@@ -89,9 +89,8 @@ public class ResolveDatasets {
         }
 
         info().data(PAGE_URI, uri).log("resolving dataset links for product page");
-        return productPage.getDatasets()
+        return datasetSummaryResolver.resolveAll(uri, productPage.getDatasets(), request, handler)
                 .stream()
-                .map(link -> datasetSummaryResolver.resolve(uri, link, request, handler))
                 .filter(summary -> summary != null)
                 .collect(Collectors.toList());
     }
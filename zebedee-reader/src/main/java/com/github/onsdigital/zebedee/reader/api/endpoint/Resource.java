@@ -42,7 +42,7 @@ public class Resource {
     @GET
     public void read(HttpServletRequest request, HttpServletResponse response) throws IOException, ZebedeeException {
         try (com.github.onsdigital.zebedee.reader.Resource resource = new ReadRequestHandler(getRequestedLanguage(request)).findResource(request)) {
-            ReaderResponseResponseUtils.sendResponse(resource, response);
+            ReaderResponseResponseUtils.sendResponse(resource, request, response, null);
         }
     }
 
@@ -0,0 +1,53 @@
+package com.github.onsdigital.zebedee.reader.api.filter;
+
+import com.github.davidcarboni.restolino.framework.PostFilter;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Filter to record the latency, status and size of a completed request in the {@link ReaderMetrics}.
+ */
+public class MetricsCompleteFilter implements PostFilter {
+
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private final ReaderMetrics metrics;
+
+    public MetricsCompleteFilter() {
+        this(ReaderMetrics.getInstance());
+    }
+
+    MetricsCompleteFilter(ReaderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void filter(HttpServletRequest request, HttpServletResponse response) {
+        // Only requests counted in by the MetricsFilter are counted out, so the in flight gauge stays balanced.
+        Object start = request.getAttribute(MetricsFilter.START);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        request.removeAttribute(MetricsFilter.START);
+        metrics.requestCompleted(MetricsFilter.endpoint(request), response.getStatus(),
+                System.nanoTime() - (Long) start, responseBytes(request, response));
+    }
+
+    private static long responseBytes(HttpServletRequest request, HttpServletResponse response) {
+        Object written = request.getAttribute(ReaderMetrics.RESPONSE_BYTES);
+        if (written instanceof Long) {
+            return (Long) written;
+        }
+        String contentLength = response.getHeader(CONTENT_LENGTH);
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
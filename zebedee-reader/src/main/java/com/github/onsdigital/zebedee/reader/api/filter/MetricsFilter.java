@@ -0,0 +1,58 @@
+package com.github.onsdigital.zebedee.reader.api.filter;
+
+import com.github.davidcarboni.restolino.framework.PreFilter;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
+import com.github.onsdigital.zebedee.util.URIUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Filter to record the start of a request in the {@link ReaderMetrics}, see {@link MetricsCompleteFilter}.
+ */
+public class MetricsFilter implements PreFilter {
+
+    static final String START = MetricsFilter.class.getName() + ".start";
+    static final String OTHER = "other";
+
+    private static final Set<String> UNTRACKED = new HashSet<>(Arrays.asList("ping", "health", "metrics"));
+
+    // Endpoints are labelled by name, anything else shares one label so a bad uri can not add a time series.
+    private static final Set<String> ENDPOINTS = new HashSet<>(Arrays.asList("data", "resource", "taxonomy",
+            "parents", "export", "generator", "publisheddata", "publishedindex", "resolvedatasets", "filesize"));
+
+    private final ReaderMetrics metrics;
+
+    public MetricsFilter() {
+        this(ReaderMetrics.getInstance());
+    }
+
+    MetricsFilter(ReaderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean filter(HttpServletRequest request, HttpServletResponse response) {
+        if (!UNTRACKED.contains(firstSegment(request))) {
+            request.setAttribute(START, System.nanoTime());
+            metrics.requestStarted();
+        }
+        return true;
+    }
+
+    /**
+     * @return the name of the endpoint the request is for, or {@value #OTHER} if it is not a known endpoint.
+     */
+    static String endpoint(HttpServletRequest request) {
+        String segment = firstSegment(request);
+        return ENDPOINTS.contains(segment) ? segment : OTHER;
+    }
+
+    private static String firstSegment(HttpServletRequest request) {
+        return StringUtils.lowerCase(StringUtils.defaultString(URIUtils.getPathSegment(request.getRequestURI(), 1)));
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+/**
+ * A {@link ReaderCache} that counts its lookups, so its hit ratio can be reported by the metrics endpoint.
+ */
+public interface CacheStatistics {
+
+    /**
+     * @return the number of entries currently held.
+     */
+    long size();
+
+    /**
+     * @return the number of lookups served from the cache.
+     */
+    long hitCount();
+
+    /**
+     * @return the number of lookups that had to load the entry.
+     */
+    long missCount();
+}
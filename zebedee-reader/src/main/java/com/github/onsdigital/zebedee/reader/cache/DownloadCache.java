@@ -0,0 +1,374 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.DataDownload;
+import com.github.onsdigital.zebedee.reader.Resource;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.util.ContentStamp;
+import com.github.onsdigital.zebedee.reader.util.ReaderResponseResponseUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.warn;
+
+/**
+ * Cache of generated csv, xls and xlsx downloads for the <code>/generator</code> endpoint, kept as files on disk.
+ * <p>
+ * Entries are keyed by uri, language, filter and format and are only served while the data file behind the uri and
+ * its parent folder are unchanged on disk (see {@link ContentStamp}), so a repeat download is sent straight from its
+ * file, honouring any Range header. The least recently used downloads are evicted, and their files deleted, once the
+ * files total more than the configured number of bytes. Entries whose content has changed are dropped on publish.
+ * <p>
+ * A download is pinned while it is being sent, so its file is only deleted once the last response reading it is done.
+ * The bytes are shared between the {@link #CONCURRENCY_LEVEL} segments of the cache, and a download larger than the
+ * share of a segment would be evicted as soon as it was added, so such downloads are sent as they are generated.
+ */
+public class DownloadCache implements ReaderCache, CacheStatistics {
+
+    private static final String FILE_PREFIX = "download-";
+
+    // The bytes of the cache are split evenly between this many segments, which bounds the size of a single download.
+    static final int CONCURRENCY_LEVEL = 4;
+
+    // Times a download evicted before it could be pinned is looked up again before it is sent without the cache.
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static volatile DownloadCache INSTANCE = null;
+
+    // Whether the configuration has been read, so a disabled cache does not take the class lock on every call.
+    private static volatile boolean resolved;
+
+    private final Path directory;
+    private final Path contentRoot;
+    private final Cache<String, CachedDownload> cache;
+    private final long maxDownloadBytes;
+    // The stamps of the content of downloads too large to cache, so they are not generated into a file again.
+    private final Cache<String, ContentStamp> oversized;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param directory   the directory to keep downloads in. Downloads left from a previous run are deleted.
+     * @param contentRoot the published content directory, to check cached downloads against on publish.
+     * @param maxBytes    the most bytes of downloads to keep.
+     */
+    public DownloadCache(Path directory, Path contentRoot, long maxBytes) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.contentRoot = contentRoot;
+        this.cache = CacheBuilder.newBuilder()
+                .concurrencyLevel(CONCURRENCY_LEVEL)
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedDownload download) -> download.weight())
+                .removalListener((RemovalNotification<String, CachedDownload> n) -> n.getValue().release())
+                .recordStats()
+                .build();
+        this.maxDownloadBytes = maxBytes / CONCURRENCY_LEVEL;
+        this.oversized = CacheBuilder.newBuilder()
+                .maximumSize(1000)
+                .build();
+        deleteDownloads(directory);
+    }
+
+    public static DownloadCache getInstance() {
+        if (!resolved) {
+            synchronized (DownloadCache.class) {
+                if (!resolved) {
+                    ReaderConfiguration cfg = ReaderConfiguration.get();
+                    if (cfg.isDownloadCacheEnabled()) {
+                        try {
+                            Path directory = StringUtils.isBlank(cfg.getDownloadCacheDir())
+                                    ? Files.createTempDirectory("zebedee-downloads")
+                                    : Paths.get(cfg.getDownloadCacheDir());
+                            info().data("max_bytes", cfg.getDownloadCacheMaxBytes())
+                                    .data("directory", directory.toString())
+                                    .log("initialising download cache");
+                            INSTANCE = new DownloadCache(directory, Paths.get(cfg.getContentDir()),
+                                    cfg.getDownloadCacheMaxBytes());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("error initialising download cache", e);
+                        }
+                        ReaderCaches.register(INSTANCE);
+                    }
+                    resolved = true;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Send the download for the given uri from its cached file, generating it into the cache first if it is not
+     * cached or the content has changed since it was. A download too large to cache is sent as it is generated. A
+     * conditional request for a download the client already holds is answered with a 304.
+     *
+     * @param request  the request, checked for conditional and range headers.
+     * @param response the response to write to.
+     * @param uri      the requested uri.
+     * @param language the requested language, null for English.
+     * @param filter   the requested data filter, may be null.
+     * @param format   the requested format.
+     * @param stamp    the current stamp of the files behind the uri, see {@link ContentStamp#published}.
+     * @param etag     the Etag of the download.
+     * @param encoding the character encoding of the download, or null.
+     * @param supplier reads the content and prepares the download if it is not cached.
+     */
+    public void sendResponse(HttpServletRequest request, HttpServletResponse response, String uri,
+                             ContentLanguage language, DataFilter filter, String format, ContentStamp stamp,
+                             String etag, String encoding, DownloadSupplier supplier)
+            throws ZebedeeException, IOException {
+        CachedDownload cached = get(uri, language, filter, format, stamp, supplier);
+        if (cached == null) {
+            ReaderResponseResponseUtils.sendResponse(supplier.get(), request, response, encoding, etag,
+                    stamp.getLastModified());
+            return;
+        }
+
+        try {
+            Resource resource = new Resource();
+            resource.setName(cached.name);
+            resource.setMimeType(cached.mimeType);
+            resource.setPath(cached.file);
+            resource.setContentLength(cached.size);
+            resource.setEtag(etag);
+            resource.setLastModified(stamp.getLastModified());
+            ReaderResponseResponseUtils.sendResponse(resource, request, response, encoding);
+        } finally {
+            cached.release();
+        }
+    }
+
+    /**
+     * Get the cached download, generating it if it is not cached or is out of date. Concurrent requests for the same
+     * download wait for a single one of them to generate it.
+     *
+     * @return the download, pinned so its file is kept until {@link CachedDownload#release()} is called, or null if
+     * the download is too large to cache and should be sent as it is generated.
+     */
+    CachedDownload get(String uri, ContentLanguage language, DataFilter filter, String format, ContentStamp stamp,
+                       DownloadSupplier supplier) throws ZebedeeException, IOException {
+        if (language == null) {
+            language = ContentLanguage.ENGLISH;
+        }
+
+        String key = ResponseCache.key(uri, language, filter) + '|' + format;
+        CachedDownload cached = cache.getIfPresent(key);
+        if (cached != null && cached.stamp.equals(stamp) && Files.exists(cached.file) && cached.retain()) {
+            hits.increment();
+            return cached;
+        }
+        if (cached != null) {
+            cache.asMap().remove(key, cached);
+        }
+
+        misses.increment();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (stamp.equals(oversized.getIfPresent(key))) {
+                return null;
+            }
+            cached = load(key, uri, language, stamp, supplier);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the download from the cache, generating it if it is not there, and pin it. A download generated by this
+     * call is pinned before it enters the cache, so it is kept even if the cache evicts it straight away, otherwise
+     * null is returned if the download was evicted before it could be pinned.
+     */
+    private CachedDownload load(String key, String uri, ContentLanguage language, ContentStamp stamp,
+                                DownloadSupplier supplier) throws ZebedeeException, IOException {
+        CachedDownload[] generated = new CachedDownload[1];
+        try {
+            CachedDownload cached = cache.get(key, () -> {
+                generated[0] = generate(uri, language, stamp, supplier.get());
+                if (generated[0].size > maxDownloadBytes) {
+                    oversized.put(key, stamp);
+                }
+                return generated[0];
+            });
+            if (cached == generated[0]) {
+                if (cached.size > maxDownloadBytes) {
+                    // Usually evicted already, this makes sure it does not hold its share of the cache.
+                    cache.asMap().remove(key, cached);
+                }
+                return cached;
+            }
+            return cached.retain() ? cached : null;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ZebedeeException) {
+                throw (ZebedeeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Write the download to a new file in the cache directory. The file only enters the cache once it is complete, and
+     * is pinned for the request that generated it.
+     */
+    private CachedDownload generate(String uri, ContentLanguage language, ContentStamp stamp, DataDownload download)
+            throws IOException {
+        Path file = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            download.writeTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        CachedDownload cached = new CachedDownload(uri, language, stamp, file, Files.size(file), download.getName(),
+                download.getMimeType());
+        cached.retain();
+        return cached;
+    }
+
+    /**
+     * Drop the downloads generated from content that has changed since, deleting their files.
+     */
+    @Override
+    public void onPublish(Collection<String> uris) {
+        cache.asMap().values().removeIf(download -> !download.isCurrent(contentRoot));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        oversized.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    private static void deleteDownloads(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Reads the content and prepares its download when it is not cached.
+     */
+    @FunctionalInterface
+    public interface DownloadSupplier {
+        DataDownload get() throws ZebedeeException, IOException;
+    }
+
+    static class CachedDownload {
+        private final String uri;
+        private final ContentLanguage language;
+        private final ContentStamp stamp;
+        private final Path file;
+        private final long size;
+        private final String name;
+        private final String mimeType;
+
+        // One reference is held by the cache and one by each response sending the file, which is deleted once the
+        // cache has dropped the download and the last response is done.
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        CachedDownload(String uri, ContentLanguage language, ContentStamp stamp, Path file, long size, String name,
+                       String mimeType) {
+            this.uri = uri;
+            this.language = language;
+            this.stamp = stamp;
+            this.file = file;
+            this.size = size;
+            this.name = name;
+            this.mimeType = mimeType;
+        }
+
+        Path getFile() {
+            return file;
+        }
+
+        /**
+         * Pin the download, keeping its file until {@link #release()} is called.
+         *
+         * @return false if the file has been deleted already.
+         */
+        boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        /**
+         * Drop a reference to the download, deleting its file if it was the last.
+         */
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    warn().data("file", file.toString())
+                            .exception(e)
+                            .log("error deleting cached download");
+                }
+            }
+        }
+
+        boolean isCurrent(Path contentRoot) {
+            try {
+                return stamp.equals(ContentStamp.of(contentRoot, uri, language));
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        int weight() {
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, size));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
+
+/**
+ * Index of the latest edition of each bulletin, article and compendium series under a content root.
+ * <p>
+ * Finding the latest edition means reading every edition of the series, so the result is kept per series folder and
+ * language the first time it is asked for. An entry is used for as long as the modification time of the series folder
+ * (which changes when an edition is added or removed) and of the latest edition's data file are unchanged, and the
+ * entries for the series touched by a publish are dropped when the publish is notified.
+ */
+public class LatestEditionIndex implements ReaderCache, CacheStatistics {
+
+    private static final Map<Path, LatestEditionIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path rootFolder;
+    private final Map<Key, LatestEdition> index = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Finds the data file of the latest edition in a series folder when it is not indexed.
+     */
+    @FunctionalInterface
+    public interface LatestEditionFinder {
+        Path find() throws ZebedeeException, IOException;
+    }
+
+    public LatestEditionIndex(Path rootFolder) {
+        this.rootFolder = rootFolder.toAbsolutePath().normalize();
+    }
+
+    /**
+     * @return the shared index for the given content root, registered to be notified of publishes.
+     */
+    public static LatestEditionIndex forRoot(Path rootFolder) {
+        return INDEXES.computeIfAbsent(rootFolder.toAbsolutePath().normalize(), root -> {
+            LatestEditionIndex latestEditionIndex = new LatestEditionIndex(root);
+            ReaderCaches.register(latestEditionIndex);
+            return latestEditionIndex;
+        });
+    }
+
+    /**
+     * Get the data file of the latest edition in the given series folder.
+     *
+     * @param seriesFolder the folder holding the editions.
+     * @param language     the language the data file was resolved for.
+     * @param finder       finds the latest edition if it is not indexed or has changed.
+     * @return the data file of the latest edition, or null if the series has no editions.
+     */
+    public Path get(Path seriesFolder, ContentLanguage language, LatestEditionFinder finder)
+            throws ZebedeeException, IOException {
+        Key key = new Key(seriesFolder.toAbsolutePath().normalize(), language);
+        long seriesModified = lastModified(key.seriesFolder);
+
+        LatestEdition latest = index.get(key);
+        if (latest != null && latest.seriesModified == seriesModified
+                && latest.dataFileModified == lastModified(latest.dataFile)) {
+            hits.increment();
+            return latest.dataFile;
+        }
+
+        misses.increment();
+        Path dataFile = finder.find();
+        if (seriesModified < 0) {
+            index.remove(key);
+        } else {
+            index.put(key, new LatestEdition(dataFile, seriesModified, lastModified(dataFile)));
+        }
+        return dataFile;
+    }
+
+    /**
+     * Drops the entries for any series folder a published uri is in.
+     */
+    @Override
+    public void onPublish(Collection<String> uris) {
+        for (String uri : uris) {
+            Path path = rootFolder.resolve(removeLeadingSlash(uri)).normalize();
+            for (Path folder = path; folder != null && folder.startsWith(rootFolder); folder = folder.getParent()) {
+                for (ContentLanguage language : ContentLanguage.values()) {
+                    index.remove(new Key(folder, language));
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        index.clear();
+    }
+
+    @Override
+    public long size() {
+        return index.size();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private static long lastModified(Path path) throws IOException {
+        if (path == null) {
+            return -1;
+        }
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+    }
+
+    private static class Key {
+        private final Path seriesFolder;
+        private final ContentLanguage language;
+
+        Key(Path seriesFolder, ContentLanguage language) {
+            this.seriesFolder = seriesFolder;
+            this.language = language;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return seriesFolder.equals(key.seriesFolder) && language == key.language;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seriesFolder, language);
+        }
+    }
+
+    private static class LatestEdition {
+        private final Path dataFile;
+        private final long seriesModified;
+        private final long dataFileModified;
+
+        LatestEdition(Path dataFile, long seriesModified, long dataFileModified) {
+            this.dataFile = dataFile;
+            this.seriesModified = seriesModified;
+            this.dataFileModified = dataFileModified;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Size bounded cache of deserialised {@link Page} objects read from the file system.
+ * <p>
+ * Entries are keyed by the resolved data file path and are only served while the last modified time and size of the
+ * file still match the values recorded when the page was read, so a republished file is always read again.
+ * <p>
+ * The cache is weighed by the size of the source json file. Callers are handed a copy of the cached page (see
+ * {@link Page#shallowCopy()}) so setting the uri or the latest release flag on a returned page does not change the
+ * cached entry. A cache should only be shared by readers with the same root folder as cached pages carry their uri.
+ */
+public class PageCache implements ReaderCache, CacheStatistics {
+
+    private static volatile PageCache INSTANCE = null;
+
+    // Whether the configuration has been read, so a disabled cache does not take the class lock on every call.
+    private static volatile boolean resolved;
+
+    private final Cache<Path, CachedPage> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Loads a page from disk when it is not available in the cache.
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        Page load() throws ZebedeeException, IOException;
+    }
+
+    public PageCache(long maxBytes) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Path path, CachedPage cachedPage) -> cachedPage.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the shared page cache, or null if the page cache is not enabled in the {@link ReaderConfiguration}.
+     */
+    public static PageCache getInstance() {
+        if (!resolved) {
+            synchronized (PageCache.class) {
+                if (!resolved) {
+                    ReaderConfiguration cfg = ReaderConfiguration.get();
+                    if (cfg.isPageCacheEnabled()) {
+                        info().data("max_bytes", cfg.getPageCacheMaxBytes()).log("initialising page cache");
+                        INSTANCE = new PageCache(cfg.getPageCacheMaxBytes());
+                        ReaderCaches.register(INSTANCE);
+                    }
+                    resolved = true;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Get the page for the given data file, loading it with the given loader if it is not cached or the file has
+     * changed since it was cached.
+     *
+     * @param dataFile the data file the page is read from.
+     * @param loader   reads the page from the file system.
+     * @return a copy of the cached page, or null if the loader returns null.
+     */
+    public Page get(Path dataFile, PageLoader loader) throws ZebedeeException, IOException {
+        Path key = dataFile.toAbsolutePath();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            cache.invalidate(key);
+            return loader.load();
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        CachedPage cached = cache.asMap().get(key);
+        if (cached != null && cached.matches(lastModified, size)) {
+            hits.increment();
+            return cached.page.shallowCopy();
+        }
+
+        misses.increment();
+        Page page = loader.load();
+        if (page == null) {
+            cache.invalidate(key);
+            return null;
+        }
+        cache.put(key, new CachedPage(page.shallowCopy(), lastModified, size));
+        return page;
+    }
+
+    /**
+     * Removes every entry from the cache, e.g. after content has been published.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void onPublish(Collection<String> uris) {
+        invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that had to read the page from disk, including lookups for stale entries.
+     */
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    private static class CachedPage {
+        private final Page page;
+        private final long lastModified;
+        private final long size;
+
+        CachedPage(Page page, long lastModified, long size) {
+            this.page = page;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        boolean matches(long lastModified, long size) {
+            return this.lastModified == lastModified && this.size == size;
+        }
+
+        int weight() {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, size));
+        }
+    }
+}
@@ -0,0 +1,520 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.util.ContentTreeWalker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.warn;
+import static com.github.onsdigital.zebedee.util.PathUtils.toRelativeUri;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeTrailingSlash;
+
+/**
+ * Index of the uri and page type of every published page, i.e. every folder under the content root holding a
+ * <code>data.json</code> outside of the <code>previous</code> versions folders.
+ * <p>
+ * The index is held sorted by uri and saved to a file with the modified time of each data file, so it is only built by
+ * reading every page when there is no saved index. A saved index is checked against the modified times of the data
+ * files when it is loaded, as another process may have published since it was saved, and only the pages that have
+ * changed are read again. It is then kept up to date from the uris of each publish rather than being rebuilt, and is
+ * reconciled with the content tree in the background at most once every
+ * {@link ReaderConfiguration#getPublishedIndexCheckSeconds()} to pick up content changed without a publish
+ * notification, e.g. by a standalone reader. An index that can not be saved is logged and served from memory. Pages
+ * are read in uri order from a cursor, the last uri of the previous page, so walking the index a page at a time
+ * neither repeats nor skips a uri that is in the index throughout, however the index changes between pages.
+ */
+public class PublishedContentIndex implements ReaderCache {
+
+    private static final String HEADER = "# published content index v2";
+    private static final String DATA_FILE = ContentLanguage.ENGLISH.getDataFileName();
+    private static final String PREVIOUS_VERSIONS = "previous";
+    private static final String UNKNOWN_TYPE = "";
+
+    private static final ExecutorService RECONCILES = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("published-index-reconcile-%d").setDaemon(true).build());
+
+    private static volatile PublishedContentIndex INSTANCE = null;
+
+    private final Path contentRoot;
+    private final Path indexFile;
+    private final long checkMillis;
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private volatile long reconciledAt;
+    private final ConcurrentSkipListMap<String, String> index = new ConcurrentSkipListMap<>();
+    // The modified time of the data file of each page when its type was read.
+    private final ConcurrentHashMap<String, Long> stamps = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param contentRoot the published content directory.
+     * @param indexFile   the file the index is saved to, or null to keep it in memory only.
+     */
+    public PublishedContentIndex(Path contentRoot, Path indexFile) {
+        this(contentRoot, indexFile, 0);
+    }
+
+    /**
+     * @param contentRoot the published content directory.
+     * @param indexFile   the file the index is saved to, or null to keep it in memory only.
+     * @param checkMillis how often the index is reconciled with the content tree as it is read, or 0 to only
+     *                    reconcile it when it is loaded.
+     */
+    public PublishedContentIndex(Path contentRoot, Path indexFile, long checkMillis) {
+        this.contentRoot = contentRoot.toAbsolutePath().normalize();
+        this.indexFile = indexFile;
+        this.checkMillis = checkMillis;
+    }
+
+    public static PublishedContentIndex getInstance() {
+        if (INSTANCE == null) {
+            synchronized (PublishedContentIndex.class) {
+                if (INSTANCE == null) {
+                    ReaderConfiguration cfg = ReaderConfiguration.get();
+                    Path contentRoot = Paths.get(cfg.getContentDir());
+                    Path indexFile = StringUtils.isNotBlank(cfg.getPublishedIndexFile())
+                            ? Paths.get(cfg.getPublishedIndexFile())
+                            : contentRoot.toAbsolutePath().normalize().resolveSibling("published-index.txt");
+
+                    PublishedContentIndex publishedContentIndex = new PublishedContentIndex(contentRoot, indexFile,
+                            TimeUnit.SECONDS.toMillis(cfg.getPublishedIndexCheckSeconds()));
+                    try {
+                        publishedContentIndex.load();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("error loading published content index", e);
+                    }
+                    INSTANCE = publishedContentIndex;
+                    ReaderCaches.register(INSTANCE);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Read the saved index and bring it up to date with the content tree, or build and save it if there is none.
+     */
+    public synchronized void load() throws IOException {
+        if (indexFile != null && Files.exists(indexFile)) {
+            if (read()) {
+                info().data("pages", size.get()).data("file", indexFile.toString())
+                        .log("loaded published content index");
+                reconcile();
+                return;
+            }
+            warn().data("file", indexFile.toString()).log("published content index file not recognised, rebuilding");
+        }
+        rebuild();
+    }
+
+    private boolean read() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return false;
+            }
+            index.clear();
+            stamps.clear();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length == 3 && !fields[0].isEmpty()) {
+                    index.put(fields[0], fields[1]);
+                    try {
+                        stamps.put(fields[0], Long.parseLong(fields[2]));
+                    } catch (NumberFormatException e) {
+                        // No stamp, so the page is read again when the index is reconciled.
+                    }
+                }
+            }
+            size.set(index.size());
+            return true;
+        }
+    }
+
+    /**
+     * Bring the index up to date with the content tree, which may have been published to by another process. Only the
+     * modified times of the data files are looked at, and only the pages whose data file has been added, changed or
+     * removed since it was indexed are read again.
+     */
+    public synchronized void reconcile() throws IOException {
+        long start = System.currentTimeMillis();
+        Map<Path, Long> dataFiles = new ConcurrentHashMap<>();
+        if (Files.isDirectory(contentRoot)) {
+            new ContentTreeWalker()
+                    .descendInto(ContentTreeWalker.named(PREVIOUS_VERSIONS).negate())
+                    .include(ContentTreeWalker.named(DATA_FILE))
+                    .walk(contentRoot, (file, attributes) ->
+                            dataFiles.put(file, attributes.lastModifiedTime().toMillis()));
+        }
+
+        int changed = 0;
+        Set<String> found = new HashSet<>();
+        for (Map.Entry<Path, Long> dataFile : dataFiles.entrySet()) {
+            String uri = uri(dataFile.getKey().getParent());
+            found.add(uri);
+            if (!dataFile.getValue().equals(stamps.get(uri))) {
+                updatePage(dataFile.getKey().getParent());
+                changed++;
+            }
+        }
+        for (String uri : new ArrayList<>(index.keySet())) {
+            if (!found.contains(uri)) {
+                remove(uri);
+                changed++;
+            }
+        }
+
+        reconciledAt = System.currentTimeMillis();
+        if (changed > 0) {
+            save();
+            info().data("changed", changed).data("duration_ms", reconciledAt - start)
+                    .log("reconciled published content index");
+        }
+    }
+
+    /**
+     * Reconcile the index in the background if it is due, so a request never waits for the content tree to be walked.
+     */
+    private void reconcileIfDue() {
+        if (checkMillis <= 0 || System.currentTimeMillis() - reconciledAt < checkMillis
+                || !reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        RECONCILES.submit(() -> {
+            try {
+                reconcile();
+            } catch (IOException | RuntimeException e) {
+                warn().exception(e).log("error reconciling published content index");
+            } finally {
+                reconciling.set(false);
+            }
+        });
+    }
+
+    /**
+     * Build the index from scratch by walking the content tree, then save it.
+     */
+    public synchronized void rebuild() throws IOException {
+        long start = System.currentTimeMillis();
+        NavigableMap<String, String> pages = new ConcurrentSkipListMap<>();
+        Map<String, Long> pageStamps = new ConcurrentHashMap<>();
+        scan(contentRoot, pages, pageStamps);
+
+        // Changed in place, so the index is never seen empty while it is rebuilt.
+        index.keySet().retainAll(pages.keySet());
+        index.putAll(pages);
+        stamps.keySet().retainAll(pages.keySet());
+        stamps.putAll(pageStamps);
+        size.set(pages.size());
+        reconciledAt = System.currentTimeMillis();
+        save();
+        info().data("pages", pages.size()).data("duration_ms", System.currentTimeMillis() - start)
+                .log("built published content index");
+    }
+
+    /**
+     * Get a page of the index.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param limit  the most uris to return.
+     * @return the page
+     */
+    public Page page(String cursor, int limit) {
+        reconcileIfDue();
+        NavigableMap<String, String> from = cursor == null ? index : index.tailMap(decodeCursor(cursor), false);
+        List<Map.Entry<String, String>> entries = new ArrayList<>(Math.min(limit, 1024));
+        for (Map.Entry<String, String> entry : from.entrySet()) {
+            if (entries.size() == limit) {
+                break;
+            }
+            entries.add(entry);
+        }
+
+        String nextCursor = null;
+        if (!entries.isEmpty() && entries.size() == limit
+                && index.higherKey(entries.get(entries.size() - 1).getKey()) != null) {
+            nextCursor = encodeCursor(entries.get(entries.size() - 1).getKey());
+        }
+        return new Page(entries, nextCursor);
+    }
+
+    /**
+     * @return the number of pages in the index.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the page type of the given uri, or null if it is not indexed.
+     */
+    public String getType(String uri) {
+        return index.get(uri);
+    }
+
+    /**
+     * Update the entries for the pages published or deleted, then save the index.
+     * <p>
+     * A published data file updates the entry for its own page. Any other uri, e.g. the root of a deleted page, is
+     * treated as a folder whose whole subtree is looked at again.
+     */
+    @Override
+    public synchronized void onPublish(Collection<String> uris) {
+        try {
+            for (String uri : uris) {
+                String page = removeTrailingSlash(removeLeadingSlash(uri));
+                if (page.endsWith(".json")) {
+                    if (page.endsWith("/" + DATA_FILE) || page.equals(DATA_FILE)) {
+                        updatePage(contentRoot.resolve(page).getParent());
+                    }
+                } else if (page.lastIndexOf('.') <= page.lastIndexOf('/')) {
+                    updateSubtree(contentRoot.resolve(page));
+                }
+            }
+            save();
+        } catch (IOException e) {
+            warn().exception(e).log("error updating published content index after publish");
+        }
+    }
+
+    private void updatePage(Path folder) throws IOException {
+        String uri = uri(folder);
+        if (isPreviousVersion(folder)) {
+            return;
+        }
+
+        // Stamped before the type is read, so a change made while reading is picked up by the next reconcile.
+        Path dataFile = folder.resolve(DATA_FILE);
+        long stamp;
+        try {
+            stamp = Files.getLastModifiedTime(dataFile).toMillis();
+        } catch (NoSuchFileException e) {
+            remove(uri);
+            return;
+        }
+
+        String type = readType(dataFile);
+        if (type != null) {
+            put(uri, type, stamp);
+        } else {
+            remove(uri);
+        }
+    }
+
+    private void updateSubtree(Path folder) throws IOException {
+        if (isPreviousVersion(folder)) {
+            return;
+        }
+
+        String uri = uri(folder);
+        remove(uri);
+        for (String indexed : new ArrayList<>(subtree(uri).keySet())) {
+            remove(indexed);
+        }
+
+        NavigableMap<String, String> pages = new ConcurrentSkipListMap<>();
+        Map<String, Long> pageStamps = new ConcurrentHashMap<>();
+        scan(folder, pages, pageStamps);
+        pages.forEach((page, type) -> put(page, type, pageStamps.get(page)));
+    }
+
+    /**
+     * @return the entries below the given uri, not including the uri itself.
+     */
+    private NavigableMap<String, String> subtree(String uri) {
+        String prefix = uri.endsWith("/") ? uri : uri + "/";
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+
+    private void put(String uri, String type, long stamp) {
+        stamps.put(uri, stamp);
+        if (index.put(uri, type) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    private void remove(String uri) {
+        stamps.remove(uri);
+        if (index.remove(uri) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    private void scan(Path folder, Map<String, String> pages, Map<String, Long> pageStamps) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+
+        new ContentTreeWalker()
+                .descendInto(ContentTreeWalker.named(PREVIOUS_VERSIONS).negate())
+                .include(ContentTreeWalker.named(DATA_FILE))
+                .walk(folder, (file, attributes) -> {
+                    try {
+                        String type = readType(file);
+                        if (type != null) {
+                            String uri = uri(file.getParent());
+                            pageStamps.put(uri, attributes.lastModifiedTime().toMillis());
+                            pages.put(uri, type);
+                        }
+                    } catch (IOException e) {
+                        warn().data("file", file.toString())
+                                .exception(e)
+                                .log("error reading published content for index");
+                    }
+                });
+    }
+
+    /**
+     * Read the top level <code>type</code> of a data file without reading the rest of the page.
+     *
+     * @return the page type, an empty string if the file has none or is not valid json, or null if it does not exist.
+     */
+    static String readType(Path dataFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8);
+             JsonReader json = new JsonReader(reader)) {
+            json.setLenient(true);
+            if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                return UNKNOWN_TYPE;
+            }
+            json.beginObject();
+            while (json.hasNext()) {
+                if ("type".equals(json.nextName()) && json.peek() == JsonToken.STRING) {
+                    return json.nextString();
+                }
+                json.skipValue();
+            }
+            return UNKNOWN_TYPE;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalStateException e) {
+            if (!Files.exists(dataFile)) {
+                return null;
+            }
+            warn().data("file", dataFile.toString()).exception(e).log("could not read page type for index");
+            return UNKNOWN_TYPE;
+        }
+    }
+
+    /**
+     * Write the index to a new file and move it over the old one, so a reader never sees a partial index. A failed
+     * save, e.g. to a read only volume, is logged and the index is served from memory.
+     */
+    private synchronized void save() {
+        if (indexFile == null) {
+            return;
+        }
+
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            write(temp);
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            warn().data("file", indexFile.toString()).exception(e)
+                    .log("could not save published content index, serving it from memory");
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Nothing more to do, it is written over by the next save.
+            }
+        }
+    }
+
+    private void write(Path temp) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(entry.getValue());
+                writer.write('\t');
+                Long stamp = stamps.get(entry.getKey());
+                writer.write(stamp == null ? "" : stamp.toString());
+                writer.newLine();
+            }
+        }
+    }
+
+    private boolean isPreviousVersion(Path folder) {
+        for (Path name : contentRoot.relativize(folder.toAbsolutePath().normalize())) {
+            if (PREVIOUS_VERSIONS.equals(name.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String uri(Path folder) {
+        return toRelativeUri(contentRoot, folder.toAbsolutePath().normalize()).toString();
+    }
+
+    static String encodeCursor(String uri) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(uri.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * A page of the index.
+     */
+    public static class Page {
+        private final List<Map.Entry<String, String>> entries;
+        private final String nextCursor;
+
+        Page(List<Map.Entry<String, String>> entries, String nextCursor) {
+            this.entries = entries;
+            this.nextCursor = nextCursor;
+        }
+
+        /**
+         * @return the uri and page type of each page, in uri order.
+         */
+        public List<Map.Entry<String, String>> getEntries() {
+            return entries;
+        }
+
+        /**
+         * @return the cursor to read the next page from, or null if this is the last page.
+         */
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import java.util.Collection;
+
+/**
+ * A cache of published content held by the reader that has to be told when content is published.
+ */
+public interface ReaderCache {
+
+    /**
+     * Discard any cached state that may have been changed by a publish.
+     *
+     * @param uris the uris published or deleted by the publish.
+     */
+    void onPublish(Collection<String> uris);
+}
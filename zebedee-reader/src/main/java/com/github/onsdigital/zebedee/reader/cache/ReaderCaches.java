@@ -0,0 +1,48 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Registry of the {@link ReaderCache}s in use, so a publish can notify all of them in one call.
+ */
+public class ReaderCaches {
+
+    private static final List<ReaderCache> CACHES = new CopyOnWriteArrayList<>();
+
+    private ReaderCaches() {
+    }
+
+    public static void register(ReaderCache cache) {
+        CACHES.add(cache);
+    }
+
+    /**
+     * @return the caches registered so far.
+     */
+    public static List<ReaderCache> getCaches() {
+        return Collections.unmodifiableList(CACHES);
+    }
+
+    /**
+     * Notify every registered cache that the given uris have been published or deleted.
+     *
+     * @param uris the uris published or deleted.
+     */
+    public static void onPublish(Collection<String> uris) {
+        info().data("caches", CACHES.size()).data("uris", uris.size()).log("notifying reader caches of publish");
+        for (ReaderCache cache : CACHES) {
+            try {
+                cache.onPublish(uris);
+            } catch (RuntimeException e) {
+                error().data("cache", cache.getClass().getSimpleName())
+                        .logException(e, "error updating reader cache after publish");
+            }
+        }
+    }
+}
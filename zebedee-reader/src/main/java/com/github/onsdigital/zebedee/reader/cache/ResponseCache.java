@@ -0,0 +1,202 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.util.ContentStamp;
+import com.github.onsdigital.zebedee.reader.util.ContentSupplier;
+import com.github.onsdigital.zebedee.reader.util.ReaderResponseResponseUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.isNotModified;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.sendNotModified;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.setValidators;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeTrailingSlash;
+
+/**
+ * Cache of serialised published content responses for the <code>/data</code> endpoint.
+ * <p>
+ * Each entry holds the final UTF-8 json body along with its Etag, so a cache hit writes the stored bytes without
+ * touching Gson. The bodies are held on the heap, so the cache is bounded by its weight alone and evicted entries are
+ * freed like any other garbage. Entries are keyed by uri, language and filter and are only served while the data file
+ * behind the uri and its parent folder are unchanged on disk (see {@link ContentStamp}); on publish the entries of the
+ * published uris, and of the pages above and below them, are also dropped.
+ */
+public class ResponseCache implements ReaderCache, CacheStatistics {
+
+    private static volatile ResponseCache INSTANCE = null;
+
+    // Whether the configuration has been read, so a disabled cache does not take the class lock on every call.
+    private static volatile boolean resolved;
+
+    private final Cache<String, CachedResponse> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ResponseCache(long maxBytes) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the shared response cache, or null if the response cache is not enabled in the
+     * {@link ReaderConfiguration}.
+     */
+    public static ResponseCache getInstance() {
+        if (!resolved) {
+            synchronized (ResponseCache.class) {
+                if (!resolved) {
+                    ReaderConfiguration cfg = ReaderConfiguration.get();
+                    if (cfg.isResponseCacheEnabled()) {
+                        info().data("max_bytes", cfg.getResponseCacheMaxBytes()).log("initialising response cache");
+                        INSTANCE = new ResponseCache(cfg.getResponseCacheMaxBytes());
+                        ReaderCaches.register(INSTANCE);
+                    }
+                    resolved = true;
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Send the published content for the given uri, from the cache if possible. Otherwise the content is read with
+     * the supplier, serialised once and cached before it is sent. A conditional request for content the client already
+     * holds is answered with a 304.
+     *
+     * @param request  the request, checked for conditional headers.
+     * @param response the response to write to.
+     * @param uri      the requested uri.
+     * @param language the requested language, null for English.
+     * @param filter   the requested data filter, may be null.
+     * @param stamp    the current stamp of the files behind the uri, see {@link ContentStamp#published}.
+     * @param supplier reads the content if it is not cached.
+     */
+    public void sendResponse(HttpServletRequest request, HttpServletResponse response, String uri,
+                             ContentLanguage language, DataFilter filter, ContentStamp stamp,
+                             ContentSupplier supplier) throws ZebedeeException, IOException {
+        if (language == null) {
+            language = ContentLanguage.ENGLISH;
+        }
+
+        String key = key(uri, language, filter);
+        CachedResponse cached = cache.asMap().get(key);
+        if (cached != null && cached.stamp.equals(stamp)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            cached = CachedResponse.create(supplier.get(), stamp);
+            cache.put(key, cached);
+        }
+
+        if (isNotModified(request, cached.etag, stamp.getLastModified())) {
+            sendNotModified(response, cached.etag, stamp.getLastModified());
+        } else {
+            cached.writeTo(response);
+        }
+    }
+
+    @Override
+    public void onPublish(Collection<String> uris) {
+        for (String uri : uris) {
+            String published = removeTrailingSlash(removeLeadingSlash(uri));
+            cache.asMap().keySet().removeIf(key -> {
+                String cached = uriOf(key);
+                return cached.isEmpty() || published.equals(cached) || published.startsWith(cached + "/")
+                        || cached.startsWith(published + "/");
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    static String key(String uri, ContentLanguage language, DataFilter filter) {
+        StringBuilder key = new StringBuilder(removeTrailingSlash(removeLeadingSlash(uri)))
+                .append('|').append(language.getId());
+        if (filter != null) {
+            key.append('|').append(filter.getType());
+            if (filter.getParameters() != null) {
+                Map<String, String[]> sorted = new TreeMap<>(filter.getParameters());
+                sorted.forEach((name, values) -> key.append('|').append(name).append('=').append(Arrays.toString(values)));
+            }
+        }
+        return key.toString();
+    }
+
+    private static String uriOf(String key) {
+        return key.substring(0, key.indexOf('|'));
+    }
+
+    private static class CachedResponse {
+        private final byte[] body;
+        private final String etag;
+        private final String pageType;
+        private final ContentStamp stamp;
+
+        private CachedResponse(byte[] body, String etag, String pageType, ContentStamp stamp) {
+            this.body = body;
+            this.etag = etag;
+            this.pageType = pageType;
+            this.stamp = stamp;
+        }
+
+        static CachedResponse create(Object content, ContentStamp stamp) throws IOException {
+            byte[] bytes = ContentUtil.serialise(content).getBytes(StandardCharsets.UTF_8);
+            String etag = content instanceof Content ? ContentUtil.hash(bytes) : null;
+            String pageType = content instanceof Page ? ((Page) content).getType().getLabel() : null;
+            return new CachedResponse(bytes, etag, pageType, stamp);
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            ReaderResponseResponseUtils.setJsonHeaders(response, etag, pageType);
+            setValidators(response, null, stamp.getLastModified());
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+
+        int weight() {
+            return Math.max(1, body.length);
+        }
+    }
+}
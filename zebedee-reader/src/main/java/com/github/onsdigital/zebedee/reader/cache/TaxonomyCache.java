@@ -0,0 +1,106 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.ContentReader;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Holds the current {@link TaxonomySnapshot} of a content root for each language.
+ * <p>
+ * A snapshot is built on first use and replaced as a whole, so requests always see a complete tree. It is dropped
+ * when a publish touches a node in it, and is checked against the file system at most once every
+ * {@link ReaderConfiguration#getTaxonomyCheckSeconds()} to pick up content changed without a publish notification,
+ * e.g. by a standalone reader.
+ */
+public class TaxonomyCache implements ReaderCache {
+
+    private static final Map<Path, TaxonomyCache> CACHES = new ConcurrentHashMap<>();
+
+    private final Map<ContentLanguage, CheckedSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final long checkMillis;
+
+    public TaxonomyCache(long checkMillis) {
+        this.checkMillis = checkMillis;
+    }
+
+    /**
+     * @return the shared cache for the given content root, registered to be notified of publishes.
+     */
+    public static TaxonomyCache forRoot(Path rootFolder) {
+        return CACHES.computeIfAbsent(rootFolder.toAbsolutePath().normalize(), root -> {
+            long checkSeconds = ReaderConfiguration.get().getTaxonomyCheckSeconds();
+            TaxonomyCache cache = new TaxonomyCache(TimeUnit.SECONDS.toMillis(checkSeconds));
+            ReaderCaches.register(cache);
+            return cache;
+        });
+    }
+
+    /**
+     * Get the current snapshot of the taxonomy read by the given reader, building a new one if there is none or
+     * the files it was built from have changed.
+     */
+    public TaxonomySnapshot get(ContentReader reader) throws ZebedeeException, IOException {
+        ContentLanguage language = reader.getLanguage() == null ? ContentLanguage.ENGLISH : reader.getLanguage();
+        CheckedSnapshot current = snapshots.get(language);
+        if (current != null && !current.isDueCheck(checkMillis)) {
+            return current.snapshot;
+        }
+
+        synchronized (this) {
+            current = snapshots.get(language);
+            if (current != null && !current.isDueCheck(checkMillis)) {
+                return current.snapshot;
+            }
+            if (current != null && current.snapshot.isCurrent()) {
+                current.checked();
+                return current.snapshot;
+            }
+
+            long start = System.currentTimeMillis();
+            TaxonomySnapshot snapshot = TaxonomySnapshot.build(reader);
+            snapshots.put(language, new CheckedSnapshot(snapshot));
+            info().data("language", language.getId())
+                    .data("nodes", snapshot.size())
+                    .data("duration_ms", System.currentTimeMillis() - start)
+                    .log("built taxonomy snapshot");
+            return snapshot;
+        }
+    }
+
+    @Override
+    public void onPublish(Collection<String> uris) {
+        snapshots.entrySet().removeIf(entry -> uris.stream().anyMatch(entry.getValue().snapshot::isAffectedBy));
+    }
+
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    private static class CheckedSnapshot {
+        private final TaxonomySnapshot snapshot;
+        private volatile long checkedAt;
+
+        CheckedSnapshot(TaxonomySnapshot snapshot) {
+            this.snapshot = snapshot;
+            checked();
+        }
+
+        void checked() {
+            checkedAt = System.currentTimeMillis();
+        }
+
+        boolean isDueCheck(long checkMillis) {
+            return System.currentTimeMillis() - checkedAt >= checkMillis;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
+import com.github.onsdigital.zebedee.content.page.base.PageType;
+import com.github.onsdigital.zebedee.exceptions.NotFoundException;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.ContentReader;
+import com.github.onsdigital.zebedee.reader.util.ContentNodeComparator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
+
+/**
+ * Immutable summary of the published taxonomy: the home page, every taxonomy landing page reachable from it and the
+ * children of each of those folders, held as {@link ContentNode}s without their content.
+ * <p>
+ * Children are kept in the order the taxonomy endpoint serves them, so a depth limited slice is built from the
+ * snapshot without reading or sorting anything. Nodes are copied when they are handed out as callers set their
+ * children.
+ * <p>
+ * The snapshot records the modification time of every folder it listed and every data file it summarised so it can
+ * tell whether it still matches the file system.
+ */
+public class TaxonomySnapshot {
+
+    private static final URI ROOT = URI.create("/");
+
+    private final Map<URI, ContentNode> nodes;
+    private final Map<URI, List<URI>> children;
+    private final Map<Path, Long> stamps;
+
+    private TaxonomySnapshot(Map<URI, ContentNode> nodes, Map<URI, List<URI>> children, Map<Path, Long> stamps) {
+        this.nodes = nodes;
+        this.children = children;
+        this.stamps = stamps;
+    }
+
+    /**
+     * Build a snapshot of the taxonomy under the root folder of the given reader, in the reader's language.
+     */
+    public static TaxonomySnapshot build(ContentReader reader) throws ZebedeeException, IOException {
+        Builder builder = new Builder(reader);
+        ContentNode home = reader.getContentNode(ROOT.toString());
+        if (home != null) {
+            builder.nodes.put(ROOT, home);
+        }
+        builder.stampNode(ROOT);
+        builder.expand(ROOT);
+        return new TaxonomySnapshot(Collections.unmodifiableMap(builder.nodes),
+                Collections.unmodifiableMap(builder.children), Collections.unmodifiableMap(builder.stamps));
+    }
+
+    /**
+     * @param uri the uri of a folder in the taxonomy.
+     * @return copies of the child nodes of the folder in title order, or null if the snapshot did not list the
+     * folder.
+     */
+    public Map<URI, ContentNode> getChildren(String uri) {
+        List<URI> childUris = children.get(toUri(uri));
+        if (childUris == null) {
+            return null;
+        }
+        Map<URI, ContentNode> result = new LinkedHashMap<>();
+        for (URI child : childUris) {
+            result.put(child, copy(nodes.get(child)));
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the snapshot knows whether the given folder holds content.
+     */
+    public boolean contains(String uri) {
+        URI key = toUri(uri);
+        return nodes.containsKey(key) || children.containsKey(key);
+    }
+
+    /**
+     * @return a copy of the node for the content in the given folder, or null if the snapshot does not hold content
+     * for it.
+     */
+    public ContentNode getNode(String uri) {
+        ContentNode node = nodes.get(toUri(uri));
+        if (node == null || node.getType() == null) {
+            return null;
+        }
+        return copy(node);
+    }
+
+    /**
+     * @return true if a change to the given published uri could change the snapshot, i.e. it is the content of a node
+     * or a new child of a listed folder.
+     */
+    public boolean isAffectedBy(String uri) {
+        String folder = normalise(removeDataFileName(uri));
+        String parent = parent(folder);
+        return contains(folder) || (parent != null && children.containsKey(toUri(parent)));
+    }
+
+    /**
+     * @return true if none of the folders and files the snapshot was built from have changed.
+     */
+    public boolean isCurrent() throws IOException {
+        for (Map.Entry<Path, Long> stamp : stamps.entrySet()) {
+            if (lastModified(stamp.getKey()) != stamp.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @param path a path starting with a forward slash and without a trailing slash.
+     * @return the path of the parent folder, or null for the root.
+     */
+    public static String parent(String path) {
+        int lastSlash = path.lastIndexOf('/');
+        if (ROOT.toString().equals(path) || lastSlash < 0) {
+            return null;
+        }
+        return lastSlash == 0 ? ROOT.toString() : path.substring(0, lastSlash);
+    }
+
+    /**
+     * @return the given path starting with a forward slash and without a trailing slash.
+     */
+    public static String normalise(String path) {
+        String normalised = path == null ? "" : path.trim();
+        while (normalised.endsWith("/")) {
+            normalised = normalised.substring(0, normalised.length() - 1);
+        }
+        return normalised.startsWith("/") ? normalised : "/" + normalised;
+    }
+
+    /**
+     * @return the key for the given path, or null if it is not a valid uri and so can not be in the snapshot.
+     */
+    private static URI toUri(String path) {
+        try {
+            return URI.create(normalise(path));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String removeDataFileName(String uri) {
+        for (ContentLanguage language : ContentLanguage.values()) {
+            String dataFile = "/" + language.getDataFileName();
+            if (uri.endsWith(dataFile)) {
+                return uri.substring(0, uri.length() - dataFile.length());
+            }
+        }
+        return uri;
+    }
+
+    private static ContentNode copy(ContentNode node) {
+        ContentNode copy = new ContentNode();
+        copy.setUri(node.getUri());
+        copy.setType(node.getType());
+        copy.setDescription(node.getDescription());
+        return copy;
+    }
+
+    private static long lastModified(Path path) throws IOException {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+    }
+
+    private static class Builder {
+        private final ContentReader reader;
+        private final Path rootFolder;
+        private final ContentLanguage language;
+        private final Map<URI, ContentNode> nodes = new HashMap<>();
+        private final Map<URI, List<URI>> children = new HashMap<>();
+        private final Map<Path, Long> stamps = new HashMap<>();
+
+        Builder(ContentReader reader) {
+            this.reader = reader;
+            this.rootFolder = reader.getRootFolder();
+            this.language = reader.getLanguage() == null ? ContentLanguage.ENGLISH : reader.getLanguage();
+        }
+
+        void expand(URI uri) throws ZebedeeException, IOException {
+            Map<URI, ContentNode> found;
+            try {
+                found = reader.getChildren(uri.toString());
+            } catch (NotFoundException e) {
+                found = Collections.emptyMap();
+            }
+            stamp(folder(uri));
+
+            // Same ordering as the taxonomy endpoint, which also drops nodes with the same title and edition.
+            Map<URI, ContentNode> sorted = new TreeMap<>(new ContentNodeComparator(found, false));
+            sorted.putAll(found);
+            children.put(uri, Collections.unmodifiableList(new ArrayList<>(sorted.keySet())));
+
+            Collection<ContentNode> childNodes = sorted.values();
+            for (ContentNode child : childNodes) {
+                nodes.put(child.getUri(), child);
+                stampNode(child.getUri());
+            }
+            for (ContentNode child : childNodes) {
+                if (PageType.TAXONOMY_LANDING_PAGE.equals(child.getType()) && !children.containsKey(child.getUri())) {
+                    expand(child.getUri());
+                }
+            }
+        }
+
+        /**
+         * Stamp the data file read for a node, or its folder if there is no data file yet.
+         */
+        void stampNode(URI uri) throws IOException {
+            Path folder = folder(uri);
+            Path dataFile = folder.resolve(language.getDataFileName());
+            if (!Files.exists(dataFile)) {
+                dataFile = folder.resolve(ContentLanguage.ENGLISH.getDataFileName());
+            }
+            stamp(Files.exists(dataFile) ? dataFile : folder);
+        }
+
+        private void stamp(Path path) throws IOException {
+            stamps.put(path, lastModified(path));
+        }
+
+        private Path folder(URI uri) {
+            return rootFolder.resolve(removeLeadingSlash(uri.toString()));
+        }
+    }
+}
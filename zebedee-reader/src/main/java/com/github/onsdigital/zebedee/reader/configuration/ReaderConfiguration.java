@@ -49,6 +49,41 @@ public class ReaderConfiguration {
     // how many seconds for Max_Age for cache
     private static final int DEFAULT_CACHE_CONTROL_SECONDS = 1800;
 
+    // upper bound on the data.json bytes held by the parsed page cache, 0 disables the cache
+    private static final String PAGE_CACHE_MAX_BYTES_KEY = "PAGE_CACHE_MAX_BYTES";
+    // upper bound on the serialised /data responses held off heap, 0 disables the cache
+    private static final String RESPONSE_CACHE_MAX_BYTES_KEY = "RESPONSE_CACHE_MAX_BYTES";
+    // upper bound on the generated csv/xls/xlsx downloads kept on disk, 0 disables the cache
+    private static final String DOWNLOAD_CACHE_MAX_BYTES_KEY = "DOWNLOAD_CACHE_MAX_BYTES";
+    // where generated downloads are kept, a new temporary directory if not set
+    private static final String DOWNLOAD_CACHE_DIR_KEY = "DOWNLOAD_CACHE_DIR";
+    // where the published content index is saved, next to the content directory if not set
+    private static final String PUBLISHED_INDEX_FILE_KEY = "PUBLISHED_INDEX_FILE";
+    // how often the published content index is reconciled with content changed outside a publish
+    private static final String PUBLISHED_INDEX_CHECK_SECONDS_KEY = "PUBLISHED_INDEX_CHECK_SECONDS";
+    private static final long DEFAULT_PUBLISHED_INDEX_CHECK_SECONDS = 60;
+    // how often the taxonomy snapshot checks the files it was built from for changes made outside a publish
+    private static final String TAXONOMY_CHECK_SECONDS_KEY = "TAXONOMY_CHECK_SECONDS";
+    private static final long DEFAULT_TAXONOMY_CHECK_SECONDS = 30;
+    // threads loading series for exports, shared by all export requests
+    private static final String EXPORT_THREADS_KEY = "EXPORT_THREADS";
+    private static final long DEFAULT_EXPORT_THREADS = 8;
+    // series a single export request loads at once
+    private static final String EXPORT_REQUEST_CONCURRENCY_KEY = "EXPORT_REQUEST_CONCURRENCY";
+    private static final long DEFAULT_EXPORT_REQUEST_CONCURRENCY = 4;
+    // threads resolving related dataset summaries, shared by all requests
+    private static final String DATASET_SUMMARY_THREADS_KEY = "DATASET_SUMMARY_THREADS";
+    private static final long DEFAULT_DATASET_SUMMARY_THREADS = 8;
+    // dataset summaries a single request resolves at once
+    private static final String DATASET_SUMMARY_REQUEST_CONCURRENCY_KEY = "DATASET_SUMMARY_REQUEST_CONCURRENCY";
+    private static final long DEFAULT_DATASET_SUMMARY_REQUEST_CONCURRENCY = 4;
+    // upper bound on the dataset summaries cached, 0 disables the cache
+    private static final String DATASET_SUMMARY_CACHE_SIZE_KEY = "DATASET_SUMMARY_CACHE_SIZE";
+    private static final long DEFAULT_DATASET_SUMMARY_CACHE_SIZE = 1000;
+    // how long a dataset summary is cached for
+    private static final String DATASET_SUMMARY_CACHE_SECONDS_KEY = "DATASET_SUMMARY_CACHE_SECONDS";
+    private static final long DEFAULT_DATASET_SUMMARY_CACHE_SECONDS = 300;
+
     private String zebedeeRootDir;
     private String collectionsDir;
     private int cacheControl;
@@ -64,6 +99,19 @@ public class ReaderConfiguration {
     private String serviceAuthToken;
     private boolean datasetImportEnabled;
     private Set<PageType> datasetImportPageTypes;
+    private long pageCacheMaxBytes;
+    private long responseCacheMaxBytes;
+    private long downloadCacheMaxBytes;
+    private String downloadCacheDir;
+    private String publishedIndexFile;
+    private long publishedIndexCheckSeconds;
+    private long taxonomyCheckSeconds;
+    private int exportThreads;
+    private int exportRequestConcurrency;
+    private int datasetSummaryThreads;
+    private int datasetSummaryRequestConcurrency;
+    private long datasetSummaryCacheSize;
+    private long datasetSummaryCacheSeconds;
 
 
     public static ReaderConfiguration init(String zebedeeRootDir) {
@@ -126,6 +174,24 @@ public class ReaderConfiguration {
         this.articlesDirName = ARTICLES_FOLDER_NAME;
         this.compendiumDirName = COMPENDIUM_FOLDER_NAME;
         this.cacheControl = DEFAULT_CACHE_CONTROL_SECONDS;
+        this.pageCacheMaxBytes = getLongValue(PAGE_CACHE_MAX_BYTES_KEY, 0L);
+        this.responseCacheMaxBytes = getLongValue(RESPONSE_CACHE_MAX_BYTES_KEY, 0L);
+        this.downloadCacheMaxBytes = getLongValue(DOWNLOAD_CACHE_MAX_BYTES_KEY, 0L);
+        this.downloadCacheDir = getVariableValue(DOWNLOAD_CACHE_DIR_KEY);
+        this.publishedIndexFile = getVariableValue(PUBLISHED_INDEX_FILE_KEY);
+        this.publishedIndexCheckSeconds = getLongValue(PUBLISHED_INDEX_CHECK_SECONDS_KEY,
+                DEFAULT_PUBLISHED_INDEX_CHECK_SECONDS);
+        this.taxonomyCheckSeconds = getLongValue(TAXONOMY_CHECK_SECONDS_KEY, DEFAULT_TAXONOMY_CHECK_SECONDS);
+        this.exportThreads = (int) Math.max(1, getLongValue(EXPORT_THREADS_KEY, DEFAULT_EXPORT_THREADS));
+        this.exportRequestConcurrency = (int) Math.max(1, getLongValue(EXPORT_REQUEST_CONCURRENCY_KEY,
+                DEFAULT_EXPORT_REQUEST_CONCURRENCY));
+        this.datasetSummaryThreads = (int) Math.max(1, getLongValue(DATASET_SUMMARY_THREADS_KEY,
+                DEFAULT_DATASET_SUMMARY_THREADS));
+        this.datasetSummaryRequestConcurrency = (int) Math.max(1, getLongValue(DATASET_SUMMARY_REQUEST_CONCURRENCY_KEY,
+                DEFAULT_DATASET_SUMMARY_REQUEST_CONCURRENCY));
+        this.datasetSummaryCacheSize = getLongValue(DATASET_SUMMARY_CACHE_SIZE_KEY, DEFAULT_DATASET_SUMMARY_CACHE_SIZE);
+        this.datasetSummaryCacheSeconds = getLongValue(DATASET_SUMMARY_CACHE_SECONDS_KEY,
+                DEFAULT_DATASET_SUMMARY_CACHE_SECONDS);
 
         this.datasetImportEnabled = Boolean.valueOf(getVariableValue(ENABLE_DATASET_IMPORT));
 
@@ -154,6 +220,19 @@ public class ReaderConfiguration {
                 .data("compendium_dir", compendiumDirName)
                 .data("dataset_import_enabled", datasetImportEnabled)
                 .data("cache_control", cacheControl)
+                .data("page_cache_max_bytes", pageCacheMaxBytes)
+                .data("response_cache_max_bytes", responseCacheMaxBytes)
+                .data("download_cache_max_bytes", downloadCacheMaxBytes)
+                .data("download_cache_dir", downloadCacheDir)
+                .data("published_index_file", publishedIndexFile)
+                .data("published_index_check_seconds", publishedIndexCheckSeconds)
+                .data("taxonomy_check_seconds", taxonomyCheckSeconds)
+                .data("export_threads", exportThreads)
+                .data("export_request_concurrency", exportRequestConcurrency)
+                .data("dataset_summary_threads", datasetSummaryThreads)
+                .data("dataset_summary_request_concurrency", datasetSummaryRequestConcurrency)
+                .data("dataset_summary_cache_size", datasetSummaryCacheSize)
+                .data("dataset_summary_cache_seconds", datasetSummaryCacheSeconds)
                 .log("zebedee reader configuration");
     }
 
@@ -169,6 +248,19 @@ public class ReaderConfiguration {
         return value;
     }
 
+    private long getLongValue(String key, long defaultValue) {
+        String value = getVariableValue(key);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new UncheckedReaderConfigException(format("reader config invalid expected a numeric value for {0} " +
+                    "but was {1}", key, value));
+        }
+    }
+
     public String getCollectionsDir() {
         return collectionsDir;
     }
@@ -221,4 +313,98 @@ public class ReaderConfiguration {
     public Set<PageType> getDatasetImportPageTypes() {
         return datasetImportPageTypes;
     }
+
+    public long getPageCacheMaxBytes() {
+        return pageCacheMaxBytes;
+    }
+
+    public boolean isPageCacheEnabled() {
+        return pageCacheMaxBytes > 0;
+    }
+
+    public long getResponseCacheMaxBytes() {
+        return responseCacheMaxBytes;
+    }
+
+    public boolean isResponseCacheEnabled() {
+        return responseCacheMaxBytes > 0;
+    }
+
+    public long getDownloadCacheMaxBytes() {
+        return downloadCacheMaxBytes;
+    }
+
+    public boolean isDownloadCacheEnabled() {
+        return downloadCacheMaxBytes > 0;
+    }
+
+    /**
+     * @return the directory generated downloads are cached in, or null to use a new temporary directory.
+     */
+    public String getDownloadCacheDir() {
+        return downloadCacheDir;
+    }
+
+    /**
+     * @return the file the published content index is saved to, or null to save it next to the content directory.
+     */
+    public String getPublishedIndexFile() {
+        return publishedIndexFile;
+    }
+
+    /**
+     * @return how often, in seconds, the published content index is reconciled with the content tree.
+     */
+    public long getPublishedIndexCheckSeconds() {
+        return publishedIndexCheckSeconds;
+    }
+
+    /**
+     * @return how often, in seconds, the taxonomy snapshot is checked against the files it was built from.
+     */
+    public long getTaxonomyCheckSeconds() {
+        return taxonomyCheckSeconds;
+    }
+
+    /**
+     * @return the number of threads loading series for exports, shared by all export requests.
+     */
+    public int getExportThreads() {
+        return exportThreads;
+    }
+
+    /**
+     * @return the number of series a single export request loads at once.
+     */
+    public int getExportRequestConcurrency() {
+        return exportRequestConcurrency;
+    }
+
+    /**
+     * @return the number of threads resolving related dataset summaries, shared by all requests.
+     */
+    public int getDatasetSummaryThreads() {
+        return datasetSummaryThreads;
+    }
+
+    /**
+     * @return the number of dataset summaries a single request resolves at once.
+     */
+    public int getDatasetSummaryRequestConcurrency() {
+        return datasetSummaryRequestConcurrency;
+    }
+
+    /**
+     * @return the maximum number of dataset summaries cached, 0 if the cache is disabled.
+     */
+    public long getDatasetSummaryCacheSize() {
+        return datasetSummaryCacheSize;
+    }
+
+    /**
+     * @return how long, in seconds, a dataset summary is cached for.
+     */
+    public long getDatasetSummaryCacheSeconds() {
+        return datasetSummaryCacheSeconds;
+    }
 }
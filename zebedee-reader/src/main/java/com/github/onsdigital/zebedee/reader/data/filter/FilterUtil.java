@@ -6,22 +6,31 @@ import com.github.onsdigital.zebedee.content.dynamic.DescriptionWrapper;
 import com.github.onsdigital.zebedee.content.dynamic.timeseries.Point;
 import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
 import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesColumn;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesPeriods;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
+import com.github.onsdigital.zebedee.reader.metrics.LatencyHistogram;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Date;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.NavigableSet;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
-import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 public class FilterUtil {
 
+    private static final LatencyHistogram FILTER_TIME = ReaderMetrics.stage("FilterUtil");
 
     /**
      * Filters page data with given ContentFilter
@@ -37,6 +46,26 @@ public class FilterUtil {
         if (filter == null) {
             return content;
         }
+        long start = System.nanoTime();
+        try {
+            return filter(content, filter);
+        } finally {
+            FILTER_TIME.observeSince(start);
+        }
+    }
+
+    /**
+     * @return true if the filter only needs the values of a time series, so the series can be read straight into
+     * columns, see {@link com.github.onsdigital.zebedee.reader.ContentReader#getColumnarContent(String)}.
+     */
+    public static boolean isSeriesFilter(DataFilter filter) {
+        return filter != null && filter.getType() == DataFilter.FilterType.SERIES;
+    }
+
+    private static Content filter(Content content, DataFilter filter) throws BadRequestException, NotFoundException {
+        if (content instanceof ColumnarTimeSeries && isSeriesFilter(filter)) {
+            return filterTimeseriesData((ColumnarTimeSeries) content, filter.getParameters());
+        }
         if (content instanceof Page == false) {
             throw new IllegalArgumentException("Filer can only be applied to full page contents");
         }
@@ -65,78 +94,111 @@ public class FilterUtil {
             throw new BadRequestException("Requested content is not a time series, can not apply series filter");
         }
 
+        TimeSeries timeSeries = (TimeSeries) page;
+        TreeSet<TimeSeriesValue> set = selectFrequency(getValue(parameters, "frequency"), timeSeries.years,
+                timeSeries.quarters, timeSeries.months, values -> values != null && values.size() > 0);
+
         SeriesFilterRequest filterRequest = new SeriesFilterRequest(parameters);
+        NavigableSet<TimeSeriesValue> range = applyRange(set, filterRequest.from, filterRequest.to);
 
-        TimeSeries timeSeries = (TimeSeries) page;
-        String frequency = getValue(parameters, "frequency");
-        frequency = frequency == null ? "" : StringUtils.lowerCase(frequency);
+        Series series = newSeries(page.getUri(), page.getDescription(), range.size());
+        for (TimeSeriesValue timeSeriesValue : range) {
+            series.add(new Point(isNotEmpty(timeSeriesValue.label) ? timeSeriesValue.label : timeSeriesValue.date, timeSeriesValue.value));
+        }
+        return series;
+    }
 
-        Set<TimeSeriesValue> set = null;
+    private static Content filterTimeseriesData(ColumnarTimeSeries timeSeries, Map<String, String[]> parameters) throws NotFoundException {
+        TimeSeriesColumn column = selectFrequency(getValue(parameters, "frequency"), timeSeries.getYears(),
+                timeSeries.getQuarters(), timeSeries.getMonths(), values -> !values.isEmpty());
+        return toSeries(timeSeries.getUri(), timeSeries.getDescription(), column, parameters);
+    }
 
-        switch (frequency) {
+    /**
+     * Picks the requested frequency, defaulting to the most frequent one with data.
+     */
+    private static <T> T selectFrequency(String frequency, T years, T quarters, T months, Predicate<T> hasData) throws NotFoundException {
+        T selected = null;
+        switch (frequency == null ? "" : StringUtils.lowerCase(frequency)) {
             case "years":
-                set = timeSeries.years;
+                selected = years;
                 break;
             case "months":
-                set = timeSeries.months;
+                selected = months;
                 break;
             case "quarters":
-                set = timeSeries.quarters;
+                selected = quarters;
                 break;
             default:
-                if (timeSeries.months.size() > 0) {
-                    set = timeSeries.months;
-                } else if (timeSeries.quarters.size() > 0) {
-                    set = timeSeries.quarters;
-                } else if (timeSeries.years.size() > 0) {
-                    set = timeSeries.years;
+                if (hasData.test(months)) {
+                    selected = months;
+                } else if (hasData.test(quarters)) {
+                    selected = quarters;
+                } else if (hasData.test(years)) {
+                    selected = years;
                 }
                 break;
         }
 
-        if (set == null) {
+        if (selected == null) {
             throw new NotFoundException("Time series does not contain any series data");
         }
+        return selected;
+    }
 
-        set = applyRange(set, toDate(filterRequest.from), toDate(filterRequest.to));
+    private static Series toSeries(URI uri, PageDescription description, TimeSeriesColumn column, Map<String, String[]> parameters) {
+        SeriesFilterRequest filterRequest = new SeriesFilterRequest(parameters);
 
-        Series series = new Series();
-        series.setUri(page.getUri());
-        series.setDescription(page.getDescription());
-        for (TimeSeriesValue timeSeriesValue : set) {
-            series.add(new Point(isNotEmpty(timeSeriesValue.label) ? timeSeriesValue.label : timeSeriesValue.date, timeSeriesValue.value));
+        int start = 0;
+        int end = column.size();
+        if (filterRequest.from != null) {
+            start = column.ceilingIndex(toPeriod(filterRequest.from));
+        }
+        if (filterRequest.to != null) {
+            int to = column.indexOf(toPeriod(filterRequest.to));
+            if (to >= 0) {
+                end = to + 1;
+            }
+        }
+
+        Series series = newSeries(uri, description, Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            String label = column.getLabel(i);
+            series.add(new Point(isNotEmpty(label) ? label : column.getDate(i), column.getValue(i)));
         }
         return series;
     }
 
-    //applies filter, migrated code from the Alpha
-    private static Set<TimeSeriesValue> applyRange(Set<TimeSeriesValue> set, Date from, Date to) {
-        if (from == null && to == null) {
-            return set;
+    /**
+     * Applies the from/to range to a set of values, migrated from the Alpha: values from the first one at or after the
+     * from date up to the to date. The range is only cut short at the to date if there is a value for it.
+     *
+     * @return a view of the values in the range.
+     */
+    private static NavigableSet<TimeSeriesValue> applyRange(NavigableSet<TimeSeriesValue> set, DateVal from, DateVal to) {
+        TimeSeriesValue start = from == null ? null : toValue(from);
+        TimeSeriesValue end = to == null ? null : toValue(to);
+        if (end != null && !set.contains(end)) {
+            end = null;
         }
 
-        Set<TimeSeriesValue> result = new TreeSet<>();
-
-        boolean add = false;
-        for (TimeSeriesValue timeSeriesValue : set) {
-            Date date = timeSeriesValue.toDate();
-            // Start adding if no from date has been specified:
-            if ((!add && from == null) || date.equals(from) || date.after(from)) {
-                info().data("from", date.toString()).log("applying date range");
-                add = true;
-            }
-            if (add) {
-                result.add(timeSeriesValue);
-            }
-            if (date.equals(to)) {
-                info().data("to", date.toString()).log("applying date range");
-                break;
-            }
+        if (start != null && end != null) {
+            return start.compareTo(end) > 0 ? Collections.emptyNavigableSet() : set.subSet(start, true, end, true);
+        } else if (start != null) {
+            return set.tailSet(start, true);
+        } else if (end != null) {
+            return set.headSet(end, true);
         }
-
-        return result;
+        return set;
     }
 
+    private static Series newSeries(URI uri, PageDescription description, int size) {
+        Series series = new Series();
+        series.setUri(uri);
+        series.setDescription(description);
+        series.setSeries(new LinkedHashSet<>((int) (size / 0.75f) + 1));
+        return series;
+    }
 
     private static String getValue(Map<String, String[]> parameters, String paramName) {
         if (parameters == null) {
@@ -149,12 +211,17 @@ public class FilterUtil {
         return paramValues[0];
     }
 
-    private static Date toDate(DateVal from) {
-        Date result = null;
-        if (from != null) {
-            result = TimeSeriesValue.toDate(from.toString());
-        }
-        return result;
+    private static int toPeriod(DateVal date) {
+        return TimeSeriesPeriods.key(date.toString());
+    }
+
+    /**
+     * @return a value to look up the given date in a set of values.
+     */
+    private static TimeSeriesValue toValue(DateVal date) {
+        TimeSeriesValue value = new TimeSeriesValue();
+        value.date = date.toString();
+        return value;
     }
 
 
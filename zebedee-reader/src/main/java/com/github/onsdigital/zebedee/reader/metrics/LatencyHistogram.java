@@ -0,0 +1,104 @@
+package com.github.onsdigital.zebedee.reader.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations over a fixed set of buckets, cheap enough to update on every request from any thread.
+ * <p>
+ * Timings are recorded with {@link System#nanoTime()}:
+ * <pre>
+ *     long start = System.nanoTime();
+ *     try {
+ *         ...
+ *     } finally {
+ *         histogram.observeSince(start);
+ *     }
+ * </pre>
+ */
+public class LatencyHistogram {
+
+    /**
+     * The upper bounds of the buckets in seconds, from a tenth of a millisecond for a cached page up to the tens of
+     * seconds a large export can take.
+     */
+    static final double[] BUCKET_SECONDS = {
+            0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private static final long[] BUCKET_NANOS = new long[BUCKET_SECONDS.length];
+    private static final String[] BUCKET_LABELS = new String[BUCKET_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_SECONDS.length; i++) {
+            BUCKET_NANOS[i] = (long) (BUCKET_SECONDS[i] * TimeUnit.SECONDS.toNanos(1));
+            BUCKET_LABELS[i] = BigDecimal.valueOf(BUCKET_SECONDS[i]).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    // Each bucket only counts its own observations, they are added up when the histogram is written.
+    private final LongAdder[] buckets = new LongAdder[BUCKET_SECONDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record the time taken since the given start.
+     *
+     * @param startNanos the value of {@link System#nanoTime()} when the timed work started.
+     */
+    public void observeSince(long startNanos) {
+        observe(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos the duration in nanoseconds.
+     */
+    public void observe(long nanos) {
+        int bucket = 0;
+        while (bucket < BUCKET_NANOS.length && nanos > BUCKET_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        sumNanos.add(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getSumSeconds() {
+        return sumNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Write the buckets, sum and count of the histogram in the Prometheus text format.
+     *
+     * @param name   the name of the histogram.
+     * @param labels the labels of the histogram, e.g. <code>endpoint="data"</code>, or an empty string.
+     */
+    public void write(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_LABELS.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(BUCKET_LABELS[i]).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[BUCKET_LABELS.length].sum();
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ').append(getSumSeconds()).append('\n');
+        // The count is written from the buckets so it always matches the +Inf bucket of the same scrape.
+        out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+    }
+}
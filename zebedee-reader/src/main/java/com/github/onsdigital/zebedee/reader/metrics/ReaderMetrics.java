@@ -0,0 +1,192 @@
+package com.github.onsdigital.zebedee.reader.metrics;
+
+import com.github.onsdigital.zebedee.reader.cache.CacheStatistics;
+import com.github.onsdigital.zebedee.reader.cache.ReaderCache;
+import com.github.onsdigital.zebedee.reader.cache.ReaderCaches;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counters and latency histograms for the requests served by the reader and the stages they go through, written in
+ * the Prometheus text format by the <code>/metrics</code> endpoint.
+ * <p>
+ * Request metrics are recorded by the {@link com.github.onsdigital.zebedee.reader.api.filter.MetricsFilter}. Stages
+ * are timed where they run with a histogram from {@link #stage(String)}. The hit ratios of the {@link ReaderCache}s
+ * that implement {@link CacheStatistics} are read from the {@link ReaderCaches} registry when the metrics are written.
+ */
+public class ReaderMetrics {
+
+    /**
+     * The content type of the Prometheus text format.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Request attribute holding the number of bytes written for a response sent without a Content-Length, e.g. a
+     * generated download.
+     */
+    public static final String RESPONSE_BYTES = ReaderMetrics.class.getName() + ".responseBytes";
+
+    private static final String PREFIX = "zebedee_reader_";
+
+    private static final ReaderMetrics INSTANCE = new ReaderMetrics(ReaderCaches::getCaches);
+
+    private final Supplier<Collection<ReaderCache>> caches;
+    private final ConcurrentMap<String, LatencyHistogram> requestDurations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> responseBytes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LatencyHistogram> stages = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * @param caches the caches to report the hit ratios of.
+     */
+    public ReaderMetrics(Supplier<Collection<ReaderCache>> caches) {
+        this.caches = caches;
+    }
+
+    public static ReaderMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the histogram timing a stage of serving a request, e.g. resolving the file of a uri.
+     *
+     * @param name the name of the stage.
+     */
+    public static LatencyHistogram stage(String name) {
+        return getInstance().getStage(name);
+    }
+
+    LatencyHistogram getStage(String name) {
+        return stages.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Record the start of a request.
+     */
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Record a completed request.
+     *
+     * @param endpoint the endpoint that served the request.
+     * @param status   the status code of the response.
+     * @param nanos    the time taken to serve the request.
+     * @param bytes    the number of bytes in the response body, or a negative value if not known.
+     */
+    public void requestCompleted(String endpoint, int status, long nanos, long bytes) {
+        inFlight.decrementAndGet();
+        requestDurations.computeIfAbsent(endpoint, e -> new LatencyHistogram()).observe(nanos);
+        requestCounts.computeIfAbsent(endpoint + '|' + status, k -> new LongAdder()).increment();
+        if (bytes > 0) {
+            responseBytes.computeIfAbsent(endpoint, e -> new LongAdder()).add(bytes);
+        }
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return every metric in the Prometheus text format.
+     */
+    public String write() {
+        StringBuilder out = new StringBuilder();
+
+        String requestDuration = PREFIX + "http_request_duration_seconds";
+        header(out, requestDuration, "histogram", "Time taken to serve a request, by endpoint.");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(requestDurations).entrySet()) {
+            entry.getValue().write(out, requestDuration, label("endpoint", entry.getKey()));
+        }
+
+        String requests = PREFIX + "http_requests_total";
+        header(out, requests, "counter", "Requests served, by endpoint and status code.");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(requestCounts).entrySet()) {
+            String[] key = entry.getKey().split("\\|", 2);
+            sample(out, requests, label("endpoint", key[0]) + "," + label("status", key[1]), entry.getValue().sum());
+        }
+
+        String bytes = PREFIX + "http_response_bytes_total";
+        header(out, bytes, "counter", "Bytes of response body served, by endpoint.");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(responseBytes).entrySet()) {
+            sample(out, bytes, label("endpoint", entry.getKey()), entry.getValue().sum());
+        }
+
+        String inFlightRequests = PREFIX + "http_requests_in_flight";
+        header(out, inFlightRequests, "gauge", "Requests being served.");
+        sample(out, inFlightRequests, "", inFlight.get());
+
+        String stageDuration = PREFIX + "stage_duration_seconds";
+        header(out, stageDuration, "histogram", "Time taken by a stage of serving a request.");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(stages).entrySet()) {
+            entry.getValue().write(out, stageDuration, label("stage", entry.getKey()));
+        }
+
+        writeCaches(out);
+        return out.toString();
+    }
+
+    /**
+     * Write the statistics of each kind of cache, adding up the caches of the same kind, e.g. the latest edition
+     * index of each content root.
+     */
+    private void writeCaches(StringBuilder out) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (ReaderCache cache : caches.get()) {
+            if (cache instanceof CacheStatistics) {
+                CacheStatistics statistics = (CacheStatistics) cache;
+                long[] total = totals.computeIfAbsent(cache.getClass().getSimpleName(), name -> new long[3]);
+                total[0] += statistics.hitCount();
+                total[1] += statistics.missCount();
+                total[2] += statistics.size();
+            }
+        }
+
+        String hits = PREFIX + "cache_hits_total";
+        header(out, hits, "counter", "Cache lookups served from the cache.");
+        totals.forEach((name, total) -> sample(out, hits, label("cache", name), total[0]));
+
+        String misses = PREFIX + "cache_misses_total";
+        header(out, misses, "counter", "Cache lookups that had to load the entry.");
+        totals.forEach((name, total) -> sample(out, misses, label("cache", name), total[1]));
+
+        String ratio = PREFIX + "cache_hit_ratio";
+        header(out, ratio, "gauge", "Share of cache lookups served from the cache since startup.");
+        totals.forEach((name, total) -> {
+            long lookups = total[0] + total[1];
+            out.append(ratio).append('{').append(label("cache", name)).append("} ")
+                    .append(lookups == 0 ? "NaN" : String.valueOf(total[0] / (double) lookups)).append('\n');
+        });
+
+        String size = PREFIX + "cache_entries";
+        header(out, size, "gauge", "Entries held by the cache.");
+        totals.forEach((name, total) -> sample(out, size, label("cache", name), total[2]));
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
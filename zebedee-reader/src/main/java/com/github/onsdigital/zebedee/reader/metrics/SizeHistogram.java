@@ -0,0 +1,73 @@
+package com.github.onsdigital.zebedee.reader.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of sizes over a fixed set of power of two buckets, e.g. the number of operations merged into one write,
+ * cheap enough to update from any thread.
+ */
+public class SizeHistogram {
+
+    /**
+     * The upper bounds of the buckets.
+     */
+    static final long[] BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    // Each bucket only counts its own observations, they are added up when the histogram is written.
+    private final LongAdder[] buckets = new LongAdder[BUCKETS.length + 1];
+    private final LongAdder sum = new LongAdder();
+
+    public SizeHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a size.
+     *
+     * @param size the size.
+     */
+    public void observe(long size) {
+        int bucket = 0;
+        while (bucket < BUCKETS.length && size > BUCKETS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(size);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Write the buckets, sum and count of the histogram in the Prometheus text format.
+     *
+     * @param name   the name of the histogram.
+     * @param labels the labels of the histogram, e.g. <code>operation="collection_save"</code>, or an empty string.
+     */
+    public void write(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(name).append("_bucket{").append(prefix).append("le=\"").append(BUCKETS[i]).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[BUCKETS.length].sum();
+        out.append(name).append("_bucket{").append(prefix).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+
+        String braces = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(name).append("_sum").append(braces).append(' ').append(sum.sum()).append('\n');
+        out.append(name).append("_count").append(braces).append(' ').append(cumulative).append('\n');
+    }
+}
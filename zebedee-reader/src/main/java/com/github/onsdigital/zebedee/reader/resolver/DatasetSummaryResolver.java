@@ -1,25 +1,56 @@
 package com.github.onsdigital.zebedee.reader.resolver;
 
 import com.github.onsdigital.logging.v2.event.SimpleEvent;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.content.page.statistics.dataset.DatasetLandingPage;
 import com.github.onsdigital.zebedee.content.partial.Link;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
 import com.github.onsdigital.zebedee.reader.api.bean.DatasetSummary;
+import com.github.onsdigital.zebedee.reader.cache.CacheStatistics;
+import com.github.onsdigital.zebedee.reader.cache.ReaderCache;
+import com.github.onsdigital.zebedee.reader.cache.ReaderCaches;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.reader.util.ConcurrentContentLoader;
 import com.github.onsdigital.zebedee.reader.util.DatasetAPIClientSupplier;
+import com.github.onsdigital.zebedee.reader.util.RequestUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import dp.api.dataset.DatasetAPIClient;
 import dp.api.dataset.exception.DatasetAPIException;
 import dp.api.dataset.model.Dataset;
+import org.apache.commons.lang3.ObjectUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 import static com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration.get;
+import static com.github.onsdigital.zebedee.reader.util.ReaderRequestUtils.getRequestedLanguage;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeTrailingSlash;
 
-public class DatasetSummaryResolver {
+/**
+ * Resolves the related dataset links of a page to summaries, from the Dataset API for CMD datasets and from the
+ * dataset landing page for legacy datasets.
+ * <p>
+ * Summaries are cached for a time, up to a maximum number. Legacy summaries are only cached when read from published
+ * content, and are discarded when their landing page is published. CMD summaries are only refreshed when they expire.
+ */
+public class DatasetSummaryResolver implements ReaderCache, CacheStatistics {
 
     private static final String CMD_DATASET_LINK_PREFIX = "/datasets/";
     private static final String PAGE_URI = "page_uri";
@@ -27,14 +58,19 @@ public class DatasetSummaryResolver {
 
     private DatasetAPIClient datasetAPIClient;
     private boolean isDatasetImportEnabled;
+    private final ConcurrentContentLoader loader;
+    private final Cache<Key, DatasetSummary> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
-    private static DatasetSummaryResolver INSTANCE = null;
+    private static volatile DatasetSummaryResolver INSTANCE = null;
 
     public static DatasetSummaryResolver getInstance() throws ZebedeeException {
         if (INSTANCE == null) {
             synchronized (DatasetSummaryResolver.class) {
                 if (INSTANCE == null) {
                     INSTANCE = new DatasetSummaryResolver();
+                    ReaderCaches.register(INSTANCE);
                 }
             }
         }
@@ -45,25 +81,104 @@ public class DatasetSummaryResolver {
      * @throws ZebedeeException
      */
     DatasetSummaryResolver() throws ZebedeeException {
-        this.isDatasetImportEnabled = get().isDatasetImportEnabled();
-        if (isDatasetImportEnabled) {
-            this.datasetAPIClient = DatasetAPIClientSupplier.get();
-        }
+        this(DatasetAPIClientSupplier.get(), get().isDatasetImportEnabled(), createLoader(get()),
+                get().getDatasetSummaryCacheSize(), get().getDatasetSummaryCacheSeconds());
     }
 
+    /**
+     * Resolves summaries one at a time on the calling thread, without a cache.
+     */
     DatasetSummaryResolver(DatasetAPIClient datasetAPIClient, boolean isDatasetImportEnabled) {
+        this(datasetAPIClient, isDatasetImportEnabled,
+                new ConcurrentContentLoader(MoreExecutors.newDirectExecutorService(), 1), 0, 0);
+    }
+
+    /**
+     * @param loader       resolves the links of a page in parallel.
+     * @param cacheSize    the maximum number of summaries cached, 0 to disable the cache.
+     * @param cacheSeconds how long a summary is cached for.
+     */
+    DatasetSummaryResolver(DatasetAPIClient datasetAPIClient, boolean isDatasetImportEnabled,
+                           ConcurrentContentLoader loader, long cacheSize, long cacheSeconds) {
         this.datasetAPIClient = datasetAPIClient;
         this.isDatasetImportEnabled = isDatasetImportEnabled;
+        this.loader = loader;
+        this.cache = cacheSize > 0 && cacheSeconds > 0
+                ? CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheSeconds, TimeUnit.SECONDS)
+                .build()
+                : null;
+    }
+
+    private static ConcurrentContentLoader createLoader(ReaderConfiguration cfg) {
+        info().data("threads", cfg.getDatasetSummaryThreads())
+                .data("request_concurrency", cfg.getDatasetSummaryRequestConcurrency())
+                .data("cache_size", cfg.getDatasetSummaryCacheSize())
+                .data("cache_seconds", cfg.getDatasetSummaryCacheSeconds())
+                .log("initialising dataset summary resolver");
+        return new ConcurrentContentLoader(Executors.newFixedThreadPool(cfg.getDatasetSummaryThreads(),
+                new ThreadFactoryBuilder().setNameFormat("dataset-summary-%d").setDaemon(true).build()),
+                cfg.getDatasetSummaryRequestConcurrency());
     }
 
     public DatasetSummary resolve(String pageURI, Link datasetLink, HttpServletRequest request,
                                   ReadRequestHandler handler) {
+        Key legacyKey = cache == null ? null
+                : legacyKey(datasetLink, RequestUtils.getCollectionId(request), requestLanguage(request));
+        return resolve(pageURI, datasetLink, legacyKey,
+                () -> getLegacyDatasetSummary(pageURI, datasetLink, request, handler));
+    }
+
+    /**
+     * Resolve all the dataset links of a page, several at once. A link appearing more than once is only resolved
+     * once.
+     *
+     * @return the summary of each link, in the order of the links, with null for any link that can not be resolved.
+     */
+    public List<DatasetSummary> resolveAll(String pageURI, List<Link> datasetLinks, HttpServletRequest request,
+                                           ReadRequestHandler handler) throws ZebedeeException, IOException {
+        // The links are resolved away from the request, so everything needed from it is read first.
+        String collectionId = RequestUtils.getCollectionId(request);
+        String sessionId = RequestUtils.getSessionId(request);
+        ContentLanguage language = requestLanguage(request);
+
+        Map<String, Link> linksByUri = new LinkedHashMap<>();
+        for (Link link : datasetLinks) {
+            if (link != null && link.getUri() != null) {
+                linksByUri.putIfAbsent(link.getUri().toString(), link);
+            }
+        }
+        List<String> uris = new ArrayList<>(linksByUri.keySet());
+
+        List<DatasetSummary> resolved = loader.load(uris, uri -> {
+            Link link = linksByUri.get(uri);
+            return resolve(pageURI, link, legacyKey(link, collectionId, language),
+                    () -> getLegacyDatasetSummary(pageURI, link, collectionId, sessionId, handler));
+        });
+
+        Map<String, DatasetSummary> summariesByUri = new LinkedHashMap<>();
+        for (int i = 0; i < uris.size(); i++) {
+            summariesByUri.put(uris.get(i), resolved.get(i));
+        }
+        List<DatasetSummary> summaries = new ArrayList<>(datasetLinks.size());
+        for (Link link : datasetLinks) {
+            summaries.add(link != null && link.getUri() != null ? summariesByUri.get(link.getUri().toString()) : null);
+        }
+        return summaries;
+    }
+
+    /**
+     * @param legacyKey the key to cache a legacy summary under, or null if it should not be cached.
+     * @param legacy    reads the summary of a legacy dataset.
+     */
+    private DatasetSummary resolve(String pageURI, Link datasetLink, Key legacyKey, Supplier<DatasetSummary> legacy) {
         SimpleEvent event = info().data(PAGE_URI, pageURI).data(DATASET_URI, datasetLink.getUri().toString());
 
         if (datasetLink != null && datasetLink.getUri().toString().startsWith(CMD_DATASET_LINK_PREFIX)) {
             if (isDatasetImportEnabled) {
                 event.log("uri identified as cmd dataset cmd feature flag is enabled resolving summary details");
-                return getCMDDatasetSummary(pageURI, datasetLink);
+                return cached(Key.cmd(datasetLink), () -> getCMDDatasetSummary(pageURI, datasetLink));
             }
             event.log("uri identified as cmd dataset cmd feature flag is disabled summary details will not " +
                     "be resolved or include in results");
@@ -71,7 +186,61 @@ public class DatasetSummaryResolver {
         }
 
         event.log("uri identified as legacy dataset resolving summary details");
-        return getLegacyDatasetSummary(pageURI, datasetLink, request, handler);
+        return cached(legacyKey, legacy);
+    }
+
+    private DatasetSummary cached(Key key, Supplier<DatasetSummary> supplier) {
+        if (cache == null || key == null) {
+            return supplier.get();
+        }
+        DatasetSummary summary = cache.getIfPresent(key);
+        if (summary != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            summary = supplier.get();
+            if (summary != null) {
+                cache.put(key, summary);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Discard the cached summaries of the legacy datasets published or deleted, or below a folder that was.
+     */
+    @Override
+    public void onPublish(Collection<String> uris) {
+        if (cache == null) {
+            return;
+        }
+        for (String uri : uris) {
+            String published = removeTrailingSlash(uri);
+            cache.asMap().keySet().removeIf(key -> key.isLegacy()
+                    && (published.equals(key.uri) || published.startsWith(key.uri + "/")
+                    || key.uri.startsWith(published + "/")));
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public long size() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
     }
 
     /**
@@ -92,6 +261,26 @@ public class DatasetSummaryResolver {
         }
     }
 
+    /**
+     * Get a dataset summary for a old world legacy dataset, reading the collection and session given rather than
+     * those of a request.
+     */
+    DatasetSummary getLegacyDatasetSummary(String pageURI, Link datasetLink, String collectionId, String sessionId,
+                                           ReadRequestHandler handler) {
+        String datasetURI = datasetLink.getUri().toString();
+        try {
+            DatasetLandingPage dlp = (DatasetLandingPage) handler.findContent(collectionId, sessionId, null,
+                    datasetURI);
+            return new DatasetSummary(dlp);
+        } catch (ZebedeeException | IOException e) {
+            error().exception(e)
+                    .data(PAGE_URI, pageURI)
+                    .data(DATASET_URI, datasetURI)
+                    .log("error resolving legacy dataset summary, dataset will be ommitted from the results");
+            return null;
+        }
+    }
+
     /**
      * Get a dataset summary for a new world CMD dataset.
      */
@@ -126,4 +315,57 @@ public class DatasetSummaryResolver {
         }
         return sections[2];
     }
+
+    /**
+     * @return the key to cache a legacy summary under, or null if it is read from a collection and is not cached.
+     */
+    private static Key legacyKey(Link datasetLink, String collectionId, ContentLanguage language) {
+        return collectionId == null ? Key.legacy(datasetLink, language) : null;
+    }
+
+    private static ContentLanguage requestLanguage(HttpServletRequest request) {
+        return ObjectUtils.defaultIfNull(getRequestedLanguage(request), ContentLanguage.ENGLISH);
+    }
+
+    /**
+     * A cached summary: a CMD dataset by its link, or a legacy dataset by its landing page uri and language.
+     */
+    private static class Key {
+        private final String uri;
+        private final ContentLanguage language;
+
+        private Key(String uri, ContentLanguage language) {
+            this.uri = uri;
+            this.language = language;
+        }
+
+        static Key cmd(Link datasetLink) {
+            return new Key(removeTrailingSlash(datasetLink.getUri().toString()), null);
+        }
+
+        static Key legacy(Link datasetLink, ContentLanguage language) {
+            return new Key(removeTrailingSlash(datasetLink.getUri().toString()), language);
+        }
+
+        boolean isLegacy() {
+            return language != null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return uri.equals(key.uri) && language == key.language;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, language);
+        }
+    }
 }
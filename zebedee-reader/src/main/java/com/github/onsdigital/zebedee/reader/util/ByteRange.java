@@ -0,0 +1,108 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An inclusive range of bytes requested with an HTTP <code>Range</code> header (RFC 7233).
+ */
+public class ByteRange {
+
+    /**
+     * Requests for more ranges than this are answered with the whole file rather than a multipart response.
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long end;
+
+    ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parse a Range header against a file of the given size.
+     *
+     * @param header the value of the Range header.
+     * @param size   the size of the file in bytes.
+     * @return the satisfiable ranges, an empty list if none of the ranges can be satisfied, or null if the header
+     * should be ignored and the whole file sent because it is malformed, asks for too many ranges or for more bytes
+     * than the file holds.
+     */
+    public static List<ByteRange> parse(String header, long size) {
+        if (header == null || !StringUtils.startsWithIgnoreCase(header.trim(), BYTES_UNIT)) {
+            return null;
+        }
+
+        String[] specs = header.trim().substring(BYTES_UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        long total = 0;
+        for (String spec : specs) {
+            String trimmed = spec.trim();
+            int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+
+            long start;
+            long end;
+            try {
+                if (dash == 0) {
+                    long suffix = Long.parseLong(trimmed.substring(1));
+                    if (suffix == 0) {
+                        continue;
+                    }
+                    start = Math.max(0, size - suffix);
+                    end = size - 1;
+                } else {
+                    start = Long.parseLong(trimmed.substring(0, dash));
+                    String last = trimmed.substring(dash + 1);
+                    end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+                    if (end < start) {
+                        return null;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            if (start < 0 || start >= size) {
+                continue;
+            }
+            ByteRange range = new ByteRange(start, Math.min(end, size - 1));
+            total += range.length();
+            ranges.add(range);
+        }
+
+        // Overlapping ranges that add up to more than the file are cheaper to answer with the file itself.
+        return total > size ? null : ranges;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * @return the value of the Content-Range header for this range of a file of the given size.
+     */
+    public String toContentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+}
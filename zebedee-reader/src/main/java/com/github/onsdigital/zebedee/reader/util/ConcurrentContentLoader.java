@@ -0,0 +1,135 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Loads content for a list of uris in parallel, returning it in the order of the uris.
+ * <p>
+ * Loads run on a fixed pool of threads shared by every request, so the total number running at once is bounded
+ * however many requests there are. Each request also only runs a limited number of its loads at once, handing the next
+ * one to the pool as an earlier one finishes, so a single request for hundreds of uris cannot fill the pool queue and
+ * hold up other requests, or take the disk from the requests served outside the pool.
+ */
+public class ConcurrentContentLoader {
+
+    private static volatile ConcurrentContentLoader INSTANCE = null;
+
+    private final ExecutorService executor;
+    private final int requestConcurrency;
+
+    /**
+     * @param executor           runs the loads of all requests.
+     * @param requestConcurrency the number of loads a single request runs at once.
+     */
+    public ConcurrentContentLoader(ExecutorService executor, int requestConcurrency) {
+        this.executor = executor;
+        this.requestConcurrency = requestConcurrency;
+    }
+
+    public static ConcurrentContentLoader getInstance() {
+        if (INSTANCE == null) {
+            synchronized (ConcurrentContentLoader.class) {
+                if (INSTANCE == null) {
+                    ReaderConfiguration cfg = ReaderConfiguration.get();
+                    info().data("threads", cfg.getExportThreads())
+                            .data("request_concurrency", cfg.getExportRequestConcurrency())
+                            .log("initialising concurrent content loader");
+                    ExecutorService executor = Executors.newFixedThreadPool(cfg.getExportThreads(),
+                            new ThreadFactoryBuilder().setNameFormat("content-loader-%d").setDaemon(true).build());
+                    INSTANCE = new ConcurrentContentLoader(executor, cfg.getExportRequestConcurrency());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Load the content for each of the given uris. The first load to fail stops any more being started and its
+     * exception is thrown once the loads already running have been cancelled.
+     *
+     * @param uris   the uris to load.
+     * @param loader loads the content of a single uri.
+     * @return the content loaded, in the order of the uris.
+     */
+    public <T> List<T> load(List<String> uris, Loader<T> loader) throws ZebedeeException, IOException {
+        Semaphore permits = new Semaphore(requestConcurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<T>> futures = new ArrayList<>(uris.size());
+
+        try {
+            for (String uri : uris) {
+                permits.acquire();
+                if (failed.get()) {
+                    break;
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        return loader.load(uri);
+                    } catch (Exception | Error e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<T> results = new ArrayList<>(uris.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted loading content");
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (CancellationException e) {
+            throw new InterruptedIOException("content load cancelled");
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static IOException unwrap(Throwable cause) throws ZebedeeException {
+        if (cause instanceof ZebedeeException) {
+            throw (ZebedeeException) cause;
+        }
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Loads the content of a single uri.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load(String uri) throws ZebedeeException, IOException;
+    }
+}
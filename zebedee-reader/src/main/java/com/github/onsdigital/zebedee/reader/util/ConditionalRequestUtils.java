@@ -0,0 +1,107 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Evaluates the <code>If-None-Match</code> and <code>If-Modified-Since</code> headers of conditional GET requests
+ * (RFC 7232) so an unchanged response can be answered with a 304 and no body.
+ */
+public class ConditionalRequestUtils {
+
+    public static final String ETAG = "Etag";
+    public static final String LAST_MODIFIED = "Last-Modified";
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * Check whether the client already holds the current representation. <code>If-None-Match</code> takes precedence
+     * over <code>If-Modified-Since</code>, which is only evaluated when the former is absent.
+     *
+     * @param request      the request, may be null.
+     * @param etag         the Etag of the current representation, or null if it is not known yet.
+     * @param lastModified the last modified time of the current representation in millis, or a negative value if
+     *                     unknown.
+     * @return true if a 304 should be sent instead of the representation.
+     */
+    public static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        if (request == null) {
+            return false;
+        }
+
+        String ifNoneMatch = request.getHeader(IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return etag != null && matches(ifNoneMatch, etag);
+        }
+
+        if (lastModified < 0 || request.getHeader(IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+        try {
+            long since = request.getDateHeader(IF_MODIFIED_SINCE);
+            // HTTP dates only have second precision.
+            return since >= 0 && lastModified / 1000 <= since / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sets the Etag and Last-Modified headers for the values that are known.
+     */
+    public static void setValidators(HttpServletResponse response, String etag, long lastModified) {
+        if (etag != null) {
+            response.setHeader(ETAG, etag);
+        }
+        if (lastModified >= 0) {
+            response.setDateHeader(LAST_MODIFIED, lastModified);
+        }
+    }
+
+    /**
+     * Sends a 304 response carrying the validators of the current representation and no body.
+     */
+    public static void sendNotModified(HttpServletResponse response, String etag, long lastModified) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        setValidators(response, etag, lastModified);
+    }
+
+    /**
+     * Build an Etag for a file from its size and modification time, so no bytes of the file have to be read.
+     */
+    public static String fileEtag(long size, long lastModified) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Weak comparison of each entity tag in an If-None-Match header against the given Etag.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            if (opaqueTag.equals(opaqueTag(candidate))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Strips the weak indicator and quotes from an entity tag. Etags set by older versions of the reader are not
+     * quoted, so both forms are compared by their opaque value.
+     */
+    private static String opaqueTag(String etag) {
+        String tag = etag.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        return StringUtils.strip(tag, "\"");
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static com.github.onsdigital.zebedee.util.URIUtils.getLastSegment;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeLeadingSlash;
+import static com.github.onsdigital.zebedee.util.URIUtils.removeTrailingSlash;
+
+/**
+ * File metadata of the published json a content response is built from: the data file itself and the folder holding
+ * the content, which changes when a new edition is added alongside it and so moves the latest release flag.
+ * <p>
+ * A stamp only needs a couple of file stats so it can be used to validate cached or conditional responses without
+ * reading the content.
+ */
+public class ContentStamp {
+
+    private static final String LATEST = "latest";
+
+    private final Path dataFile;
+    private final long lastModified;
+    private final long size;
+    private final long parentLastModified;
+
+    ContentStamp(Path dataFile, long lastModified, long size, long parentLastModified) {
+        this.dataFile = dataFile;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.parentLastModified = parentLastModified;
+    }
+
+    /**
+     * Stamp the published content for the given uri in the configured content directory.
+     *
+     * @see #of(Path, String, ContentLanguage)
+     */
+    public static ContentStamp published(String uri, ContentLanguage language) throws IOException {
+        return of(Paths.get(ReaderConfiguration.get().getContentDir()), uri, language);
+    }
+
+    /**
+     * Stat the files the content for the given uri is read from, falling back to the English data file the same way
+     * the reader does.
+     *
+     * @param contentRoot the content directory.
+     * @param uri         the requested uri.
+     * @param language    the requested language, null for English.
+     * @return the stamp, or null if the uri is empty, asks for the latest edition or can not be found.
+     */
+    public static ContentStamp of(Path contentRoot, String uri, ContentLanguage language) throws IOException {
+        if (StringUtils.isEmpty(uri) || LATEST.equalsIgnoreCase(getLastSegment(uri))) {
+            return null;
+        }
+        if (language == null) {
+            language = ContentLanguage.ENGLISH;
+        }
+
+        String relative = removeTrailingSlash(removeLeadingSlash(uri));
+        Path folder = contentRoot.resolve(relative);
+        Path dataFile = contentRoot.resolve(relative + ".json");
+        if (StringUtils.isEmpty(relative) || !Files.exists(dataFile)) {
+            dataFile = folder.resolve(language.getDataFileName());
+            if (!Files.exists(dataFile)) {
+                dataFile = folder.resolve(ContentLanguage.ENGLISH.getDataFileName());
+            }
+        }
+
+        try {
+            BasicFileAttributes file = Files.readAttributes(dataFile, BasicFileAttributes.class);
+            long parentModified = 0;
+            Path parent = dataFile.getParent().getParent();
+            if (parent != null && parent.startsWith(contentRoot)) {
+                parentModified = Files.getLastModifiedTime(parent).toMillis();
+            }
+            return new ContentStamp(dataFile, file.lastModifiedTime().toMillis(), file.size(), parentModified);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the latest modification time of the files behind the content.
+     */
+    public long getLastModified() {
+        return Math.max(lastModified, parentLastModified);
+    }
+
+    /**
+     * Build a weak Etag for a response generated from this content.
+     *
+     * @param variant distinguishes the different responses generated from the same content, e.g. the file format.
+     * @return the Etag
+     */
+    public String toEtag(String variant) {
+        String stamp = dataFile + "|" + lastModified + "|" + size + "|" + parentLastModified + "|" + variant;
+        return "W/\"" + DigestUtils.sha1Hex(stamp) + "\"";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ContentStamp that = (ContentStamp) o;
+        return lastModified == that.lastModified
+                && size == that.size
+                && parentLastModified == that.parentLastModified
+                && dataFile.equals(that.dataFile);
+    }
+
+    @Override
+    public int hashCode() {
+        return dataFile.hashCode();
+    }
+}
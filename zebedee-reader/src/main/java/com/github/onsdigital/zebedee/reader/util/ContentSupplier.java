@@ -0,0 +1,13 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+
+import java.io.IOException;
+
+/**
+ * Supplies the content for a response when it has to be read, e.g. because it could not be served from a cache.
+ */
+@FunctionalInterface
+public interface ContentSupplier {
+    Object get() throws ZebedeeException, IOException;
+}
@@ -0,0 +1,147 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.reader.Resource;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams file backed resources to the response with {@link FileChannel#transferTo}, so a download is never held in
+ * memory, and answers <code>Range</code> requests with 206 (partial content) responses.
+ */
+public class FileResponseUtils {
+
+    public static final String ACCEPT_RANGES = "Accept-Ranges";
+    public static final String RANGE = "Range";
+    public static final String IF_RANGE = "If-Range";
+    public static final String CONTENT_RANGE = "Content-Range";
+
+    private static final String BYTES = "bytes";
+    private static final String CRLF = "\r\n";
+
+    /**
+     * Send the file behind the given resource. The content type, disposition and validator headers are expected to
+     * have been set already.
+     *
+     * @param resource a resource with a path, Etag and content length.
+     * @param request  the request, checked for a Range header. May be null.
+     * @param response the response
+     */
+    public static void sendFile(Resource resource, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long size = resource.getContentLength();
+        response.setHeader(ACCEPT_RANGES, BYTES);
+
+        List<ByteRange> ranges = requestedRanges(request, resource.getEtag(), resource.getLastModified(), size);
+        try (FileChannel channel = FileChannel.open(resource.getPath(), StandardOpenOption.READ)) {
+            if (ranges == null) {
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentLengthLong(size);
+                transfer(channel, 0, size, Channels.newChannel(response.getOutputStream()));
+            } else if (ranges.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(CONTENT_RANGE, BYTES + " */" + size);
+                response.setContentLength(0);
+            } else if (ranges.size() == 1) {
+                ByteRange range = ranges.get(0);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(CONTENT_RANGE, range.toContentRange(size));
+                response.setContentLengthLong(range.length());
+                transfer(channel, range.getStart(), range.length(), Channels.newChannel(response.getOutputStream()));
+            } else {
+                sendMultipart(channel, ranges, size, resource.getMimeType(), response);
+            }
+        }
+    }
+
+    /**
+     * @return the ranges to send, an empty list if the requested ranges can not be satisfied, or null if the whole
+     * file should be sent.
+     */
+    static List<ByteRange> requestedRanges(HttpServletRequest request, String etag, long lastModified, long size) {
+        if (request == null) {
+            return null;
+        }
+        String range = request.getHeader(RANGE);
+        if (range == null || !isCurrent(request.getHeader(IF_RANGE), request, etag, lastModified)) {
+            return null;
+        }
+        return ByteRange.parse(range, size);
+    }
+
+    /**
+     * A range request made with If-Range only applies if the client still holds the current version of the file,
+     * otherwise it gets the whole file.
+     */
+    private static boolean isCurrent(String ifRange, HttpServletRequest request, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.trim().startsWith("\"") || ifRange.trim().startsWith("W/")) {
+            // Only strong comparison is allowed for ranges.
+            return ifRange.trim().equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(IF_RANGE);
+            return lastModified >= 0 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void sendMultipart(FileChannel channel, List<ByteRange> ranges, long size, String mimeType,
+                                      HttpServletResponse response) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (ByteRange range : ranges) {
+            StringBuilder header = new StringBuilder(CRLF).append("--").append(boundary).append(CRLF);
+            if (mimeType != null) {
+                header.append("Content-Type: ").append(mimeType).append(CRLF);
+            }
+            header.append(CONTENT_RANGE).append(": ").append(range.toContentRange(size)).append(CRLF).append(CRLF);
+            byte[] bytes = header.toString().getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(bytes);
+            contentLength += bytes.length + range.length();
+        }
+        byte[] end = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += end.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        for (int i = 0; i < ranges.size(); i++) {
+            ByteRange range = ranges.get(i);
+            out.write(partHeaders.get(i));
+            transfer(channel, range.getStart(), range.length(), target);
+        }
+        out.write(end);
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        while (count > 0) {
+            long transferred = channel.transferTo(position, count, target);
+            if (transferred <= 0) {
+                throw new EOFException("file was truncated while it was being sent");
+            }
+            position += transferred;
+            count -= transferred;
+        }
+    }
+}
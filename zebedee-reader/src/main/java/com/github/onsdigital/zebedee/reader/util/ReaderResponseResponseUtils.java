@@ -1,20 +1,32 @@
 package com.github.onsdigital.zebedee.reader.util;
 
 import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.content.util.ContentUtil;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.reader.DataDownload;
 import com.github.onsdigital.zebedee.reader.Resource;
+import com.github.onsdigital.zebedee.reader.cache.ResponseCache;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.ETAG;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.isNotModified;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.sendNotModified;
+import static com.github.onsdigital.zebedee.reader.util.ConditionalRequestUtils.setValidators;
 
 /**
  * Created by bren on 31/07/15.
@@ -22,34 +34,177 @@ import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 public class ReaderResponseResponseUtils {
 
     public static void sendResponse(Object content, HttpServletResponse response) throws IOException {
-        response.setStatus(HttpServletResponse.SC_OK);
-        response.setContentType(MediaType.APPLICATION_JSON);
-        if (content instanceof Content) {
-            response.setHeader("Etag", ContentUtil.hash((Content) content));
+        sendResponse(content, null, response, -1);
+    }
+
+    /**
+     * Sends json content, or a 304 if the request is conditional and the client already holds the content.
+     *
+     * @param content      the content to serialise.
+     * @param request      the request, checked for conditional headers. May be null.
+     * @param response     the response
+     * @param lastModified the last modified time of the content, or a negative value if unknown.
+     */
+    public static void sendResponse(Object content, HttpServletRequest request, HttpServletResponse response,
+                                    long lastModified) throws IOException {
+        byte[] body = ContentUtil.serialise(content).getBytes(StandardCharsets.UTF_8);
+        String etag = content instanceof Content ? ContentUtil.hash(body) : null;
+        if (isNotModified(request, etag, lastModified)) {
+            sendNotModified(response, etag, lastModified);
+            return;
+        }
+
+        String pageType = content instanceof Page ? ((Page) content).getType().getLabel() : null;
+        setJsonHeaders(response, etag, pageType);
+        setValidators(response, null, lastModified);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Sends published json content, from the {@link ResponseCache} when it is enabled.
+     * <p>
+     * The files the content is read from are stamped first so a request that is only conditional on the modification
+     * time is answered without reading the content at all.
+     *
+     * @param request  the request
+     * @param response the response
+     * @param uri      the requested uri.
+     * @param language the requested language, null for English.
+     * @param filter   the requested data filter, may be null.
+     * @param supplier reads the content.
+     */
+    public static void sendPublishedResponse(HttpServletRequest request, HttpServletResponse response, String uri,
+                                             ContentLanguage language, DataFilter filter, ContentSupplier supplier)
+            throws ZebedeeException, IOException {
+        ContentStamp stamp = ContentStamp.published(uri, language);
+        if (stamp == null) {
+            sendResponse(supplier.get(), request, response, -1);
+            return;
+        }
+
+        if (isNotModified(request, null, stamp.getLastModified())) {
+            sendNotModified(response, null, stamp.getLastModified());
+            return;
         }
 
-        if (content instanceof Page) {
-            Page page = (Page) content;
-            response.setHeader("ONS-Page-Type", page.getType().getLabel());
+        ResponseCache responseCache = ResponseCache.getInstance();
+        if (responseCache != null) {
+            responseCache.sendResponse(request, response, uri, language, filter, stamp, supplier);
+        } else {
+            sendResponse(supplier.get(), request, response, stamp.getLastModified());
         }
+    }
 
-        IOUtils.copy(new StringReader(ContentUtil.serialise(content)), response.getOutputStream());
+    /**
+     * Sets the status and headers of a json content response.
+     *
+     * @param response the response
+     * @param etag     the Etag of the serialised content, or null if there is none
+     * @param pageType the label of the page type, or null if the content is not a page
+     */
+    public static void setJsonHeaders(HttpServletResponse response, String etag, String pageType) {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON);
+        if (etag != null) {
+            response.setHeader(ETAG, etag);
+        }
+        if (pageType != null) {
+            response.setHeader("ONS-Page-Type", pageType);
+        }
     }
 
     public static void sendResponse(Resource resource, HttpServletResponse response, String encoding) throws IOException {
+        sendResponse(resource, null, response, encoding);
+    }
+
+    /**
+     * Sends a resource, or a 304 if the request is conditional and the client already holds the resource.
+     * <p>
+     * When the resource carries an Etag, e.g. one built from the metadata of the file it is read from, the request is
+     * checked before any data is read. Otherwise the Etag is a hash of the data.
+     * <p>
+     * Resources read straight from a file are streamed from the file, honouring any Range header (see
+     * {@link FileResponseUtils}), rather than being buffered in memory.
+     *
+     * @param resource the resource
+     * @param request  the request, checked for conditional and range headers. May be null.
+     * @param response the response
+     * @param encoding the character encoding of the resource, or null.
+     */
+    public static void sendResponse(Resource resource, HttpServletRequest request, HttpServletResponse response,
+                                    String encoding) throws IOException {
+        String etag = resource.getEtag();
+        long lastModified = resource.getLastModified();
+        if (etag != null && isNotModified(request, etag, lastModified)) {
+            sendNotModified(response, etag, lastModified);
+            return;
+        }
+
+        if (resource.getPath() != null && etag != null && resource.getContentLength() >= 0) {
+            setResourceHeaders(resource, response, encoding, etag, lastModified);
+            FileResponseUtils.sendFile(resource, request, response);
+            return;
+        }
+
         byte[] bytes = IOUtils.toByteArray(resource.getData());
+        if (etag == null) {
+            etag = ContentUtil.hash(bytes);
+            if (isNotModified(request, etag, lastModified)) {
+                sendNotModified(response, etag, lastModified);
+                return;
+            }
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        setResourceHeaders(resource, response, encoding, etag, lastModified);
+        response.setContentLength(bytes.length);
+        IOUtils.write(bytes, response.getOutputStream());
+    }
+
+    /**
+     * Sends generated download data, writing it straight to the response as it is generated. The length of the data
+     * is not known up front, so no Content-Length is set and the response is chunked.
+     * <p>
+     * Conditional requests should be answered before the download is prepared, as the Etag of generated data can only
+     * come from the metadata of the content it is generated from, e.g. a {@link ContentStamp}.
+     *
+     * @param download     the download
+     * @param request      the request, given the number of bytes written for the {@link ReaderMetrics}. May be null.
+     * @param response     the response
+     * @param encoding     the character encoding of the download, or null.
+     * @param etag         the Etag of the download, or null if there is none.
+     * @param lastModified the last modified time of the content, or a negative value if unknown.
+     */
+    public static void sendResponse(DataDownload download, HttpServletRequest request, HttpServletResponse response,
+                                    String encoding, String etag, long lastModified) throws IOException {
         response.setStatus(HttpServletResponse.SC_OK);
-        response.setContentType(resource.getMimeType());
+        setResourceHeaders(download.getName(), download.getMimeType(), response, encoding, etag, lastModified);
+        CountingOutputStream out = new CountingOutputStream(response.getOutputStream());
+        try {
+            download.writeTo(out);
+        } finally {
+            if (request != null) {
+                request.setAttribute(ReaderMetrics.RESPONSE_BYTES, out.getByteCount());
+            }
+        }
+    }
+
+    private static void setResourceHeaders(Resource resource, HttpServletResponse response, String encoding,
+                                           String etag, long lastModified) {
+        setResourceHeaders(resource.getName(), resource.getMimeType(), response, encoding, etag, lastModified);
+    }
+
+    private static void setResourceHeaders(String name, String mimeType, HttpServletResponse response,
+                                           String encoding, String etag, long lastModified) {
+        response.setContentType(mimeType);
         if (encoding != null) {
             response.setCharacterEncoding(encoding);
         }
-        response.setHeader("Content-Disposition", "inline; filename=\"" + resource.getName() + "\"");
-        response.setHeader("Etag", ContentUtil.hash(bytes));
-        IOUtils.write(bytes, response.getOutputStream());
-        response.setContentLength(bytes.length);
+        response.setHeader("Content-Disposition", "inline; filename=\"" + name + "\"");
+        setValidators(response, etag, lastModified);
     }
 
-
     public static void sendResponse(Resource resource, HttpServletResponse response) throws IOException {
         sendResponse(resource, response, null);
     }
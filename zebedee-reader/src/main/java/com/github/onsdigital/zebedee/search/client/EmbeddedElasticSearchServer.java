@@ -14,7 +14,7 @@ import java.nio.file.Paths;
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.error;
 import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
 
-class EmbeddedElasticSearchServer {
+public class EmbeddedElasticSearchServer {
 
     private static final String DEFAULT_CLUSTERNAME = "ONSCluster";
     private final Node node;
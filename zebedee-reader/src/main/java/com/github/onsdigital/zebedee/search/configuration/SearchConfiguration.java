@@ -15,6 +15,16 @@ public class SearchConfiguration {
     private static String elasticSearchCluster = defaultIfBlank(getVariableValue("ELASTIC_SEARCH_CLUSTER"), "");
     private static boolean startEmbeddedSearch = "Y".equals(defaultIfBlank(getVariableValue("START_EMBEDDED_SERVER"), "N"));
 
+    // Reindex pipeline tuning, see IndexingPipeline.
+    private static int indexScanThreads = getIntValue("INDEX_SCAN_THREADS", 4);
+    private static int indexWorkers = getIntValue("INDEX_WORKERS", Runtime.getRuntime().availableProcessors());
+    private static int indexQueueSize = getIntValue("INDEX_QUEUE_SIZE", 1000);
+    private static int indexBulkActions = getIntValue("INDEX_BULK_ACTIONS", 10000);
+    private static int indexBulkSizeMb = getIntValue("INDEX_BULK_SIZE_MB", 100);
+    private static int indexBulkConcurrency = getIntValue("INDEX_BULK_CONCURRENCY", 4);
+    private static int indexBulkFlushIntervalSeconds = getIntValue("INDEX_BULK_FLUSH_INTERVAL_SECONDS", 0);
+    private static String searchJournalDir = getVariableValue("SEARCH_JOURNAL_DIR");
+
     public static boolean isStartEmbeddedSearch() {
         return startEmbeddedSearch;
     }
@@ -34,5 +44,47 @@ public class SearchConfiguration {
         return elasticSearchCluster;
     }
 
+    public static int getIndexScanThreads() {
+        return indexScanThreads;
+    }
+
+    public static int getIndexWorkers() {
+        return indexWorkers;
+    }
+
+    public static int getIndexQueueSize() {
+        return indexQueueSize;
+    }
+
+    public static int getIndexBulkActions() {
+        return indexBulkActions;
+    }
+
+    public static int getIndexBulkSizeMb() {
+        return indexBulkSizeMb;
+    }
+
+    public static int getIndexBulkConcurrency() {
+        return indexBulkConcurrency;
+    }
+
+    /**
+     * @return the seconds after which a partly filled bulk request is sent anyway, 0 to only send full requests.
+     */
+    public static int getIndexBulkFlushIntervalSeconds() {
+        return indexBulkFlushIntervalSeconds;
+    }
+
+    /**
+     * @return the directory of the search change journal, or blank to keep it next to the content directory.
+     */
+    public static String getSearchJournalDir() {
+        return searchJournalDir;
+    }
+
+    private static int getIntValue(String name, int defaultValue) {
+        return Integer.parseInt(defaultIfBlank(getVariableValue(name), String.valueOf(defaultValue)));
+    }
+
 
 }
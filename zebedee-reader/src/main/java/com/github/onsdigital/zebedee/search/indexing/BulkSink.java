@@ -0,0 +1,108 @@
+package com.github.onsdigital.zebedee.search.indexing;
+
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.warn;
+
+/**
+ * Sends index requests to elastic search in bulk, counting the outcome of each into an {@link IndexingProgress}.
+ * <p>
+ * Adding a request blocks while the configured number of bulk requests are already in flight, which holds back
+ * whatever is producing the requests. Closing the sink sends the last partial bulk and waits for every bulk request
+ * to complete.
+ */
+class BulkSink implements AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_MINUTES = 30;
+
+    private final BulkProcessor bulkProcessor;
+    private final IndexingProgress progress;
+
+    BulkSink(Client client, IndexingPipeline.Options options, IndexingProgress progress) {
+        this.progress = progress;
+
+        BulkProcessor.Builder builder = BulkProcessor.builder(client, new Listener())
+                .setBulkActions(options.getBulkActions())
+                .setBulkSize(new ByteSizeValue(options.getBulkSizeMb(), ByteSizeUnit.MB))
+                .setConcurrentRequests(options.getBulkConcurrency());
+        if (options.getFlushIntervalSeconds() > 0) {
+            builder.setFlushInterval(TimeValue.timeValueSeconds(options.getFlushIntervalSeconds()));
+        }
+        this.bulkProcessor = builder.build();
+    }
+
+    void add(IndexRequest request) {
+        bulkProcessor.add(request);
+    }
+
+    void add(UpdateRequest request) {
+        bulkProcessor.add((ActionRequest) request);
+    }
+
+    void add(DeleteRequest request) {
+        bulkProcessor.add(request);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!bulkProcessor.awaitClose(CLOSE_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                throw new IOException("timed out waiting for elastic search bulk requests to complete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted waiting for elastic search bulk requests to complete");
+        }
+    }
+
+    private class Listener implements BulkProcessor.Listener {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {
+            info().data("quantity", request.numberOfActions())
+                    .log("elastic search bulk processor: bulk indexing  documents");
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    progress.indexFailures.increment();
+                    info().data("uri", item.getFailure().getId())
+                            .data("detailed_message", item.getFailureMessage())
+                            .log("elastic search bulk processor: bulk indexing failure");
+                } else {
+                    progress.indexed.increment();
+                }
+            }
+            progress.bulkRequests.increment();
+            progress.log("elastic search bulk processor: bulk indexing complete");
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+            progress.indexFailures.add(request.numberOfActions());
+            progress.bulkRequests.increment();
+            progress.failedBulkRequests.increment();
+            warn().data("quantity", request.numberOfActions())
+                    .exception(failure)
+                    .log("elastic search bulk processor: bulk indexing failure");
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.github.onsdigital.zebedee.search.indexing;
+
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.search.configuration.SearchConfiguration;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.warn;
+
+/**
+ * Durable journal of the uris published and deleted, for {@link Indexer#applyJournal()} to bring the search index up
+ * to date from.
+ * <p>
+ * Changes are appended to a journal file, one per line, and forced to disk before {@link #append} returns. The
+ * indexer reads the changes after its checkpoint, the offset in the journal it has applied up to, and moves the
+ * checkpoint on once they are indexed. A restart therefore carries on from the checkpoint, applying at worst a batch
+ * twice, which is harmless as indexing a page is idempotent. The journal is emptied whenever the checkpoint catches up
+ * with its end.
+ * <p>
+ * The journal is written and read by a single process.
+ */
+public class ChangeJournal {
+
+    static final String JOURNAL_FILE = "changes.journal";
+    static final String CHECKPOINT_FILE = "checkpoint";
+
+    private static final char SEPARATOR = '\t';
+
+    private static volatile ChangeJournal INSTANCE = null;
+
+    private final Path journalFile;
+    private final Path checkpointFile;
+
+    /**
+     * @param directory the directory to keep the journal and checkpoint in.
+     */
+    public ChangeJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.checkpointFile = directory.resolve(CHECKPOINT_FILE);
+    }
+
+    public static ChangeJournal getInstance() {
+        if (INSTANCE == null) {
+            synchronized (ChangeJournal.class) {
+                if (INSTANCE == null) {
+                    String configured = SearchConfiguration.getSearchJournalDir();
+                    Path directory = StringUtils.isNotBlank(configured)
+                            ? Paths.get(configured)
+                            : Paths.get(ReaderConfiguration.get().getContentDir()).toAbsolutePath().normalize()
+                            .resolveSibling("search-journal");
+                    try {
+                        INSTANCE = new ChangeJournal(directory);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("error initialising search change journal", e);
+                    }
+                    info().data("directory", directory.toString()).log("search change journal initialised");
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Append the changes to the journal, returning once they are on disk.
+     */
+    public synchronized void append(Collection<Change> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (Change change : changes) {
+            lines.append(change.getOperation().code)
+                    .append(SEPARATOR).append(StringUtils.defaultString(change.getPageType()))
+                    .append(SEPARATOR).append(change.getUri())
+                    .append('\n');
+        }
+
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Read the changes after the checkpoint. A line only part written, e.g. by a crash during an append, is left for
+     * a later read.
+     */
+    public synchronized Batch read() throws IOException {
+        return read(readCheckpoint());
+    }
+
+    private Batch read(long offset) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return new Batch(Collections.emptyList(), 0);
+        }
+
+        byte[] bytes = Files.readAllBytes(journalFile);
+        int start = offset > bytes.length ? 0 : (int) offset;
+
+        List<Change> changes = new ArrayList<>();
+        int end = start;
+        for (int i = start; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                Change change = parse(new String(bytes, end, i - end, StandardCharsets.UTF_8));
+                if (change != null) {
+                    changes.add(change);
+                }
+                end = i + 1;
+            }
+        }
+        return new Batch(changes, end);
+    }
+
+    /**
+     * Record that the changes up to the given offset, the end of a {@link Batch}, have been applied.
+     */
+    public synchronized void checkpoint(long offset) throws IOException {
+        if (Files.exists(journalFile) && Files.size(journalFile) == offset) {
+            // Caught up, so start the journal again rather than let it grow. The checkpoint is reset first so a
+            // crash in between replays the journal rather than skipping what is appended next.
+            writeCheckpoint(0);
+            Files.write(journalFile, new byte[0]);
+        } else {
+            writeCheckpoint(offset);
+        }
+    }
+
+    /**
+     * Record that the changes up to the given offset, the end of a {@link Batch}, have been applied apart from the
+     * given changes that failed, which are appended again so they are retried. A failed change is dropped if its uri
+     * has been changed again since the batch was read, as the later change replaces it.
+     */
+    public synchronized void checkpoint(long offset, Collection<Change> failed) throws IOException {
+        if (!failed.isEmpty()) {
+            Set<String> changedSince = new HashSet<>();
+            for (Change change : read(offset).getChanges()) {
+                changedSince.add(change.getUri());
+            }
+            List<Change> retries = new ArrayList<>();
+            for (Change change : failed) {
+                if (!changedSince.contains(change.getUri())) {
+                    retries.add(change);
+                }
+            }
+            append(retries);
+        }
+        checkpoint(offset);
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        Path temp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            warn().data("file", checkpointFile.toString()).log("invalid search change journal checkpoint, "
+                    + "replaying journal");
+            return 0;
+        }
+    }
+
+    private static Change parse(String line) {
+        String[] fields = StringUtils.splitPreserveAllTokens(line, SEPARATOR);
+        Operation operation = fields.length == 3 ? Operation.fromCode(fields[0]) : null;
+        if (operation == null) {
+            warn().data("line", line).log("skipping invalid search change journal line");
+            return null;
+        }
+        return new Change(operation, fields[2], StringUtils.defaultIfEmpty(fields[1], null));
+    }
+
+    /**
+     * Collapse the changes to the last change of each uri, in the order the uris were last changed.
+     */
+    static List<Change> coalesce(List<Change> changes) {
+        Map<String, Change> latest = new LinkedHashMap<>();
+        for (Change change : changes) {
+            latest.remove(change.getUri());
+            latest.put(change.getUri(), change);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    public enum Operation {
+        PUBLISHED("P"),
+        DELETED("D");
+
+        private final String code;
+
+        Operation(String code) {
+            this.code = code;
+        }
+
+        static Operation fromCode(String code) {
+            for (Operation operation : values()) {
+                if (operation.code.equals(code)) {
+                    return operation;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A published or deleted page.
+     */
+    public static class Change {
+        private final Operation operation;
+        private final String uri;
+        private final String pageType;
+
+        public Change(Operation operation, String uri, String pageType) {
+            this.operation = operation;
+            this.uri = uri;
+            this.pageType = pageType;
+        }
+
+        public static Change published(String uri) {
+            return new Change(Operation.PUBLISHED, uri, null);
+        }
+
+        public static Change deleted(String uri, String pageType) {
+            return new Change(Operation.DELETED, uri, pageType);
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        /**
+         * @return the page type label of a deleted page, null for a published page.
+         */
+        public String getPageType() {
+            return pageType;
+        }
+    }
+
+    /**
+     * The changes read from the journal, and the offset to checkpoint once they are applied.
+     */
+    public static class Batch {
+        private final List<Change> changes;
+        private final long end;
+
+        Batch(List<Change> changes, long end) {
+            this.changes = changes;
+            this.end = end;
+        }
+
+        public List<Change> getChanges() {
+            return changes;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+    }
+}
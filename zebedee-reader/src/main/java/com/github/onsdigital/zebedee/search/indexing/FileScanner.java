@@ -1,17 +1,19 @@
 package com.github.onsdigital.zebedee.search.indexing;
 
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import com.github.onsdigital.zebedee.util.ContentTreeWalker;
 import com.github.onsdigital.zebedee.util.URIUtils;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import static com.github.onsdigital.zebedee.search.indexing.SearchBoostTermsResolver.getSearchTermResolver;
 import static com.github.onsdigital.zebedee.util.PathUtils.toRelativeUri;
@@ -25,7 +27,11 @@ public class FileScanner {
     private Path root;
 
     public FileScanner() {
-        root = Paths.get(ReaderConfiguration.get().getContentDir());
+        this(Paths.get(ReaderConfiguration.get().getContentDir()));
+    }
+
+    public FileScanner(Path root) {
+        this.root = root;
     }
 
     public List<Document> scan() throws IOException {
@@ -33,67 +39,50 @@ public class FileScanner {
     }
 
     public List<Document> scan(String path) throws IOException {
+        List<Document> fileNames = Collections.synchronizedList(new ArrayList<>());
+        scan(path, ForkJoinPool.commonPool(), fileNames::add);
+        return new ArrayList<>(fileNames);
+    }
 
+    /**
+     * Scans the given path in parallel with a {@link ContentTreeWalker}, skipping previous versions, and hands each
+     * document to the consumer as it is found rather than collecting them. Documents are handed over in no
+     * particular order, from the pool's threads, so the consumer must be thread safe. It may block to hold back the
+     * scan.
+     *
+     * @param path     the uri to scan under, or null to scan all content.
+     * @param pool     the pool to list directories in.
+     * @param consumer receives each document found.
+     * @throws IOException if a directory can not be listed.
+     */
+    public void scan(String path, ForkJoinPool pool, Consumer<Document> consumer) throws IOException {
         Path dir = root;
         if (isEmpty(path) == false) {
             dir = root.resolve(URIUtils.removeLeadingSlash(path));
         }
 
-        List<Document> fileNames = new ArrayList<>();
-        return getFileNames(fileNames, dir, null);
+        Path start = dir;
+        new ContentTreeWalker(pool)
+                .descendInto((directory, attributes) -> isNotPreviousVersion(directory.getFileName().toString()))
+                .include((file, attributes) -> attributes.isRegularFile() && isDataFile(file.getFileName().toString()))
+                .walk(dir, (file, attributes) -> consumer.accept(toDocument(start, file.getParent())));
     }
 
     /**
-     * Iterates through the file system from a specified root directory and
-     * stores the file names
-     *
-     * @param fileNames a List to store results in
-     * @param dir       the root directory to start searching from
-     * @return the list with file names
-     * @throws IOException if any file io operations fail
+     * Create the document for the page in the given directory, with the search terms of the page and the prefix
+     * terms of each directory between the start of the scan and the page.
      */
-    private List<Document> getFileNames(List<Document> fileNames, Path dir, Set<List<String>> searchTerms)
-            throws IOException {
-
-        if (fileNames == null || dir == null) {
-            throw new IllegalArgumentException(
-                    "List of fileNames and Path dir cannot be null");
-        }
-
-        if (searchTerms == null) {
-            searchTerms = new HashSet<>();
+    private Document toDocument(Path start, Path dir) {
+        List<List<String>> prefixTerms = new ArrayList<>();
+        for (Path parent = dir.getParent(); parent != null && parent.startsWith(start); parent = parent.getParent()) {
+            prefixTerms.add(getSearchTermResolver().getTermsForPrefix(toRelativeUri(root, parent).toString()));
         }
+        Collections.reverse(prefixTerms);
 
-        // java 7 try-with-resources automatically closes streams after use
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
-            for (Path path : stream) {
-                String uri = toRelativeUri(root, path.getParent()).toString();
-                if (path.toFile().isDirectory()) {
-                    if (isNotPreviousVersion(path.getFileName().toString())) {
-                        List<String> termsForPrefix = getSearchTermResolver().getTermsForPrefix(uri);
-                        searchTerms.add(termsForPrefix);
-                        getFileNames(fileNames, path, searchTerms);
-                        searchTerms.remove(termsForPrefix);
-                    } else {
-                        continue;//skip versions
-                    }
-                } else {
-                    String fullPath = toUri(path);
-                    if (isDataFile(fullPath)) {
-                        List<String> terms = getSearchTermResolver().getTerms(uri);
-                        searchTerms.add(terms);
-                        fileNames.add(new Document(uri, searchTerms));
-                        searchTerms.remove(terms);
-                    }
-                }
-            }
-        }
-
-        return fileNames;
-    }
-
-    private String toUri(Path path) {
-        return path.toAbsolutePath().toString();
+        String uri = toRelativeUri(root, dir).toString();
+        Set<List<String>> searchTerms = new LinkedHashSet<>(prefixTerms);
+        searchTerms.add(getSearchTermResolver().getTerms(uri));
+        return new Document(uri, searchTerms);
     }
 
     private static boolean isDataFile(String fileName) {
@@ -103,4 +92,4 @@ public class FileScanner {
     private static boolean isNotPreviousVersion(String fileName) {
         return !fileName.equals("previous");
     }
-}
\ No newline at end of file
+}
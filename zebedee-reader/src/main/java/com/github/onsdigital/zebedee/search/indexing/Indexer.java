@@ -1,9 +1,12 @@
 package com.github.onsdigital.zebedee.search.indexing;
 
+import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
 import com.github.onsdigital.zebedee.content.page.base.Page;
 import com.github.onsdigital.zebedee.content.page.base.PageType;
 import com.github.onsdigital.zebedee.content.partial.Link;
 import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import com.github.onsdigital.zebedee.exceptions.NotFoundException;
 import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
 import com.github.onsdigital.zebedee.reader.ZebedeeReader;
@@ -11,16 +14,12 @@ import com.github.onsdigital.zebedee.search.client.ElasticSearchClient;
 import com.github.onsdigital.zebedee.search.model.SearchDocument;
 import com.github.onsdigital.zebedee.util.URIUtils;
 import org.apache.commons.io.IOUtils;
-import org.elasticsearch.action.bulk.BulkItemResponse;
-import org.elasticsearch.action.bulk.BulkProcessor;
-import org.elasticsearch.action.bulk.BulkRequest;
-import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.settings.Settings;
-import org.elasticsearch.common.unit.ByteSizeUnit;
-import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -30,6 +29,8 @@ import java.net.URI;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -44,8 +45,12 @@ public class Indexer {
     private final static String DEPARTMENTS_INDEX = "departments";
     private final static String DEPARTMENT_TYPE = "departments";
     private final static String DEPARTMENTS_PATH = "/search/departments/departments.txt";
+    private final static String LATEST_RELEASE_FIELD = "description.latestRelease";
+    private final static String NOT_LATEST_RELEASE = "{\"description\":{\"latestRelease\":false}}";
     private static Indexer instance = new Indexer();
     private final Lock LOCK = new ReentrantLock();
+    // Set when there are journal changes to apply, so a call that finds the lock taken leaves them to the holder.
+    private final AtomicBoolean journalPending = new AtomicBoolean();
     private final Client client = ElasticSearchClient.getClient();
     private ElasticSearchUtils searchUtils = new ElasticSearchUtils(client);
     private ZebedeeReader zebedeeReader = new ZebedeeReader();
@@ -99,6 +104,7 @@ public class Indexer {
             } finally {
                 LOCK.unlock();
                 unlockGlobal();
+                applyJournalAfterReload();
             }
         } else {
             throw new IndexInProgressException();
@@ -135,21 +141,25 @@ public class Indexer {
 
         info().log("elastic search: indexing departments");
         long start = System.currentTimeMillis();
+        IndexingProgress progress = new IndexingProgress();
         try (
                 InputStream resourceStream = SearchBoostTermsResolver.class.getResourceAsStream(DEPARTMENTS_PATH);
                 InputStreamReader inputStreamReader = new InputStreamReader(resourceStream);
-                BufferedReader br = new BufferedReader(inputStreamReader)
+                BufferedReader br = new BufferedReader(inputStreamReader);
+                BulkSink sink = new BulkSink(client, new IndexingPipeline.Options(), progress)
         ) {
             for (String line; (line = br.readLine()) != null; ) {
-                processDepartment(line);
+                processDepartment(line, sink);
             }
         }
 
         info().data("duration", (System.currentTimeMillis() - start))
+                .data("indexed", progress.getIndexed())
+                .data("index_failures", progress.getIndexFailures())
                 .log("elastic search: indexing departments complete");
     }
 
-    private void processDepartment(String line) {
+    private void processDepartment(String line, BulkSink sink) {
         if (isEmpty(line) || startsWith(line, "#")) {
             return; // skip comments
         }
@@ -165,7 +175,9 @@ public class Indexer {
         }
 
         Department department = new Department(split[0], split[1], split[2], terms);
-        searchUtils.createDocument(DEPARTMENTS_INDEX, DEPARTMENT_TYPE, split[0], ContentUtil.serialise(department));
+        sink.add(searchUtils.prepareIndex(DEPARTMENTS_INDEX, DEPARTMENT_TYPE, split[0])
+                .setSource(ContentUtil.serialise(department))
+                .request());
     }
 
     /**
@@ -186,9 +198,9 @@ public class Indexer {
             if (isPeriodic(page.getType())) {
                 //TODO: optimize resolving latest flag, only update elastic search for existing releases rather than reindexing
                 //Load old releases as well to get latest flag re-calculated
-                index(getSearchAlias(), new FileScanner().scan(URIUtils.removeLastSegment(uri)));
+                index(getSearchAlias(), URIUtils.removeLastSegment(uri));
             } else if (page.getType() == PageType.TIMESERIES) {
-                index(getSearchAlias(), new FileScanner().scan(uri));
+                index(getSearchAlias(), uri);
             } else {
                 indexSingleContent(getSearchAlias(), page);
             }
@@ -202,6 +214,179 @@ public class Indexer {
     }
 
 
+    /**
+     * Brings the search index up to date with the changes in the {@link ChangeJournal} since they were last applied.
+     * <p>
+     * Changes to the same uri are collapsed to the last of them. A published page is indexed on its own, and if it is
+     * now the latest edition of a series only the editions still flagged as latest are updated, rather than the whole
+     * series being read and reindexed. The journal checkpoint only moves on once the changes are in elastic search, so
+     * changes not applied, e.g. by a restart, are applied next time. A change that fails, e.g. on an IO error or a page
+     * being moved by a publish, is written back to the journal to be retried; content that is no longer there is
+     * skipped.
+     * <p>
+     * While a full reindex or another call is running the changes are left for it to apply: it applies the journal
+     * again before returning for as long as changes keep being added, so none are left until the next publish.
+     */
+    public void applyJournal() throws IOException {
+        journalPending.set(true);
+        // Checked again once the lock is released, as a call may have given up on the lock just before.
+        while (journalPending.get()) {
+            if (!LOCK.tryLock()) {
+                info().log("elastic search: journal is being applied or reindexed, changes will be applied by it");
+                return;
+            }
+            try {
+                while (journalPending.getAndSet(false)) {
+                    applyJournalChanges();
+                }
+            } finally {
+                LOCK.unlock();
+            }
+        }
+    }
+
+    private void applyJournalChanges() throws IOException {
+        ChangeJournal journal = ChangeJournal.getInstance();
+        ChangeJournal.Batch batch = journal.read();
+        List<ChangeJournal.Change> changes = ChangeJournal.coalesce(batch.getChanges());
+
+        long start = System.currentTimeMillis();
+        IndexingProgress progress = new IndexingProgress();
+        List<ChangeJournal.Change> failed = new ArrayList<>();
+        try (BulkSink sink = new BulkSink(client, new IndexingPipeline.Options(), progress)) {
+            for (ChangeJournal.Change change : changes) {
+                try {
+                    if (change.getOperation() == ChangeJournal.Operation.DELETED) {
+                        applyDelete(getSearchAlias(), change, sink, progress);
+                    } else {
+                        applyPublish(getSearchAlias(), change.getUri(), sink, progress);
+                    }
+                } catch (ZebedeeException | IOException e) {
+                    progress.failed.increment();
+                    failed.add(change);
+                    warn().data("uri", change.getUri())
+                            .exception(e)
+                            .log("elastic search: failed applying journal change, it will be retried");
+                }
+            }
+        }
+
+        if (progress.getFailedBulkRequests() > 0) {
+            throw new IndexingException("Failed applying search change journal, it will be applied again");
+        }
+        journal.checkpoint(batch.getEnd(), failed);
+        info().data("changes", batch.getChanges().size())
+                .data("uris", changes.size())
+                .data("indexed", progress.getIndexed())
+                .data("failed", progress.getFailed() + progress.getIndexFailures())
+                .data("duration", (System.currentTimeMillis() - start))
+                .log("elastic search: search change journal applied");
+    }
+
+    private void applyJournalAfterReload() {
+        try {
+            applyJournal();
+        } catch (IOException | RuntimeException e) {
+            warn().exception(e).log("elastic search: failed applying search change journal after reindex");
+        }
+    }
+
+    private void applyPublish(String indexName, String uri, BulkSink sink, IndexingProgress progress)
+            throws ZebedeeException, IOException {
+        Page page;
+        try {
+            page = getPage(uri);
+        } catch (NotFoundException e) {
+            // Deleted since it was published. A file missing part way through a read, e.g. as the content is moved by
+            // a publish, is left to fail so the change is retried.
+            page = null;
+        }
+        if (page == null || page.getType() == null) {
+            progress.skipped.increment();
+            return;
+        }
+
+        progress.prepared.increment();
+        sink.add(searchUtils.prepareIndex(indexName, page.getType().getLabel(), page.getUri().toString())
+                .setSource(serialise(toSearchDocument(page, resolveSearchTerms(page.getUri().toString()))))
+                .request());
+
+        if (isPeriodic(page.getType()) && page.getDescription() != null && page.getDescription().isLatestRelease()) {
+            unflagPreviousLatest(indexName, page, sink, progress);
+        }
+    }
+
+    /**
+     * Clear the latest flag of the other editions of the page's series that are still flagged as latest.
+     */
+    private void unflagPreviousLatest(String indexName, Page page, BulkSink sink, IndexingProgress progress)
+            throws ZebedeeException, IOException {
+        String type = page.getType().getLabel();
+        String uri = page.getUri().toString();
+        Map<URI, ContentNode> editions = zebedeeReader.getPublishedContentChildren(URIUtils.removeLastSegment(uri));
+
+        List<String> others = new ArrayList<>();
+        for (ContentNode edition : editions.values()) {
+            if (edition.getType() == page.getType() && !uri.equals(edition.getUri().toString())) {
+                others.add(edition.getUri().toString());
+            }
+        }
+        if (others.isEmpty()) {
+            return;
+        }
+
+        SearchHit[] flagged = client.prepareSearch(indexName)
+                .setTypes(type)
+                .setQuery(QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.idsQuery(type).ids(others.toArray(new String[0])))
+                        .filter(QueryBuilders.termQuery(LATEST_RELEASE_FIELD, true)))
+                .setSize(others.size())
+                .get()
+                .getHits()
+                .getHits();
+        for (SearchHit hit : flagged) {
+            progress.prepared.increment();
+            sink.add(client.prepareUpdate(indexName, type, hit.getId()).setDoc(NOT_LATEST_RELEASE).request());
+        }
+    }
+
+    private void applyDelete(String indexName, ChangeJournal.Change change, BulkSink sink,
+                             IndexingProgress progress) throws ZebedeeException, IOException {
+        PageType pageType = toPageType(change.getPageType());
+        if (pageType == null) {
+            progress.skipped.increment();
+            return;
+        }
+
+        progress.prepared.increment();
+        sink.add(client.prepareDelete(indexName, pageType.getLabel(), change.getUri()).request());
+
+        if (isPeriodic(pageType)) {
+            // The deleted page may have been the latest edition, in which case the previous edition now is.
+            String series = URIUtils.removeLastSegment(change.getUri());
+            if (zebedeeReader.getPublishedContentChildren(series).isEmpty()) {
+                return;
+            }
+            try {
+                Content latest = zebedeeReader.getLatestPublishedContent(series);
+                if (latest instanceof Page && ((Page) latest).getUri() != null) {
+                    applyPublish(indexName, ((Page) latest).getUri().toString(), sink, progress);
+                }
+            } catch (NotFoundException | BadRequestException | NoSuchFileException e) {
+                // Not an edition of a series, or the series has no editions left.
+            }
+        }
+    }
+
+    private static PageType toPageType(String label) {
+        for (PageType pageType : PageType.values()) {
+            if (pageType.getLabel().equals(label)) {
+                return pageType;
+            }
+        }
+        return null;
+    }
+
     public void deleteContentIndex(String pageType, String uri) {
         info().data("uri", uri).log("elastic search: triggering delete index on publishing search index");
         long start = System.currentTimeMillis();
@@ -242,30 +427,27 @@ public class Indexer {
     }
 
     private void indexDocuments(String indexName) throws IOException {
-        index(indexName, new FileScanner().scan());
+        index(indexName, null);
     }
 
     /**
-     * Recursively indexes contents and their child contents
+     * Indexes the contents under the given path, and their child contents, through an {@link IndexingPipeline}.
      *
      * @param indexName
-     * @param documents
+     * @param path      the uri to index under, or null to index all content.
      * @throws IOException
      */
-    private void index(String indexName, List<Document> documents) throws IOException {
-        try (BulkProcessor bulkProcessor = getBulkProcessor()) {
-            for (Document document : documents) {
-                try {
-                    IndexRequestBuilder indexRequestBuilder = prepareIndexRequest(indexName, document);
-                    if (indexRequestBuilder == null) {
-                        continue;
-                    }
-                    bulkProcessor.add(indexRequestBuilder.request());
-                } catch (Exception e) {
-                    System.err.println("!!!!!!!!!Failed preparing index for " + document.getUri() + " skipping...");
-                    e.printStackTrace();
-                }
-            }
+    private void index(String indexName, String path) throws IOException {
+        IndexingPipeline pipeline = new IndexingPipeline(client, new FileScanner(), new IndexingPipeline.Options());
+        IndexingProgress progress = pipeline.run(indexName, path, (name, document) -> {
+            IndexRequestBuilder indexRequestBuilder = prepareIndexRequest(name, document);
+            return indexRequestBuilder == null ? null : indexRequestBuilder.request();
+        });
+        if (progress.getFailed() > 0 || progress.getIndexFailures() > 0) {
+            warn().data("index", indexName)
+                    .data("failed", progress.getFailed())
+                    .data("index_failures", progress.getIndexFailures())
+                    .log("elastic search: some documents could not be indexed");
         }
     }
 
@@ -360,44 +542,4 @@ public class Indexer {
                 return false;
         }
     }
-
-    private BulkProcessor getBulkProcessor() {
-        BulkProcessor bulkProcessor = BulkProcessor.builder(
-                client,
-                new BulkProcessor.Listener() {
-                    @Override
-                    public void beforeBulk(
-                            long executionId, BulkRequest request) {
-                        info().data("quantity", request.numberOfActions())
-                                .log("elastic search bulk processor: bulk indexing  documents");
-                    }
-
-                    @Override
-                    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
-                        if (response.hasFailures()) {
-                            BulkItemResponse[] items = response.getItems();
-                            for (BulkItemResponse item : items) {
-                                if (item.isFailed()) {
-                                    info().data("uri", item.getFailure().getId())
-                                            .data("detailed_message", item.getFailureMessage())
-                                            .log("elastic search bulk processor: bulk indexing failure");
-                                }
-                            }
-                        }
-                    }
-
-                    @Override
-                    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
-                        info().data("detailedMessagee", failure.getMessage())
-                                .exception(failure)
-                                .log("elastic search bulk processor: bulk indexing failure");
-                    }
-                })
-                .setBulkActions(10000)
-                .setBulkSize(new ByteSizeValue(100, ByteSizeUnit.MB))
-                .setConcurrentRequests(4)
-                .build();
-
-        return bulkProcessor;
-    }
 }
@@ -0,0 +1,253 @@
+package com.github.onsdigital.zebedee.search.indexing;
+
+import com.github.onsdigital.zebedee.exceptions.ZebedeeException;
+import com.github.onsdigital.zebedee.search.configuration.SearchConfiguration;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.warn;
+
+/**
+ * Indexes content in three stages running side by side:
+ * <ol>
+ * <li>the {@link FileScanner} lists directories in parallel and queues a {@link Document} for each page found,</li>
+ * <li>worker threads take documents off the queue and read each page into an index request,</li>
+ * <li>a {@link BulkSink} sends the requests to elastic search in bulk.</li>
+ * </ol>
+ * The queue between the scanner and the workers is bounded, as are the bulk requests in flight, so a slow stage holds
+ * back the ones before it rather than documents piling up in memory.
+ */
+public class IndexingPipeline {
+
+    private static final Document END = new Document(null, null);
+    private static final long OFFER_WAIT_MILLIS = 100;
+
+    private final Client client;
+    private final FileScanner fileScanner;
+    private final Options options;
+
+    public IndexingPipeline(Client client, FileScanner fileScanner, Options options) {
+        this.client = client;
+        this.fileScanner = fileScanner;
+        this.options = options;
+    }
+
+    /**
+     * Index the content under the given path.
+     *
+     * @param indexName   the index to add documents to.
+     * @param path        the uri to index under, or null to index all content.
+     * @param transformer reads each document into its index request.
+     * @return the counts of documents passing through each stage.
+     * @throws IOException if the content can not be scanned or the bulk requests do not complete.
+     */
+    public IndexingProgress run(String indexName, String path, Transformer transformer) throws IOException {
+        IndexingProgress progress = new IndexingProgress();
+        BlockingQueue<Document> queue = new ArrayBlockingQueue<>(options.getQueueSize());
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        ForkJoinPool scanPool = new ForkJoinPool(options.getScanThreads());
+        ExecutorService workers = Executors.newFixedThreadPool(options.getWorkers(),
+                new ThreadFactoryBuilder().setNameFormat("index-worker-%d").setDaemon(true).build());
+        try (BulkSink sink = new BulkSink(client, options, progress)) {
+            CompletionService<Void> completion = new ExecutorCompletionService<>(workers);
+            for (int i = 0; i < options.getWorkers(); i++) {
+                completion.submit(() -> work(indexName, queue, transformer, sink, progress, aborted));
+            }
+
+            try {
+                fileScanner.scan(path, scanPool, document -> {
+                    progress.scanned.increment();
+                    enqueue(queue, document, aborted);
+                });
+                for (int i = 0; i < options.getWorkers(); i++) {
+                    enqueue(queue, END, aborted);
+                }
+            } catch (CancellationException e) {
+                // A worker has failed, its exception is thrown below.
+                if (!aborted.get()) {
+                    throw e;
+                }
+            }
+
+            for (int i = 0; i < options.getWorkers(); i++) {
+                await(completion);
+            }
+        } finally {
+            scanPool.shutdownNow();
+            workers.shutdownNow();
+        }
+
+        progress.log("elastic search: indexing pipeline complete");
+        return progress;
+    }
+
+    private Void work(String indexName, BlockingQueue<Document> queue, Transformer transformer, BulkSink sink,
+                      IndexingProgress progress, AtomicBoolean aborted) throws InterruptedException {
+        try {
+            for (Document document = queue.take(); document != END; document = queue.take()) {
+                IndexRequest request;
+                try {
+                    request = transformer.transform(indexName, document);
+                } catch (Exception e) {
+                    progress.failed.increment();
+                    warn().data("uri", document.getUri())
+                            .exception(e)
+                            .log("elastic search: failed preparing index request, skipping");
+                    continue;
+                }
+
+                if (request == null) {
+                    progress.skipped.increment();
+                } else {
+                    progress.prepared.increment();
+                    sink.add(request);
+                }
+            }
+            return null;
+        } catch (Throwable t) {
+            aborted.set(true);
+            throw t;
+        }
+    }
+
+    /**
+     * Queue the document, waiting for space unless the workers have stopped.
+     */
+    private static void enqueue(BlockingQueue<Document> queue, Document document, AtomicBoolean aborted) {
+        try {
+            while (!queue.offer(document, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (aborted.get()) {
+                    throw new CancellationException("indexing workers stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted queueing documents for indexing");
+        }
+    }
+
+    /**
+     * Wait for the next worker to finish, throwing its exception if it failed.
+     */
+    private static void await(CompletionService<Void> completion) throws IOException {
+        try {
+            completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted waiting for indexing workers");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Reads a document into the request to index it with.
+     */
+    @FunctionalInterface
+    public interface Transformer {
+
+        /**
+         * @return the index request, or null if there is nothing to index.
+         */
+        IndexRequest transform(String indexName, Document document) throws ZebedeeException, IOException;
+    }
+
+    /**
+     * The sizes of each stage of the pipeline.
+     */
+    public static class Options {
+        private int scanThreads = SearchConfiguration.getIndexScanThreads();
+        private int workers = SearchConfiguration.getIndexWorkers();
+        private int queueSize = SearchConfiguration.getIndexQueueSize();
+        private int bulkActions = SearchConfiguration.getIndexBulkActions();
+        private int bulkSizeMb = SearchConfiguration.getIndexBulkSizeMb();
+        private int bulkConcurrency = SearchConfiguration.getIndexBulkConcurrency();
+        private int flushIntervalSeconds = SearchConfiguration.getIndexBulkFlushIntervalSeconds();
+
+        public int getScanThreads() {
+            return scanThreads;
+        }
+
+        public Options setScanThreads(int scanThreads) {
+            this.scanThreads = scanThreads;
+            return this;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public Options setWorkers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public Options setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        public int getBulkActions() {
+            return bulkActions;
+        }
+
+        public Options setBulkActions(int bulkActions) {
+            this.bulkActions = bulkActions;
+            return this;
+        }
+
+        public int getBulkSizeMb() {
+            return bulkSizeMb;
+        }
+
+        public Options setBulkSizeMb(int bulkSizeMb) {
+            this.bulkSizeMb = bulkSizeMb;
+            return this;
+        }
+
+        public int getBulkConcurrency() {
+            return bulkConcurrency;
+        }
+
+        public Options setBulkConcurrency(int bulkConcurrency) {
+            this.bulkConcurrency = bulkConcurrency;
+            return this;
+        }
+
+        public int getFlushIntervalSeconds() {
+            return flushIntervalSeconds;
+        }
+
+        public Options setFlushIntervalSeconds(int flushIntervalSeconds) {
+            this.flushIntervalSeconds = flushIntervalSeconds;
+            return this;
+        }
+    }
+}
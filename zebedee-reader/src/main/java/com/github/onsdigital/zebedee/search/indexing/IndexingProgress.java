@@ -0,0 +1,98 @@
+package com.github.onsdigital.zebedee.search.indexing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.onsdigital.zebedee.logging.ReaderLogger.info;
+
+/**
+ * Counts the documents passing through each stage of an {@link IndexingPipeline} run.
+ */
+public class IndexingProgress {
+
+    private final long start = System.nanoTime();
+    final LongAdder scanned = new LongAdder();
+    final LongAdder prepared = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder indexed = new LongAdder();
+    final LongAdder indexFailures = new LongAdder();
+    final LongAdder bulkRequests = new LongAdder();
+    final LongAdder failedBulkRequests = new LongAdder();
+
+    /**
+     * @return the documents found by the scanner.
+     */
+    public long getScanned() {
+        return scanned.sum();
+    }
+
+    /**
+     * @return the documents read and handed to the bulk sink.
+     */
+    public long getPrepared() {
+        return prepared.sum();
+    }
+
+    /**
+     * @return the documents with no content or page type to index.
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * @return the documents that could not be read.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the documents elastic search has indexed.
+     */
+    public long getIndexed() {
+        return indexed.sum();
+    }
+
+    /**
+     * @return the documents elastic search failed to index.
+     */
+    public long getIndexFailures() {
+        return indexFailures.sum();
+    }
+
+    /**
+     * @return the bulk requests completed.
+     */
+    public long getBulkRequests() {
+        return bulkRequests.sum();
+    }
+
+    /**
+     * @return the bulk requests that failed as a whole, e.g. because elastic search could not be reached.
+     */
+    public long getFailedBulkRequests() {
+        return failedBulkRequests.sum();
+    }
+
+    /**
+     * @return the documents indexed per second since the run started.
+     */
+    public long getIndexedPerSecond() {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return getIndexed() * 1000 / millis;
+    }
+
+    void log(String message) {
+        info().data("scanned", getScanned())
+                .data("prepared", getPrepared())
+                .data("skipped", getSkipped())
+                .data("failed", getFailed())
+                .data("indexed", getIndexed())
+                .data("index_failures", getIndexFailures())
+                .data("bulk_requests", getBulkRequests())
+                .data("indexed_per_second", getIndexedPerSecond())
+                .log(message);
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.onsdigital.zebedee.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * Walks a content tree in parallel, listing each directory as a separate fork/join task.
+ * <p>
+ * Each entry is read with a single attributes call, and the same {@link BasicFileAttributes} are handed to the
+ * predicates and the consumer, so nothing is statted twice. By default every directory is walked into and every
+ * regular file is passed to the consumer; {@link #descendInto} and {@link #include} narrow that down, e.g. to skip
+ * the <code>previous</code> versions folders or to only consume data files.
+ * <p>
+ * Entries are passed to the consumer as they are found, from the pool's threads and in no particular order, so the
+ * consumer must be thread safe.
+ */
+public class ContentTreeWalker {
+
+    private static final BiPredicate<Path, BasicFileAttributes> ALL = (path, attributes) -> true;
+    private static final BiPredicate<Path, BasicFileAttributes> REGULAR_FILES =
+            (path, attributes) -> attributes.isRegularFile();
+
+    private final ForkJoinPool pool;
+    private BiPredicate<Path, BasicFileAttributes> descendInto = ALL;
+    private BiPredicate<Path, BasicFileAttributes> include = REGULAR_FILES;
+
+    /**
+     * Walk in the common fork/join pool.
+     */
+    public ContentTreeWalker() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool to list directories in.
+     */
+    public ContentTreeWalker(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param descendInto whether to walk into a directory below the root.
+     */
+    public ContentTreeWalker descendInto(BiPredicate<Path, BasicFileAttributes> descendInto) {
+        this.descendInto = descendInto;
+        return this;
+    }
+
+    /**
+     * @param include whether to pass an entry, file or directory, to the consumer.
+     */
+    public ContentTreeWalker include(BiPredicate<Path, BasicFileAttributes> include) {
+        this.include = include;
+        return this;
+    }
+
+    /**
+     * @return a predicate matching any path whose file name is the given name.
+     */
+    public static BiPredicate<Path, BasicFileAttributes> named(String name) {
+        return (path, attributes) -> path.getFileName() != null && name.equals(path.getFileName().toString());
+    }
+
+    /**
+     * Walk the tree under the given root, which is always walked into but never passed to the consumer.
+     *
+     * @param root     the directory to walk.
+     * @param consumer receives each included entry with its attributes.
+     * @throws IOException if a directory can not be listed.
+     */
+    public void walk(Path root, BiConsumer<Path, BasicFileAttributes> consumer) throws IOException {
+        try {
+            pool.invoke(new WalkTask(root, consumer));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Walk the tree under the given root, collecting the included entries.
+     */
+    public List<Path> list(Path root) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        walk(root, (path, attributes) -> {
+            synchronized (paths) {
+                paths.add(path);
+            }
+        });
+        return paths;
+    }
+
+    private class WalkTask extends RecursiveAction {
+        private final Path dir;
+        private final BiConsumer<Path, BasicFileAttributes> consumer;
+
+        WalkTask(Path dir, BiConsumer<Path, BasicFileAttributes> consumer) {
+            this.dir = dir;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            List<WalkTask> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        continue; // deleted since the directory was listed, or a broken link
+                    }
+                    if (include.test(path, attributes)) {
+                        consumer.accept(path, attributes);
+                    }
+                    if (attributes.isDirectory() && descendInto.test(path, attributes)) {
+                        subdirectories.add(new WalkTask(path, consumer));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subdirectories);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import com.github.onsdigital.zebedee.content.page.base.PageType;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TimeSeriesColumnTest {
+
+    @Test
+    public void of_shouldKeepValuesInPeriodOrder() {
+        TreeSet<TimeSeriesValue> values = new TreeSet<>();
+        values.add(value("2015 MAR", "3"));
+        values.add(value("2015 JAN", "1"));
+        values.add(value("2015 FEB", "2"));
+
+        TimeSeriesColumn column = TimeSeriesColumn.of(values);
+
+        assertThat(column.size(), equalTo(3));
+        assertThat(column.getDate(0), equalTo("2015 JAN"));
+        assertThat(column.getValue(2), equalTo("3"));
+        assertThat(column.getPeriod(1), equalTo(TimeSeriesPeriods.key(2015, 1)));
+        assertThat(column.getLabel(0), nullValue());
+    }
+
+    @Test
+    public void build_shouldSortAndKeepFirstPointForAPeriod() {
+        TimeSeriesColumn column = TimeSeriesColumn.builder(3)
+                .add("2016").setValue("b")
+                .add("2015").setValue("a")
+                .add("2016").setValue("duplicate")
+                .build();
+
+        assertThat(column.size(), equalTo(2));
+        assertThat(column.getDate(0), equalTo("2015"));
+        assertThat(column.getValue(1), equalTo("b"));
+    }
+
+    @Test
+    public void indexes_shouldFindPointsByPeriod() {
+        TimeSeriesColumn column = TimeSeriesColumn.builder(2)
+                .add("2015 Q1").setValue("1")
+                .add("2015 Q3").setValue("3")
+                .build();
+
+        assertThat(column.indexOf(TimeSeriesPeriods.key("2015 Q3")), equalTo(1));
+        assertThat(column.indexOf(TimeSeriesPeriods.key("2015 Q2")) < 0, equalTo(true));
+        assertThat(column.ceilingIndex(TimeSeriesPeriods.key("2015 Q2")), equalTo(1));
+        assertThat(column.ceilingIndex(TimeSeriesPeriods.key("2016 Q1")), equalTo(2));
+    }
+
+    @Test
+    public void deserialise_shouldReadTheTimeSeriesShape() {
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.add(value("2014", "10"));
+        timeSeries.add(value("2015", "11"));
+        TimeSeriesValue labelled = value("2015 Q1", "12");
+        labelled.label = "2015 Jan-Mar";
+        timeSeries.add(labelled);
+        String json = ContentUtil.serialise(timeSeries);
+
+        ColumnarTimeSeries columnar = ContentUtil.deserialise(json, ColumnarTimeSeries.class);
+
+        assertThat(columnar.getType(), equalTo(PageType.TIMESERIES));
+        assertThat(columnar.getYears().size(), equalTo(2));
+        assertThat(columnar.getYears().getYear(1), equalTo("2015"));
+        assertThat(columnar.getQuarters().getLabel(0), equalTo("2015 Jan-Mar"));
+        assertThat(columnar.getQuarters().getQuarter(0), equalTo("Q1"));
+        assertThat(columnar.getMonths().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void serialise_shouldWriteTheTimeSeriesShape() {
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.add(value("2015 JAN", "1"));
+        timeSeries.add(value("2015 FEB", "2"));
+        timeSeries.months.first().sourceDataset = "mm23";
+
+        ColumnarTimeSeries columnar = ColumnarTimeSeries.of(timeSeries);
+        TimeSeries roundTrip = ContentUtil.deserialise(ContentUtil.serialise(columnar), TimeSeries.class);
+
+        assertThat(dates(roundTrip.months), equalTo(Arrays.asList("2015 JAN", "2015 FEB")));
+        assertThat(roundTrip.months.first().month, equalTo("January"));
+        assertThat(roundTrip.months.first().sourceDataset, equalTo("mm23"));
+        assertThat(roundTrip.months.last().sourceDataset, nullValue());
+    }
+
+    @Test
+    public void toValues_shouldCreateTheTimeSeriesValues() {
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.add(value("2015", "1"));
+
+        TreeSet<TimeSeriesValue> values = TimeSeriesColumn.of(timeSeries.years).toValues();
+
+        assertThat(values.first().value, equalTo("1"));
+        assertThat(values.first().year, equalTo("2015"));
+    }
+
+    private static List<String> dates(TreeSet<TimeSeriesValue> values) {
+        List<String> dates = new ArrayList<>();
+        for (TimeSeriesValue value : values) {
+            dates.add(value.date);
+        }
+        return dates;
+    }
+
+    private static TimeSeriesValue value(String date, String value) {
+        TimeSeriesValue timeSeriesValue = new TimeSeriesValue();
+        timeSeriesValue.date = date;
+        timeSeriesValue.value = value;
+        return timeSeriesValue;
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.onsdigital.zebedee.content.page.statistics.data.timeseries;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TreeSet;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TimeSeriesPeriodsTest {
+
+    private static final String[] DATES = {"2015", " 2015 ", "2015 JAN", "2015 dec", "2015 01",
+            "2015 12", "2015 13", "2015 00", "2015 Q1", "2015 q4", "2014-15", "2014-2015", "2014/15", "1998/99",
+            "YE MAR 15", "ye dec 99"};
+
+    @Test
+    public void key_shouldMatchLegacyDateParsing() {
+        for (String date : DATES) {
+            assertThat(date, TimeSeriesPeriods.key(date), equalTo(legacyKey(date)));
+        }
+    }
+
+    @Test
+    public void key_shouldReadComponents() {
+        int key = TimeSeriesPeriods.key("2015 Q3");
+
+        assertThat(TimeSeriesPeriods.year(key), equalTo(2015));
+        assertThat(TimeSeriesPeriods.month(key), equalTo(6));
+        assertThat(TimeSeriesPeriods.quarterName(key), equalTo("Q3"));
+        assertThat(TimeSeriesPeriods.monthName(key), equalTo("July"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void key_shouldRejectUnknownMonth() {
+        TimeSeriesPeriods.key("2015 FOO");
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void key_shouldRejectUnknownFormat() {
+        TimeSeriesPeriods.key("2015 Q5");
+    }
+
+    @Test
+    public void compareTo_shouldOrderByPeriod() {
+        TreeSet<TimeSeriesValue> values = new TreeSet<>();
+        values.add(value("2015 APR"));
+        values.add(value("2014 DEC"));
+        values.add(value("2015 Q2"));
+
+        assertThat(values.size(), equalTo(2));
+        assertThat(values.first().date, equalTo("2014 DEC"));
+        assertThat(values.last().date, equalTo("2015 APR"));
+        assertThat(value("2015 Q2").equals(value("2015 APR")), equalTo(true));
+        assertThat(value("2015 Q2").hashCode(), equalTo(value("2015 APR").hashCode()));
+    }
+
+    private static int legacyKey(String date) {
+        Calendar calendar = Calendar.getInstance(Locale.UK);
+        calendar.setTime(TimeSeriesValue.toDate(date));
+        return TimeSeriesPeriods.key(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH));
+    }
+
+    private static TimeSeriesValue value(String date) {
+        TimeSeriesValue value = new TimeSeriesValue();
+        value.date = date;
+        return value;
+    }
+}
@@ -2,6 +2,9 @@ package com.github.onsdigital.zebedee.reader;
 
 import au.com.bytecode.opencsv.CSVWriter;
 import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
 import com.github.onsdigital.zebedee.content.page.statistics.document.bulletin.Bulletin;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
 import org.apache.poi.ss.usermodel.Cell;
@@ -18,7 +21,9 @@ import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -265,6 +270,58 @@ public class DataGeneratorTest {
         verify(xlsWorkbookMock, times(1)).write(any(OutputStream.class));
     }
 
+    @Test
+    public void shouldCreateOneCellStylePerDecimalFormat() throws Exception {
+        testDataGrid.add(Arrays.asList(new String[]{"1990", "1.5", "2.25", "-3.5", "4.00"}));
+        setUpMockBehaviours();
+
+        generator.generateResourceFromDataGrid(testDataGrid, "test.xls");
+
+        verify(xlsWorkbookMock, times(2)).createCellStyle();
+        verify(xlsWorkbookMock, times(1)).createDataFormat();
+        verify(dataFormatMock, times(1)).getFormat("0.0");
+        verify(dataFormatMock, times(1)).getFormat("0.00");
+        verify(cellMock, times(4)).setCellType(Cell.CELL_TYPE_NUMERIC);
+    }
+
+    @Test
+    public void decimalPlaces_shouldOnlyCountPlainDecimals() {
+        assertThat(DataGenerator.decimalPlaces("12.340"), equalTo(3));
+        assertThat(DataGenerator.decimalPlaces("-0.5"), equalTo(1));
+        assertThat(DataGenerator.decimalPlaces("12"), equalTo(0));
+        assertThat(DataGenerator.decimalPlaces("12."), equalTo(0));
+        assertThat(DataGenerator.decimalPlaces(".5"), equalTo(0));
+        assertThat(DataGenerator.decimalPlaces("1.5e3"), equalTo(0));
+    }
+
+    @Test
+    public void shouldStreamTimeSeriesRowsAsCsv() throws Exception {
+        TimeSeries timeSeries = new TimeSeries();
+        PageDescription description = new PageDescription();
+        description.setCdid("ABMI");
+        timeSeries.setDescription(description);
+        timeSeries.add(value("2014", "1"));
+        timeSeries.add(value("2016", "3"));
+        timeSeries.add(value("2015 Q2", "2.50"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataDownload download = new DataGenerator().prepareData(timeSeries, "csv");
+        download.writeTo(out);
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(download.getName().endsWith(".csv"), equalTo(true));
+        assertThat(lines.length, equalTo(12));
+        assertThat(lines[1], equalTo("\"CDID\",\"ABMI\""));
+        assertThat(lines[8], equalTo("\"2014\",\"1\""));
+        assertThat(lines[9], equalTo("\"2015\","));
+        assertThat(lines[11], equalTo("\"2015 Q2\",\"2.50\""));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void prepareData_shouldRejectUnsupportedFormatBeforeWriting() throws Exception {
+        new DataGenerator().prepareData(new TimeSeries(), "pdf");
+    }
+
     @Test (expected = BadRequestException.class)
     public void shouldthrowExceptionForUnsupportedFormat() throws Exception {
         generator.generateData(mock(Content.class), "pdf");
@@ -288,4 +345,11 @@ public class DataGeneratorTest {
         });
         verify(csvWriterMock, times(1)).flush();
     }
+
+    private static TimeSeriesValue value(String date, String value) {
+        TimeSeriesValue timeSeriesValue = new TimeSeriesValue();
+        timeSeriesValue.date = date;
+        timeSeriesValue.value = value;
+        return timeSeriesValue;
+    }
 }
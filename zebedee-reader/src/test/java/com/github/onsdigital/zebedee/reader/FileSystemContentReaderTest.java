@@ -1,5 +1,6 @@
 package com.github.onsdigital.zebedee.reader;
 
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -8,6 +9,7 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -61,6 +63,55 @@ public class FileSystemContentReaderTest {
         assertFileMimeType("test.png", "image/png");
     }
 
+    @Test
+    public void statContent_shouldResolveTheDataFile() throws Exception {
+        Path root = temporaryFolder.newFolder("content").toPath();
+        Files.createDirectories(root.resolve("economy"));
+        Files.write(root.resolve("economy/data.json"), "{}".getBytes());
+        FileSystemContentReader reader = new FileSystemContentReader(root);
+
+        Optional<ContentStat> stat = reader.statContent("/economy");
+
+        assertThat(stat.isPresent(), equalTo(true));
+        assertThat(stat.get().getPath(), equalTo(root.resolve("economy/data.json")));
+        assertThat(stat.get().getType(), equalTo(ContentStat.Type.FILE));
+        assertThat(stat.get().getSize(), equalTo(2L));
+    }
+
+    @Test
+    public void statContent_shouldFallBackToEnglish() throws Exception {
+        Path root = temporaryFolder.newFolder("content").toPath();
+        Files.createDirectories(root.resolve("economy"));
+        Files.write(root.resolve("economy/data.json"), "{}".getBytes());
+        FileSystemContentReader reader = new FileSystemContentReader(root);
+        reader.setLanguage(ContentLanguage.WELSH);
+
+        assertThat(reader.statContent("/economy").get().getPath(), equalTo(root.resolve("economy/data.json")));
+    }
+
+    @Test
+    public void stat_shouldBeEmptyForMissingContent() throws Exception {
+        Path root = temporaryFolder.newFolder("content").toPath();
+        Files.createDirectories(root.resolve("economy"));
+        Files.write(root.resolve("chart.png"), new byte[]{1});
+        temporaryFolder.newFile("outside.png");
+        FileSystemContentReader reader = new FileSystemContentReader(root);
+
+        assertThat(reader.statContent("/economy").isPresent(), equalTo(false));
+        assertThat(reader.statResource("/missing.png").isPresent(), equalTo(false));
+        assertThat(reader.statResource("/chart.png/data.json").isPresent(), equalTo(false));
+        assertThat(reader.statResource("/../outside.png").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void statResource_shouldReportDirectories() throws Exception {
+        Path root = temporaryFolder.newFolder("content").toPath();
+        Files.createDirectories(root.resolve("visualisations/dvc1"));
+        FileSystemContentReader reader = new FileSystemContentReader(root);
+
+        assertThat(reader.statResource("/visualisations/dvc1").get().isDirectory(), equalTo(true));
+    }
+
     void assertFileMimeType(String filename, String expectedMimeType) throws Exception {
         File f = temporaryFolder.newFile(filename);
         try {
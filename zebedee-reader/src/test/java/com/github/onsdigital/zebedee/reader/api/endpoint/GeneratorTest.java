@@ -1,6 +1,7 @@
 package com.github.onsdigital.zebedee.reader.api.endpoint;
 
 import com.github.onsdigital.zebedee.content.base.Content;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
 import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
 import com.github.onsdigital.zebedee.content.page.statistics.document.figure.chart.Chart;
 import com.github.onsdigital.zebedee.exceptions.BadRequestException;
@@ -9,6 +10,7 @@ import com.github.onsdigital.zebedee.reader.DataGenerator;
 import com.github.onsdigital.zebedee.reader.Resource;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
 import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -22,6 +24,7 @@ import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -144,6 +147,27 @@ public class GeneratorTest {
         }
     }
 
+    @Test
+    public void generateData_givenTimeSeriesReadAsColumns_returnsTheSameCSV() throws ZebedeeException, IOException {
+        // Given
+        // a time series read straight into columns and as a page
+        when(request.getParameter("uri")).thenReturn("/employmentandlabourmarket/peopleinwork/earningsandworkinghours/timeseries/a2f8");
+        Content columnar = readRequestHandler.findColumnarContent(request);
+        Content page = readRequestHandler.findContent(request, null);
+        assertTrue(columnar instanceof ColumnarTimeSeries);
+
+        // When
+        // we generate a csv from each
+        try (Resource fromColumns = generator.generateData(columnar, "csv");
+             Resource fromPage = generator.generateData(page, "csv")) {
+
+            // Then
+            // the downloads should be the same
+            assertThat(IOUtils.toString(fromColumns.getData(), "UTF-8"),
+                    equalTo(IOUtils.toString(fromPage.getData(), "UTF-8")));
+        }
+    }
+
     @Test(expected = BadRequestException.class)
     public void shouldThrowBadRequestExeForUnsupportedFormats() throws Exception {
         Generator api = new Generator();
@@ -18,6 +18,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -142,14 +144,14 @@ public class ResolveDatasetsTest {
 
         when(handler.findContent(request, null))
                 .thenReturn(productPage);
-        when(datasetSummaryResolver.resolve(URI, datasetLink, request, handler))
-                .thenReturn(null);
+        when(datasetSummaryResolver.resolveAll(URI, links, request, handler))
+                .thenReturn(Collections.singletonList(null));
 
         api.handle(request, response);
 
         verify(handler, times(1)).findContent(request, null);
         verify(responseWriter, times(1)).sendResponse(new ArrayList<DatasetSummary>(), response);
-        verify(datasetSummaryResolver, times(1)).resolve(URI, datasetLink, request, handler);
+        verify(datasetSummaryResolver, times(1)).resolveAll(URI, links, request, handler);
     }
 
     @Test
@@ -181,16 +183,13 @@ public class ResolveDatasetsTest {
 
         when(handler.findContent(request, null))
                 .thenReturn(productPage);
-        when(datasetSummaryResolver.resolve(URI, cpih01, request, handler))
-                .thenReturn(summaryCpih01);
-        when(datasetSummaryResolver.resolve(URI, cpih02, request, handler))
-                .thenReturn(summaryCpih02);
+        when(datasetSummaryResolver.resolveAll(URI, links, request, handler))
+                .thenReturn(Arrays.asList(summaryCpih01, summaryCpih02));
 
         api.handle(request, response);
 
         verify(handler, times(1)).findContent(request, null);
-        verify(datasetSummaryResolver, times(1)).resolve(URI, cpih01, request, handler);
-        verify(datasetSummaryResolver, times(1)).resolve(URI, cpih02, request, handler);
+        verify(datasetSummaryResolver, times(1)).resolveAll(URI, links, request, handler);
         verify(responseWriter, times(1)).sendResponse(summaries, response);
     }
 }
@@ -0,0 +1,102 @@
+package com.github.onsdigital.zebedee.reader.api.filter;
+
+import com.github.onsdigital.zebedee.reader.metrics.ReaderMetrics;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class MetricsFilterTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private Map<String, Object> attributes;
+    private ReaderMetrics metrics;
+    private MetricsFilter metricsFilter;
+    private MetricsCompleteFilter metricsCompleteFilter;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        attributes = new HashMap<>();
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.getArgument(0)))
+                .when(request).removeAttribute(anyString());
+
+        metrics = new ReaderMetrics(Collections::emptyList);
+        metricsFilter = new MetricsFilter(metrics);
+        metricsCompleteFilter = new MetricsCompleteFilter(metrics);
+    }
+
+    @Test
+    public void filter_shouldRecordACompletedRequest() {
+        when(request.getRequestURI()).thenReturn("/data/collection-1");
+        when(response.getStatus()).thenReturn(200);
+        when(response.getHeader("Content-Length")).thenReturn("512");
+
+        assertThat(metricsFilter.filter(request, response), is(true));
+        assertThat(metrics.getInFlight(), equalTo(1L));
+        metricsCompleteFilter.filter(request, response);
+
+        String text = metrics.write();
+        assertThat(metrics.getInFlight(), equalTo(0L));
+        assertThat(text, containsString("zebedee_reader_http_requests_total{endpoint=\"data\",status=\"200\"} 1\n"));
+        assertThat(text, containsString("zebedee_reader_http_response_bytes_total{endpoint=\"data\"} 512\n"));
+    }
+
+    @Test
+    public void filter_shouldPreferTheBytesWrittenToTheContentLength() {
+        when(request.getRequestURI()).thenReturn("/export");
+        when(response.getStatus()).thenReturn(200);
+
+        metricsFilter.filter(request, response);
+        attributes.put(ReaderMetrics.RESPONSE_BYTES, 2048L);
+        metricsCompleteFilter.filter(request, response);
+
+        assertThat(metrics.write(), containsString("zebedee_reader_http_response_bytes_total{endpoint=\"export\"} 2048\n"));
+    }
+
+    @Test
+    public void filter_shouldLabelUnknownEndpointsAsOther() {
+        when(request.getRequestURI()).thenReturn("/not-an-endpoint/" + System.nanoTime());
+        when(response.getStatus()).thenReturn(404);
+
+        metricsFilter.filter(request, response);
+        metricsCompleteFilter.filter(request, response);
+
+        assertThat(metrics.write(), containsString("zebedee_reader_http_requests_total{endpoint=\"other\",status=\"404\"} 1\n"));
+    }
+
+    @Test
+    public void filter_shouldNotRecordHealthChecks() {
+        when(request.getRequestURI()).thenReturn("/health");
+
+        metricsFilter.filter(request, response);
+        metricsCompleteFilter.filter(request, response);
+
+        assertThat(metrics.getInFlight(), equalTo(0L));
+        assertThat(metrics.write(), not(containsString("zebedee_reader_http_requests_total{")));
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.page.base.PageDescription;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import com.github.onsdigital.zebedee.exceptions.NotFoundException;
+import com.github.onsdigital.zebedee.reader.DataDownload;
+import com.github.onsdigital.zebedee.reader.DataGenerator;
+import com.github.onsdigital.zebedee.reader.util.ContentStamp;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DownloadCacheTest {
+
+    private static final String URI = "/economy/timeseries/abmi";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private DownloadCache downloadCache;
+    private Path root;
+    private Path dataFile;
+    private AtomicInteger generated;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.newFolder("content").toPath();
+        dataFile = Files.createDirectories(root.resolve("economy/timeseries/abmi")).resolve("data.json");
+        Files.write(dataFile, "{}".getBytes(StandardCharsets.UTF_8));
+
+        downloadCache = new DownloadCache(temporaryFolder.newFolder("downloads").toPath(), root, 1024 * 1024);
+        generated = new AtomicInteger();
+    }
+
+    @Test
+    public void get_shouldServeRepeatDownloadsFromTheSameFile() throws Exception {
+        Path first = get("csv").getFile();
+        Path second = get("csv").getFile();
+
+        assertThat(second, equalTo(first));
+        assertThat(generated.get(), equalTo(1));
+        assertThat(downloadCache.hitCount(), equalTo(1L));
+        assertThat(new String(Files.readAllBytes(first), StandardCharsets.UTF_8), containsString("\"2015\",\"1\""));
+    }
+
+    @Test
+    public void get_shouldCacheEachFormatSeparately() throws Exception {
+        get("csv");
+        get("xls");
+
+        assertThat(generated.get(), equalTo(2));
+        assertThat(downloadCache.size(), equalTo(2L));
+    }
+
+    @Test
+    public void get_shouldRegenerateWhenTheDataFileChanges() throws Exception {
+        Path first = get("csv").getFile();
+        Files.write(dataFile, "{\"changed\":true}".getBytes(StandardCharsets.UTF_8));
+        Path second = get("csv").getFile();
+
+        assertThat(second, not(equalTo(first)));
+        assertThat(generated.get(), equalTo(2));
+        assertThat(Files.exists(first), equalTo(false));
+    }
+
+    @Test
+    public void onPublish_shouldDropDownloadsOfChangedContent() throws Exception {
+        Path file = get("csv").getFile();
+        Files.write(dataFile, "{\"changed\":true}".getBytes(StandardCharsets.UTF_8));
+
+        downloadCache.onPublish(Collections.singletonList(URI));
+
+        assertThat(downloadCache.size(), equalTo(0L));
+        assertThat(Files.exists(file), equalTo(false));
+    }
+
+    @Test
+    public void get_shouldKeepTheFileOfADownloadUntilItIsReleased() throws Exception {
+        // Given a download that is being sent
+        DownloadCache.CachedDownload download = downloadCache.get(URI, null, null, "csv",
+                ContentStamp.of(root, URI, null), () -> download("csv", 1));
+
+        // When the cache drops it
+        downloadCache.invalidateAll();
+
+        // Then its file is only deleted once the response is done
+        assertThat(Files.exists(download.getFile()), equalTo(true));
+        download.release();
+        assertThat(Files.exists(download.getFile()), equalTo(false));
+    }
+
+    @Test
+    public void get_shouldNotCacheDownloadsLargerThanTheShareOfASegment() throws Exception {
+        // Given a cache where a segment holds less than the download
+        long maxBytes = 2048;
+        downloadCache = new DownloadCache(temporaryFolder.newFolder("small").toPath(), root, maxBytes);
+
+        // When it is downloaded
+        DownloadCache.CachedDownload download = downloadCache.get(URI, null, null, "csv",
+                ContentStamp.of(root, URI, null), () -> download("csv", 100));
+
+        // Then the request that generated it can still send its file
+        assertThat(Files.size(download.getFile()) > maxBytes / DownloadCache.CONCURRENCY_LEVEL, equalTo(true));
+        assertThat(Files.exists(download.getFile()), equalTo(true));
+        download.release();
+        assertThat(Files.exists(download.getFile()), equalTo(false));
+        assertThat(downloadCache.size(), equalTo(0L));
+
+        // And later requests send it as it is generated rather than writing it to a file again
+        DownloadCache.CachedDownload repeat = downloadCache.get(URI, null, null, "csv",
+                ContentStamp.of(root, URI, null), () -> download("csv", 100));
+        assertThat(repeat, nullValue());
+        assertThat(generated.get(), equalTo(1));
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void get_shouldThrowTheExceptionOfTheSupplier() throws Exception {
+        downloadCache.get(URI, null, null, "csv", ContentStamp.of(root, URI, null), () -> {
+            throw new NotFoundException("not found");
+        });
+    }
+
+    private DownloadCache.CachedDownload get(String format) throws Exception {
+        DownloadCache.CachedDownload download = downloadCache.get(URI, null, null, format,
+                ContentStamp.of(root, URI, null), () -> download(format, 1));
+        download.release();
+        return download;
+    }
+
+    private DataDownload download(String format, int years) throws Exception {
+        generated.incrementAndGet();
+        TimeSeries timeSeries = new TimeSeries();
+        PageDescription description = new PageDescription();
+        description.setCdid("ABMI");
+        timeSeries.setDescription(description);
+        for (int year = 2015; year < 2015 + years; year++) {
+            TimeSeriesValue value = new TimeSeriesValue();
+            value.date = String.valueOf(year);
+            value.value = "1";
+            timeSeries.add(value);
+        }
+        return new DataGenerator().prepareData(timeSeries, format);
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class LatestEditionIndexTest {
+
+    private static final String SERIES = "economy/bulletins/gdp";
+    private static final String BULLETIN_JSON = "{\"type\":\"bulletin\",\"description\":{\"title\":\"GDP\","
+            + "\"edition\":\"%s\",\"releaseDate\":\"%s-01-01T00:00:00.000Z\"}}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private LatestEditionIndex index;
+    private FileSystemContentReader reader;
+    private Path series;
+
+    @Before
+    public void setUp() throws Exception {
+        ReaderConfiguration.init("target/test-classes/test-content/");
+        Path root = temporaryFolder.getRoot().toPath();
+        series = root.resolve(SERIES);
+        writeEdition("2015");
+        writeEdition("2016");
+
+        index = new LatestEditionIndex(root);
+        reader = new FileSystemContentReader(root, null, index);
+    }
+
+    @Test
+    public void getLatestContent_shouldFindLatestEditionOnce() throws Exception {
+        Page first = reader.getLatestContent(SERIES);
+        Page second = reader.getLatestContent(SERIES);
+
+        assertThat(first.getDescription().getEdition(), equalTo("2016"));
+        assertThat(second.getDescription().getEdition(), equalTo("2016"));
+        assertThat(index.missCount(), equalTo(1L));
+        assertThat(index.hitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void getContent_shouldFlagOnlyTheLatestEdition() throws Exception {
+        assertThat(reader.getContent(SERIES + "/2016").getDescription().isLatestRelease(), equalTo(true));
+        assertThat(reader.getContent(SERIES + "/2015").getDescription().isLatestRelease(), nullValue());
+        assertThat(index.missCount(), equalTo(1L));
+    }
+
+    @Test
+    public void getLatestContent_shouldFindNewEditionWhenSeriesFolderChanges() throws Exception {
+        reader.getLatestContent(SERIES);
+
+        writeEdition("2017");
+        FileTime modified = Files.getLastModifiedTime(series);
+        Files.setLastModifiedTime(series, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        assertThat(reader.getLatestContent(SERIES).getDescription().getEdition(), equalTo("2017"));
+        assertThat(index.missCount(), equalTo(2L));
+    }
+
+    @Test
+    public void onPublish_shouldDropSeriesTouchedByPublish() throws Exception {
+        reader.getLatestContent(SERIES);
+
+        index.onPublish(Collections.singletonList("/economy/other/data.json"));
+        assertThat(index.size(), equalTo(1L));
+
+        index.onPublish(Collections.singletonList("/" + SERIES + "/2016/data.json"));
+        assertThat(index.size(), equalTo(0L));
+    }
+
+    private void writeEdition(String edition) throws Exception {
+        Path folder = Files.createDirectories(series.resolve(edition));
+        Files.write(folder.resolve("data.json"),
+                String.format(BULLETIN_JSON, edition, edition).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PageCacheTest {
+
+    private static final String PAGE_JSON = "{\"type\":\"static_page\",\"description\":{\"title\":\"%s\",\"latestRelease\":true}}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PageCache pageCache;
+    private FileSystemContentReader reader;
+    private Path dataFile;
+
+    @Before
+    public void setUp() throws Exception {
+        File root = temporaryFolder.getRoot();
+        File pageDir = temporaryFolder.newFolder("about");
+        dataFile = pageDir.toPath().resolve("data.json");
+        writePage("About");
+
+        pageCache = new PageCache(1024 * 1024);
+        reader = new FileSystemContentReader(root.toPath(), pageCache);
+    }
+
+    @Test
+    public void getContent_shouldServeRepeatReadsFromCache() throws Exception {
+        Page first = reader.getContent("about");
+        Page second = reader.getContent("about");
+
+        assertThat(first.getDescription().getTitle(), equalTo("About"));
+        assertThat(second.getDescription().getTitle(), equalTo("About"));
+        assertThat(pageCache.missCount(), equalTo(1L));
+        assertThat(pageCache.hitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void getContent_shouldNotExposeCachedInstance() throws Exception {
+        Page first = reader.getContent("about");
+        first.getDescription().setTitle("Changed by caller");
+        first.getDescription().setLatestRelease(true);
+
+        Page second = reader.getContent("about");
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.getDescription().getTitle(), equalTo("About"));
+        assertThat(second.getDescription().isLatestRelease(), nullValue());
+    }
+
+    @Test
+    public void getContent_shouldNotShareDescriptionListsWithCachedInstance() throws Exception {
+        String json = "{\"type\":\"static_page\",\"description\":{\"title\":\"About\",\"keywords\":[\"about\"]}}";
+        Files.write(dataFile, json.getBytes(StandardCharsets.UTF_8));
+        reader.getContent("about").getDescription().getKeywords().add("changed by caller");
+
+        Page second = reader.getContent("about");
+
+        assertThat(second.getDescription().getKeywords().size(), equalTo(1));
+        assertThat(pageCache.hitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void getContent_shouldReloadPageWhenFileChanges() throws Exception {
+        assertThat(reader.getContent("about").getDescription().getTitle(), equalTo("About"));
+
+        writePage("About us");
+
+        assertThat(reader.getContent("about").getDescription().getTitle(), equalTo("About us"));
+        assertThat(pageCache.missCount(), equalTo(2L));
+        assertThat(pageCache.size(), equalTo(1L));
+    }
+
+    @Test
+    public void invalidateAll_shouldRemoveAllEntries() throws Exception {
+        reader.getContent("about");
+
+        pageCache.invalidateAll();
+
+        assertThat(pageCache.size(), equalTo(0L));
+    }
+
+    private void writePage(String title) throws Exception {
+        Files.write(dataFile, String.format(PAGE_JSON, title).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PublishedContentIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path root;
+    private Path indexFile;
+    private PublishedContentIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.newFolder("master").toPath();
+        indexFile = temporaryFolder.getRoot().toPath().resolve("published-index.txt");
+
+        page("", "home_page");
+        page("economy", "taxonomy_landing_page");
+        page("economy/gdp", "product_page");
+        page("economy/gdp/timeseries/abmi", "timeseries");
+        page("economy/gdp/timeseries/abmi/previous/v1", "timeseries");
+        page("economy-archive", "static_page");
+
+        index = new PublishedContentIndex(root, indexFile);
+        index.load();
+    }
+
+    @Test
+    public void load_shouldIndexEveryPageExceptPreviousVersions() {
+        assertThat(uris(index.page(null, 100)), equalTo(Arrays.asList("/", "/economy", "/economy-archive",
+                "/economy/gdp", "/economy/gdp/timeseries/abmi")));
+        assertThat(index.getType("/economy/gdp/timeseries/abmi"), equalTo("timeseries"));
+        assertThat(index.size(), equalTo(5));
+    }
+
+    @Test
+    public void load_shouldOnlyReadPagesThatChangedSinceTheIndexWasSaved() throws Exception {
+        // Given a page rewritten without its modified time changing
+        Path dataFile = root.resolve("economy-archive/data.json");
+        FileTime modified = Files.getLastModifiedTime(dataFile);
+        page("economy-archive", "release");
+        Files.setLastModifiedTime(dataFile, modified);
+
+        PublishedContentIndex loaded = new PublishedContentIndex(root, indexFile);
+        loaded.load();
+
+        assertThat(loaded.size(), equalTo(5));
+        assertThat(loaded.getType("/economy-archive"), equalTo("static_page"));
+    }
+
+    @Test
+    public void load_shouldReconcileTheSavedIndexWithTheContentTree() throws Exception {
+        // Given pages published and deleted by another process since the index was saved
+        FileUtils.deleteDirectory(root.resolve("economy/gdp").toFile());
+        page("aaa", "static_page");
+        Path dataFile = root.resolve("economy-archive/data.json");
+        FileTime modified = Files.getLastModifiedTime(dataFile);
+        page("economy-archive", "release");
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        PublishedContentIndex loaded = new PublishedContentIndex(root, indexFile);
+        loaded.load();
+
+        assertThat(uris(loaded.page(null, 100)), equalTo(Arrays.asList("/", "/aaa", "/economy", "/economy-archive")));
+        assertThat(loaded.getType("/economy-archive"), equalTo("release"));
+        assertThat(loaded.size(), equalTo(4));
+
+        PublishedContentIndex saved = new PublishedContentIndex(root, indexFile);
+        saved.load();
+        assertThat(saved.getType("/aaa"), equalTo("static_page"));
+        assertThat(saved.getType("/economy/gdp"), nullValue());
+    }
+
+    @Test
+    public void load_shouldServeTheIndexFromMemoryIfItCanNotBeSaved() throws Exception {
+        Path unwritable = temporaryFolder.getRoot().toPath().resolve("missing").resolve("published-index.txt");
+
+        PublishedContentIndex loaded = new PublishedContentIndex(root, unwritable);
+        loaded.load();
+
+        assertThat(loaded.size(), equalTo(5));
+        assertThat(Files.exists(unwritable), equalTo(false));
+    }
+
+    @Test
+    public void page_shouldReconcileTheIndexWhenItIsDue() throws Exception {
+        PublishedContentIndex checked = new PublishedContentIndex(root, indexFile, 1);
+        checked.load();
+
+        // When pages are published and deleted without the index being told
+        FileUtils.deleteDirectory(root.resolve("economy/gdp").toFile());
+        page("aaa", "static_page");
+        Thread.sleep(5);
+
+        // Then reading the index reconciles it in the background
+        long deadline = System.currentTimeMillis() + 5000;
+        while (checked.size() != 4 && System.currentTimeMillis() < deadline) {
+            checked.page(null, 100);
+            Thread.sleep(10);
+        }
+        assertThat(uris(checked.page(null, 100)), equalTo(Arrays.asList("/", "/aaa", "/economy",
+                "/economy-archive")));
+    }
+
+    @Test
+    public void page_shouldWalkTheIndexWithCursors() {
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            PublishedContentIndex.Page page = index.page(cursor, 2);
+            walked.addAll(uris(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(walked, equalTo(uris(index.page(null, 100))));
+    }
+
+    @Test
+    public void page_shouldNotRepeatOrSkipWhenTheIndexChangesBetweenPages() throws Exception {
+        PublishedContentIndex.Page first = index.page(null, 2);
+        page("aaa", "static_page");
+        page("zzz", "static_page");
+        index.onPublish(Arrays.asList("/aaa/data.json", "/zzz/data.json"));
+
+        PublishedContentIndex.Page second = index.page(first.getNextCursor(), 100);
+
+        assertThat(uris(first), equalTo(Arrays.asList("/", "/economy")));
+        assertThat(uris(second), equalTo(Arrays.asList("/economy-archive", "/economy/gdp",
+                "/economy/gdp/timeseries/abmi", "/zzz")));
+        assertThat(second.getNextCursor(), nullValue());
+    }
+
+    @Test
+    public void onPublish_shouldAddAndUpdatePublishedPages() throws Exception {
+        page("economy/gdp/timeseries/ybha", "timeseries");
+        page("economy/gdp", "static_page");
+
+        index.onPublish(Arrays.asList("/economy/gdp/timeseries/ybha/data.json", "/economy/gdp/data.json",
+                "/economy/gdp/chart.png"));
+
+        assertThat(index.getType("/economy/gdp/timeseries/ybha"), equalTo("timeseries"));
+        assertThat(index.getType("/economy/gdp"), equalTo("static_page"));
+        assertThat(index.size(), equalTo(6));
+
+        PublishedContentIndex saved = new PublishedContentIndex(root, indexFile);
+        saved.load();
+        assertThat(saved.getType("/economy/gdp"), equalTo("static_page"));
+    }
+
+    @Test
+    public void onPublish_shouldRemoveDeletedSubtrees() throws Exception {
+        FileUtils.deleteDirectory(root.resolve("economy/gdp").toFile());
+
+        index.onPublish(Collections.singletonList("/economy/gdp"));
+
+        assertThat(index.getType("/economy/gdp"), nullValue());
+        assertThat(index.getType("/economy/gdp/timeseries/abmi"), nullValue());
+        assertThat(index.getType("/economy-archive"), equalTo("static_page"));
+        assertThat(index.size(), equalTo(3));
+
+        PublishedContentIndex saved = new PublishedContentIndex(root, indexFile);
+        saved.load();
+        assertThat(saved.size(), equalTo(3));
+    }
+
+    private void page(String uri, String type) throws Exception {
+        Path folder = Files.createDirectories(root.resolve(uri));
+        String json = "{\"description\":{\"title\":\"" + uri + "\"},\"type\":\"" + type + "\"}";
+        Files.write(folder.resolve("data.json"), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> uris(PublishedContentIndex.Page page) {
+        List<String> uris = new ArrayList<>();
+        for (Map.Entry<String, String> entry : page.getEntries()) {
+            uris.add(entry.getKey());
+        }
+        return uris;
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import com.github.onsdigital.zebedee.content.page.base.Page;
+import com.github.onsdigital.zebedee.content.util.ContentUtil;
+import com.github.onsdigital.zebedee.reader.data.filter.DataFilter;
+import com.github.onsdigital.zebedee.reader.util.ContentStamp;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResponseCacheTest {
+
+    private static final String PAGE_JSON = "{\"type\":\"static_page\",\"description\":{\"title\":\"%s\"}}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ResponseCache responseCache;
+    private Path root;
+    private Path dataFile;
+    private AtomicInteger reads;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.getRoot().toPath();
+        dataFile = temporaryFolder.newFolder("about").toPath().resolve("data.json");
+        writePage("About");
+
+        responseCache = new ResponseCache(1024 * 1024);
+        reads = new AtomicInteger();
+    }
+
+    @Test
+    public void sendResponse_shouldServeRepeatRequestsFromCache() throws Exception {
+        String first = send("/about", null);
+        String second = send("/about", null);
+
+        assertThat(second, equalTo(first));
+        assertThat(reads.get(), equalTo(1));
+        assertThat(responseCache.hitCount(), equalTo(1L));
+        assertThat(responseCache.missCount(), equalTo(1L));
+    }
+
+    @Test
+    public void sendResponse_shouldSetEtagOfSerialisedContent() throws Exception {
+        HttpServletResponse response = mockResponse(new ByteArrayOutputStream());
+        responseCache.sendResponse(mock(HttpServletRequest.class), response, "/about", null, null, stamp("/about"),
+                this::readPage);
+
+        HttpServletResponse cachedResponse = mockResponse(new ByteArrayOutputStream());
+        responseCache.sendResponse(mock(HttpServletRequest.class), cachedResponse, "/about", null, null,
+                stamp("/about"), this::readPage);
+
+        String etag = ContentUtil.hash(ContentUtil.deserialiseContent(String.format(PAGE_JSON, "About")));
+        verify(response).setHeader("Etag", etag);
+        verify(cachedResponse).setHeader("Etag", etag);
+        verify(cachedResponse).setHeader("ONS-Page-Type", "Static page");
+    }
+
+    @Test
+    public void sendResponse_shouldReadContentAgainWhenFileChanges() throws Exception {
+        String first = send("/about", null);
+
+        writePage("About us");
+        String second = send("/about", null);
+
+        assertThat(second, not(equalTo(first)));
+        assertThat(reads.get(), equalTo(2));
+    }
+
+    @Test
+    public void sendResponse_shouldCacheFilteredResponsesSeparately() throws Exception {
+        send("/about", null);
+        send("/about", new DataFilter(DataFilter.FilterType.TITLE));
+
+        assertThat(reads.get(), equalTo(2));
+        assertThat(responseCache.size(), equalTo(2L));
+    }
+
+    @Test
+    public void sendResponse_shouldSendNotModifiedWhenEtagMatches() throws Exception {
+        send("/about", null);
+        String etag = ContentUtil.hash(ContentUtil.deserialiseContent(String.format(PAGE_JSON, "About")));
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("If-None-Match")).thenReturn("\"" + etag + "\"");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        HttpServletResponse response = mockResponse(body);
+        responseCache.sendResponse(request, response, "/about", ContentLanguage.ENGLISH, null, stamp("/about"),
+                this::readPage);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(body.size(), equalTo(0));
+        assertThat(reads.get(), equalTo(1));
+    }
+
+    @Test
+    public void onPublish_shouldDropCachedResponses() throws Exception {
+        send("/about", null);
+
+        responseCache.onPublish(Collections.singletonList("/about/data.json"));
+
+        assertThat(responseCache.size(), equalTo(0L));
+    }
+
+    @Test
+    public void onPublish_shouldKeepResponsesOfUnrelatedUris() throws Exception {
+        Path other = temporaryFolder.newFolder("aboutus").toPath().resolve("data.json");
+        Files.write(other, String.format(PAGE_JSON, "About us").getBytes(StandardCharsets.UTF_8));
+        send("/about", null);
+        send("/aboutus", null);
+
+        responseCache.onPublish(Collections.singletonList("/aboutus/data.json"));
+
+        assertThat(responseCache.size(), equalTo(1L));
+        send("/about", null);
+        assertThat(responseCache.hitCount(), equalTo(1L));
+    }
+
+    private String send(String uri, DataFilter filter) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        responseCache.sendResponse(mock(HttpServletRequest.class), mockResponse(body), uri, ContentLanguage.ENGLISH,
+                filter, stamp(uri), this::readPage);
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private ContentStamp stamp(String uri) throws IOException {
+        return ContentStamp.of(root, uri, ContentLanguage.ENGLISH);
+    }
+
+    private Page readPage() throws IOException {
+        reads.incrementAndGet();
+        return ContentUtil.deserialiseContent(new String(Files.readAllBytes(dataFile), StandardCharsets.UTF_8));
+    }
+
+    private void writePage(String title) throws Exception {
+        Files.write(dataFile, String.format(PAGE_JSON, title).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpServletResponse mockResponse(ByteArrayOutputStream body) throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+        return response;
+    }
+}
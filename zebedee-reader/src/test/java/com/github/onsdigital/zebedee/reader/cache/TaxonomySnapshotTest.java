@@ -0,0 +1,114 @@
+package com.github.onsdigital.zebedee.reader.cache;
+
+import com.github.onsdigital.zebedee.content.dynamic.browse.ContentNode;
+import com.github.onsdigital.zebedee.reader.FileSystemContentReader;
+import com.github.onsdigital.zebedee.reader.configuration.ReaderConfiguration;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TaxonomySnapshotTest {
+
+    private static final String PAGE_JSON = "{\"type\":\"%s\",\"description\":{\"title\":\"%s\"}}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path root;
+    private FileSystemContentReader reader;
+
+    @Before
+    public void setUp() throws Exception {
+        ReaderConfiguration.init("target/test-classes/test-content/");
+        root = temporaryFolder.getRoot().toPath();
+        writePage("", "home_page", "Home");
+        writePage("peoplepopulationandcommunity", "taxonomy_landing_page", "People");
+        writePage("economy", "taxonomy_landing_page", "Economy");
+        writePage("economy/grossdomesticproductgdp", "taxonomy_landing_page", "GDP");
+        writePage("economy/bulletins/gdp", "bulletin", "GDP bulletin");
+        reader = new FileSystemContentReader(root);
+    }
+
+    @Test
+    public void getChildren_shouldListChildrenInTitleOrder() throws Exception {
+        TaxonomySnapshot snapshot = TaxonomySnapshot.build(reader);
+
+        Map<URI, ContentNode> children = snapshot.getChildren("/");
+
+        assertThat(new ArrayList<>(children.keySet()),
+                equalTo(Arrays.asList(URI.create("/economy"), URI.create("/peoplepopulationandcommunity"))));
+        assertThat(snapshot.getChildren("/economy/").containsKey(URI.create("/economy/grossdomesticproductgdp")),
+                equalTo(true));
+        assertThat(snapshot.getChildren("/economy/bulletins"), nullValue());
+    }
+
+    @Test
+    public void getChildren_shouldReturnCopies() throws Exception {
+        TaxonomySnapshot snapshot = TaxonomySnapshot.build(reader);
+
+        ContentNode first = snapshot.getChildren("/").get(URI.create("/economy"));
+        ContentNode second = snapshot.getChildren("/").get(URI.create("/economy"));
+
+        assertThat(first, not(sameInstance(second)));
+        assertThat(first.getDescription().getTitle(), equalTo("Economy"));
+    }
+
+    @Test
+    public void getNode_shouldReturnTaxonomyNodes() throws Exception {
+        TaxonomySnapshot snapshot = TaxonomySnapshot.build(reader);
+
+        assertThat(snapshot.getNode("/").getDescription().getTitle(), equalTo("Home"));
+        assertThat(snapshot.getNode("economy").getDescription().getTitle(), equalTo("Economy"));
+        assertThat(snapshot.contains("/economy/bulletins/gdp"), equalTo(false));
+    }
+
+    @Test
+    public void isAffectedBy_shouldMatchNodesAndNewChildren() throws Exception {
+        TaxonomySnapshot snapshot = TaxonomySnapshot.build(reader);
+
+        assertThat(snapshot.isAffectedBy("/economy/data.json"), equalTo(true));
+        assertThat(snapshot.isAffectedBy("/economy/inflation/data.json"), equalTo(true));
+        assertThat(snapshot.isAffectedBy("/economy/bulletins/gdp/data.json"), equalTo(false));
+    }
+
+    @Test
+    public void isCurrent_shouldBeFalseWhenNodeChanges() throws Exception {
+        TaxonomySnapshot snapshot = TaxonomySnapshot.build(reader);
+        assertThat(snapshot.isCurrent(), equalTo(true));
+
+        Path dataFile = root.resolve("economy/data.json");
+        FileTime modified = Files.getLastModifiedTime(dataFile);
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        assertThat(snapshot.isCurrent(), equalTo(false));
+    }
+
+    @Test
+    public void parent_shouldWalkUpToRoot() {
+        assertThat(TaxonomySnapshot.parent("/economy/grossdomesticproductgdp"), equalTo("/economy"));
+        assertThat(TaxonomySnapshot.parent("/economy"), equalTo("/"));
+        assertThat(TaxonomySnapshot.parent("/"), nullValue());
+    }
+
+    private void writePage(String uri, String type, String title) throws Exception {
+        Path folder = root.resolve(uri);
+        Files.createDirectories(folder);
+        Files.write(folder.resolve("data.json"), String.format(PAGE_JSON, type, title).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.onsdigital.zebedee.reader.data.filter;
+
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Point;
+import com.github.onsdigital.zebedee.content.dynamic.timeseries.Series;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.ColumnarTimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeries;
+import com.github.onsdigital.zebedee.content.page.statistics.data.timeseries.TimeSeriesValue;
+import com.github.onsdigital.zebedee.exceptions.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FilterUtilTest {
+
+    private static final String[] MONTHS = "JAN,FEB,MAR,APR,MAY,JUN,JUL,AUG,SEP,OCT,NOV,DEC".split(",");
+
+    private TimeSeries timeSeries;
+
+    @Before
+    public void setUp() {
+        timeSeries = new TimeSeries();
+        for (int year = 1950; year < 2020; year++) {
+            timeSeries.add(value(String.valueOf(year), String.valueOf(year)));
+            for (String month : MONTHS) {
+                timeSeries.add(value(year + " " + month, year + "." + month.length()));
+            }
+        }
+    }
+
+    @Test
+    public void series_shouldDefaultToMonthsWithoutRange() throws Exception {
+        Series series = filter(timeSeries, Collections.emptyMap());
+
+        assertThat(series.getSeries().size(), equalTo(70 * 12));
+    }
+
+    @Test
+    public void series_shouldReturnPointsInRange() throws Exception {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("fromYear", new String[]{"2005"});
+        parameters.put("fromMonth", new String[]{"Jan"});
+        parameters.put("toYear", new String[]{"2014"});
+        parameters.put("toMonth", new String[]{"Dec"});
+
+        List<String> names = names(filter(timeSeries, parameters));
+
+        assertThat(names.size(), equalTo(120));
+        assertThat(names.get(0), equalTo("2005 JAN"));
+        assertThat(names.get(119), equalTo("2014 DEC"));
+        assertThat(names(filter(ColumnarTimeSeries.of(timeSeries), parameters)), equalTo(names));
+    }
+
+    @Test
+    public void series_shouldIgnoreToDateWithoutAPoint() throws Exception {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("frequency", new String[]{"years"});
+        parameters.put("fromYear", new String[]{"2015"});
+        parameters.put("toYear", new String[]{"2030"});
+
+        List<String> names = names(filter(timeSeries, parameters));
+
+        assertThat(names, equalTo(Arrays.asList("2015", "2016", "2017", "2018", "2019")));
+        assertThat(names(filter(ColumnarTimeSeries.of(timeSeries), parameters)), equalTo(names));
+    }
+
+    @Test
+    public void series_shouldBeEmptyWhenToIsBeforeFrom() throws Exception {
+        Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("frequency", new String[]{"years"});
+        parameters.put("fromYear", new String[]{"2010"});
+        parameters.put("toYear", new String[]{"2000"});
+
+        assertThat(filter(timeSeries, parameters).getSeries().size(), equalTo(0));
+        assertThat(filter(ColumnarTimeSeries.of(timeSeries), parameters).getSeries().size(), equalTo(0));
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void series_shouldThrowNotFoundForMissingFrequency() throws Exception {
+        filter(new TimeSeries(), Collections.emptyMap());
+    }
+
+    private static Series filter(Object content, Map<String, String[]> parameters) throws Exception {
+        DataFilter filter = new DataFilter(DataFilter.FilterType.SERIES, parameters);
+        if (content instanceof TimeSeries) {
+            return (Series) FilterUtil.filterPageData((TimeSeries) content, filter);
+        }
+        return (Series) FilterUtil.filterPageData((ColumnarTimeSeries) content, filter);
+    }
+
+    private static List<String> names(Series series) {
+        List<String> names = new ArrayList<>();
+        for (Point point : series.getSeries()) {
+            names.add(point.getName());
+        }
+        return names;
+    }
+
+    private static TimeSeriesValue value(String date, String value) {
+        TimeSeriesValue timeSeriesValue = new TimeSeriesValue();
+        timeSeriesValue.date = date;
+        timeSeriesValue.value = value;
+        return timeSeriesValue;
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.onsdigital.zebedee.reader.metrics;
+
+import com.github.onsdigital.zebedee.reader.cache.CacheStatistics;
+import com.github.onsdigital.zebedee.reader.cache.ReaderCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ReaderMetricsTest {
+
+    private List<ReaderCache> caches;
+    private ReaderMetrics metrics;
+
+    @Before
+    public void setUp() {
+        caches = new ArrayList<>();
+        metrics = new ReaderMetrics(() -> caches);
+    }
+
+    @Test
+    public void write_shouldCountRequestsByEndpointAndStatus() {
+        metrics.requestStarted();
+        metrics.requestStarted();
+        metrics.requestStarted();
+        metrics.requestCompleted("data", 200, TimeUnit.MILLISECONDS.toNanos(3), 100);
+        metrics.requestCompleted("data", 404, TimeUnit.MILLISECONDS.toNanos(1), 20);
+
+        String text = metrics.write();
+
+        assertThat(text, containsString("zebedee_reader_http_requests_total{endpoint=\"data\",status=\"200\"} 1\n"));
+        assertThat(text, containsString("zebedee_reader_http_requests_total{endpoint=\"data\",status=\"404\"} 1\n"));
+        assertThat(text, containsString("zebedee_reader_http_response_bytes_total{endpoint=\"data\"} 120\n"));
+        assertThat(text, containsString("zebedee_reader_http_requests_in_flight 1\n"));
+        assertThat(text, containsString("zebedee_reader_http_request_duration_seconds_count{endpoint=\"data\"} 2\n"));
+    }
+
+    @Test
+    public void write_shouldWriteCumulativeBuckets() {
+        LatencyHistogram histogram = metrics.getStage("resolveContentPath");
+        histogram.observe(TimeUnit.MICROSECONDS.toNanos(50));
+        histogram.observe(TimeUnit.MILLISECONDS.toNanos(2));
+        histogram.observe(TimeUnit.SECONDS.toNanos(60));
+
+        String text = metrics.write();
+        String bucket = "zebedee_reader_stage_duration_seconds_bucket{stage=\"resolveContentPath\",";
+
+        assertThat(text, containsString(bucket + "le=\"0.0001\"} 1\n"));
+        assertThat(text, containsString(bucket + "le=\"0.001\"} 1\n"));
+        assertThat(text, containsString(bucket + "le=\"0.0025\"} 2\n"));
+        assertThat(text, containsString(bucket + "le=\"30\"} 2\n"));
+        assertThat(text, containsString(bucket + "le=\"+Inf\"} 3\n"));
+        assertThat(histogram.getCount(), equalTo(3L));
+    }
+
+    @Test
+    public void write_shouldAddUpCachesOfTheSameKind() {
+        caches.add(new StubCache(3, 1, 10));
+        caches.add(new StubCache(1, 3, 5));
+        caches.add(uris -> {
+        });
+
+        String text = metrics.write();
+
+        assertThat(text, containsString("zebedee_reader_cache_hits_total{cache=\"StubCache\"} 4\n"));
+        assertThat(text, containsString("zebedee_reader_cache_misses_total{cache=\"StubCache\"} 4\n"));
+        assertThat(text, containsString("zebedee_reader_cache_hit_ratio{cache=\"StubCache\"} 0.5\n"));
+        assertThat(text, containsString("zebedee_reader_cache_entries{cache=\"StubCache\"} 15\n"));
+        assertThat(text, not(containsString("ReaderMetricsTest$")));
+    }
+
+    @Test
+    public void write_shouldNotGiveARatioForAnUnusedCache() {
+        caches.add(new StubCache(0, 0, 0));
+
+        assertThat(metrics.write(), containsString("zebedee_reader_cache_hit_ratio{cache=\"StubCache\"} NaN\n"));
+    }
+
+    private static class StubCache implements ReaderCache, CacheStatistics {
+        private final long hits;
+        private final long misses;
+        private final long size;
+
+        StubCache(long hits, long misses, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.size = size;
+        }
+
+        @Override
+        public void onPublish(Collection<String> uris) {
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long hitCount() {
+            return hits;
+        }
+
+        @Override
+        public long missCount() {
+            return misses;
+        }
+    }
+}
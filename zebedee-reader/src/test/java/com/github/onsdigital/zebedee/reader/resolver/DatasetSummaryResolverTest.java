@@ -6,10 +6,12 @@ import com.github.onsdigital.zebedee.content.partial.Link;
 import com.github.onsdigital.zebedee.exceptions.InternalServerError;
 import com.github.onsdigital.zebedee.reader.api.ReadRequestHandler;
 import com.github.onsdigital.zebedee.reader.api.bean.DatasetSummary;
+import com.github.onsdigital.zebedee.reader.util.ConcurrentContentLoader;
 import dp.api.dataset.DatasetAPIClient;
 import dp.api.dataset.exception.DatasetAPIException;
 import dp.api.dataset.model.Dataset;
 import dp.api.dataset.model.DatasetLinks;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -18,6 +20,11 @@ import org.mockito.MockitoAnnotations;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -50,10 +57,12 @@ public class DatasetSummaryResolverTest {
     private DatasetSummaryResolver resolver;
     private Dataset cpihDataset;
     private DatasetLandingPage datasetLandingPage;
+    private ExecutorService executor;
 
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(4);
 
         this.cmdDatasetLink = new Link(new URI("/datasets/" + CPIH01_ID));
         this.legacyDatasetLink = new Link(new URI("/economy/economicoutputandproductivity/output/datasets/indexofproduction"));
@@ -102,6 +111,11 @@ public class DatasetSummaryResolverTest {
         datasetLandingPage.setUri(new URI("/economy/economicoutputandproductivity/output/datasets/indexofproduction"));
     }
 
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
     @Test
     public void testResolveLegacyDataset_ReadRequestHandlerException() throws Exception {
         resolver = new DatasetSummaryResolver(datasetAPIClient, true);
@@ -276,6 +290,104 @@ public class DatasetSummaryResolverTest {
         resolver.getCMDDatasetID(PAGE_URI, new Link(new URI("/datasets/")));
     }
 
+    @Test
+    public void testResolveAll_ResolvesEachLinkInOrder() throws Exception {
+        resolver = cachingResolver(0);
+        Link cpih02Link = new Link(new URI("/datasets/cpih02"));
+        Link missingLink = new Link(new URI("/datasets/missing"));
+
+        when(datasetAPIClient.getDataset(anyString())).thenAnswer(invocation -> {
+            String id = invocation.getArgument(0);
+            if ("missing".equals(id)) {
+                throw new ClientException("not found");
+            }
+            return dataset(id);
+        });
+        when(handler.findContent(null, null, null, legacyDatasetLink.getUri().toString()))
+                .thenReturn(datasetLandingPage);
+
+        List<DatasetSummary> results = resolver.resolveAll(PAGE_URI,
+                Arrays.asList(cmdDatasetLink, missingLink, legacyDatasetLink, cpih02Link, cmdDatasetLink),
+                request, handler);
+
+        assertThat(results.size(), equalTo(5));
+        assertThat(results.get(0).getUri(), equalTo("/datasets/cpih01"));
+        assertThat(results.get(1), is(nullValue()));
+        assertThat(results.get(2).getTitle(), equalTo(datasetLandingPage.getDescription().getTitle()));
+        assertThat(results.get(3).getUri(), equalTo("/datasets/cpih02"));
+        assertThat(results.get(4).getUri(), equalTo("/datasets/cpih01"));
+        verify(datasetAPIClient, times(1)).getDataset(CPIH01_ID);
+    }
+
+    @Test
+    public void testResolveAll_ServesRepeatedLinksFromTheCache() throws Exception {
+        resolver = cachingResolver(100);
+
+        when(datasetAPIClient.getDataset(CPIH01_ID)).thenReturn(cpihDataset);
+        when(handler.findContent(null, null, null, legacyDatasetLink.getUri().toString()))
+                .thenReturn(datasetLandingPage);
+
+        List<Link> links = Arrays.asList(cmdDatasetLink, legacyDatasetLink);
+        resolver.resolveAll(PAGE_URI, links, request, handler);
+        List<DatasetSummary> results = resolver.resolveAll(PAGE_URI, links, request, handler);
+
+        assertThat(results.get(0).getTitle(), equalTo(cpihDataset.getTitle()));
+        assertThat(results.get(1).getTitle(), equalTo(datasetLandingPage.getDescription().getTitle()));
+        verify(datasetAPIClient, times(1)).getDataset(CPIH01_ID);
+        verify(handler, times(1)).findContent(null, null, null, legacyDatasetLink.getUri().toString());
+    }
+
+    @Test
+    public void testResolveAll_ReadsLegacyDatasetsAgainOncePublished() throws Exception {
+        resolver = cachingResolver(100);
+        String uri = legacyDatasetLink.getUri().toString();
+
+        when(handler.findContent(null, null, null, uri)).thenReturn(datasetLandingPage);
+
+        List<Link> links = Collections.singletonList(legacyDatasetLink);
+        resolver.resolveAll(PAGE_URI, links, request, handler);
+        resolver.onPublish(Collections.singletonList("/economy/other/data.json"));
+        resolver.resolveAll(PAGE_URI, links, request, handler);
+        resolver.onPublish(Collections.singletonList(uri + "/data.json"));
+        resolver.resolveAll(PAGE_URI, links, request, handler);
+
+        verify(handler, times(2)).findContent(null, null, null, uri);
+    }
+
+    @Test
+    public void testResolveAll_DoesNotCacheCollectionContent() throws Exception {
+        resolver = cachingResolver(100);
+        String uri = legacyDatasetLink.getUri().toString();
+
+        when(request.getRequestURI()).thenReturn("/data/collection-1");
+        when(request.getHeader("X-Florence-Token")).thenReturn("session-1");
+        when(handler.findContent("collection-1", "session-1", null, uri)).thenReturn(datasetLandingPage);
+
+        List<Link> links = Collections.singletonList(legacyDatasetLink);
+        resolver.resolveAll(PAGE_URI, links, request, handler);
+        resolver.resolveAll(PAGE_URI, links, request, handler);
+
+        verify(handler, times(2)).findContent("collection-1", "session-1", null, uri);
+        assertThat(resolver.size(), equalTo(0L));
+    }
+
+    private DatasetSummaryResolver cachingResolver(long cacheSize) {
+        ConcurrentContentLoader loader = new ConcurrentContentLoader(executor, 2);
+        return new DatasetSummaryResolver(datasetAPIClient, true, loader, cacheSize, 60);
+    }
+
+    private static Dataset dataset(String id) {
+        dp.api.dataset.model.Link selfLink = new dp.api.dataset.model.Link();
+        selfLink.setHref("/datasets/" + id);
+        DatasetLinks links = new DatasetLinks();
+        links.setSelf(selfLink);
+
+        Dataset dataset = new Dataset();
+        dataset.setLinks(links);
+        dataset.setTitle(id);
+        return dataset;
+    }
+
     static class ClientException extends DatasetAPIException {
         public ClientException(String message) {
             super(message);
@@ -0,0 +1,47 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ByteRangeTest {
+
+    @Test
+    public void parse_shouldReadClosedOpenAndSuffixRanges() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=0-9, 20-, -5", 100);
+
+        assertThat(ranges.size(), equalTo(3));
+        assertThat(ranges.get(0).toContentRange(100), equalTo("bytes 0-9/100"));
+        assertThat(ranges.get(1).toContentRange(100), equalTo("bytes 20-99/100"));
+        assertThat(ranges.get(2).toContentRange(100), equalTo("bytes 95-99/100"));
+    }
+
+    @Test
+    public void parse_shouldClampEndToFileSize() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=90-200", 100);
+
+        assertThat(ranges.get(0).length(), equalTo(10L));
+    }
+
+    @Test
+    public void parse_shouldReturnEmptyListWhenUnsatisfiable() {
+        assertThat(ByteRange.parse("bytes=100-200", 100).isEmpty(), is(true));
+    }
+
+    @Test
+    public void parse_shouldIgnoreMalformedHeaders() {
+        assertThat(ByteRange.parse("items=0-1", 100), is(nullValue()));
+        assertThat(ByteRange.parse("bytes=5-1", 100), is(nullValue()));
+        assertThat(ByteRange.parse("bytes=a-b", 100), is(nullValue()));
+    }
+
+    @Test
+    public void parse_shouldIgnoreRangesCoveringMoreThanTheFile() {
+        assertThat(ByteRange.parse("bytes=0-99,0-99", 100), is(nullValue()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.exceptions.NotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ConcurrentContentLoaderTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void load_shouldKeepTheOrderOfTheUris() throws Exception {
+        List<String> uris = uris(50);
+        ConcurrentContentLoader loader = new ConcurrentContentLoader(executor, 4);
+
+        List<String> loaded = loader.load(uris, uri -> {
+            pause(uri.length() % 3);
+            return uri.toUpperCase();
+        });
+
+        assertThat(loaded.size(), equalTo(50));
+        for (int i = 0; i < uris.size(); i++) {
+            assertThat(loaded.get(i), equalTo(uris.get(i).toUpperCase()));
+        }
+    }
+
+    @Test
+    public void load_shouldBoundTheLoadsRunningForARequest() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ConcurrentContentLoader loader = new ConcurrentContentLoader(executor, 3);
+
+        loader.load(uris(30), uri -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            pause(5);
+            running.decrementAndGet();
+            return uri;
+        });
+
+        assertThat(maxRunning.get() <= 3, equalTo(true));
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void load_shouldThrowTheExceptionOfAFailedLoad() throws Exception {
+        ConcurrentContentLoader loader = new ConcurrentContentLoader(executor, 4);
+
+        loader.load(uris(20), uri -> {
+            if (uri.equals("/series/7")) {
+                throw new NotFoundException("not found");
+            }
+            return uri;
+        });
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<String> uris(int count) {
+        List<String> uris = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            uris.add("/series/" + i);
+        }
+        return uris;
+    }
+}
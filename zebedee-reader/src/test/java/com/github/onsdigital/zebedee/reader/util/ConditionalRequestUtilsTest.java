@@ -0,0 +1,90 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConditionalRequestUtilsTest {
+
+    private static final String ETAG = "\"abc\"";
+    private static final long LAST_MODIFIED = 1_500_000_000_500L;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Test
+    public void isNotModified_shouldBeFalseForUnconditionalRequest() {
+        assertThat(ConditionalRequestUtils.isNotModified(request, ETAG, LAST_MODIFIED), is(false));
+    }
+
+    @Test
+    public void isNotModified_shouldMatchEtagInList() {
+        when(request.getHeader("If-None-Match")).thenReturn("\"xyz\", W/\"abc\"");
+        assertThat(ConditionalRequestUtils.isNotModified(request, ETAG, LAST_MODIFIED), is(true));
+    }
+
+    @Test
+    public void isNotModified_shouldMatchUnquotedEtag() {
+        when(request.getHeader("If-None-Match")).thenReturn("\"abc\"");
+        assertThat(ConditionalRequestUtils.isNotModified(request, "abc", -1), is(true));
+    }
+
+    @Test
+    public void isNotModified_shouldMatchAnyEtag() {
+        when(request.getHeader("If-None-Match")).thenReturn("*");
+        assertThat(ConditionalRequestUtils.isNotModified(request, ETAG, -1), is(true));
+    }
+
+    @Test
+    public void isNotModified_shouldIgnoreModifiedSinceWhenEtagDiffers() {
+        when(request.getHeader("If-None-Match")).thenReturn("\"xyz\"");
+        assertThat(ConditionalRequestUtils.isNotModified(request, ETAG, LAST_MODIFIED), is(false));
+    }
+
+    @Test
+    public void isNotModified_shouldCompareModifiedSinceToTheSecond() {
+        when(request.getHeader("If-Modified-Since")).thenReturn("Fri, 14 Jul 2017 02:40:00 GMT");
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(1_500_000_000_000L);
+        assertThat(ConditionalRequestUtils.isNotModified(request, ETAG, LAST_MODIFIED), is(true));
+    }
+
+    @Test
+    public void isNotModified_shouldBeFalseWhenModifiedAfterDate() {
+        when(request.getHeader("If-Modified-Since")).thenReturn("Fri, 14 Jul 2017 02:39:59 GMT");
+        when(request.getDateHeader("If-Modified-Since")).thenReturn(1_499_999_999_000L);
+        assertThat(ConditionalRequestUtils.isNotModified(request, ETAG, LAST_MODIFIED), is(false));
+    }
+
+    @Test
+    public void sendNotModified_shouldSetStatusAndValidators() {
+        ConditionalRequestUtils.sendNotModified(response, ETAG, LAST_MODIFIED);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response).setHeader("Etag", ETAG);
+        verify(response).setDateHeader("Last-Modified", LAST_MODIFIED);
+    }
+
+    @Test
+    public void fileEtag_shouldChangeWithSizeAndModifiedTime() {
+        assertThat(ConditionalRequestUtils.fileEtag(10, LAST_MODIFIED),
+                equalTo(ConditionalRequestUtils.fileEtag(10, LAST_MODIFIED)));
+        assertThat(ConditionalRequestUtils.fileEtag(10, LAST_MODIFIED)
+                .equals(ConditionalRequestUtils.fileEtag(11, LAST_MODIFIED)), is(false));
+        assertThat(ConditionalRequestUtils.fileEtag(10, LAST_MODIFIED)
+                .equals(ConditionalRequestUtils.fileEtag(10, LAST_MODIFIED + 1000)), is(false));
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.content.base.ContentLanguage;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ContentStampTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path root;
+    private Path dataFile;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.getRoot().toPath();
+        dataFile = temporaryFolder.newFolder("about").toPath().resolve("data.json");
+        Files.write(dataFile, "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void of_shouldFallBackToEnglishDataFile() throws Exception {
+        ContentStamp welsh = ContentStamp.of(root, "/about", ContentLanguage.WELSH);
+
+        assertThat(welsh, is(notNullValue()));
+        assertThat(welsh, equalTo(ContentStamp.of(root, "/about", ContentLanguage.ENGLISH)));
+    }
+
+    @Test
+    public void of_shouldNotStampLatestOrMissingContent() throws Exception {
+        assertThat(ContentStamp.of(root, "/about/latest", null), is(nullValue()));
+        assertThat(ContentStamp.of(root, "/missing", null), is(nullValue()));
+    }
+
+    @Test
+    public void toEtag_shouldChangeWhenFileChanges() throws Exception {
+        String etag = ContentStamp.of(root, "/about", null).toEtag("csv");
+
+        Files.setLastModifiedTime(dataFile, FileTime.fromMillis(Files.getLastModifiedTime(dataFile).toMillis() + 1000));
+
+        assertThat(ContentStamp.of(root, "/about", null).toEtag("csv"), not(equalTo(etag)));
+        assertThat(ContentStamp.of(root, "/about", null).toEtag("xls"),
+                not(equalTo(ContentStamp.of(root, "/about", null).toEtag("csv"))));
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.onsdigital.zebedee.reader.util;
+
+import com.github.onsdigital.zebedee.reader.Resource;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FileResponseUtilsTest {
+
+    private static final String DATA = "0123456789abcdefghij";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Resource resource;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private ByteArrayOutputStream body;
+
+    @Before
+    public void setUp() throws Exception {
+        Path file = temporaryFolder.newFile("data.csv").toPath();
+        Files.write(file, DATA.getBytes(StandardCharsets.UTF_8));
+
+        resource = new Resource();
+        resource.setPath(file);
+        resource.setMimeType("text/csv");
+        resource.setContentLength(Files.size(file));
+        resource.setLastModified(Files.getLastModifiedTime(file).toMillis());
+        resource.setEtag(ConditionalRequestUtils.fileEtag(resource.getContentLength(), resource.getLastModified()));
+
+        request = mock(HttpServletRequest.class);
+        body = new ByteArrayOutputStream();
+        response = mockResponse(body);
+    }
+
+    @Test
+    public void sendFile_shouldStreamWholeFile() throws Exception {
+        FileResponseUtils.sendFile(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        verify(response).setContentLengthLong(DATA.length());
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        assertThat(body(), equalTo(DATA));
+    }
+
+    @Test
+    public void sendFile_shouldSendSingleRange() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        FileResponseUtils.sendFile(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 2-5/20");
+        verify(response).setContentLengthLong(4);
+        assertThat(body(), equalTo("2345"));
+    }
+
+    @Test
+    public void sendFile_shouldSendMultipleRangesAsMultipart() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=0-1,-2");
+
+        FileResponseUtils.sendFile(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        String multipart = body();
+        assertThat(multipart, containsString("Content-Range: bytes 0-1/20\r\n\r\n01\r\n"));
+        assertThat(multipart, containsString("Content-Range: bytes 18-19/20\r\n\r\nij\r\n"));
+        verify(response).setContentLengthLong(multipart.length());
+    }
+
+    @Test
+    public void sendFile_shouldRejectUnsatisfiableRange() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=50-60");
+
+        FileResponseUtils.sendFile(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader("Content-Range", "bytes */20");
+        assertThat(body(), equalTo(""));
+    }
+
+    @Test
+    public void sendFile_shouldSendWholeFileWhenIfRangeDoesNotMatch() throws Exception {
+        when(request.getHeader("Range")).thenReturn("bytes=2-5");
+        when(request.getHeader("If-Range")).thenReturn("\"stale\"");
+
+        FileResponseUtils.sendFile(resource, request, response);
+
+        verify(response).setStatus(HttpServletResponse.SC_OK);
+        assertThat(body(), equalTo(DATA));
+    }
+
+    private String body() {
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private HttpServletResponse mockResponse(ByteArrayOutputStream body) throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+        });
+        return response;
+    }
+}
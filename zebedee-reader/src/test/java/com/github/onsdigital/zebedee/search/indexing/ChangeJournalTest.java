@@ -0,0 +1,119 @@
+package com.github.onsdigital.zebedee.search.indexing;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.github.onsdigital.zebedee.search.indexing.ChangeJournal.Change.deleted;
+import static com.github.onsdigital.zebedee.search.indexing.ChangeJournal.Change.published;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ChangeJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+    private ChangeJournal journal;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder("journal").toPath();
+        journal = new ChangeJournal(directory);
+    }
+
+    @Test
+    public void read_shouldReturnTheAppendedChanges() throws Exception {
+        journal.append(Arrays.asList(published("/economy/gdp"), deleted("/economy/old", "bulletin")));
+
+        List<ChangeJournal.Change> changes = journal.read().getChanges();
+
+        assertThat(changes.size(), equalTo(2));
+        assertThat(changes.get(0).getOperation(), equalTo(ChangeJournal.Operation.PUBLISHED));
+        assertThat(changes.get(0).getUri(), equalTo("/economy/gdp"));
+        assertThat(changes.get(0).getPageType(), nullValue());
+        assertThat(changes.get(1).getOperation(), equalTo(ChangeJournal.Operation.DELETED));
+        assertThat(changes.get(1).getPageType(), equalTo("bulletin"));
+    }
+
+    @Test
+    public void read_shouldResumeFromTheCheckpointAfterARestart() throws Exception {
+        journal.append(Collections.singletonList(published("/a")));
+        ChangeJournal.Batch batch = journal.read();
+        journal.append(Collections.singletonList(published("/b")));
+        journal.checkpoint(batch.getEnd());
+
+        ChangeJournal restarted = new ChangeJournal(directory);
+
+        assertThat(uris(restarted.read().getChanges()), equalTo(Collections.singletonList("/b")));
+    }
+
+    @Test
+    public void read_shouldReturnNothingOnceCheckpointed() throws Exception {
+        journal.append(Arrays.asList(published("/a"), published("/b")));
+        journal.checkpoint(journal.read().getEnd());
+
+        assertThat(journal.read().getChanges().size(), equalTo(0));
+        assertThat(Files.size(directory.resolve(ChangeJournal.JOURNAL_FILE)), equalTo(0L));
+
+        journal.append(Collections.singletonList(published("/c")));
+        assertThat(uris(journal.read().getChanges()), equalTo(Collections.singletonList("/c")));
+    }
+
+    @Test
+    public void read_shouldLeaveAPartlyWrittenLine() throws Exception {
+        journal.append(Collections.singletonList(published("/a")));
+        Files.write(directory.resolve(ChangeJournal.JOURNAL_FILE), "P\t\t/b".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        ChangeJournal.Batch batch = journal.read();
+        journal.checkpoint(batch.getEnd());
+        Files.write(directory.resolve(ChangeJournal.JOURNAL_FILE), "/c\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        assertThat(uris(batch.getChanges()), equalTo(Collections.singletonList("/a")));
+        assertThat(uris(journal.read().getChanges()), equalTo(Collections.singletonList("/b/c")));
+    }
+
+    @Test
+    public void checkpoint_shouldRetryFailedChangesNotChangedSince() throws Exception {
+        journal.append(Arrays.asList(published("/a"), published("/b"), published("/c")));
+        ChangeJournal.Batch batch = journal.read();
+        journal.append(Collections.singletonList(deleted("/b", "article")));
+
+        journal.checkpoint(batch.getEnd(), Arrays.asList(published("/a"), published("/b")));
+
+        List<ChangeJournal.Change> changes = journal.read().getChanges();
+        assertThat(uris(changes), equalTo(Arrays.asList("/b", "/a")));
+        assertThat(changes.get(0).getOperation(), equalTo(ChangeJournal.Operation.DELETED));
+    }
+
+    @Test
+    public void coalesce_shouldKeepTheLastChangeOfEachUri() {
+        List<ChangeJournal.Change> changes = ChangeJournal.coalesce(Arrays.asList(
+                published("/a"), published("/b"), deleted("/a", "article"), published("/c"), published("/b")));
+
+        assertThat(uris(changes), equalTo(Arrays.asList("/a", "/c", "/b")));
+        assertThat(changes.get(0).getOperation(), equalTo(ChangeJournal.Operation.DELETED));
+    }
+
+    private static List<String> uris(List<ChangeJournal.Change> changes) {
+        List<String> uris = new ArrayList<>();
+        for (ChangeJournal.Change change : changes) {
+            uris.add(change.getUri());
+        }
+        return uris;
+    }
+}
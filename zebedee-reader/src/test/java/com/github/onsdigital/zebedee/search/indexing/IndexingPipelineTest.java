@@ -0,0 +1,128 @@
+package com.github.onsdigital.zebedee.search.indexing;
+
+import com.github.onsdigital.zebedee.search.client.EmbeddedElasticSearchServer;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.settings.Settings;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class IndexingPipelineTest {
+
+    private static final AtomicInteger INDEX_COUNT = new AtomicInteger();
+
+    private static EmbeddedElasticSearchServer server;
+    private static Client client;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private IndexingPipeline pipeline;
+    private String indexName;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        Settings settings = Settings.builder()
+                .put("node.local", true)
+                .put("http.enabled", false)
+                .build();
+        server = new EmbeddedElasticSearchServer(settings, "IndexingPipelineTest");
+        client = server.getClient();
+        client.admin().cluster().prepareHealth().setWaitForYellowStatus().get();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.shutdown();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        Path root = temporaryFolder.newFolder("master").toPath();
+        page(root, "");
+        page(root, "economy");
+        page(root, "economy/gdp");
+        page(root, "economy/gdp/previous/v1");
+        page(root, "economy/gdp/timeseries/abmi");
+        page(root, "people");
+        Files.write(root.resolve("economy/chart.png"), new byte[]{1});
+
+        // Small enough that every stage fills up and has to wait on the next.
+        IndexingPipeline.Options options = new IndexingPipeline.Options()
+                .setScanThreads(2)
+                .setWorkers(3)
+                .setQueueSize(1)
+                .setBulkActions(2)
+                .setBulkConcurrency(1)
+                .setFlushIntervalSeconds(0);
+        pipeline = new IndexingPipeline(client, new FileScanner(root), options);
+        indexName = "pipeline-test-" + INDEX_COUNT.incrementAndGet();
+    }
+
+    @Test
+    public void run_shouldIndexEveryPageExceptPreviousVersions() throws Exception {
+        IndexingProgress progress = pipeline.run(indexName, null, this::toIndexRequest);
+
+        assertThat(progress.getScanned(), equalTo(5L));
+        assertThat(progress.getPrepared(), equalTo(5L));
+        assertThat(progress.getIndexed(), equalTo(5L));
+        assertThat(progress.getBulkRequests(), equalTo(3L));
+        assertThat(count(), equalTo(5L));
+    }
+
+    @Test
+    public void run_shouldOnlyIndexUnderThePath() throws Exception {
+        IndexingProgress progress = pipeline.run(indexName, "/economy/gdp", this::toIndexRequest);
+
+        assertThat(progress.getIndexed(), equalTo(2L));
+        assertThat(count(), equalTo(2L));
+    }
+
+    @Test
+    public void run_shouldCountSkippedAndFailedDocumentsAndCarryOn() throws Exception {
+        IndexingProgress progress = pipeline.run(indexName, null, (name, document) -> {
+            if ("/people".equals(document.getUri())) {
+                throw new IOException("unreadable");
+            }
+            if ("/economy".equals(document.getUri())) {
+                return null;
+            }
+            return toIndexRequest(name, document);
+        });
+
+        assertThat(progress.getScanned(), equalTo(5L));
+        assertThat(progress.getFailed(), equalTo(1L));
+        assertThat(progress.getSkipped(), equalTo(1L));
+        assertThat(progress.getIndexed(), equalTo(3L));
+        assertThat(count(), equalTo(3L));
+    }
+
+    private IndexRequest toIndexRequest(String name, Document document) {
+        return client.prepareIndex(name, "page", document.getUri())
+                .setSource("{\"uri\":\"" + document.getUri() + "\"}")
+                .request();
+    }
+
+    private long count() {
+        client.admin().indices().prepareRefresh(indexName).get();
+        return client.prepareSearch(indexName).setSize(0).get().getHits().getTotalHits();
+    }
+
+    private static void page(Path root, String uri) throws IOException {
+        Path folder = Files.createDirectories(root.resolve(uri));
+        Files.write(folder.resolve("data.json"), "{}".getBytes(StandardCharsets.UTF_8));
+    }
+}
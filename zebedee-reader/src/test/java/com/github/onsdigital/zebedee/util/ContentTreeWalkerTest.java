@@ -0,0 +1,95 @@
+package com.github.onsdigital.zebedee.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ContentTreeWalkerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path root;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.newFolder("master").toPath();
+        file("data.json");
+        file("economy/data.json");
+        file("economy/chart.png");
+        file("economy/gdp/data.json");
+        file("economy/gdp/previous/v1/data.json");
+        file("economy/gdp/timeseries/abmi/data.json");
+        Files.createDirectories(root.resolve("empty"));
+    }
+
+    @Test
+    public void list_shouldReturnEveryFile() throws Exception {
+        assertThat(relative(new ContentTreeWalker().list(root)), equalTo(Arrays.asList(
+                "data.json",
+                "economy/chart.png",
+                "economy/data.json",
+                "economy/gdp/data.json",
+                "economy/gdp/previous/v1/data.json",
+                "economy/gdp/timeseries/abmi/data.json")));
+    }
+
+    @Test
+    public void list_shouldNotDescendIntoExcludedDirectories() throws Exception {
+        List<Path> paths = new ContentTreeWalker()
+                .descendInto(ContentTreeWalker.named("previous").negate())
+                .include(ContentTreeWalker.named("data.json"))
+                .list(root);
+
+        assertThat(relative(paths), equalTo(Arrays.asList(
+                "data.json",
+                "economy/data.json",
+                "economy/gdp/data.json",
+                "economy/gdp/timeseries/abmi/data.json")));
+    }
+
+    @Test
+    public void list_shouldIncludeDirectoriesWhenAsked() throws Exception {
+        List<Path> paths = new ContentTreeWalker()
+                .include((path, attributes) -> attributes.isDirectory())
+                .list(root.resolve("economy"));
+
+        assertThat(relative(paths), equalTo(Arrays.asList(
+                "economy/gdp",
+                "economy/gdp/previous",
+                "economy/gdp/previous/v1",
+                "economy/gdp/timeseries",
+                "economy/gdp/timeseries/abmi")));
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void walk_shouldThrowIOExceptionIfTheRootDoesNotExist() throws Exception {
+        new ContentTreeWalker().walk(root.resolve("missing"), (path, attributes) -> {
+        });
+    }
+
+    private List<String> relative(List<Path> paths) {
+        return paths.stream()
+                .map(path -> root.relativize(path).toString().replace('\\', '/'))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void file(String path) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1});
+    }
+}